@@ -49,6 +49,7 @@ import com.sunflower.server.queue.common.TbQueueTbMsgCallbackWrapper;
 import com.sunflower.server.service.queue.TbClusterService;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -65,7 +66,8 @@ public class RuleChainActorMessageProcessor extends ComponentMsgProcessor<RuleCh
     private final ActorRef parent;
     private final ActorRef self;
     private final Map<RuleNodeId, RuleNodeCtx> nodeActors;
-    private final Map<RuleNodeId, List<RuleNodeRelation>> nodeRoutes;
+    private Map<RuleNodeId, RuleNodeRoutes> nodeRoutes;
+    private Map<RuleNodeId, DefaultTbContext> nodeContexts;
     private final RuleChainService service;
     private final TbClusterService clusterService;
     private String ruleChainName;
@@ -81,7 +83,8 @@ public class RuleChainActorMessageProcessor extends ComponentMsgProcessor<RuleCh
         this.parent = parent;
         this.self = self;
         this.nodeActors = new HashMap<>();
-        this.nodeRoutes = new HashMap<>();
+        this.nodeRoutes = Collections.emptyMap();
+        this.nodeContexts = Collections.emptyMap();
         this.service = systemContext.getRuleChainService();
         this.clusterService = systemContext.getClusterService();
     }
@@ -149,7 +152,8 @@ public class RuleChainActorMessageProcessor extends ComponentMsgProcessor<RuleCh
         log.trace("[{}][{}] Stopping rule chain with {} nodes", tenantId, entityId, nodeActors.size());
         nodeActors.values().stream().map(RuleNodeCtx::getSelfActor).forEach(context::stop);
         nodeActors.clear();
-        nodeRoutes.clear();
+        nodeRoutes = Collections.emptyMap();
+        nodeContexts = Collections.emptyMap();
         context.stop(self);
         started = false;
     }
@@ -168,27 +172,29 @@ public class RuleChainActorMessageProcessor extends ComponentMsgProcessor<RuleCh
     }
 
     private void initRoutes(RuleChain ruleChain, List<RuleNode> ruleNodeList) {
-        nodeRoutes.clear();
+        Map<RuleNodeId, RuleNodeRoutes> routes = new HashMap<>();
         // Populating the routes map;
         for (RuleNode ruleNode : ruleNodeList) {
             List<EntityRelation> relations = service.getRuleNodeRelations(TenantId.SYS_TENANT_ID, ruleNode.getId());
             log.trace("[{}][{}][{}] Processing rule node relations [{}]", tenantId, entityId, ruleNode.getId(), relations.size());
-            if (relations.size() == 0) {
-                nodeRoutes.put(ruleNode.getId(), Collections.emptyList());
-            } else {
-                for (EntityRelation relation : relations) {
-                    log.trace("[{}][{}][{}] Processing rule node relation [{}]", tenantId, entityId, ruleNode.getId(), relation.getTo());
-                    if (relation.getTo().getEntityType() == EntityType.RULE_NODE) {
-                        RuleNodeCtx ruleNodeCtx = nodeActors.get(new RuleNodeId(relation.getTo().getId()));
-                        if (ruleNodeCtx == null) {
-                            throw new IllegalArgumentException("Rule Node [" + relation.getFrom() + "] has invalid relation to Rule node [" + relation.getTo() + "]");
-                        }
+            List<RuleNodeRelation> nodeRelations = new ArrayList<>(relations.size());
+            for (EntityRelation relation : relations) {
+                log.trace("[{}][{}][{}] Processing rule node relation [{}]", tenantId, entityId, ruleNode.getId(), relation.getTo());
+                if (relation.getTo().getEntityType() == EntityType.RULE_NODE) {
+                    RuleNodeCtx ruleNodeCtx = nodeActors.get(new RuleNodeId(relation.getTo().getId()));
+                    if (ruleNodeCtx == null) {
+                        throw new IllegalArgumentException("Rule Node [" + relation.getFrom() + "] has invalid relation to Rule node [" + relation.getTo() + "]");
                     }
-                    nodeRoutes.computeIfAbsent(ruleNode.getId(), k -> new ArrayList<>())
-                            .add(new RuleNodeRelation(ruleNode.getId(), relation.getTo(), relation.getType()));
                 }
+                nodeRelations.add(new RuleNodeRelation(ruleNode.getId(), relation.getTo(), relation.getType()));
             }
+            routes.put(ruleNode.getId(), nodeRelations.isEmpty() ? RuleNodeRoutes.EMPTY : new RuleNodeRoutes(nodeRelations));
         }
+        nodeRoutes = Collections.unmodifiableMap(routes);
+
+        Map<RuleNodeId, DefaultTbContext> contexts = new HashMap<>();
+        nodeActors.forEach((ruleNodeId, nodeCtx) -> contexts.put(ruleNodeId, new DefaultTbContext(systemContext, nodeCtx)));
+        nodeContexts = Collections.unmodifiableMap(contexts);
 
         firstId = ruleChain.getFirstRuleNodeId();
         firstNode = nodeActors.get(firstId);
@@ -248,10 +254,9 @@ public class RuleChainActorMessageProcessor extends ComponentMsgProcessor<RuleCh
             checkActive(msg);
             EntityId entityId = msg.getOriginator();
             TopicPartitionInfo tpi = systemContext.resolve(ServiceType.TB_RULE_ENGINE, tenantId, entityId);
-            List<RuleNodeRelation> relations = nodeRoutes.get(originatorNodeId).stream()
-                    .filter(r -> contains(relationTypes, r.getType()))
-                    .collect(Collectors.toList());
-            int relationsCount = relations.size();
+            RuleNodeRoutes routes = nodeRoutes.get(originatorNodeId);
+            RuleNodeRelation[] relations = (routes != null ? routes : RuleNodeRoutes.EMPTY).get(relationTypes);
+            int relationsCount = relations.length;
             if (relationsCount == 0) {
                 log.trace("[{}][{}][{}] No outbound relations to process", tenantId, entityId, msg.getId());
                 if (relationTypes.contains(TbRelationTypes.FAILURE)) {
@@ -266,16 +271,19 @@ public class RuleChainActorMessageProcessor extends ComponentMsgProcessor<RuleCh
                     msg.getCallback().onSuccess();
                 }
             } else if (relationsCount == 1) {
-                for (RuleNodeRelation relation : relations) {
-                    log.trace("[{}][{}][{}] Pushing message to single target: [{}]", tenantId, entityId, msg.getId(), relation.getOut());
-                    pushToTarget(tpi, msg, relation.getOut(), relation.getType());
-                }
+                RuleNodeRelation relation = relations[0];
+                log.trace("[{}][{}][{}] Pushing message to single target: [{}]", tenantId, entityId, msg.getId(), relation.getOut());
+                pushToTarget(tpi, msg, relation.getOut(), relation.getType());
             } else {
                 MultipleTbQueueTbMsgCallbackWrapper callbackWrapper = new MultipleTbQueueTbMsgCallbackWrapper(relationsCount, msg.getCallback());
-                log.trace("[{}][{}][{}] Pushing message to multiple targets: [{}]", tenantId, entityId, msg.getId(), relations);
+                log.trace("[{}][{}][{}] Pushing message to multiple targets: [{}]", tenantId, entityId, msg.getId(), Arrays.toString(relations));
                 for (RuleNodeRelation relation : relations) {
                     EntityId target = relation.getOut();
-                    putToQueue(tpi, msg, callbackWrapper, target);
+                    if (tpi.isMyPartition()) {
+                        pushToTarget(tpi, msg.copyWithCallback(callbackWrapper), target, relation.getType());
+                    } else {
+                        putToQueue(tpi, msg, callbackWrapper, target);
+                    }
                 }
             }
         } catch (RuleNodeException rne) {
@@ -320,21 +328,13 @@ public class RuleChainActorMessageProcessor extends ComponentMsgProcessor<RuleCh
         clusterService.pushMsgToRuleEngine(tpi, newMsg.getId(), toQueueMsg, callbackWrapper);
     }
 
-    private boolean contains(Set<String> relationTypes, String type) {
-        if (relationTypes == null) {
-            return true;
-        }
-        for (String relationType : relationTypes) {
-            if (relationType.equalsIgnoreCase(type)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private void pushMsgToNode(RuleNodeCtx nodeCtx, TbMsg msg, String fromRelationType) {
         if (nodeCtx != null) {
-            nodeCtx.getSelfActor().tell(new RuleChainToRuleNodeMsg(new DefaultTbContext(systemContext, nodeCtx), msg, fromRelationType), self);
+            DefaultTbContext tbCtx = nodeContexts.get(nodeCtx.getSelf().getId());
+            if (tbCtx == null) {
+                tbCtx = new DefaultTbContext(systemContext, nodeCtx);
+            }
+            nodeCtx.getSelfActor().tell(new RuleChainToRuleNodeMsg(tbCtx, msg, fromRelationType), self);
         } else {
             log.error("[{}][{}] RuleNodeCtx is empty", entityId, ruleChainName);
             msg.getCallback().onFailure(new RuleEngineException("Rule Node CTX is empty"));
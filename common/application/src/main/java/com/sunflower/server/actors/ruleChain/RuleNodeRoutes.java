@@ -0,0 +1,78 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.actors.ruleChain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Outbound relations of a rule node, grouped by the relation type. Relation types are matched ignoring case.
+ * Built once per rule chain (re)start and never changed afterwards.
+ */
+final class RuleNodeRoutes {
+
+    private static final RuleNodeRelation[] NO_RELATIONS = new RuleNodeRelation[0];
+
+    static final RuleNodeRoutes EMPTY = new RuleNodeRoutes(Collections.emptyList());
+
+    private final RuleNodeRelation[] all;
+    private final Map<String, RuleNodeRelation[]> byType;
+
+    RuleNodeRoutes(List<RuleNodeRelation> relations) {
+        this.all = relations.toArray(NO_RELATIONS);
+        Map<String, List<RuleNodeRelation>> grouped = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (RuleNodeRelation relation : relations) {
+            grouped.computeIfAbsent(relation.getType(), type -> new ArrayList<>()).add(relation);
+        }
+        Map<String, RuleNodeRelation[]> byType = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        grouped.forEach((type, typeRelations) -> byType.put(type, typeRelations.toArray(NO_RELATIONS)));
+        this.byType = Collections.unmodifiableMap(byType);
+    }
+
+    /**
+     * Returns the relations matching any of the given types, or all the relations if the types are not set.
+     * The returned array must not be modified.
+     */
+    RuleNodeRelation[] get(Set<String> relationTypes) {
+        if (relationTypes == null) {
+            return all;
+        }
+        if (relationTypes.size() == 1) {
+            RuleNodeRelation[] relations = byType.get(relationTypes.iterator().next());
+            return relations != null ? relations : NO_RELATIONS;
+        }
+        List<RuleNodeRelation> relations = new ArrayList<>();
+        for (RuleNodeRelation relation : all) {
+            if (contains(relationTypes, relation.getType())) {
+                relations.add(relation);
+            }
+        }
+        return relations.toArray(NO_RELATIONS);
+    }
+
+    private static boolean contains(Set<String> relationTypes, String type) {
+        for (String relationType : relationTypes) {
+            if (relationType.equalsIgnoreCase(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
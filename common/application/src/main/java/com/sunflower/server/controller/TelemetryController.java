@@ -311,6 +311,7 @@ public class TelemetryController extends BaseController {
             Futures.addCallback(future, new FutureCallback<List<Void>>() {
                 @Override
                 public void onSuccess(@Nullable List<Void> tmp) {
+                    tbClusterService.onTimeseriesDeleted(user.getTenantId(), entityId, keys);
                     logTimeseriesDeleted(user, entityId, keys, null);
                     result.setResult(new ResponseEntity<>(HttpStatus.OK));
                 }
@@ -18,10 +18,12 @@ package com.sunflower.server.service.queue;
 import com.google.protobuf.ByteString;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import com.sunflower.rule.engine.api.msg.ToDeviceActorNotificationMsg;
 import com.sunflower.server.common.data.EntityType;
+import com.sunflower.server.common.data.id.DeviceId;
 import com.sunflower.server.common.data.id.EntityId;
 import com.sunflower.server.common.data.id.TenantId;
 import com.sunflower.server.common.data.plugin.ComponentLifecycleEvent;
@@ -29,12 +31,15 @@ import com.sunflower.server.common.msg.TbMsg;
 import com.sunflower.server.common.msg.plugin.ComponentLifecycleMsg;
 import com.sunflower.server.common.msg.queue.ServiceType;
 import com.sunflower.server.common.msg.queue.TopicPartitionInfo;
+import com.sunflower.server.dao.device.DeviceCredentialsChangeEvent;
+import com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg;
 import com.sunflower.server.gen.transport.TransportProtos.FromDeviceRPCResponseProto;
 import com.sunflower.server.gen.transport.TransportProtos.ToCoreMsg;
 import com.sunflower.server.gen.transport.TransportProtos.ToCoreNotificationMsg;
 import com.sunflower.server.gen.transport.TransportProtos.ToRuleEngineMsg;
 import com.sunflower.server.gen.transport.TransportProtos.ToRuleEngineNotificationMsg;
 import com.sunflower.server.gen.transport.TransportProtos.ToTransportMsg;
+import com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg;
 import com.sunflower.server.queue.TbQueueCallback;
 import com.sunflower.server.queue.TbQueueProducer;
 import com.sunflower.server.queue.common.TbProtoQueueMsg;
@@ -44,6 +49,7 @@ import com.sunflower.server.service.encoding.DataDecodingEncodingService;
 import com.sunflower.server.service.rpc.FromDeviceRpcResponse;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -161,6 +167,67 @@ public class DefaultTbClusterService implements TbClusterService {
     public void onEntityStateChange(TenantId tenantId, EntityId entityId, ComponentLifecycleEvent state) {
         log.trace("[{}] Processing {} state change event: {}", tenantId, entityId.getEntityType(), state);
         broadcast(new ComponentLifecycleMsg(tenantId, entityId, state));
+        if (entityId.getEntityType().equals(EntityType.TENANT) && state == ComponentLifecycleEvent.DELETED) {
+            // The devices of the tenant are deleted without a notification per device
+            broadcastToTransports(DeviceCredentialsInvalidationMsg.newBuilder()
+                    .setTenantIdMSB(tenantId.getId().getMostSignificantBits())
+                    .setTenantIdLSB(tenantId.getId().getLeastSignificantBits())
+                    .build());
+        }
+    }
+
+    @Override
+    public void onDeviceCredentialsChange(TenantId tenantId, DeviceId deviceId) {
+        broadcastToTransports(DeviceCredentialsInvalidationMsg.newBuilder()
+                .setTenantIdMSB(tenantId.getId().getMostSignificantBits())
+                .setTenantIdLSB(tenantId.getId().getLeastSignificantBits())
+                .setDeviceIdMSB(deviceId.getId().getMostSignificantBits())
+                .setDeviceIdLSB(deviceId.getId().getLeastSignificantBits())
+                .build());
+    }
+
+    @EventListener(DeviceCredentialsChangeEvent.class)
+    public void onDeviceCredentialsChangeEvent(DeviceCredentialsChangeEvent event) {
+        onDeviceCredentialsChange(event.getTenantId(), event.getDeviceId());
+    }
+
+    @Override
+    public void onTimeseriesDeleted(TenantId tenantId, EntityId entityId, List<String> keys) {
+        // Every node that saves timeseries may have cached the partitions of the deleted keys
+        TbQueueProducer<TbProtoQueueMsg<ToCoreNotificationMsg>> toCoreNfProducer = producerProvider.getTbCoreNotificationsMsgProducer();
+        TbQueueProducer<TbProtoQueueMsg<ToRuleEngineNotificationMsg>> toRuleEngineProducer = producerProvider.getRuleEngineNotificationsMsgProducer();
+        Set<String> tbCoreServices = partitionService.getAllServiceIds(ServiceType.TB_CORE);
+        Set<String> tbRuleEngineServices = new HashSet<>(partitionService.getAllServiceIds(ServiceType.TB_RULE_ENGINE));
+        // No need to push notifications twice
+        tbRuleEngineServices.removeAll(tbCoreServices);
+        for (String key : keys) {
+            TsPartitionsInvalidationMsg invalidationMsg = TsPartitionsInvalidationMsg.newBuilder()
+                    .setEntityType(entityId.getEntityType().name())
+                    .setEntityIdMSB(entityId.getId().getMostSignificantBits())
+                    .setEntityIdLSB(entityId.getId().getLeastSignificantBits())
+                    .setKey(key)
+                    .build();
+            for (String serviceId : tbCoreServices) {
+                TopicPartitionInfo tpi = partitionService.getNotificationsTopic(ServiceType.TB_CORE, serviceId);
+                ToCoreNotificationMsg toCoreMsg = ToCoreNotificationMsg.newBuilder().setTsPartitionsInvalidation(invalidationMsg).build();
+                toCoreNfProducer.send(tpi, new TbProtoQueueMsg<>(entityId.getId(), toCoreMsg), null);
+                toCoreNfs.incrementAndGet();
+            }
+            for (String serviceId : tbRuleEngineServices) {
+                TopicPartitionInfo tpi = partitionService.getNotificationsTopic(ServiceType.TB_RULE_ENGINE, serviceId);
+                ToRuleEngineNotificationMsg toRuleEngineMsg = ToRuleEngineNotificationMsg.newBuilder().setTsPartitionsInvalidation(invalidationMsg).build();
+                toRuleEngineProducer.send(tpi, new TbProtoQueueMsg<>(entityId.getId(), toRuleEngineMsg), null);
+                toRuleEngineNfs.incrementAndGet();
+            }
+        }
+    }
+
+    private void broadcastToTransports(DeviceCredentialsInvalidationMsg invalidationMsg) {
+        // Every transport may have cached the old credentials, not only the ones with sessions of the device
+        ToTransportMsg msg = ToTransportMsg.newBuilder().setDeviceCredentialsInvalidation(invalidationMsg).build();
+        for (String serviceId : partitionService.getAllServiceIds(ServiceType.TB_TRANSPORT)) {
+            pushNotificationToTransport(serviceId, msg, null);
+        }
     }
 
     private void broadcast(ComponentLifecycleMsg msg) {
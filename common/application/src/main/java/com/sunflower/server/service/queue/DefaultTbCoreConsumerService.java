@@ -26,6 +26,7 @@ import com.sunflower.server.common.data.id.TenantId;
 import com.sunflower.server.common.msg.MsgType;
 import com.sunflower.server.common.msg.TbActorMsg;
 import com.sunflower.server.common.msg.queue.ServiceType;
+import com.sunflower.server.common.msg.queue.MultipleTbCallback;
 import com.sunflower.server.common.msg.queue.TbCallback;
 import com.sunflower.server.gen.transport.TransportProtos.DeviceStateServiceMsgProto;
 import com.sunflower.server.gen.transport.TransportProtos.FromDeviceRPCResponseProto;
@@ -139,6 +140,10 @@ public class DefaultTbCoreConsumerService extends AbstractConsumerService<ToCore
                             } else if (toCoreMsg.hasToDeviceActorMsg()) {
                                 log.trace("[{}] Forwarding message to device actor {}", id, toCoreMsg.getToDeviceActorMsg());
                                 forwardToDeviceActor(toCoreMsg.getToDeviceActorMsg(), callback);
+                            } else if (toCoreMsg.getToDeviceActorMsgBatchCount() > 0) {
+                                log.trace("[{}] Forwarding [{}] messages to device actors", id, toCoreMsg.getToDeviceActorMsgBatchCount());
+                                TbCallback batchCallback = new MultipleTbCallback(toCoreMsg.getToDeviceActorMsgBatchCount(), callback);
+                                toCoreMsg.getToDeviceActorMsgBatchList().forEach(toDeviceActorMsg -> forwardToDeviceActor(toDeviceActorMsg, batchCallback));
                             } else if (toCoreMsg.hasDeviceStateServiceMsg()) {
                                 log.trace("[{}] Forwarding message to state service {}", id, toCoreMsg.getDeviceStateServiceMsg());
                                 forwardToStateService(toCoreMsg.getDeviceStateServiceMsg(), callback);
@@ -211,6 +216,9 @@ public class DefaultTbCoreConsumerService extends AbstractConsumerService<ToCore
                 actorContext.tell(actorMsg.get(), ActorRef.noSender());
             }
             callback.onSuccess();
+        } else if (toCoreNotification.hasTsPartitionsInvalidation()) {
+            log.trace("[{}] Invalidating timeseries partitions {}", id, toCoreNotification.getTsPartitionsInvalidation());
+            handleTsPartitionsInvalidation(toCoreNotification.getTsPartitionsInvalidation(), callback);
         }
         if (statsEnabled) {
             stats.log(toCoreNotification);
@@ -16,16 +16,21 @@
 package com.sunflower.server.service.queue;
 
 import akka.actor.ActorRef;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.ProtocolStringList;
+import com.google.protobuf.WireFormat;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import com.sunflower.common.util.ThingsBoardThreadFactory;
 import com.sunflower.rule.engine.api.RpcError;
 import com.sunflower.server.actors.ActorSystemContext;
 import com.sunflower.server.common.data.id.TenantId;
 import com.sunflower.server.common.msg.TbActorMsg;
 import com.sunflower.server.common.msg.TbMsg;
+import com.sunflower.server.common.msg.gen.MsgProtos;
 import com.sunflower.server.common.msg.queue.QueueToRuleEngineMsg;
 import com.sunflower.server.common.msg.queue.RuleEngineException;
 import com.sunflower.server.common.msg.queue.ServiceQueue;
@@ -57,6 +62,8 @@ import com.sunflower.server.service.stats.RuleEngineStatisticsService;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -90,7 +97,7 @@ public class DefaultTbRuleEngineConsumerService extends AbstractConsumerService<
     private final ConcurrentMap<String, TbQueueConsumer<TbProtoQueueMsg<ToRuleEngineMsg>>> consumers = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, TbRuleEngineQueueConfiguration> consumerConfigurations = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, TbRuleEngineConsumerStats> consumerStats = new ConcurrentHashMap<>();
-    private ExecutorService submitExecutor;
+    private final ConcurrentMap<String, List<ExecutorService>> submitExecutors = new ConcurrentHashMap<>();
 
     public DefaultTbRuleEngineConsumerService(TbRuleEngineProcessingStrategyFactory processingStrategyFactory,
                                               TbRuleEngineSubmitStrategyFactory submitStrategyFactory,
@@ -114,16 +121,23 @@ public class DefaultTbRuleEngineConsumerService extends AbstractConsumerService<
             consumerConfigurations.putIfAbsent(configuration.getName(), configuration);
             consumers.computeIfAbsent(configuration.getName(), queueName -> tbRuleEngineQueueFactory.createToRuleEngineMsgConsumer(configuration));
             consumerStats.put(configuration.getName(), new TbRuleEngineConsumerStats(configuration.getName()));
+            submitExecutors.computeIfAbsent(configuration.getName(), queueName -> createSubmitExecutors(configuration));
         }
-        submitExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    private List<ExecutorService> createSubmitExecutors(TbRuleEngineQueueConfiguration configuration) {
+        int submitThreads = Math.max(1, configuration.getSubmitThreads());
+        List<ExecutorService> executors = new ArrayList<>(submitThreads);
+        for (int i = 0; i < submitThreads; i++) {
+            executors.add(Executors.newSingleThreadExecutor(ThingsBoardThreadFactory.forName("tb-rule-engine-submit-" + configuration.getName())));
+        }
+        return executors;
     }
 
     @PreDestroy
     public void stop() {
         super.destroy();
-        if (submitExecutor != null) {
-            submitExecutor.shutdownNow();
-        }
+        submitExecutors.values().forEach(executors -> executors.forEach(ExecutorService::shutdownNow));
         ruleEngineSettings.getQueues().forEach(config -> consumerConfigurations.put(config.getName(), config));
     }
 
@@ -147,6 +161,7 @@ public class DefaultTbRuleEngineConsumerService extends AbstractConsumerService<
     }
 
     private void launchConsumer(TbQueueConsumer<TbProtoQueueMsg<ToRuleEngineMsg>> consumer, TbRuleEngineQueueConfiguration configuration, TbRuleEngineConsumerStats stats) {
+        List<ExecutorService> queueSubmitExecutors = submitExecutors.get(configuration.getName());
         consumersExecutor.execute(() -> {
             while (!stopped) {
                 try {
@@ -161,21 +176,27 @@ public class DefaultTbRuleEngineConsumerService extends AbstractConsumerService<
 
                     while (!stopped) {
                         TbMsgPackProcessingContext ctx = new TbMsgPackProcessingContext(submitStrategy);
-                        submitStrategy.submitAttempt((id, msg) -> submitExecutor.submit(() -> {
-                            log.trace("[{}] Creating callback for message: {}", id, msg.getValue());
-                            ToRuleEngineMsg toRuleEngineMsg = msg.getValue();
-                            TenantId tenantId = new TenantId(new UUID(toRuleEngineMsg.getTenantIdMSB(), toRuleEngineMsg.getTenantIdLSB()));
-                            TbMsgCallback callback = new TbMsgPackCallback(id, tenantId, ctx);
-                            try {
-                                if (toRuleEngineMsg.getTbMsg() != null && !toRuleEngineMsg.getTbMsg().isEmpty()) {
-                                    forwardToRuleEngineActor(tenantId, toRuleEngineMsg, callback);
-                                } else {
-                                    callback.onSuccess();
+                        submitStrategy.submitAttempt((id, msg) -> {
+                            long submitTs = System.nanoTime();
+                            getSubmitExecutor(queueSubmitExecutors, msg.getValue()).submit(() -> {
+                                if (statsEnabled) {
+                                    stats.logSubmitLatency(System.nanoTime() - submitTs);
                                 }
-                            } catch (Exception e) {
-                                callback.onFailure(new RuleEngineException(e.getMessage()));
-                            }
-                        }));
+                                log.trace("[{}] Creating callback for message: {}", id, msg.getValue());
+                                ToRuleEngineMsg toRuleEngineMsg = msg.getValue();
+                                TenantId tenantId = new TenantId(new UUID(toRuleEngineMsg.getTenantIdMSB(), toRuleEngineMsg.getTenantIdLSB()));
+                                TbMsgCallback callback = new TbMsgPackCallback(id, tenantId, ctx);
+                                try {
+                                    if (toRuleEngineMsg.getTbMsg() != null && !toRuleEngineMsg.getTbMsg().isEmpty()) {
+                                        forwardToRuleEngineActor(tenantId, toRuleEngineMsg, callback);
+                                    } else {
+                                        callback.onSuccess();
+                                    }
+                                } catch (Exception e) {
+                                    callback.onFailure(new RuleEngineException(e.getMessage()));
+                                }
+                            });
+                        });
 
                         boolean timeout = false;
                         if (!ctx.await(configuration.getPackProcessingTimeout(), TimeUnit.MILLISECONDS)) {
@@ -242,14 +263,54 @@ public class DefaultTbRuleEngineConsumerService extends AbstractConsumerService<
                     , proto.getResponse(), error);
             tbDeviceRpcService.processRpcResponseFromDevice(response);
             callback.onSuccess();
+        } else if (nfMsg.hasTsPartitionsInvalidation()) {
+            log.trace("[{}] Invalidating timeseries partitions {}", id, nfMsg.getTsPartitionsInvalidation());
+            handleTsPartitionsInvalidation(nfMsg.getTsPartitionsInvalidation(), callback);
         } else {
             log.trace("Received notification with missing handler");
             callback.onSuccess();
         }
     }
 
+    /**
+     * Messages of the same originator always go through the same executor, so their order within the pack is preserved.
+     */
+    private ExecutorService getSubmitExecutor(List<ExecutorService> executors, ToRuleEngineMsg msg) {
+        if (executors.size() == 1) {
+            return executors.get(0);
+        }
+        long hash = getOriginatorHash(msg.getTbMsg());
+        return executors.get((int) ((hash ^ (hash >>> 32)) & Integer.MAX_VALUE) % executors.size());
+    }
+
+    /**
+     * Reads only the originator id fields of the serialized TbMsg, skipping the rest of the message.
+     */
+    private long getOriginatorHash(ByteString tbMsg) {
+        long msb = 0L;
+        long lsb = 0L;
+        try {
+            CodedInputStream input = tbMsg.newCodedInput();
+            int tag;
+            while ((tag = input.readTag()) != 0) {
+                int field = WireFormat.getTagFieldNumber(tag);
+                if (field == MsgProtos.TbMsgProto.ENTITYIDMSB_FIELD_NUMBER) {
+                    msb = input.readInt64();
+                } else if (field == MsgProtos.TbMsgProto.ENTITYIDLSB_FIELD_NUMBER) {
+                    lsb = input.readInt64();
+                    break;
+                } else if (field > MsgProtos.TbMsgProto.ENTITYIDLSB_FIELD_NUMBER || !input.skipField(tag)) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            log.trace("Failed to read originator of the message", e);
+        }
+        return msb * 31 + lsb;
+    }
+
     private void forwardToRuleEngineActor(TenantId tenantId, ToRuleEngineMsg toRuleEngineMsg, TbMsgCallback callback) {
-        TbMsg tbMsg = TbMsg.fromBytes(toRuleEngineMsg.getTbMsg().toByteArray(), callback);
+        TbMsg tbMsg = TbMsg.fromBytes(toRuleEngineMsg.getTbMsg(), callback);
         QueueToRuleEngineMsg msg;
         ProtocolStringList relationTypesList = toRuleEngineMsg.getRelationTypesList();
         Set<String> relationTypes = null;
@@ -16,6 +16,7 @@
 package com.sunflower.server.service.queue;
 
 import com.sunflower.rule.engine.api.msg.ToDeviceActorNotificationMsg;
+import com.sunflower.server.common.data.id.DeviceId;
 import com.sunflower.server.common.data.id.EntityId;
 import com.sunflower.server.common.data.id.TenantId;
 import com.sunflower.server.common.data.plugin.ComponentLifecycleEvent;
@@ -27,6 +28,7 @@ import com.sunflower.server.gen.transport.TransportProtos.ToTransportMsg;
 import com.sunflower.server.queue.TbQueueCallback;
 import com.sunflower.server.service.rpc.FromDeviceRpcResponse;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface TbClusterService {
@@ -49,4 +51,8 @@ public interface TbClusterService {
 
     void onEntityStateChange(TenantId tenantId, EntityId entityId, ComponentLifecycleEvent state);
 
+    void onDeviceCredentialsChange(TenantId tenantId, DeviceId deviceId);
+
+    void onTimeseriesDeleted(TenantId tenantId, EntityId entityId, List<String> keys);
+
 }
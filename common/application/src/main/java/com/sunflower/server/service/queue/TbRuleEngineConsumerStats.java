@@ -28,7 +28,9 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 @Slf4j
 @Data
@@ -43,6 +45,8 @@ public class TbRuleEngineConsumerStats {
     public static final String SUCCESSFUL_ITERATIONS = "successfulIterations";
     public static final String FAILED_ITERATIONS = "failedIterations";
 
+    private static final long[] SUBMIT_LATENCY_BUCKETS_MS = {1, 5, 10, 50, 100, 500, 1000};
+
     private final AtomicInteger totalMsgCounter = new AtomicInteger(0);
     private final AtomicInteger successMsgCounter = new AtomicInteger(0);
     private final AtomicInteger tmpTimeoutMsgCounter = new AtomicInteger(0);
@@ -54,6 +58,8 @@ public class TbRuleEngineConsumerStats {
     private final AtomicInteger successIterationsCounter = new AtomicInteger(0);
     private final AtomicInteger failedIterationsCounter = new AtomicInteger(0);
 
+    private final AtomicIntegerArray submitLatencyHistogram = new AtomicIntegerArray(SUBMIT_LATENCY_BUCKETS_MS.length + 1);
+
     private final Map<String, AtomicInteger> counters = new HashMap<>();
     private final ConcurrentMap<UUID, TbTenantRuleEngineStats> tenantStats = new ConcurrentHashMap<>();
     private final ConcurrentMap<TenantId, RuleEngineException> tenantExceptions = new ConcurrentHashMap<>();
@@ -108,6 +114,18 @@ public class TbRuleEngineConsumerStats {
         msg.getExceptionsMap().forEach(tenantExceptions::putIfAbsent);
     }
 
+    /**
+     * Time between the submit strategy handing the message over and the message being forwarded to the rule engine actors.
+     */
+    public void logSubmitLatency(long latencyNanos) {
+        long latencyMs = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+        int idx = 0;
+        while (idx < SUBMIT_LATENCY_BUCKETS_MS.length && latencyMs >= SUBMIT_LATENCY_BUCKETS_MS[idx]) {
+            idx++;
+        }
+        submitLatencyHistogram.incrementAndGet(idx);
+    }
+
     private TbTenantRuleEngineStats getTenantStats(TbProtoQueueMsg<ToRuleEngineMsg> m) {
         ToRuleEngineMsg reMsg = m.getValue();
         return tenantStats.computeIfAbsent(new UUID(reMsg.getTenantIdMSB(), reMsg.getTenantIdLSB()), TbTenantRuleEngineStats::new);
@@ -121,11 +139,28 @@ public class TbRuleEngineConsumerStats {
                 stats.append(label).append(" = [").append(value.get()).append("] ");
             });
             log.info("[{}] Stats: {}", queueName, stats);
+            log.info("[{}] Submit latency: {}", queueName, getSubmitLatencyStats());
         }
     }
 
+    private String getSubmitLatencyStats() {
+        StringBuilder stats = new StringBuilder();
+        for (int i = 0; i < submitLatencyHistogram.length(); i++) {
+            if (i < SUBMIT_LATENCY_BUCKETS_MS.length) {
+                stats.append("<").append(SUBMIT_LATENCY_BUCKETS_MS[i]);
+            } else {
+                stats.append(">=").append(SUBMIT_LATENCY_BUCKETS_MS[i - 1]);
+            }
+            stats.append("ms = [").append(submitLatencyHistogram.get(i)).append("] ");
+        }
+        return stats.toString();
+    }
+
     public void reset() {
         counters.values().forEach(counter -> counter.set(0));
+        for (int i = 0; i < submitLatencyHistogram.length(); i++) {
+            submitLatencyHistogram.set(i, 0);
+        }
         tenantStats.clear();
         tenantExceptions.clear();
     }
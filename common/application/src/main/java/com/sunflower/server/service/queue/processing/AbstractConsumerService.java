@@ -21,8 +21,11 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.EventListener;
 import com.sunflower.common.util.ThingsBoardThreadFactory;
 import com.sunflower.server.actors.ActorSystemContext;
+import com.sunflower.server.common.data.id.EntityId;
+import com.sunflower.server.common.data.id.EntityIdFactory;
 import com.sunflower.server.common.msg.queue.ServiceType;
 import com.sunflower.server.common.msg.queue.TbCallback;
+import com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg;
 import com.sunflower.server.queue.TbQueueConsumer;
 import com.sunflower.server.queue.common.TbProtoQueueMsg;
 import com.sunflower.server.queue.discovery.PartitionChangeEvent;
@@ -128,6 +131,12 @@ public abstract class AbstractConsumerService<N extends com.google.protobuf.Gene
 
     protected abstract void handleNotification(UUID id, TbProtoQueueMsg<N> msg, TbCallback callback) throws Exception;
 
+    protected void handleTsPartitionsInvalidation(TsPartitionsInvalidationMsg msg, TbCallback callback) {
+        EntityId entityId = EntityIdFactory.getByTypeAndUuid(msg.getEntityType(), new UUID(msg.getEntityIdMSB(), msg.getEntityIdLSB()));
+        actorContext.getTsService().invalidatePartitions(entityId, msg.getKey());
+        callback.onSuccess();
+    }
+
     @PreDestroy
     public void destroy() {
         stopped = true;
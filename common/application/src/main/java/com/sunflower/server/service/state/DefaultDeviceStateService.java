@@ -31,8 +31,8 @@ import org.springframework.util.StringUtils;
 import com.sunflower.common.util.ThingsBoardThreadFactory;
 import com.sunflower.server.common.data.DataConstants;
 import com.sunflower.server.common.data.Device;
-import com.sunflower.server.common.data.Tenant;
 import com.sunflower.server.common.data.id.DeviceId;
+import com.sunflower.server.common.data.id.EntityId;
 import com.sunflower.server.common.data.id.TenantId;
 import com.sunflower.server.common.data.kv.AttributeKvEntry;
 import com.sunflower.server.common.data.kv.BasicTsKvEntry;
@@ -65,8 +65,10 @@ import javax.annotation.PreDestroy;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
@@ -98,6 +100,8 @@ public class DefaultDeviceStateService implements DeviceStateService {
     public static final String INACTIVITY_ALARM_TIME = "inactivityAlarmTime";
     public static final String INACTIVITY_TIMEOUT = "inactivityTimeout";
 
+    private static final long INIT_PROGRESS_LOG_INTERVAL_MS = TimeUnit.SECONDS.toMillis(10);
+
     public static final List<String> PERSISTENT_ATTRIBUTES = Arrays.asList(ACTIVITY_STATE, LAST_CONNECT_TIME,
             LAST_DISCONNECT_TIME, LAST_ACTIVITY_TIME, INACTIVITY_ALARM_TIME, INACTIVITY_TIMEOUT);
 
@@ -133,6 +137,7 @@ public class DefaultDeviceStateService implements DeviceStateService {
     private final ConcurrentMap<DeviceId, DeviceStateData> deviceStates = new ConcurrentHashMap<>();
     private final ConcurrentMap<DeviceId, Long> deviceLastReportedActivity = new ConcurrentHashMap<>();
     private final ConcurrentMap<DeviceId, Long> deviceLastSavedActivity = new ConcurrentHashMap<>();
+    private final DeviceInactivityIndex inactivityIndex = new DeviceInactivityIndex();
 
     public DefaultDeviceStateService(TenantService tenantService, DeviceService deviceService,
                                      AttributesService attributesService, TimeseriesService tsService,
@@ -203,6 +208,7 @@ public class DefaultDeviceStateService implements DeviceStateService {
                 pushRuleEngineMessage(stateData, ACTIVITY_EVENT);
                 save(deviceId, LAST_ACTIVITY_TIME, lastReportedActivity);
                 deviceLastSavedActivity.put(deviceId, lastReportedActivity);
+                scheduleInactivityCheck(stateData);
                 if (!state.isActive()) {
                     state.setActive(true);
                     save(deviceId, ACTIVITY_STATE, state.isActive());
@@ -237,6 +243,7 @@ public class DefaultDeviceStateService implements DeviceStateService {
             if (!oldActive && state.isActive() || oldActive && !state.isActive()) {
                 save(deviceId, ACTIVITY_STATE, state.isActive());
             }
+            scheduleInactivityCheck(stateData);
         }
     }
 
@@ -300,14 +307,14 @@ public class DefaultDeviceStateService implements DeviceStateService {
                     clusterUpdatePending = true;
                     queueExecutor.submit(() -> {
                         clusterUpdatePending = false;
-                        initStateFromDB(partitionChangeEvent.getPartitions());
+                        onPartitionsChanged(partitionChangeEvent.getPartitions());
                     });
                 }
             }
         }
     }
 
-    private void initStateFromDB(Set<TopicPartitionInfo> partitions) {
+    private void onPartitionsChanged(Set<TopicPartitionInfo> partitions) {
         try {
             Set<TopicPartitionInfo> addedPartitions = new HashSet<>(partitions);
             addedPartitions.removeAll(partitionedDevices.keySet());
@@ -320,6 +327,7 @@ public class DefaultDeviceStateService implements DeviceStateService {
                 Set<DeviceId> devices = partitionedDevices.remove(partition);
                 devices.forEach(deviceId -> {
                     deviceStates.remove(deviceId);
+                    inactivityIndex.remove(deviceId);
                     deviceLastReportedActivity.remove(deviceId);
                     deviceLastSavedActivity.remove(deviceId);
                 });
@@ -327,37 +335,9 @@ public class DefaultDeviceStateService implements DeviceStateService {
 
             addedPartitions.forEach(tpi -> partitionedDevices.computeIfAbsent(tpi, key -> ConcurrentHashMap.newKeySet()));
 
-            //TODO 3.0: replace this dummy search with new functionality to search by partitions using SQL capabilities.
             // Adding only devices that are in new partitions
-            List<Tenant> tenants = tenantService.findTenants(new TextPageLink(Integer.MAX_VALUE)).getData();
-            for (Tenant tenant : tenants) {
-                TextPageLink pageLink = new TextPageLink(initFetchPackSize);
-                while (pageLink != null) {
-                    List<ListenableFuture<Void>> fetchFutures = new ArrayList<>();
-                    TextPageData<Device> page = deviceService.findDevicesByTenantId(tenant.getId(), pageLink);
-                    pageLink = page.getNextPageLink();
-                    for (Device device : page.getData()) {
-                        TopicPartitionInfo tpi = partitionService.resolve(ServiceType.TB_CORE, tenant.getId(), device.getId());
-                        if (addedPartitions.contains(tpi)) {
-                            ListenableFuture<Void> future = Futures.transform(fetchDeviceState(device), new Function<DeviceStateData, Void>() {
-                                @Nullable
-                                @Override
-                                public Void apply(@Nullable DeviceStateData state) {
-                                    if (state != null) {
-                                        addDeviceUsingState(tpi, state);
-                                    }
-                                    return null;
-                                }
-                            }, MoreExecutors.directExecutor());
-                            fetchFutures.add(future);
-                        }
-                    }
-                    try {
-                        Futures.successfulAsList(fetchFutures).get();
-                    } catch (InterruptedException | ExecutionException e) {
-                        log.warn("Failed to init device state service from DB", e);
-                    }
-                }
+            if (!addedPartitions.isEmpty()) {
+                initStateFromDB(addedPartitions);
             }
             log.info("Managing following partitions:");
             partitionedDevices.forEach((tpi, devices) -> {
@@ -368,17 +348,60 @@ public class DefaultDeviceStateService implements DeviceStateService {
         }
     }
 
+    private void initStateFromDB(Set<TopicPartitionInfo> addedPartitions) {
+        long startTs = System.currentTimeMillis();
+        long lastProgressTs = startTs;
+        long scanned = 0;
+        long loaded = 0;
+        // All devices are scanned once: partitions are a hash of the device id, so they can't be filtered in the database
+        TextPageLink pageLink = new TextPageLink(initFetchPackSize);
+        while (pageLink != null) {
+            TextPageData<Device> page = deviceService.findDevices(pageLink);
+            pageLink = page.getNextPageLink();
+            Map<DeviceId, TopicPartitionInfo> devicePartitions = new HashMap<>();
+            List<Device> devices = new ArrayList<>();
+            for (Device device : page.getData()) {
+                TopicPartitionInfo tpi = partitionService.resolve(ServiceType.TB_CORE, device.getTenantId(), device.getId());
+                if (addedPartitions.contains(tpi)) {
+                    devicePartitions.put(device.getId(), tpi);
+                    devices.add(device);
+                }
+            }
+            scanned += page.getData().size();
+            if (!devices.isEmpty()) {
+                try {
+                    for (DeviceStateData state : fetchDeviceStates(devices).get()) {
+                        if (state != null) {
+                            addDeviceUsingState(devicePartitions.get(state.getDeviceId()), state);
+                            loaded++;
+                        }
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    log.warn("Failed to init device state service from DB", e);
+                }
+            }
+            long ts = System.currentTimeMillis();
+            if (ts - lastProgressTs > INIT_PROGRESS_LOG_INTERVAL_MS) {
+                lastProgressTs = ts;
+                log.info("Device states init in progress: scanned [{}] devices, loaded [{}] device states", scanned, loaded);
+            }
+        }
+        log.info("Device states init completed in [{}] ms: scanned [{}] devices, loaded [{}] device states",
+                System.currentTimeMillis() - startTs, scanned, loaded);
+    }
+
     private void addDeviceUsingState(TopicPartitionInfo tpi, DeviceStateData state) {
         partitionedDevices.computeIfAbsent(tpi, id -> ConcurrentHashMap.newKeySet()).add(state.getDeviceId());
         deviceStates.put(state.getDeviceId(), state);
+        scheduleInactivityCheck(state);
     }
 
     private void updateState() {
         long ts = System.currentTimeMillis();
-        Set<DeviceId> deviceIds = new HashSet<>(deviceStates.keySet());
-        log.debug("Calculating state updates for {} devices", deviceStates.size());
+        List<DeviceId> deviceIds = inactivityIndex.pollExpired(ts);
+        log.debug("Calculating state updates for {} of {} devices, {} inactivity checks scheduled", deviceIds.size(), deviceStates.size(), inactivityIndex.size());
         for (DeviceId deviceId : deviceIds) {
-            DeviceStateData stateData = getOrFetchDeviceStateData(deviceId);
+            DeviceStateData stateData = deviceStates.get(deviceId);
             if (stateData != null) {
                 DeviceState state = stateData.getState();
                 state.setActive(ts < state.getLastActivityTime() + state.getInactivityTimeout());
@@ -387,16 +410,20 @@ public class DefaultDeviceStateService implements DeviceStateService {
                     pushRuleEngineMessage(stateData, INACTIVITY_EVENT);
                     save(deviceId, INACTIVITY_ALARM_TIME, ts);
                     save(deviceId, ACTIVITY_STATE, state.isActive());
+                } else {
+                    scheduleInactivityCheck(stateData);
                 }
-            } else {
-                log.debug("[{}] Device that belongs to other server is detected and removed.", deviceId);
-                deviceStates.remove(deviceId);
-                deviceLastReportedActivity.remove(deviceId);
-                deviceLastSavedActivity.remove(deviceId);
             }
         }
     }
 
+    private void scheduleInactivityCheck(DeviceStateData stateData) {
+        DeviceState state = stateData.getState();
+        if (state.getLastInactivityAlarmTime() == 0L || state.getLastInactivityAlarmTime() < state.getLastActivityTime()) {
+            inactivityIndex.schedule(stateData.getDeviceId(), state.getLastActivityTime() + state.getInactivityTimeout());
+        }
+    }
+
     private DeviceStateData getOrFetchDeviceStateData(DeviceId deviceId) {
         DeviceStateData deviceStateData = deviceStates.get(deviceId);
         if (deviceStateData == null) {
@@ -404,7 +431,9 @@ public class DefaultDeviceStateService implements DeviceStateService {
             if (device != null) {
                 try {
                     deviceStateData = fetchDeviceState(device).get();
-                    deviceStates.putIfAbsent(deviceId, deviceStateData);
+                    if (deviceStates.putIfAbsent(deviceId, deviceStateData) == null) {
+                        scheduleInactivityCheck(deviceStateData);
+                    }
                 } catch (InterruptedException | ExecutionException e) {
                     log.debug("[{}] Failed to fetch device state!", deviceId, e);
                 }
@@ -428,6 +457,7 @@ public class DefaultDeviceStateService implements DeviceStateService {
 
     private void onDeviceDeleted(TenantId tenantId, DeviceId deviceId) {
         deviceStates.remove(deviceId);
+        inactivityIndex.remove(deviceId);
         deviceLastReportedActivity.remove(deviceId);
         deviceLastSavedActivity.remove(deviceId);
         TopicPartitionInfo tpi = partitionService.resolve(ServiceType.TB_CORE, tenantId, deviceId);
@@ -445,6 +475,47 @@ public class DefaultDeviceStateService implements DeviceStateService {
         }
     }
 
+    private ListenableFuture<List<DeviceStateData>> fetchDeviceStates(List<Device> devices) {
+        if (persistToTelemetry) {
+            return fetchDeviceStatesOneByOne(devices);
+        } else {
+            List<EntityId> deviceIds = new ArrayList<>(devices.size());
+            devices.forEach(device -> deviceIds.add(device.getId()));
+            ListenableFuture<Map<EntityId, List<AttributeKvEntry>>> attrData = attributesService.find(TenantId.SYS_TENANT_ID, deviceIds, DataConstants.SERVER_SCOPE, PERSISTENT_ATTRIBUTES);
+            ListenableFuture<List<DeviceStateData>> statesFuture = Futures.transformAsync(attrData, data -> {
+                List<DeviceStateData> states = new ArrayList<>(devices.size());
+                List<Device> failedDevices = new ArrayList<>();
+                for (Device device : devices) {
+                    Function<List<AttributeKvEntry>, DeviceStateData> extractor = extractDeviceStateData(device);
+                    try {
+                        states.add(extractor.apply(data.getOrDefault(device.getId(), Collections.emptyList())));
+                    } catch (Exception e) {
+                        log.warn("[{}] Failed to parse device state from the batch, fetching it separately", device.getId(), e);
+                        failedDevices.add(device);
+                    }
+                }
+                if (failedDevices.isEmpty()) {
+                    return Futures.immediateFuture(states);
+                }
+                return Futures.transform(fetchDeviceStatesOneByOne(failedDevices), failedStates -> {
+                    states.addAll(failedStates);
+                    return states;
+                }, MoreExecutors.directExecutor());
+            }, MoreExecutors.directExecutor());
+            // A failed batch read must not drop the states of the whole page, so the devices are read one by one instead
+            return Futures.catchingAsync(statesFuture, Throwable.class, t -> {
+                log.debug("Failed to fetch device states of [{}] devices in batch, fetching one by one", devices.size(), t);
+                return fetchDeviceStatesOneByOne(devices);
+            }, MoreExecutors.directExecutor());
+        }
+    }
+
+    private ListenableFuture<List<DeviceStateData>> fetchDeviceStatesOneByOne(List<Device> devices) {
+        List<ListenableFuture<DeviceStateData>> futures = new ArrayList<>(devices.size());
+        devices.forEach(device -> futures.add(fetchDeviceState(device)));
+        return Futures.successfulAsList(futures);
+    }
+
     private <T extends KvEntry> Function<List<T>, DeviceStateData> extractDeviceStateData(Device device) {
         return new Function<List<T>, DeviceStateData>() {
             @Nullable
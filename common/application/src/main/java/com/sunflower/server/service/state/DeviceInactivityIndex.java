@@ -0,0 +1,77 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.service.state;
+
+import lombok.Data;
+import com.sunflower.server.common.data.id.DeviceId;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.PriorityBlockingQueue;
+
+/**
+ * Devices ordered by the time they may become inactive.
+ * Only one deadline is kept per device; the earliest one wins and the rest are dropped when polled.
+ * Deadlines may be scheduled from any thread, but must be polled from a single thread.
+ */
+class DeviceInactivityIndex {
+
+    private final PriorityBlockingQueue<Deadline> queue = new PriorityBlockingQueue<>(1024, Comparator.comparingLong(Deadline::getTs));
+    private final ConcurrentMap<DeviceId, Long> deadlines = new ConcurrentHashMap<>();
+
+    void schedule(DeviceId deviceId, long ts) {
+        deadlines.compute(deviceId, (id, current) -> {
+            if (current == null || ts < current) {
+                queue.add(new Deadline(id, ts));
+                return ts;
+            } else {
+                return current;
+            }
+        });
+    }
+
+    void remove(DeviceId deviceId) {
+        deadlines.remove(deviceId);
+    }
+
+    List<DeviceId> pollExpired(long ts) {
+        List<DeviceId> expired = new ArrayList<>();
+        Deadline deadline;
+        while ((deadline = queue.poll()) != null) {
+            if (deadline.getTs() > ts) {
+                queue.add(deadline);
+                break;
+            }
+            if (deadlines.remove(deadline.getDeviceId(), deadline.getTs())) {
+                expired.add(deadline.getDeviceId());
+            }
+        }
+        return expired;
+    }
+
+    int size() {
+        return deadlines.size();
+    }
+
+    @Data
+    private static class Deadline {
+        private final DeviceId deviceId;
+        private final long ts;
+    }
+}
@@ -50,6 +50,10 @@ import com.sunflower.server.queue.util.TbCoreComponent;
 import com.sunflower.server.service.executors.DbCallbackExecutorService;
 import com.sunflower.server.service.state.DeviceStateService;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -95,6 +99,8 @@ public class DefaultTransportApiService implements TransportApiService {
             return Futures.transform(validateCredentials(msg.getHash(), DeviceCredentialsType.X509_CERTIFICATE), value -> new TbProtoQueueMsg<>(tbProtoQueueMsg.getKey(), value, tbProtoQueueMsg.getHeaders()), MoreExecutors.directExecutor());
         } else if (transportApiRequestMsg.hasGetOrCreateDeviceRequestMsg()) {
             return Futures.transform(handle(transportApiRequestMsg.getGetOrCreateDeviceRequestMsg()), value -> new TbProtoQueueMsg<>(tbProtoQueueMsg.getKey(), value, tbProtoQueueMsg.getHeaders()), MoreExecutors.directExecutor());
+        } else if (transportApiRequestMsg.getGetOrCreateDevicesRequestMsgCount() > 0) {
+            return Futures.transform(handle(transportApiRequestMsg.getGetOrCreateDevicesRequestMsgList()), value -> new TbProtoQueueMsg<>(tbProtoQueueMsg.getKey(), value, tbProtoQueueMsg.getHeaders()), MoreExecutors.directExecutor());
         } else if (transportApiRequestMsg.hasGetTenantRoutingInfoRequestMsg()) {
             return Futures.transform(handle(transportApiRequestMsg.getGetTenantRoutingInfoRequestMsg()), value -> new TbProtoQueueMsg<>(tbProtoQueueMsg.getKey(), value, tbProtoQueueMsg.getHeaders()), MoreExecutors.directExecutor());
         }
@@ -115,30 +121,78 @@ public class DefaultTransportApiService implements TransportApiService {
         DeviceId gatewayId = new DeviceId(new UUID(requestMsg.getGatewayIdMSB(), requestMsg.getGatewayIdLSB()));
         ListenableFuture<Device> gatewayFuture = deviceService.findDeviceByIdAsync(TenantId.SYS_TENANT_ID, gatewayId);
         return Futures.transform(gatewayFuture, gateway -> {
-            deviceCreationLock.lock();
             try {
-                Device device = deviceService.findDeviceByTenantIdAndName(gateway.getTenantId(), requestMsg.getDeviceName());
-                if (device == null) {
-                    device = new Device();
-                    device.setTenantId(gateway.getTenantId());
-                    device.setName(requestMsg.getDeviceName());
-                    device.setType(requestMsg.getDeviceType());
-                    device.setCustomerId(gateway.getCustomerId());
-                    device = deviceService.saveDevice(device);
-                    relationService.saveRelationAsync(TenantId.SYS_TENANT_ID, new EntityRelation(gateway.getId(), device.getId(), "Created"));
-                    deviceStateService.onDeviceAdded(device);
-                }
+                Device device = getOrCreateDevice(gateway, requestMsg.getDeviceName(), requestMsg.getDeviceType());
                 return TransportApiResponseMsg.newBuilder()
                         .setGetOrCreateDeviceResponseMsg(GetOrCreateDeviceFromGatewayResponseMsg.newBuilder().setDeviceInfo(getDeviceInfoProto(device)).build()).build();
             } catch (JsonProcessingException e) {
                 log.warn("[{}] Failed to lookup device by gateway id and name", gatewayId, requestMsg.getDeviceName(), e);
                 throw new RuntimeException(e);
-            } finally {
-                deviceCreationLock.unlock();
             }
         }, dbCallbackExecutorService);
     }
 
+    /**
+     * Resolves the devices of one gateway. The response contains an element per requested device, in the same order;
+     * the element has no device info if the device could not be resolved.
+     */
+    private ListenableFuture<TransportApiResponseMsg> handle(List<GetOrCreateDeviceFromGatewayRequestMsg> requestMsgs) {
+        GetOrCreateDeviceFromGatewayRequestMsg firstMsg = requestMsgs.get(0);
+        DeviceId gatewayId = new DeviceId(new UUID(firstMsg.getGatewayIdMSB(), firstMsg.getGatewayIdLSB()));
+        ListenableFuture<Device> gatewayFuture = deviceService.findDeviceByIdAsync(TenantId.SYS_TENANT_ID, gatewayId);
+        return Futures.transform(gatewayFuture, gateway -> {
+            // Existing devices are found with one query, only the missing ones are created one by one
+            Map<String, Device> devices = new HashMap<>();
+            try {
+                List<String> names = new ArrayList<>(requestMsgs.size());
+                requestMsgs.forEach(requestMsg -> names.add(requestMsg.getDeviceName()));
+                deviceService.findDevicesByTenantIdAndNames(gateway.getTenantId(), names).forEach(device -> devices.put(device.getName(), device));
+            } catch (Exception e) {
+                log.warn("[{}] Failed to lookup devices by gateway id and names", gatewayId, e);
+            }
+            TransportApiResponseMsg.Builder response = TransportApiResponseMsg.newBuilder();
+            for (GetOrCreateDeviceFromGatewayRequestMsg requestMsg : requestMsgs) {
+                GetOrCreateDeviceFromGatewayResponseMsg.Builder deviceResponse = GetOrCreateDeviceFromGatewayResponseMsg.newBuilder();
+                try {
+                    Device device = devices.get(requestMsg.getDeviceName());
+                    if (device == null) {
+                        device = getOrCreateDevice(gateway, requestMsg.getDeviceName(), requestMsg.getDeviceType());
+                        devices.put(device.getName(), device);
+                    }
+                    deviceResponse.setDeviceInfo(getDeviceInfoProto(device));
+                } catch (Exception e) {
+                    log.warn("[{}] Failed to lookup device by gateway id and name", gatewayId, requestMsg.getDeviceName(), e);
+                }
+                response.addGetOrCreateDevicesResponseMsg(deviceResponse.build());
+            }
+            return response.build();
+        }, dbCallbackExecutorService);
+    }
+
+    private Device getOrCreateDevice(Device gateway, String deviceName, String deviceType) {
+        Device device = deviceService.findDeviceByTenantIdAndName(gateway.getTenantId(), deviceName);
+        if (device != null) {
+            return device;
+        }
+        deviceCreationLock.lock();
+        try {
+            device = deviceService.findDeviceByTenantIdAndName(gateway.getTenantId(), deviceName);
+            if (device == null) {
+                device = new Device();
+                device.setTenantId(gateway.getTenantId());
+                device.setName(deviceName);
+                device.setType(deviceType);
+                device.setCustomerId(gateway.getCustomerId());
+                device = deviceService.saveDevice(device);
+                relationService.saveRelationAsync(TenantId.SYS_TENANT_ID, new EntityRelation(gateway.getId(), device.getId(), "Created"));
+                deviceStateService.onDeviceAdded(device);
+            }
+            return device;
+        } finally {
+            deviceCreationLock.unlock();
+        }
+    }
+
     private ListenableFuture<TransportApiResponseMsg> handle(GetTenantRoutingInfoRequestMsg requestMsg) {
         TenantId tenantId = new TenantId(new UUID(requestMsg.getTenantIdMSB(), requestMsg.getTenantIdLSB()));
         ListenableFuture<Tenant> tenantFuture = tenantService.findTenantByIdAsync(TenantId.SYS_TENANT_ID, tenantId);
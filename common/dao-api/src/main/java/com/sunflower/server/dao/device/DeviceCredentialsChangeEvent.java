@@ -0,0 +1,38 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.device;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+import com.sunflower.server.common.data.id.DeviceId;
+import com.sunflower.server.common.data.id.TenantId;
+
+/**
+ * Published once the credentials of a device are updated, whichever component updated them.
+ */
+public class DeviceCredentialsChangeEvent extends ApplicationEvent {
+
+    @Getter
+    private final TenantId tenantId;
+    @Getter
+    private final DeviceId deviceId;
+
+    public DeviceCredentialsChangeEvent(Object source, TenantId tenantId, DeviceId deviceId) {
+        super(source);
+        this.tenantId = tenantId;
+        this.deviceId = deviceId;
+    }
+}
@@ -25,6 +25,7 @@ import com.sunflower.server.common.data.id.TenantId;
 import com.sunflower.server.common.data.page.TextPageData;
 import com.sunflower.server.common.data.page.TextPageLink;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface DeviceService {
@@ -35,6 +36,8 @@ public interface DeviceService {
 
     Device findDeviceByTenantIdAndName(TenantId tenantId, String name);
 
+    List<Device> findDevicesByTenantIdAndNames(TenantId tenantId, Collection<String> names);
+
     Device saveDevice(Device device);
 
     Device saveDeviceWithAccessToken(Device device, String accessToken);
@@ -47,6 +50,8 @@ public interface DeviceService {
 
     TextPageData<Device> findDevicesByTenantId(TenantId tenantId, TextPageLink pageLink);
 
+    TextPageData<Device> findDevices(TextPageLink pageLink);
+
     TextPageData<Device> findDevicesByTenantIdAndType(TenantId tenantId, String type, TextPageLink pageLink);
 
     ListenableFuture<List<Device>> findDevicesByTenantIdAndIdsAsync(TenantId tenantId, List<DeviceId> deviceIds);
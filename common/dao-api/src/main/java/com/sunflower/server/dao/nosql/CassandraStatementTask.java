@@ -30,5 +30,6 @@ public class CassandraStatementTask implements AsyncTask {
     private final TenantId tenantId;
     private final Session session;
     private final Statement statement;
+    private final boolean read;
 
 }
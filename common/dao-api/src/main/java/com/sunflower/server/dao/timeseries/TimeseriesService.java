@@ -24,6 +24,7 @@ import com.sunflower.server.common.data.kv.TsKvEntry;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Andrew Shvayka
@@ -34,6 +35,8 @@ public interface TimeseriesService {
 
     ListenableFuture<List<TsKvEntry>> findLatest(TenantId tenantId, EntityId entityId, Collection<String> keys);
 
+    ListenableFuture<Map<EntityId, List<TsKvEntry>>> findLatest(TenantId tenantId, Collection<EntityId> entityIds, Collection<String> keys);
+
     ListenableFuture<List<TsKvEntry>> findAllLatest(TenantId tenantId, EntityId entityId);
 
     ListenableFuture<List<Void>> save(TenantId tenantId, EntityId entityId, TsKvEntry tsKvEntry);
@@ -41,4 +44,6 @@ public interface TimeseriesService {
     ListenableFuture<List<Void>> save(TenantId tenantId, EntityId entityId, List<TsKvEntry> tsKvEntry, long ttl);
 
     ListenableFuture<List<Void>> remove(TenantId tenantId, EntityId entityId, List<DeleteTsKvQuery> queries);
+
+    void invalidatePartitions(EntityId entityId, String key);
 }
@@ -24,4 +24,6 @@ public interface AsyncTask {
 
     TenantId getTenantId();
 
+    boolean isRead();
+
 }
@@ -39,6 +39,10 @@ import java.util.UUID;
 @Slf4j
 public final class TbMsg implements Serializable {
 
+    private static final TbMsgDataType[] DATA_TYPES = TbMsgDataType.values();
+
+    private static volatile boolean writeStringId = true;
+
     private final UUID id;
     private final String type;
     private final EntityId originator;
@@ -99,12 +103,21 @@ public final class TbMsg implements Serializable {
     }
 
     public static ByteString toByteString(TbMsg msg) {
-        return ByteString.copyFrom(toByteArray(msg));
+        return toProto(msg).toByteString();
     }
 
     public static byte[] toByteArray(TbMsg msg) {
+        return toProto(msg).toByteArray();
+    }
+
+    private static MsgProtos.TbMsgProto toProto(TbMsg msg) {
         MsgProtos.TbMsgProto.Builder builder = MsgProtos.TbMsgProto.newBuilder();
-        builder.setId(msg.getId().toString());
+        // Nodes older than 2.5 only read the string id, it can be turned off once all of them are upgraded
+        if (writeStringId) {
+            builder.setId(msg.getId().toString());
+        }
+        builder.setIdMSB(msg.getId().getMostSignificantBits());
+        builder.setIdLSB(msg.getId().getLeastSignificantBits());
         builder.setType(msg.getType());
         builder.setEntityType(msg.getOriginator().getEntityType().name());
         builder.setEntityIdMSB(msg.getOriginator().getId().getMostSignificantBits());
@@ -121,35 +134,58 @@ public final class TbMsg implements Serializable {
         }
 
         if (msg.getMetaData() != null) {
-            builder.setMetaData(MsgProtos.TbMsgMetaDataProto.newBuilder().putAllData(msg.getMetaData().getData()).build());
+            builder.setMetaData(MsgProtos.TbMsgMetaDataProto.newBuilder().putAllData(msg.getMetaData().getDataToWrite()));
         }
 
-
         builder.setDataType(msg.getDataType().ordinal());
         builder.setData(msg.getData());
-        return builder.build().toByteArray();
+        return builder.build();
     }
 
     public static TbMsg fromBytes(byte[] data, TbMsgCallback callback) {
         try {
-            MsgProtos.TbMsgProto proto = MsgProtos.TbMsgProto.parseFrom(data);
-            TbMsgMetaData metaData = new TbMsgMetaData(proto.getMetaData().getDataMap());
-            EntityId entityId = EntityIdFactory.getByTypeAndUuid(proto.getEntityType(), new UUID(proto.getEntityIdMSB(), proto.getEntityIdLSB()));
-            RuleChainId ruleChainId = null;
-            RuleNodeId ruleNodeId = null;
-            if (proto.getRuleChainIdMSB() != 0L && proto.getRuleChainIdLSB() != 0L) {
-                ruleChainId = new RuleChainId(new UUID(proto.getRuleChainIdMSB(), proto.getRuleChainIdLSB()));
-            }
-            if (proto.getRuleNodeIdMSB() != 0L && proto.getRuleNodeIdLSB() != 0L) {
-                ruleNodeId = new RuleNodeId(new UUID(proto.getRuleNodeIdMSB(), proto.getRuleNodeIdLSB()));
-            }
-            TbMsgDataType dataType = TbMsgDataType.values()[proto.getDataType()];
-            return new TbMsg(UUID.fromString(proto.getId()), proto.getType(), entityId, metaData, dataType, proto.getData(), ruleChainId, ruleNodeId, callback);
+            return fromProto(MsgProtos.TbMsgProto.parseFrom(data), callback);
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException("Could not parse protobuf for TbMsg", e);
+        }
+    }
+
+    /**
+     * Parses the message directly from the queue payload without copying it to a byte array first.
+     */
+    public static TbMsg fromBytes(ByteString data, TbMsgCallback callback) {
+        try {
+            return fromProto(MsgProtos.TbMsgProto.parseFrom(data), callback);
         } catch (InvalidProtocolBufferException e) {
             throw new IllegalStateException("Could not parse protobuf for TbMsg", e);
         }
     }
 
+    private static TbMsg fromProto(MsgProtos.TbMsgProto proto, TbMsgCallback callback) {
+        TbMsgMetaData metaData = TbMsgMetaData.lazy(proto.getMetaData().getDataMap());
+        EntityId entityId = EntityIdFactory.getByTypeAndUuid(proto.getEntityType(), new UUID(proto.getEntityIdMSB(), proto.getEntityIdLSB()));
+        RuleChainId ruleChainId = null;
+        RuleNodeId ruleNodeId = null;
+        if (proto.getRuleChainIdMSB() != 0L && proto.getRuleChainIdLSB() != 0L) {
+            ruleChainId = new RuleChainId(new UUID(proto.getRuleChainIdMSB(), proto.getRuleChainIdLSB()));
+        }
+        if (proto.getRuleNodeIdMSB() != 0L && proto.getRuleNodeIdLSB() != 0L) {
+            ruleNodeId = new RuleNodeId(new UUID(proto.getRuleNodeIdMSB(), proto.getRuleNodeIdLSB()));
+        }
+        UUID id;
+        if (proto.getIdMSB() != 0L || proto.getIdLSB() != 0L) {
+            id = new UUID(proto.getIdMSB(), proto.getIdLSB());
+        } else {
+            id = UUID.fromString(proto.getId());
+        }
+        TbMsgDataType dataType = DATA_TYPES[proto.getDataType()];
+        return new TbMsg(id, proto.getType(), entityId, metaData, dataType, proto.getData(), ruleChainId, ruleNodeId, callback);
+    }
+
+    public static void setWriteStringId(boolean enabled) {
+        writeStringId = enabled;
+    }
+
     public TbMsg copyWithRuleChainId(RuleChainId ruleChainId) {
         return new TbMsg(this.id, this.type, this.originator, this.metaData, this.dataType, this.data, ruleChainId, null, callback);
     }
@@ -158,6 +194,13 @@ public final class TbMsg implements Serializable {
         return new TbMsg(this.id, this.type, this.originator, this.metaData, this.dataType, this.data, ruleChainId, ruleNodeId, callback);
     }
 
+    /**
+     * Copy for one of several targets processed in parallel: the metadata is copied since rule nodes may change it.
+     */
+    public TbMsg copyWithCallback(TbMsgCallback callback) {
+        return new TbMsg(this.id, this.type, this.originator, this.metaData.copy(), this.dataType, this.data, this.ruleChainId, this.ruleNodeId, callback);
+    }
+
     public TbMsgCallback getCallback() {
         //May be null in case of deserialization;
         if (callback != null) {
@@ -15,10 +15,15 @@
  */
 package com.sunflower.server.common.msg;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
@@ -29,29 +34,79 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 @Data
 @NoArgsConstructor
+@ToString(exclude = "undecodedData")
 public final class TbMsgMetaData implements Serializable {
 
     private final Map<String, String> data = new ConcurrentHashMap<>();
+    // Entries of a message read from the queue, copied into data on the first access
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient volatile Map<String, String> undecodedData;
 
     public TbMsgMetaData(Map<String, String> data) {
         data.forEach((key, val) -> putValue(key, val));
     }
 
+    /**
+     * Creates metadata that copies the given entries only when it is first accessed.
+     */
+    static TbMsgMetaData lazy(Map<String, String> data) {
+        TbMsgMetaData metaData = new TbMsgMetaData();
+        if (!data.isEmpty()) {
+            metaData.undecodedData = data;
+        }
+        return metaData;
+    }
+
+    public Map<String, String> getData() {
+        decode();
+        return data;
+    }
+
     public String getValue(String key) {
-        return data.get(key);
+        return getData().get(key);
     }
 
     public void putValue(String key, String value) {
         if (key != null && value != null) {
-            data.put(key, value);
+            getData().put(key, value);
         }
     }
 
     public Map<String, String> values() {
-        return new HashMap<>(data);
+        return new HashMap<>(getData());
     }
 
     public TbMsgMetaData copy() {
-        return new TbMsgMetaData(new ConcurrentHashMap<>(data));
+        return new TbMsgMetaData(new ConcurrentHashMap<>(getData()));
+    }
+
+    /**
+     * Entries to serialize, without decoding metadata that was never accessed.
+     */
+    Map<String, String> getDataToWrite() {
+        Map<String, String> undecoded = undecodedData;
+        return undecoded != null ? undecoded : data;
+    }
+
+    private void decode() {
+        if (undecodedData != null) {
+            synchronized (data) {
+                Map<String, String> undecoded = undecodedData;
+                if (undecoded != null) {
+                    undecoded.forEach((key, val) -> {
+                        if (key != null && val != null) {
+                            data.put(key, val);
+                        }
+                    });
+                    undecodedData = null;
+                }
+            }
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        decode();
+        out.defaultWriteObject();
     }
 }
@@ -856,6 +856,18 @@ public final class MsgProtos {
      */
     com.google.protobuf.ByteString
         getDataBytes();
+
+    /**
+     * <code>int64 idMSB = 15;</code>
+     * @return The idMSB.
+     */
+    long getIdMSB();
+
+    /**
+     * <code>int64 idLSB = 16;</code>
+     * @return The idLSB.
+     */
+    long getIdLSB();
   }
   /**
    * Protobuf type {@code msgqueue.TbMsgProto}
@@ -983,6 +995,16 @@ public final class MsgProtos {
               data_ = s;
               break;
             }
+            case 120: {
+
+              idMSB_ = input.readInt64();
+              break;
+            }
+            case 128: {
+
+              idLSB_ = input.readInt64();
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -1262,6 +1284,26 @@ public final class MsgProtos {
       }
     }
 
+    public static final int IDMSB_FIELD_NUMBER = 15;
+    private long idMSB_;
+    /**
+     * <code>int64 idMSB = 15;</code>
+     * @return The idMSB.
+     */
+    public long getIdMSB() {
+      return idMSB_;
+    }
+
+    public static final int IDLSB_FIELD_NUMBER = 16;
+    private long idLSB_;
+    /**
+     * <code>int64 idLSB = 16;</code>
+     * @return The idLSB.
+     */
+    public long getIdLSB() {
+      return idLSB_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @Override
     public final boolean isInitialized() {
@@ -1315,6 +1357,12 @@ public final class MsgProtos {
       if (!getDataBytes().isEmpty()) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 14, data_);
       }
+      if (idMSB_ != 0L) {
+        output.writeInt64(15, idMSB_);
+      }
+      if (idLSB_ != 0L) {
+        output.writeInt64(16, idLSB_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -1372,6 +1420,14 @@ public final class MsgProtos {
       if (!getDataBytes().isEmpty()) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(14, data_);
       }
+      if (idMSB_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(15, idMSB_);
+      }
+      if (idLSB_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(16, idLSB_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -1416,6 +1472,10 @@ public final class MsgProtos {
           != other.getDataType()) return false;
       if (!getData()
           .equals(other.getData())) return false;
+      if (getIdMSB()
+          != other.getIdMSB()) return false;
+      if (getIdLSB()
+          != other.getIdLSB()) return false;
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -1462,6 +1522,12 @@ public final class MsgProtos {
       hash = (53 * hash) + getDataType();
       hash = (37 * hash) + DATA_FIELD_NUMBER;
       hash = (53 * hash) + getData().hashCode();
+      hash = (37 * hash) + IDMSB_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getIdMSB());
+      hash = (37 * hash) + IDLSB_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getIdLSB());
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -1625,6 +1691,10 @@ public final class MsgProtos {
 
         data_ = "";
 
+        idMSB_ = 0L;
+
+        idLSB_ = 0L;
+
         return this;
       }
 
@@ -1668,6 +1738,8 @@ public final class MsgProtos {
         }
         result.dataType_ = dataType_;
         result.data_ = data_;
+        result.idMSB_ = idMSB_;
+        result.idLSB_ = idLSB_;
         onBuilt();
         return result;
       }
@@ -1759,6 +1831,12 @@ public final class MsgProtos {
           data_ = other.data_;
           onChanged();
         }
+        if (other.getIdMSB() != 0L) {
+          setIdMSB(other.getIdMSB());
+        }
+        if (other.getIdLSB() != 0L) {
+          setIdLSB(other.getIdLSB());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -2450,6 +2528,66 @@ public final class MsgProtos {
         onChanged();
         return this;
       }
+
+      private long idMSB_ ;
+      /**
+       * <code>int64 idMSB = 15;</code>
+       * @return The idMSB.
+       */
+      public long getIdMSB() {
+        return idMSB_;
+      }
+      /**
+       * <code>int64 idMSB = 15;</code>
+       * @param value The idMSB to set.
+       * @return This builder for chaining.
+       */
+      public Builder setIdMSB(long value) {
+        
+        idMSB_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int64 idMSB = 15;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearIdMSB() {
+        
+        idMSB_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long idLSB_ ;
+      /**
+       * <code>int64 idLSB = 16;</code>
+       * @return The idLSB.
+       */
+      public long getIdLSB() {
+        return idLSB_;
+      }
+      /**
+       * <code>int64 idLSB = 16;</code>
+       * @param value The idLSB to set.
+       * @return This builder for chaining.
+       */
+      public Builder setIdLSB(long value) {
+        
+        idLSB_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int64 idLSB = 16;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearIdLSB() {
+        
+        idLSB_ = 0L;
+        onChanged();
+        return this;
+      }
       @Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -2530,7 +2668,7 @@ public final class MsgProtos {
       "\n\013tbmsg.proto\022\010msgqueue\"w\n\022TbMsgMetaData" +
       "Proto\0224\n\004data\030\001 \003(\0132&.msgqueue.TbMsgMeta" +
       "DataProto.DataEntry\032+\n\tDataEntry\022\013\n\003key\030" +
-      "\001 \001(\t\022\r\n\005value\030\002 \001(\t:\0028\001\"\254\002\n\nTbMsgProto\022" +
+      "\001 \001(\t\022\r\n\005value\030\002 \001(\t:\0028\001\"\312\002\n\nTbMsgProto\022" +
       "\n\n\002id\030\001 \001(\t\022\014\n\004type\030\002 \001(\t\022\022\n\nentityType\030" +
       "\003 \001(\t\022\023\n\013entityIdMSB\030\004 \001(\003\022\023\n\013entityIdLS" +
       "B\030\005 \001(\003\022\026\n\016ruleChainIdMSB\030\006 \001(\003\022\026\n\016ruleC" +
@@ -2538,7 +2676,8 @@ public final class MsgProtos {
       "\n\rruleNodeIdLSB\030\t \001(\003\022\030\n\020clusterPartitio" +
       "n\030\n \001(\003\022.\n\010metaData\030\013 \001(\0132\034.msgqueue.TbM" +
       "sgMetaDataProto\022\020\n\010dataType\030\r \001(\005\022\014\n\004dat" +
-      "a\030\016 \001(\tB-\n com.sunflower.iot.server.msg." +
+      "a\030\016 \001(\t\022\r\n\005idMSB\030\017 \001(\003\022\r\n\005idLS" +
+      "B\030\020 \001(\003B-\n com.sunflower.iot.server.msg." +
       "genB\tMsgProtosb\006proto3"
     };
     descriptor = com.google.protobuf.Descriptors.FileDescriptor
@@ -2562,7 +2701,7 @@ public final class MsgProtos {
     internal_static_msgqueue_TbMsgProto_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_msgqueue_TbMsgProto_descriptor,
-        new String[] { "Id", "Type", "EntityType", "EntityIdMSB", "EntityIdLSB", "RuleChainIdMSB", "RuleChainIdLSB", "RuleNodeIdMSB", "RuleNodeIdLSB", "ClusterPartition", "MetaData", "DataType", "Data", });
+        new String[] { "Id", "Type", "EntityType", "EntityIdMSB", "EntityIdLSB", "RuleChainIdMSB", "RuleChainIdLSB", "RuleNodeIdMSB", "RuleNodeIdLSB", "ClusterPartition", "MetaData", "DataType", "Data", "IdMSB", "IdLSB", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
@@ -15,39 +15,78 @@
  */
 package com.sunflower.server.common.msg.tools;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket4j;
-import io.github.bucket4j.local.LocalBucket;
-import io.github.bucket4j.local.LocalBucketBuilder;
-
-import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Created by ashvayka on 22.10.18.
+ *
+ * Token bucket for every configured limit, implemented as a generic cell rate algorithm:
+ * instead of the amount of tokens each limit keeps the time at which its bucket becomes full again.
+ * Consuming is a single CAS per limit and does not allocate.
  */
 public class TbRateLimits {
-    private final LocalBucket bucket;
+
+    private final TbRateLimitsConfig config;
+    private final long[] emissionIntervals;
+    private final AtomicLongArray fullAt;
 
     public TbRateLimits(String limitsConfiguration) {
-        LocalBucketBuilder builder = Bucket4j.builder();
-        boolean initialized = false;
-        for (String limitSrc : limitsConfiguration.split(",")) {
-            long capacity = Long.parseLong(limitSrc.split(":")[0]);
-            long duration = Long.parseLong(limitSrc.split(":")[1]);
-            builder.addLimit(Bandwidth.simple(capacity, Duration.ofSeconds(duration)));
-            initialized = true;
-        }
-        if (initialized) {
-            bucket = builder.build();
-        } else {
-            throw new IllegalArgumentException("Failed to parse rate limits configuration: " + limitsConfiguration);
-        }
+        this(TbRateLimitsConfig.parse(limitsConfiguration));
+    }
 
+    public TbRateLimits(TbRateLimitsConfig config) {
+        this.config = config;
+        this.emissionIntervals = new long[config.size()];
+        this.fullAt = new AtomicLongArray(config.size());
+        long now = System.nanoTime();
+        for (int i = 0; i < config.size(); i++) {
+            emissionIntervals[i] = Math.max(1, config.getPeriodNanos(i) / config.getCapacity(i));
+            fullAt.set(i, now);
+        }
+    }
 
+    public TbRateLimitsConfig getConfig() {
+        return config;
     }
 
     public boolean tryConsume() {
-        return bucket.tryConsume(1);
+        long now = System.nanoTime();
+        for (int i = 0; i < emissionIntervals.length; i++) {
+            if (!tryConsume(i, now)) {
+                for (int j = 0; j < i; j++) {
+                    fullAt.addAndGet(j, -emissionIntervals[j]);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if all the buckets are full, so dropping this instance and creating a new one later changes nothing.
+     */
+    public boolean isIdle() {
+        long now = System.nanoTime();
+        for (int i = 0; i < emissionIntervals.length; i++) {
+            if (fullAt.get(i) - now > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean tryConsume(int idx, long now) {
+        long periodNanos = config.getPeriodNanos(idx);
+        while (true) {
+            long current = fullAt.get(idx);
+            long next = (current - now > 0 ? current : now) + emissionIntervals[idx];
+            if (next - now > periodNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(idx, current, next)) {
+                return true;
+            }
+        }
     }
 
 }
@@ -0,0 +1,91 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.common.msg.tools;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsed rate limits configuration in the "capacity:seconds,capacity:seconds" format.
+ * Immutable, so a single instance is shared by all the rate limits created from the same configuration string.
+ */
+public final class TbRateLimitsConfig {
+
+    private final String configuration;
+    private final long[] capacities;
+    private final long[] periodsNanos;
+
+    private TbRateLimitsConfig(String configuration, long[] capacities, long[] periodsNanos) {
+        this.configuration = configuration;
+        this.capacities = capacities;
+        this.periodsNanos = periodsNanos;
+    }
+
+    public static TbRateLimitsConfig parse(String limitsConfiguration) {
+        String[] limits = limitsConfiguration.split(",");
+        long[] capacities = new long[limits.length];
+        long[] periodsNanos = new long[limits.length];
+        int count = 0;
+        for (String limitSrc : limits) {
+            if (limitSrc.isEmpty()) {
+                continue;
+            }
+            String[] parts = limitSrc.split(":");
+            long capacity = Long.parseLong(parts[0]);
+            long duration = Long.parseLong(parts[1]);
+            if (capacity <= 0 || duration <= 0) {
+                throw new IllegalArgumentException("Failed to parse rate limits configuration: " + limitsConfiguration);
+            }
+            capacities[count] = capacity;
+            periodsNanos[count] = TimeUnit.SECONDS.toNanos(duration);
+            count++;
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("Failed to parse rate limits configuration: " + limitsConfiguration);
+        }
+        return new TbRateLimitsConfig(limitsConfiguration, Arrays.copyOf(capacities, count), Arrays.copyOf(periodsNanos, count));
+    }
+
+    int size() {
+        return capacities.length;
+    }
+
+    long getCapacity(int idx) {
+        return capacities[idx];
+    }
+
+    long getPeriodNanos(int idx) {
+        return periodsNanos[idx];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TbRateLimitsConfig that = (TbRateLimitsConfig) o;
+        return Arrays.equals(capacities, that.capacities) && Arrays.equals(periodsNanos, that.periodsNanos);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(capacities) + Arrays.hashCode(periodsNanos);
+    }
+
+    @Override
+    public String toString() {
+        return configuration;
+    }
+}
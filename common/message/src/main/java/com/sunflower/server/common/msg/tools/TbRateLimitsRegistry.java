@@ -0,0 +1,61 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.common.msg.tools;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Rate limits per key (tenant, device, etc.).
+ * Limits that are fully replenished carry no state, so {@link #evictIdle()} drops them without affecting the limiting;
+ * the registry only holds the keys that were active during the longest configured period.
+ */
+public class TbRateLimitsRegistry<K> {
+
+    private final ConcurrentMap<K, TbRateLimits> limits = new ConcurrentHashMap<>();
+
+    public TbRateLimits get(K key, TbRateLimitsConfig config) {
+        TbRateLimits rateLimits = limits.get(key);
+        if (rateLimits == null || !rateLimits.getConfig().equals(config)) {
+            rateLimits = limits.compute(key, (k, current) ->
+                    current != null && current.getConfig().equals(config) ? current : new TbRateLimits(config));
+        }
+        return rateLimits;
+    }
+
+    public boolean tryConsume(K key, TbRateLimitsConfig config) {
+        return get(key, config).tryConsume();
+    }
+
+    public int evictIdle() {
+        int evicted = 0;
+        for (Map.Entry<K, TbRateLimits> entry : limits.entrySet()) {
+            if (entry.getValue().isIdle() && limits.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return limits.size();
+    }
+
+    public void clear() {
+        limits.clear();
+    }
+}
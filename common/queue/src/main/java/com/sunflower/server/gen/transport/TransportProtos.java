@@ -42313,6 +42313,30 @@ public final class TransportProtos {
      * <code>.transport.GetTenantRoutingInfoRequestMsg getTenantRoutingInfoRequestMsg = 4;</code>
      */
     com.sunflower.server.gen.transport.TransportProtos.GetTenantRoutingInfoRequestMsgOrBuilder getGetTenantRoutingInfoRequestMsgOrBuilder();
+
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+     */
+    java.util.List<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg> 
+        getGetOrCreateDevicesRequestMsgList();
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+     */
+    com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg getGetOrCreateDevicesRequestMsg(int index);
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+     */
+    int getGetOrCreateDevicesRequestMsgCount();
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+     */
+    java.util.List<? extends com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsgOrBuilder> 
+        getGetOrCreateDevicesRequestMsgOrBuilderList();
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+     */
+    com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsgOrBuilder getGetOrCreateDevicesRequestMsgOrBuilder(
+        int index);
   }
   /**
    * <pre>
@@ -42331,6 +42355,7 @@ public final class TransportProtos {
       super(builder);
     }
     private TransportApiRequestMsg() {
+      getOrCreateDevicesRequestMsg_ = java.util.Collections.emptyList();
     }
 
     @java.lang.Override
@@ -42353,6 +42378,7 @@ public final class TransportProtos {
       if (extensionRegistry == null) {
         throw new java.lang.NullPointerException();
       }
+      int mutable_bitField0_ = 0;
       com.google.protobuf.UnknownFieldSet.Builder unknownFields =
           com.google.protobuf.UnknownFieldSet.newBuilder();
       try {
@@ -42415,6 +42441,15 @@ public final class TransportProtos {
 
               break;
             }
+            case 42: {
+              if (!((mutable_bitField0_ & 0x00000001) != 0)) {
+                getOrCreateDevicesRequestMsg_ = new java.util.ArrayList<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              getOrCreateDevicesRequestMsg_.add(
+                  input.readMessage(com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.parser(), extensionRegistry));
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -42430,6 +42465,9 @@ public final class TransportProtos {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000001) != 0)) {
+          getOrCreateDevicesRequestMsg_ = java.util.Collections.unmodifiableList(getOrCreateDevicesRequestMsg_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -42539,6 +42577,40 @@ public final class TransportProtos {
       return getGetTenantRoutingInfoRequestMsg();
     }
 
+    public static final int GETORCREATEDEVICESREQUESTMSG_FIELD_NUMBER = 5;
+    private java.util.List<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg> getOrCreateDevicesRequestMsg_;
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+     */
+    public java.util.List<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg> getGetOrCreateDevicesRequestMsgList() {
+      return getOrCreateDevicesRequestMsg_;
+    }
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+     */
+    public java.util.List<? extends com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsgOrBuilder> 
+        getGetOrCreateDevicesRequestMsgOrBuilderList() {
+      return getOrCreateDevicesRequestMsg_;
+    }
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+     */
+    public int getGetOrCreateDevicesRequestMsgCount() {
+      return getOrCreateDevicesRequestMsg_.size();
+    }
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+     */
+    public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg getGetOrCreateDevicesRequestMsg(int index) {
+      return getOrCreateDevicesRequestMsg_.get(index);
+    }
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+     */
+    public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsgOrBuilder getGetOrCreateDevicesRequestMsgOrBuilder(
+        int index) {
+      return getOrCreateDevicesRequestMsg_.get(index);
+    }
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -42565,6 +42637,9 @@ public final class TransportProtos {
       if (getTenantRoutingInfoRequestMsg_ != null) {
         output.writeMessage(4, getGetTenantRoutingInfoRequestMsg());
       }
+      for (int i = 0; i < getOrCreateDevicesRequestMsg_.size(); i++) {
+        output.writeMessage(5, getOrCreateDevicesRequestMsg_.get(i));
+      }
       unknownFields.writeTo(output);
     }
 
@@ -42590,6 +42665,10 @@ public final class TransportProtos {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(4, getGetTenantRoutingInfoRequestMsg());
       }
+      for (int i = 0; i < getOrCreateDevicesRequestMsg_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(5, getOrCreateDevicesRequestMsg_.get(i));
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -42625,6 +42704,8 @@ public final class TransportProtos {
         if (!getGetTenantRoutingInfoRequestMsg()
             .equals(other.getGetTenantRoutingInfoRequestMsg())) return false;
       }
+      if (!getGetOrCreateDevicesRequestMsgList()
+          .equals(other.getGetOrCreateDevicesRequestMsgList())) return false;
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -42652,6 +42733,10 @@ public final class TransportProtos {
         hash = (37 * hash) + GETTENANTROUTINGINFOREQUESTMSG_FIELD_NUMBER;
         hash = (53 * hash) + getGetTenantRoutingInfoRequestMsg().hashCode();
       }
+      if (getGetOrCreateDevicesRequestMsgCount() > 0) {
+        hash = (37 * hash) + GETORCREATEDEVICESREQUESTMSG_FIELD_NUMBER;
+        hash = (53 * hash) + getGetOrCreateDevicesRequestMsgList().hashCode();
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -42784,6 +42869,7 @@ public final class TransportProtos {
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessageV3
                 .alwaysUseFieldBuilders) {
+          getGetOrCreateDevicesRequestMsgFieldBuilder();
         }
       }
       @java.lang.Override
@@ -42813,6 +42899,12 @@ public final class TransportProtos {
           getTenantRoutingInfoRequestMsg_ = null;
           getTenantRoutingInfoRequestMsgBuilder_ = null;
         }
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          getOrCreateDevicesRequestMsg_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          getOrCreateDevicesRequestMsgBuilder_.clear();
+        }
         return this;
       }
 
@@ -42839,6 +42931,7 @@ public final class TransportProtos {
       @java.lang.Override
       public com.sunflower.server.gen.transport.TransportProtos.TransportApiRequestMsg buildPartial() {
         com.sunflower.server.gen.transport.TransportProtos.TransportApiRequestMsg result = new com.sunflower.server.gen.transport.TransportProtos.TransportApiRequestMsg(this);
+        int from_bitField0_ = bitField0_;
         if (validateTokenRequestMsgBuilder_ == null) {
           result.validateTokenRequestMsg_ = validateTokenRequestMsg_;
         } else {
@@ -42859,6 +42952,15 @@ public final class TransportProtos {
         } else {
           result.getTenantRoutingInfoRequestMsg_ = getTenantRoutingInfoRequestMsgBuilder_.build();
         }
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) != 0)) {
+            getOrCreateDevicesRequestMsg_ = java.util.Collections.unmodifiableList(getOrCreateDevicesRequestMsg_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.getOrCreateDevicesRequestMsg_ = getOrCreateDevicesRequestMsg_;
+        } else {
+          result.getOrCreateDevicesRequestMsg_ = getOrCreateDevicesRequestMsgBuilder_.build();
+        }
         onBuilt();
         return result;
       }
@@ -42919,6 +43021,32 @@ public final class TransportProtos {
         if (other.hasGetTenantRoutingInfoRequestMsg()) {
           mergeGetTenantRoutingInfoRequestMsg(other.getGetTenantRoutingInfoRequestMsg());
         }
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          if (!other.getOrCreateDevicesRequestMsg_.isEmpty()) {
+            if (getOrCreateDevicesRequestMsg_.isEmpty()) {
+              getOrCreateDevicesRequestMsg_ = other.getOrCreateDevicesRequestMsg_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureGetOrCreateDevicesRequestMsgIsMutable();
+              getOrCreateDevicesRequestMsg_.addAll(other.getOrCreateDevicesRequestMsg_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.getOrCreateDevicesRequestMsg_.isEmpty()) {
+            if (getOrCreateDevicesRequestMsgBuilder_.isEmpty()) {
+              getOrCreateDevicesRequestMsgBuilder_.dispose();
+              getOrCreateDevicesRequestMsgBuilder_ = null;
+              getOrCreateDevicesRequestMsg_ = other.getOrCreateDevicesRequestMsg_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              getOrCreateDevicesRequestMsgBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getGetOrCreateDevicesRequestMsgFieldBuilder() : null;
+            } else {
+              getOrCreateDevicesRequestMsgBuilder_.addAllMessages(other.getOrCreateDevicesRequestMsg_);
+            }
+          }
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -43423,6 +43551,247 @@ public final class TransportProtos {
         }
         return getTenantRoutingInfoRequestMsgBuilder_;
       }
+      private int bitField0_;
+
+      private java.util.List<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg> getOrCreateDevicesRequestMsg_ =
+        java.util.Collections.emptyList();
+      private void ensureGetOrCreateDevicesRequestMsgIsMutable() {
+        if (!((bitField0_ & 0x00000001) != 0)) {
+          getOrCreateDevicesRequestMsg_ = new java.util.ArrayList<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg>(getOrCreateDevicesRequestMsg_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsgOrBuilder> getOrCreateDevicesRequestMsgBuilder_;
+
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public java.util.List<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg> getGetOrCreateDevicesRequestMsgList() {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(getOrCreateDevicesRequestMsg_);
+        } else {
+          return getOrCreateDevicesRequestMsgBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public int getGetOrCreateDevicesRequestMsgCount() {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          return getOrCreateDevicesRequestMsg_.size();
+        } else {
+          return getOrCreateDevicesRequestMsgBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg getGetOrCreateDevicesRequestMsg(int index) {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          return getOrCreateDevicesRequestMsg_.get(index);
+        } else {
+          return getOrCreateDevicesRequestMsgBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public Builder setGetOrCreateDevicesRequestMsg(
+          int index, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg value) {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureGetOrCreateDevicesRequestMsgIsMutable();
+          getOrCreateDevicesRequestMsg_.set(index, value);
+          onChanged();
+        } else {
+          getOrCreateDevicesRequestMsgBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public Builder setGetOrCreateDevicesRequestMsg(
+          int index, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.Builder builderForValue) {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          ensureGetOrCreateDevicesRequestMsgIsMutable();
+          getOrCreateDevicesRequestMsg_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          getOrCreateDevicesRequestMsgBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public Builder addGetOrCreateDevicesRequestMsg(com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg value) {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureGetOrCreateDevicesRequestMsgIsMutable();
+          getOrCreateDevicesRequestMsg_.add(value);
+          onChanged();
+        } else {
+          getOrCreateDevicesRequestMsgBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public Builder addGetOrCreateDevicesRequestMsg(
+          int index, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg value) {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureGetOrCreateDevicesRequestMsgIsMutable();
+          getOrCreateDevicesRequestMsg_.add(index, value);
+          onChanged();
+        } else {
+          getOrCreateDevicesRequestMsgBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public Builder addGetOrCreateDevicesRequestMsg(
+          com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.Builder builderForValue) {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          ensureGetOrCreateDevicesRequestMsgIsMutable();
+          getOrCreateDevicesRequestMsg_.add(builderForValue.build());
+          onChanged();
+        } else {
+          getOrCreateDevicesRequestMsgBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public Builder addGetOrCreateDevicesRequestMsg(
+          int index, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.Builder builderForValue) {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          ensureGetOrCreateDevicesRequestMsgIsMutable();
+          getOrCreateDevicesRequestMsg_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          getOrCreateDevicesRequestMsgBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public Builder addAllGetOrCreateDevicesRequestMsg(
+          java.lang.Iterable<? extends com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg> values) {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          ensureGetOrCreateDevicesRequestMsgIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, getOrCreateDevicesRequestMsg_);
+          onChanged();
+        } else {
+          getOrCreateDevicesRequestMsgBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public Builder clearGetOrCreateDevicesRequestMsg() {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          getOrCreateDevicesRequestMsg_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          getOrCreateDevicesRequestMsgBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public Builder removeGetOrCreateDevicesRequestMsg(int index) {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          ensureGetOrCreateDevicesRequestMsgIsMutable();
+          getOrCreateDevicesRequestMsg_.remove(index);
+          onChanged();
+        } else {
+          getOrCreateDevicesRequestMsgBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.Builder getGetOrCreateDevicesRequestMsgBuilder(
+          int index) {
+        return getGetOrCreateDevicesRequestMsgFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsgOrBuilder getGetOrCreateDevicesRequestMsgOrBuilder(
+          int index) {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          return getOrCreateDevicesRequestMsg_.get(index);  } else {
+          return getOrCreateDevicesRequestMsgBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public java.util.List<? extends com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsgOrBuilder> 
+           getGetOrCreateDevicesRequestMsgOrBuilderList() {
+        if (getOrCreateDevicesRequestMsgBuilder_ != null) {
+          return getOrCreateDevicesRequestMsgBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(getOrCreateDevicesRequestMsg_);
+        }
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.Builder addGetOrCreateDevicesRequestMsgBuilder() {
+        return getGetOrCreateDevicesRequestMsgFieldBuilder().addBuilder(
+            com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.Builder addGetOrCreateDevicesRequestMsgBuilder(
+          int index) {
+        return getGetOrCreateDevicesRequestMsgFieldBuilder().addBuilder(
+            index, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayRequestMsg getOrCreateDevicesRequestMsg = 5;</code>
+       */
+      public java.util.List<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.Builder> 
+           getGetOrCreateDevicesRequestMsgBuilderList() {
+        return getGetOrCreateDevicesRequestMsgFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsgOrBuilder> 
+          getGetOrCreateDevicesRequestMsgFieldBuilder() {
+        if (getOrCreateDevicesRequestMsgBuilder_ == null) {
+          getOrCreateDevicesRequestMsgBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayRequestMsgOrBuilder>(
+                  getOrCreateDevicesRequestMsg_,
+                  ((bitField0_ & 0x00000001) != 0),
+                  getParentForChildren(),
+                  isClean());
+          getOrCreateDevicesRequestMsg_ = null;
+        }
+        return getOrCreateDevicesRequestMsgBuilder_;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -43524,6 +43893,30 @@ public final class TransportProtos {
      * <code>.transport.GetTenantRoutingInfoResponseMsg getTenantRoutingInfoResponseMsg = 4;</code>
      */
     com.sunflower.server.gen.transport.TransportProtos.GetTenantRoutingInfoResponseMsgOrBuilder getGetTenantRoutingInfoResponseMsgOrBuilder();
+
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+     */
+    java.util.List<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg> 
+        getGetOrCreateDevicesResponseMsgList();
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+     */
+    com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg getGetOrCreateDevicesResponseMsg(int index);
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+     */
+    int getGetOrCreateDevicesResponseMsgCount();
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+     */
+    java.util.List<? extends com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsgOrBuilder> 
+        getGetOrCreateDevicesResponseMsgOrBuilderList();
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+     */
+    com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsgOrBuilder getGetOrCreateDevicesResponseMsgOrBuilder(
+        int index);
   }
   /**
    * <pre>
@@ -43542,6 +43935,7 @@ public final class TransportProtos {
       super(builder);
     }
     private TransportApiResponseMsg() {
+      getOrCreateDevicesResponseMsg_ = java.util.Collections.emptyList();
     }
 
     @java.lang.Override
@@ -43564,6 +43958,7 @@ public final class TransportProtos {
       if (extensionRegistry == null) {
         throw new java.lang.NullPointerException();
       }
+      int mutable_bitField0_ = 0;
       com.google.protobuf.UnknownFieldSet.Builder unknownFields =
           com.google.protobuf.UnknownFieldSet.newBuilder();
       try {
@@ -43613,6 +44008,15 @@ public final class TransportProtos {
 
               break;
             }
+            case 42: {
+              if (!((mutable_bitField0_ & 0x00000001) != 0)) {
+                getOrCreateDevicesResponseMsg_ = new java.util.ArrayList<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              getOrCreateDevicesResponseMsg_.add(
+                  input.readMessage(com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.parser(), extensionRegistry));
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -43628,6 +44032,9 @@ public final class TransportProtos {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000001) != 0)) {
+          getOrCreateDevicesResponseMsg_ = java.util.Collections.unmodifiableList(getOrCreateDevicesResponseMsg_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -43714,6 +44121,40 @@ public final class TransportProtos {
       return getGetTenantRoutingInfoResponseMsg();
     }
 
+    public static final int GETORCREATEDEVICESRESPONSEMSG_FIELD_NUMBER = 5;
+    private java.util.List<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg> getOrCreateDevicesResponseMsg_;
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+     */
+    public java.util.List<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg> getGetOrCreateDevicesResponseMsgList() {
+      return getOrCreateDevicesResponseMsg_;
+    }
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+     */
+    public java.util.List<? extends com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsgOrBuilder> 
+        getGetOrCreateDevicesResponseMsgOrBuilderList() {
+      return getOrCreateDevicesResponseMsg_;
+    }
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+     */
+    public int getGetOrCreateDevicesResponseMsgCount() {
+      return getOrCreateDevicesResponseMsg_.size();
+    }
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+     */
+    public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg getGetOrCreateDevicesResponseMsg(int index) {
+      return getOrCreateDevicesResponseMsg_.get(index);
+    }
+    /**
+     * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+     */
+    public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsgOrBuilder getGetOrCreateDevicesResponseMsgOrBuilder(
+        int index) {
+      return getOrCreateDevicesResponseMsg_.get(index);
+    }
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -43737,6 +44178,9 @@ public final class TransportProtos {
       if (getTenantRoutingInfoResponseMsg_ != null) {
         output.writeMessage(4, getGetTenantRoutingInfoResponseMsg());
       }
+      for (int i = 0; i < getOrCreateDevicesResponseMsg_.size(); i++) {
+        output.writeMessage(5, getOrCreateDevicesResponseMsg_.get(i));
+      }
       unknownFields.writeTo(output);
     }
 
@@ -43758,6 +44202,10 @@ public final class TransportProtos {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(4, getGetTenantRoutingInfoResponseMsg());
       }
+      for (int i = 0; i < getOrCreateDevicesResponseMsg_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(5, getOrCreateDevicesResponseMsg_.get(i));
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -43788,6 +44236,8 @@ public final class TransportProtos {
         if (!getGetTenantRoutingInfoResponseMsg()
             .equals(other.getGetTenantRoutingInfoResponseMsg())) return false;
       }
+      if (!getGetOrCreateDevicesResponseMsgList()
+          .equals(other.getGetOrCreateDevicesResponseMsgList())) return false;
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -43811,6 +44261,10 @@ public final class TransportProtos {
         hash = (37 * hash) + GETTENANTROUTINGINFORESPONSEMSG_FIELD_NUMBER;
         hash = (53 * hash) + getGetTenantRoutingInfoResponseMsg().hashCode();
       }
+      if (getGetOrCreateDevicesResponseMsgCount() > 0) {
+        hash = (37 * hash) + GETORCREATEDEVICESRESPONSEMSG_FIELD_NUMBER;
+        hash = (53 * hash) + getGetOrCreateDevicesResponseMsgList().hashCode();
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -43943,6 +44397,7 @@ public final class TransportProtos {
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessageV3
                 .alwaysUseFieldBuilders) {
+          getGetOrCreateDevicesResponseMsgFieldBuilder();
         }
       }
       @java.lang.Override
@@ -43966,6 +44421,12 @@ public final class TransportProtos {
           getTenantRoutingInfoResponseMsg_ = null;
           getTenantRoutingInfoResponseMsgBuilder_ = null;
         }
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          getOrCreateDevicesResponseMsg_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          getOrCreateDevicesResponseMsgBuilder_.clear();
+        }
         return this;
       }
 
@@ -43992,6 +44453,7 @@ public final class TransportProtos {
       @java.lang.Override
       public com.sunflower.server.gen.transport.TransportProtos.TransportApiResponseMsg buildPartial() {
         com.sunflower.server.gen.transport.TransportProtos.TransportApiResponseMsg result = new com.sunflower.server.gen.transport.TransportProtos.TransportApiResponseMsg(this);
+        int from_bitField0_ = bitField0_;
         if (validateTokenResponseMsgBuilder_ == null) {
           result.validateTokenResponseMsg_ = validateTokenResponseMsg_;
         } else {
@@ -44007,6 +44469,15 @@ public final class TransportProtos {
         } else {
           result.getTenantRoutingInfoResponseMsg_ = getTenantRoutingInfoResponseMsgBuilder_.build();
         }
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) != 0)) {
+            getOrCreateDevicesResponseMsg_ = java.util.Collections.unmodifiableList(getOrCreateDevicesResponseMsg_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.getOrCreateDevicesResponseMsg_ = getOrCreateDevicesResponseMsg_;
+        } else {
+          result.getOrCreateDevicesResponseMsg_ = getOrCreateDevicesResponseMsgBuilder_.build();
+        }
         onBuilt();
         return result;
       }
@@ -44064,6 +44535,32 @@ public final class TransportProtos {
         if (other.hasGetTenantRoutingInfoResponseMsg()) {
           mergeGetTenantRoutingInfoResponseMsg(other.getGetTenantRoutingInfoResponseMsg());
         }
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          if (!other.getOrCreateDevicesResponseMsg_.isEmpty()) {
+            if (getOrCreateDevicesResponseMsg_.isEmpty()) {
+              getOrCreateDevicesResponseMsg_ = other.getOrCreateDevicesResponseMsg_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureGetOrCreateDevicesResponseMsgIsMutable();
+              getOrCreateDevicesResponseMsg_.addAll(other.getOrCreateDevicesResponseMsg_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.getOrCreateDevicesResponseMsg_.isEmpty()) {
+            if (getOrCreateDevicesResponseMsgBuilder_.isEmpty()) {
+              getOrCreateDevicesResponseMsgBuilder_.dispose();
+              getOrCreateDevicesResponseMsgBuilder_ = null;
+              getOrCreateDevicesResponseMsg_ = other.getOrCreateDevicesResponseMsg_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              getOrCreateDevicesResponseMsgBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getGetOrCreateDevicesResponseMsgFieldBuilder() : null;
+            } else {
+              getOrCreateDevicesResponseMsgBuilder_.addAllMessages(other.getOrCreateDevicesResponseMsg_);
+            }
+          }
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -44449,6 +44946,247 @@ public final class TransportProtos {
         }
         return getTenantRoutingInfoResponseMsgBuilder_;
       }
+      private int bitField0_;
+
+      private java.util.List<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg> getOrCreateDevicesResponseMsg_ =
+        java.util.Collections.emptyList();
+      private void ensureGetOrCreateDevicesResponseMsgIsMutable() {
+        if (!((bitField0_ & 0x00000001) != 0)) {
+          getOrCreateDevicesResponseMsg_ = new java.util.ArrayList<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg>(getOrCreateDevicesResponseMsg_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsgOrBuilder> getOrCreateDevicesResponseMsgBuilder_;
+
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public java.util.List<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg> getGetOrCreateDevicesResponseMsgList() {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(getOrCreateDevicesResponseMsg_);
+        } else {
+          return getOrCreateDevicesResponseMsgBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public int getGetOrCreateDevicesResponseMsgCount() {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          return getOrCreateDevicesResponseMsg_.size();
+        } else {
+          return getOrCreateDevicesResponseMsgBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg getGetOrCreateDevicesResponseMsg(int index) {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          return getOrCreateDevicesResponseMsg_.get(index);
+        } else {
+          return getOrCreateDevicesResponseMsgBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public Builder setGetOrCreateDevicesResponseMsg(
+          int index, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg value) {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureGetOrCreateDevicesResponseMsgIsMutable();
+          getOrCreateDevicesResponseMsg_.set(index, value);
+          onChanged();
+        } else {
+          getOrCreateDevicesResponseMsgBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public Builder setGetOrCreateDevicesResponseMsg(
+          int index, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.Builder builderForValue) {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          ensureGetOrCreateDevicesResponseMsgIsMutable();
+          getOrCreateDevicesResponseMsg_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          getOrCreateDevicesResponseMsgBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public Builder addGetOrCreateDevicesResponseMsg(com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg value) {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureGetOrCreateDevicesResponseMsgIsMutable();
+          getOrCreateDevicesResponseMsg_.add(value);
+          onChanged();
+        } else {
+          getOrCreateDevicesResponseMsgBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public Builder addGetOrCreateDevicesResponseMsg(
+          int index, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg value) {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureGetOrCreateDevicesResponseMsgIsMutable();
+          getOrCreateDevicesResponseMsg_.add(index, value);
+          onChanged();
+        } else {
+          getOrCreateDevicesResponseMsgBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public Builder addGetOrCreateDevicesResponseMsg(
+          com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.Builder builderForValue) {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          ensureGetOrCreateDevicesResponseMsgIsMutable();
+          getOrCreateDevicesResponseMsg_.add(builderForValue.build());
+          onChanged();
+        } else {
+          getOrCreateDevicesResponseMsgBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public Builder addGetOrCreateDevicesResponseMsg(
+          int index, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.Builder builderForValue) {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          ensureGetOrCreateDevicesResponseMsgIsMutable();
+          getOrCreateDevicesResponseMsg_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          getOrCreateDevicesResponseMsgBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public Builder addAllGetOrCreateDevicesResponseMsg(
+          java.lang.Iterable<? extends com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg> values) {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          ensureGetOrCreateDevicesResponseMsgIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, getOrCreateDevicesResponseMsg_);
+          onChanged();
+        } else {
+          getOrCreateDevicesResponseMsgBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public Builder clearGetOrCreateDevicesResponseMsg() {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          getOrCreateDevicesResponseMsg_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          getOrCreateDevicesResponseMsgBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public Builder removeGetOrCreateDevicesResponseMsg(int index) {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          ensureGetOrCreateDevicesResponseMsgIsMutable();
+          getOrCreateDevicesResponseMsg_.remove(index);
+          onChanged();
+        } else {
+          getOrCreateDevicesResponseMsgBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.Builder getGetOrCreateDevicesResponseMsgBuilder(
+          int index) {
+        return getGetOrCreateDevicesResponseMsgFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsgOrBuilder getGetOrCreateDevicesResponseMsgOrBuilder(
+          int index) {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          return getOrCreateDevicesResponseMsg_.get(index);  } else {
+          return getOrCreateDevicesResponseMsgBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public java.util.List<? extends com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsgOrBuilder> 
+           getGetOrCreateDevicesResponseMsgOrBuilderList() {
+        if (getOrCreateDevicesResponseMsgBuilder_ != null) {
+          return getOrCreateDevicesResponseMsgBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(getOrCreateDevicesResponseMsg_);
+        }
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.Builder addGetOrCreateDevicesResponseMsgBuilder() {
+        return getGetOrCreateDevicesResponseMsgFieldBuilder().addBuilder(
+            com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.Builder addGetOrCreateDevicesResponseMsgBuilder(
+          int index) {
+        return getGetOrCreateDevicesResponseMsgFieldBuilder().addBuilder(
+            index, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .transport.GetOrCreateDeviceFromGatewayResponseMsg getOrCreateDevicesResponseMsg = 5;</code>
+       */
+      public java.util.List<com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.Builder> 
+           getGetOrCreateDevicesResponseMsgBuilderList() {
+        return getGetOrCreateDevicesResponseMsgFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsgOrBuilder> 
+          getGetOrCreateDevicesResponseMsgFieldBuilder() {
+        if (getOrCreateDevicesResponseMsgBuilder_ == null) {
+          getOrCreateDevicesResponseMsgBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.GetOrCreateDeviceFromGatewayResponseMsgOrBuilder>(
+                  getOrCreateDevicesResponseMsg_,
+                  ((bitField0_ & 0x00000001) != 0),
+                  getParentForChildren(),
+                  isClean());
+          getOrCreateDevicesResponseMsg_ = null;
+        }
+        return getOrCreateDevicesResponseMsgBuilder_;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -44556,6 +45294,30 @@ public final class TransportProtos {
      * @return The toDeviceActorNotificationMsg.
      */
     com.google.protobuf.ByteString getToDeviceActorNotificationMsg();
+
+    /**
+     * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+     */
+    java.util.List<com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg> 
+        getToDeviceActorMsgBatchList();
+    /**
+     * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+     */
+    com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg getToDeviceActorMsgBatch(int index);
+    /**
+     * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+     */
+    int getToDeviceActorMsgBatchCount();
+    /**
+     * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+     */
+    java.util.List<? extends com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsgOrBuilder> 
+        getToDeviceActorMsgBatchOrBuilderList();
+    /**
+     * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+     */
+    com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsgOrBuilder getToDeviceActorMsgBatchOrBuilder(
+        int index);
   }
   /**
    * <pre>
@@ -44575,6 +45337,7 @@ public final class TransportProtos {
     }
     private ToCoreMsg() {
       toDeviceActorNotificationMsg_ = com.google.protobuf.ByteString.EMPTY;
+      toDeviceActorMsgBatch_ = java.util.Collections.emptyList();
     }
 
     @java.lang.Override
@@ -44597,6 +45360,7 @@ public final class TransportProtos {
       if (extensionRegistry == null) {
         throw new java.lang.NullPointerException();
       }
+      int mutable_bitField0_ = 0;
       com.google.protobuf.UnknownFieldSet.Builder unknownFields =
           com.google.protobuf.UnknownFieldSet.newBuilder();
       try {
@@ -44651,6 +45415,15 @@ public final class TransportProtos {
               toDeviceActorNotificationMsg_ = input.readBytes();
               break;
             }
+            case 42: {
+              if (!((mutable_bitField0_ & 0x00000001) != 0)) {
+                toDeviceActorMsgBatch_ = new java.util.ArrayList<com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              toDeviceActorMsgBatch_.add(
+                  input.readMessage(com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg.parser(), extensionRegistry));
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -44666,6 +45439,9 @@ public final class TransportProtos {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e).setUnfinishedMessage(this);
       } finally {
+        if (((mutable_bitField0_ & 0x00000001) != 0)) {
+          toDeviceActorMsgBatch_ = java.util.Collections.unmodifiableList(toDeviceActorMsgBatch_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -44762,6 +45538,41 @@ public final class TransportProtos {
       return toDeviceActorNotificationMsg_;
     }
 
+    public static final int TODEVICEACTORMSGBATCH_FIELD_NUMBER = 5;
+    private java.util.List<com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg> toDeviceActorMsgBatch_;
+    /**
+     * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+     */
+    public java.util.List<com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg> getToDeviceActorMsgBatchList() {
+      return toDeviceActorMsgBatch_;
+    }
+    /**
+     * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+     */
+    public java.util.List<? extends com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsgOrBuilder> 
+        getToDeviceActorMsgBatchOrBuilderList() {
+      return toDeviceActorMsgBatch_;
+    }
+    /**
+     * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+     */
+    public int getToDeviceActorMsgBatchCount() {
+      return toDeviceActorMsgBatch_.size();
+    }
+    /**
+     * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+     */
+    public com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg getToDeviceActorMsgBatch(int index) {
+      return toDeviceActorMsgBatch_.get(index);
+    }
+    /**
+     * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+     */
+    public com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsgOrBuilder getToDeviceActorMsgBatchOrBuilder(
+        int index) {
+      return toDeviceActorMsgBatch_.get(index);
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -44788,6 +45599,9 @@ public final class TransportProtos {
       if (!toDeviceActorNotificationMsg_.isEmpty()) {
         output.writeBytes(4, toDeviceActorNotificationMsg_);
       }
+      for (int i = 0; i < toDeviceActorMsgBatch_.size(); i++) {
+        output.writeMessage(5, toDeviceActorMsgBatch_.get(i));
+      }
       unknownFields.writeTo(output);
     }
 
@@ -44813,6 +45627,10 @@ public final class TransportProtos {
         size += com.google.protobuf.CodedOutputStream
           .computeBytesSize(4, toDeviceActorNotificationMsg_);
       }
+      for (int i = 0; i < toDeviceActorMsgBatch_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(5, toDeviceActorMsgBatch_.get(i));
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -44845,6 +45663,8 @@ public final class TransportProtos {
       }
       if (!getToDeviceActorNotificationMsg()
           .equals(other.getToDeviceActorNotificationMsg())) return false;
+      if (!getToDeviceActorMsgBatchList()
+          .equals(other.getToDeviceActorMsgBatchList())) return false;
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -44870,6 +45690,10 @@ public final class TransportProtos {
       }
       hash = (37 * hash) + TODEVICEACTORNOTIFICATIONMSG_FIELD_NUMBER;
       hash = (53 * hash) + getToDeviceActorNotificationMsg().hashCode();
+      if (getToDeviceActorMsgBatchCount() > 0) {
+        hash = (37 * hash) + TODEVICEACTORMSGBATCH_FIELD_NUMBER;
+        hash = (53 * hash) + getToDeviceActorMsgBatchList().hashCode();
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -45002,6 +45826,7 @@ public final class TransportProtos {
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessageV3
                 .alwaysUseFieldBuilders) {
+          getToDeviceActorMsgBatchFieldBuilder();
         }
       }
       @java.lang.Override
@@ -45027,6 +45852,12 @@ public final class TransportProtos {
         }
         toDeviceActorNotificationMsg_ = com.google.protobuf.ByteString.EMPTY;
 
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          toDeviceActorMsgBatch_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          toDeviceActorMsgBatchBuilder_.clear();
+        }
         return this;
       }
 
@@ -45053,6 +45884,7 @@ public final class TransportProtos {
       @java.lang.Override
       public com.sunflower.server.gen.transport.TransportProtos.ToCoreMsg buildPartial() {
         com.sunflower.server.gen.transport.TransportProtos.ToCoreMsg result = new com.sunflower.server.gen.transport.TransportProtos.ToCoreMsg(this);
+        int from_bitField0_ = bitField0_;
         if (toDeviceActorMsgBuilder_ == null) {
           result.toDeviceActorMsg_ = toDeviceActorMsg_;
         } else {
@@ -45069,6 +45901,15 @@ public final class TransportProtos {
           result.toSubscriptionMgrMsg_ = toSubscriptionMgrMsgBuilder_.build();
         }
         result.toDeviceActorNotificationMsg_ = toDeviceActorNotificationMsg_;
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) != 0)) {
+            toDeviceActorMsgBatch_ = java.util.Collections.unmodifiableList(toDeviceActorMsgBatch_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.toDeviceActorMsgBatch_ = toDeviceActorMsgBatch_;
+        } else {
+          result.toDeviceActorMsgBatch_ = toDeviceActorMsgBatchBuilder_.build();
+        }
         onBuilt();
         return result;
       }
@@ -45129,6 +45970,32 @@ public final class TransportProtos {
         if (other.getToDeviceActorNotificationMsg() != com.google.protobuf.ByteString.EMPTY) {
           setToDeviceActorNotificationMsg(other.getToDeviceActorNotificationMsg());
         }
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          if (!other.toDeviceActorMsgBatch_.isEmpty()) {
+            if (toDeviceActorMsgBatch_.isEmpty()) {
+              toDeviceActorMsgBatch_ = other.toDeviceActorMsgBatch_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureToDeviceActorMsgBatchIsMutable();
+              toDeviceActorMsgBatch_.addAll(other.toDeviceActorMsgBatch_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.toDeviceActorMsgBatch_.isEmpty()) {
+            if (toDeviceActorMsgBatchBuilder_.isEmpty()) {
+              toDeviceActorMsgBatchBuilder_.dispose();
+              toDeviceActorMsgBatchBuilder_ = null;
+              toDeviceActorMsgBatch_ = other.toDeviceActorMsgBatch_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              toDeviceActorMsgBatchBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getToDeviceActorMsgBatchFieldBuilder() : null;
+            } else {
+              toDeviceActorMsgBatchBuilder_.addAllMessages(other.toDeviceActorMsgBatch_);
+            }
+          }
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -45547,62 +46414,303 @@ public final class TransportProtos {
         onChanged();
         return this;
       }
-      @java.lang.Override
-      public final Builder setUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.setUnknownFields(unknownFields);
-      }
+      private int bitField0_;
 
-      @java.lang.Override
-      public final Builder mergeUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.mergeUnknownFields(unknownFields);
+      private java.util.List<com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg> toDeviceActorMsgBatch_ =
+        java.util.Collections.emptyList();
+      private void ensureToDeviceActorMsgBatchIsMutable() {
+        if (!((bitField0_ & 0x00000001) != 0)) {
+          toDeviceActorMsgBatch_ = new java.util.ArrayList<com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg>(toDeviceActorMsgBatch_);
+          bitField0_ |= 0x00000001;
+         }
       }
 
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg, com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsgOrBuilder> toDeviceActorMsgBatchBuilder_;
 
-      // @@protoc_insertion_point(builder_scope:transport.ToCoreMsg)
-    }
-
-    // @@protoc_insertion_point(class_scope:transport.ToCoreMsg)
-    private static final com.sunflower.server.gen.transport.TransportProtos.ToCoreMsg DEFAULT_INSTANCE;
-    static {
-      DEFAULT_INSTANCE = new com.sunflower.server.gen.transport.TransportProtos.ToCoreMsg();
-    }
-
-    public static com.sunflower.server.gen.transport.TransportProtos.ToCoreMsg getDefaultInstance() {
-      return DEFAULT_INSTANCE;
-    }
-
-    private static final com.google.protobuf.Parser<ToCoreMsg>
-        PARSER = new com.google.protobuf.AbstractParser<ToCoreMsg>() {
-      @java.lang.Override
-      public ToCoreMsg parsePartialFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws com.google.protobuf.InvalidProtocolBufferException {
-        return new ToCoreMsg(input, extensionRegistry);
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public java.util.List<com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg> getToDeviceActorMsgBatchList() {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(toDeviceActorMsgBatch_);
+        } else {
+          return toDeviceActorMsgBatchBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public int getToDeviceActorMsgBatchCount() {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          return toDeviceActorMsgBatch_.size();
+        } else {
+          return toDeviceActorMsgBatchBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg getToDeviceActorMsgBatch(int index) {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          return toDeviceActorMsgBatch_.get(index);
+        } else {
+          return toDeviceActorMsgBatchBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public Builder setToDeviceActorMsgBatch(
+          int index, com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg value) {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureToDeviceActorMsgBatchIsMutable();
+          toDeviceActorMsgBatch_.set(index, value);
+          onChanged();
+        } else {
+          toDeviceActorMsgBatchBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public Builder setToDeviceActorMsgBatch(
+          int index, com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg.Builder builderForValue) {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          ensureToDeviceActorMsgBatchIsMutable();
+          toDeviceActorMsgBatch_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          toDeviceActorMsgBatchBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public Builder addToDeviceActorMsgBatch(com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg value) {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureToDeviceActorMsgBatchIsMutable();
+          toDeviceActorMsgBatch_.add(value);
+          onChanged();
+        } else {
+          toDeviceActorMsgBatchBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public Builder addToDeviceActorMsgBatch(
+          int index, com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg value) {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureToDeviceActorMsgBatchIsMutable();
+          toDeviceActorMsgBatch_.add(index, value);
+          onChanged();
+        } else {
+          toDeviceActorMsgBatchBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public Builder addToDeviceActorMsgBatch(
+          com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg.Builder builderForValue) {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          ensureToDeviceActorMsgBatchIsMutable();
+          toDeviceActorMsgBatch_.add(builderForValue.build());
+          onChanged();
+        } else {
+          toDeviceActorMsgBatchBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public Builder addToDeviceActorMsgBatch(
+          int index, com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg.Builder builderForValue) {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          ensureToDeviceActorMsgBatchIsMutable();
+          toDeviceActorMsgBatch_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          toDeviceActorMsgBatchBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public Builder addAllToDeviceActorMsgBatch(
+          java.lang.Iterable<? extends com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg> values) {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          ensureToDeviceActorMsgBatchIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, toDeviceActorMsgBatch_);
+          onChanged();
+        } else {
+          toDeviceActorMsgBatchBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public Builder clearToDeviceActorMsgBatch() {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          toDeviceActorMsgBatch_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          toDeviceActorMsgBatchBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public Builder removeToDeviceActorMsgBatch(int index) {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          ensureToDeviceActorMsgBatchIsMutable();
+          toDeviceActorMsgBatch_.remove(index);
+          onChanged();
+        } else {
+          toDeviceActorMsgBatchBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg.Builder getToDeviceActorMsgBatchBuilder(
+          int index) {
+        return getToDeviceActorMsgBatchFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsgOrBuilder getToDeviceActorMsgBatchOrBuilder(
+          int index) {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          return toDeviceActorMsgBatch_.get(index);  } else {
+          return toDeviceActorMsgBatchBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public java.util.List<? extends com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsgOrBuilder> 
+           getToDeviceActorMsgBatchOrBuilderList() {
+        if (toDeviceActorMsgBatchBuilder_ != null) {
+          return toDeviceActorMsgBatchBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(toDeviceActorMsgBatch_);
+        }
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg.Builder addToDeviceActorMsgBatchBuilder() {
+        return getToDeviceActorMsgBatchFieldBuilder().addBuilder(
+            com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg.Builder addToDeviceActorMsgBatchBuilder(
+          int index) {
+        return getToDeviceActorMsgBatchFieldBuilder().addBuilder(
+            index, com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .transport.TransportToDeviceActorMsg toDeviceActorMsgBatch = 5;</code>
+       */
+      public java.util.List<com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg.Builder> 
+           getToDeviceActorMsgBatchBuilderList() {
+        return getToDeviceActorMsgBatchFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg, com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsgOrBuilder> 
+          getToDeviceActorMsgBatchFieldBuilder() {
+        if (toDeviceActorMsgBatchBuilder_ == null) {
+          toDeviceActorMsgBatchBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg, com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.TransportToDeviceActorMsgOrBuilder>(
+                  toDeviceActorMsgBatch_,
+                  ((bitField0_ & 0x00000001) != 0),
+                  getParentForChildren(),
+                  isClean());
+          toDeviceActorMsgBatch_ = null;
+        }
+        return toDeviceActorMsgBatchBuilder_;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
       }
-    };
-
-    public static com.google.protobuf.Parser<ToCoreMsg> parser() {
-      return PARSER;
-    }
-
-    @java.lang.Override
-    public com.google.protobuf.Parser<ToCoreMsg> getParserForType() {
-      return PARSER;
-    }
-
-    @java.lang.Override
-    public com.sunflower.server.gen.transport.TransportProtos.ToCoreMsg getDefaultInstanceForType() {
-      return DEFAULT_INSTANCE;
-    }
-
-  }
-
-  public interface ToCoreNotificationMsgOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:transport.ToCoreNotificationMsg)
-      com.google.protobuf.MessageOrBuilder {
+
+
+      // @@protoc_insertion_point(builder_scope:transport.ToCoreMsg)
+    }
+
+    // @@protoc_insertion_point(class_scope:transport.ToCoreMsg)
+    private static final com.sunflower.server.gen.transport.TransportProtos.ToCoreMsg DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.sunflower.server.gen.transport.TransportProtos.ToCoreMsg();
+    }
+
+    public static com.sunflower.server.gen.transport.TransportProtos.ToCoreMsg getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<ToCoreMsg>
+        PARSER = new com.google.protobuf.AbstractParser<ToCoreMsg>() {
+      @java.lang.Override
+      public ToCoreMsg parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new ToCoreMsg(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<ToCoreMsg> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<ToCoreMsg> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.sunflower.server.gen.transport.TransportProtos.ToCoreMsg getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface ToCoreNotificationMsgOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:transport.ToCoreNotificationMsg)
+      com.google.protobuf.MessageOrBuilder {
 
     /**
      * <code>.transport.LocalSubscriptionServiceMsgProto toLocalSubscriptionServiceMsg = 1;</code>
@@ -45639,6 +46747,21 @@ public final class TransportProtos {
      * @return The componentLifecycleMsg.
      */
     com.google.protobuf.ByteString getComponentLifecycleMsg();
+
+    /**
+     * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+     * @return Whether the tsPartitionsInvalidation field is set.
+     */
+    boolean hasTsPartitionsInvalidation();
+    /**
+     * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+     * @return The tsPartitionsInvalidation.
+     */
+    com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg getTsPartitionsInvalidation();
+    /**
+     * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+     */
+    com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsgOrBuilder getTsPartitionsInvalidationOrBuilder();
   }
   /**
    * <pre>
@@ -45721,6 +46844,19 @@ public final class TransportProtos {
               componentLifecycleMsg_ = input.readBytes();
               break;
             }
+            case 34: {
+              com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder subBuilder = null;
+              if (tsPartitionsInvalidation_ != null) {
+                subBuilder = tsPartitionsInvalidation_.toBuilder();
+              }
+              tsPartitionsInvalidation_ = input.readMessage(com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(tsPartitionsInvalidation_);
+                tsPartitionsInvalidation_ = subBuilder.buildPartial();
+              }
+
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -45809,6 +46945,29 @@ public final class TransportProtos {
       return componentLifecycleMsg_;
     }
 
+    public static final int TSPARTITIONSINVALIDATION_FIELD_NUMBER = 4;
+    private com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg tsPartitionsInvalidation_;
+    /**
+     * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+     * @return Whether the tsPartitionsInvalidation field is set.
+     */
+    public boolean hasTsPartitionsInvalidation() {
+      return tsPartitionsInvalidation_ != null;
+    }
+    /**
+     * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+     * @return The tsPartitionsInvalidation.
+     */
+    public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg getTsPartitionsInvalidation() {
+      return tsPartitionsInvalidation_ == null ? com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.getDefaultInstance() : tsPartitionsInvalidation_;
+    }
+    /**
+     * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+     */
+    public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsgOrBuilder getTsPartitionsInvalidationOrBuilder() {
+      return getTsPartitionsInvalidation();
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -45832,6 +46991,9 @@ public final class TransportProtos {
       if (!componentLifecycleMsg_.isEmpty()) {
         output.writeBytes(3, componentLifecycleMsg_);
       }
+      if (tsPartitionsInvalidation_ != null) {
+        output.writeMessage(4, getTsPartitionsInvalidation());
+      }
       unknownFields.writeTo(output);
     }
 
@@ -45853,6 +47015,10 @@ public final class TransportProtos {
         size += com.google.protobuf.CodedOutputStream
           .computeBytesSize(3, componentLifecycleMsg_);
       }
+      if (tsPartitionsInvalidation_ != null) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(4, getTsPartitionsInvalidation());
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -45880,6 +47046,11 @@ public final class TransportProtos {
       }
       if (!getComponentLifecycleMsg()
           .equals(other.getComponentLifecycleMsg())) return false;
+      if (hasTsPartitionsInvalidation() != other.hasTsPartitionsInvalidation()) return false;
+      if (hasTsPartitionsInvalidation()) {
+        if (!getTsPartitionsInvalidation()
+            .equals(other.getTsPartitionsInvalidation())) return false;
+      }
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -45901,6 +47072,10 @@ public final class TransportProtos {
       }
       hash = (37 * hash) + COMPONENTLIFECYCLEMSG_FIELD_NUMBER;
       hash = (53 * hash) + getComponentLifecycleMsg().hashCode();
+      if (hasTsPartitionsInvalidation()) {
+        hash = (37 * hash) + TSPARTITIONSINVALIDATION_FIELD_NUMBER;
+        hash = (53 * hash) + getTsPartitionsInvalidation().hashCode();
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -46051,6 +47226,12 @@ public final class TransportProtos {
           fromDeviceRpcResponseBuilder_ = null;
         }
         componentLifecycleMsg_ = com.google.protobuf.ByteString.EMPTY;
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          tsPartitionsInvalidation_ = null;
+        } else {
+          tsPartitionsInvalidation_ = null;
+          tsPartitionsInvalidationBuilder_ = null;
+        }
 
         return this;
       }
@@ -46089,6 +47270,11 @@ public final class TransportProtos {
           result.fromDeviceRpcResponse_ = fromDeviceRpcResponseBuilder_.build();
         }
         result.componentLifecycleMsg_ = componentLifecycleMsg_;
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          result.tsPartitionsInvalidation_ = tsPartitionsInvalidation_;
+        } else {
+          result.tsPartitionsInvalidation_ = tsPartitionsInvalidationBuilder_.build();
+        }
         onBuilt();
         return result;
       }
@@ -46146,6 +47332,9 @@ public final class TransportProtos {
         if (other.getComponentLifecycleMsg() != com.google.protobuf.ByteString.EMPTY) {
           setComponentLifecycleMsg(other.getComponentLifecycleMsg());
         }
+        if (other.hasTsPartitionsInvalidation()) {
+          mergeTsPartitionsInvalidation(other.getTsPartitionsInvalidation());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -46445,21 +47634,140 @@ public final class TransportProtos {
         onChanged();
         return this;
       }
-      @java.lang.Override
-      public final Builder setUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.setUnknownFields(unknownFields);
+
+      private com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg tsPartitionsInvalidation_;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsgOrBuilder> tsPartitionsInvalidationBuilder_;
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+       * @return Whether the tsPartitionsInvalidation field is set.
+       */
+      public boolean hasTsPartitionsInvalidation() {
+        return tsPartitionsInvalidationBuilder_ != null || tsPartitionsInvalidation_ != null;
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+       * @return The tsPartitionsInvalidation.
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg getTsPartitionsInvalidation() {
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          return tsPartitionsInvalidation_ == null ? com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.getDefaultInstance() : tsPartitionsInvalidation_;
+        } else {
+          return tsPartitionsInvalidationBuilder_.getMessage();
+        }
       }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+       */
+      public Builder setTsPartitionsInvalidation(com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg value) {
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          tsPartitionsInvalidation_ = value;
+          onChanged();
+        } else {
+          tsPartitionsInvalidationBuilder_.setMessage(value);
+        }
 
-      @java.lang.Override
-      public final Builder mergeUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.mergeUnknownFields(unknownFields);
+        return this;
       }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+       */
+      public Builder setTsPartitionsInvalidation(
+          com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder builderForValue) {
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          tsPartitionsInvalidation_ = builderForValue.build();
+          onChanged();
+        } else {
+          tsPartitionsInvalidationBuilder_.setMessage(builderForValue.build());
+        }
 
+        return this;
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+       */
+      public Builder mergeTsPartitionsInvalidation(com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg value) {
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          if (tsPartitionsInvalidation_ != null) {
+            tsPartitionsInvalidation_ =
+              com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.newBuilder(tsPartitionsInvalidation_).mergeFrom(value).buildPartial();
+          } else {
+            tsPartitionsInvalidation_ = value;
+          }
+          onChanged();
+        } else {
+          tsPartitionsInvalidationBuilder_.mergeFrom(value);
+        }
 
-      // @@protoc_insertion_point(builder_scope:transport.ToCoreNotificationMsg)
-    }
+        return this;
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+       */
+      public Builder clearTsPartitionsInvalidation() {
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          tsPartitionsInvalidation_ = null;
+          onChanged();
+        } else {
+          tsPartitionsInvalidation_ = null;
+          tsPartitionsInvalidationBuilder_ = null;
+        }
+
+        return this;
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder getTsPartitionsInvalidationBuilder() {
+        
+        onChanged();
+        return getTsPartitionsInvalidationFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsgOrBuilder getTsPartitionsInvalidationOrBuilder() {
+        if (tsPartitionsInvalidationBuilder_ != null) {
+          return tsPartitionsInvalidationBuilder_.getMessageOrBuilder();
+        } else {
+          return tsPartitionsInvalidation_ == null ?
+              com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.getDefaultInstance() : tsPartitionsInvalidation_;
+        }
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 4;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsgOrBuilder> 
+          getTsPartitionsInvalidationFieldBuilder() {
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          tsPartitionsInvalidationBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsgOrBuilder>(
+                  getTsPartitionsInvalidation(),
+                  getParentForChildren(),
+                  isClean());
+          tsPartitionsInvalidation_ = null;
+        }
+        return tsPartitionsInvalidationBuilder_;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:transport.ToCoreNotificationMsg)
+    }
 
     // @@protoc_insertion_point(class_scope:transport.ToCoreNotificationMsg)
     private static final com.sunflower.server.gen.transport.TransportProtos.ToCoreNotificationMsg DEFAULT_INSTANCE;
@@ -47526,6 +48834,20 @@ public final class TransportProtos {
      * <code>.transport.FromDeviceRPCResponseProto fromDeviceRpcResponse = 2;</code>
      */
     com.sunflower.server.gen.transport.TransportProtos.FromDeviceRPCResponseProtoOrBuilder getFromDeviceRpcResponseOrBuilder();
+    /**
+     * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+     * @return Whether the tsPartitionsInvalidation field is set.
+     */
+    boolean hasTsPartitionsInvalidation();
+    /**
+     * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+     * @return The tsPartitionsInvalidation.
+     */
+    com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg getTsPartitionsInvalidation();
+    /**
+     * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+     */
+    com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsgOrBuilder getTsPartitionsInvalidationOrBuilder();
   }
   /**
    * Protobuf type {@code transport.ToRuleEngineNotificationMsg}
@@ -47591,6 +48913,19 @@ public final class TransportProtos {
 
               break;
             }
+            case 26: {
+              com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder subBuilder = null;
+              if (tsPartitionsInvalidation_ != null) {
+                subBuilder = tsPartitionsInvalidation_.toBuilder();
+              }
+              tsPartitionsInvalidation_ = input.readMessage(com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(tsPartitionsInvalidation_);
+                tsPartitionsInvalidation_ = subBuilder.buildPartial();
+              }
+
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -47655,6 +48990,28 @@ public final class TransportProtos {
     public com.sunflower.server.gen.transport.TransportProtos.FromDeviceRPCResponseProtoOrBuilder getFromDeviceRpcResponseOrBuilder() {
       return getFromDeviceRpcResponse();
     }
+    public static final int TSPARTITIONSINVALIDATION_FIELD_NUMBER = 3;
+    private com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg tsPartitionsInvalidation_;
+    /**
+     * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+     * @return Whether the tsPartitionsInvalidation field is set.
+     */
+    public boolean hasTsPartitionsInvalidation() {
+      return tsPartitionsInvalidation_ != null;
+    }
+    /**
+     * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+     * @return The tsPartitionsInvalidation.
+     */
+    public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg getTsPartitionsInvalidation() {
+      return tsPartitionsInvalidation_ == null ? com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.getDefaultInstance() : tsPartitionsInvalidation_;
+    }
+    /**
+     * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+     */
+    public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsgOrBuilder getTsPartitionsInvalidationOrBuilder() {
+      return getTsPartitionsInvalidation();
+    }
 
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
@@ -47676,6 +49033,9 @@ public final class TransportProtos {
       if (fromDeviceRpcResponse_ != null) {
         output.writeMessage(2, getFromDeviceRpcResponse());
       }
+      if (tsPartitionsInvalidation_ != null) {
+        output.writeMessage(3, getTsPartitionsInvalidation());
+      }
       unknownFields.writeTo(output);
     }
 
@@ -47693,6 +49053,10 @@ public final class TransportProtos {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(2, getFromDeviceRpcResponse());
       }
+      if (tsPartitionsInvalidation_ != null) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, getTsPartitionsInvalidation());
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -47715,6 +49079,11 @@ public final class TransportProtos {
         if (!getFromDeviceRpcResponse()
             .equals(other.getFromDeviceRpcResponse())) return false;
       }
+      if (hasTsPartitionsInvalidation() != other.hasTsPartitionsInvalidation()) return false;
+      if (hasTsPartitionsInvalidation()) {
+        if (!getTsPartitionsInvalidation()
+            .equals(other.getTsPartitionsInvalidation())) return false;
+      }
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -47732,6 +49101,10 @@ public final class TransportProtos {
         hash = (37 * hash) + FROMDEVICERPCRESPONSE_FIELD_NUMBER;
         hash = (53 * hash) + getFromDeviceRpcResponse().hashCode();
       }
+      if (hasTsPartitionsInvalidation()) {
+        hash = (37 * hash) + TSPARTITIONSINVALIDATION_FIELD_NUMBER;
+        hash = (53 * hash) + getTsPartitionsInvalidation().hashCode();
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -47873,6 +49246,12 @@ public final class TransportProtos {
           fromDeviceRpcResponse_ = null;
           fromDeviceRpcResponseBuilder_ = null;
         }
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          tsPartitionsInvalidation_ = null;
+        } else {
+          tsPartitionsInvalidation_ = null;
+          tsPartitionsInvalidationBuilder_ = null;
+        }
         return this;
       }
 
@@ -47905,6 +49284,11 @@ public final class TransportProtos {
         } else {
           result.fromDeviceRpcResponse_ = fromDeviceRpcResponseBuilder_.build();
         }
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          result.tsPartitionsInvalidation_ = tsPartitionsInvalidation_;
+        } else {
+          result.tsPartitionsInvalidation_ = tsPartitionsInvalidationBuilder_.build();
+        }
         onBuilt();
         return result;
       }
@@ -47959,6 +49343,9 @@ public final class TransportProtos {
         if (other.hasFromDeviceRpcResponse()) {
           mergeFromDeviceRpcResponse(other.getFromDeviceRpcResponse());
         }
+        if (other.hasTsPartitionsInvalidation()) {
+          mergeTsPartitionsInvalidation(other.getTsPartitionsInvalidation());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -48139,6 +49526,124 @@ public final class TransportProtos {
         }
         return fromDeviceRpcResponseBuilder_;
       }
+      private com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg tsPartitionsInvalidation_;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsgOrBuilder> tsPartitionsInvalidationBuilder_;
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+       * @return Whether the tsPartitionsInvalidation field is set.
+       */
+      public boolean hasTsPartitionsInvalidation() {
+        return tsPartitionsInvalidationBuilder_ != null || tsPartitionsInvalidation_ != null;
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+       * @return The tsPartitionsInvalidation.
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg getTsPartitionsInvalidation() {
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          return tsPartitionsInvalidation_ == null ? com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.getDefaultInstance() : tsPartitionsInvalidation_;
+        } else {
+          return tsPartitionsInvalidationBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+       */
+      public Builder setTsPartitionsInvalidation(com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg value) {
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          tsPartitionsInvalidation_ = value;
+          onChanged();
+        } else {
+          tsPartitionsInvalidationBuilder_.setMessage(value);
+        }
+
+        return this;
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+       */
+      public Builder setTsPartitionsInvalidation(
+          com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder builderForValue) {
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          tsPartitionsInvalidation_ = builderForValue.build();
+          onChanged();
+        } else {
+          tsPartitionsInvalidationBuilder_.setMessage(builderForValue.build());
+        }
+
+        return this;
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+       */
+      public Builder mergeTsPartitionsInvalidation(com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg value) {
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          if (tsPartitionsInvalidation_ != null) {
+            tsPartitionsInvalidation_ =
+              com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.newBuilder(tsPartitionsInvalidation_).mergeFrom(value).buildPartial();
+          } else {
+            tsPartitionsInvalidation_ = value;
+          }
+          onChanged();
+        } else {
+          tsPartitionsInvalidationBuilder_.mergeFrom(value);
+        }
+
+        return this;
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+       */
+      public Builder clearTsPartitionsInvalidation() {
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          tsPartitionsInvalidation_ = null;
+          onChanged();
+        } else {
+          tsPartitionsInvalidation_ = null;
+          tsPartitionsInvalidationBuilder_ = null;
+        }
+
+        return this;
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder getTsPartitionsInvalidationBuilder() {
+        
+        onChanged();
+        return getTsPartitionsInvalidationFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsgOrBuilder getTsPartitionsInvalidationOrBuilder() {
+        if (tsPartitionsInvalidationBuilder_ != null) {
+          return tsPartitionsInvalidationBuilder_.getMessageOrBuilder();
+        } else {
+          return tsPartitionsInvalidation_ == null ?
+              com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.getDefaultInstance() : tsPartitionsInvalidation_;
+        }
+      }
+      /**
+       * <code>.transport.TsPartitionsInvalidationMsg tsPartitionsInvalidation = 3;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsgOrBuilder> 
+          getTsPartitionsInvalidationFieldBuilder() {
+        if (tsPartitionsInvalidationBuilder_ == null) {
+          tsPartitionsInvalidationBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsgOrBuilder>(
+                  getTsPartitionsInvalidation(),
+                  getParentForChildren(),
+                  isClean());
+          tsPartitionsInvalidation_ = null;
+        }
+        return tsPartitionsInvalidationBuilder_;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -48282,6 +49787,20 @@ public final class TransportProtos {
      * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
      */
     com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsgOrBuilder getToServerResponseOrBuilder();
+    /**
+     * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+     * @return Whether the deviceCredentialsInvalidation field is set.
+     */
+    boolean hasDeviceCredentialsInvalidation();
+    /**
+     * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+     * @return The deviceCredentialsInvalidation.
+     */
+    com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg getDeviceCredentialsInvalidation();
+    /**
+     * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+     */
+    com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsgOrBuilder getDeviceCredentialsInvalidationOrBuilder();
   }
   /**
    * <pre>
@@ -48407,6 +49926,19 @@ public final class TransportProtos {
 
               break;
             }
+            case 66: {
+              com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.Builder subBuilder = null;
+              if (deviceCredentialsInvalidation_ != null) {
+                subBuilder = deviceCredentialsInvalidation_.toBuilder();
+              }
+              deviceCredentialsInvalidation_ = input.readMessage(com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.parser(), extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(deviceCredentialsInvalidation_);
+                deviceCredentialsInvalidation_ = subBuilder.buildPartial();
+              }
+
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -48573,6 +50105,28 @@ public final class TransportProtos {
     public com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsgOrBuilder getToServerResponseOrBuilder() {
       return getToServerResponse();
     }
+    public static final int DEVICECREDENTIALSINVALIDATION_FIELD_NUMBER = 8;
+    private com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation_;
+    /**
+     * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+     * @return Whether the deviceCredentialsInvalidation field is set.
+     */
+    public boolean hasDeviceCredentialsInvalidation() {
+      return deviceCredentialsInvalidation_ != null;
+    }
+    /**
+     * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+     * @return The deviceCredentialsInvalidation.
+     */
+    public com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg getDeviceCredentialsInvalidation() {
+      return deviceCredentialsInvalidation_ == null ? com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.getDefaultInstance() : deviceCredentialsInvalidation_;
+    }
+    /**
+     * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+     */
+    public com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsgOrBuilder getDeviceCredentialsInvalidationOrBuilder() {
+      return getDeviceCredentialsInvalidation();
+    }
 
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
@@ -49550,158 +51104,1818 @@ public final class TransportProtos {
         return this;
       }
       /**
-       * <code>.transport.ToDeviceRpcRequestMsg toDeviceRequest = 6;</code>
+       * <code>.transport.ToDeviceRpcRequestMsg toDeviceRequest = 6;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsg.Builder getToDeviceRequestBuilder() {
+        
+        onChanged();
+        return getToDeviceRequestFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>.transport.ToDeviceRpcRequestMsg toDeviceRequest = 6;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsgOrBuilder getToDeviceRequestOrBuilder() {
+        if (toDeviceRequestBuilder_ != null) {
+          return toDeviceRequestBuilder_.getMessageOrBuilder();
+        } else {
+          return toDeviceRequest_ == null ?
+              com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsg.getDefaultInstance() : toDeviceRequest_;
+        }
+      }
+      /**
+       * <code>.transport.ToDeviceRpcRequestMsg toDeviceRequest = 6;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsg, com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsgOrBuilder> 
+          getToDeviceRequestFieldBuilder() {
+        if (toDeviceRequestBuilder_ == null) {
+          toDeviceRequestBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsg, com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsgOrBuilder>(
+                  getToDeviceRequest(),
+                  getParentForChildren(),
+                  isClean());
+          toDeviceRequest_ = null;
+        }
+        return toDeviceRequestBuilder_;
+      }
+
+      private com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg toServerResponse_;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg, com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsgOrBuilder> toServerResponseBuilder_;
+      /**
+       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       * @return Whether the toServerResponse field is set.
+       */
+      public boolean hasToServerResponse() {
+        return toServerResponseBuilder_ != null || toServerResponse_ != null;
+      }
+      /**
+       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       * @return The toServerResponse.
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg getToServerResponse() {
+        if (toServerResponseBuilder_ == null) {
+          return toServerResponse_ == null ? com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.getDefaultInstance() : toServerResponse_;
+        } else {
+          return toServerResponseBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       */
+      public Builder setToServerResponse(com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg value) {
+        if (toServerResponseBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          toServerResponse_ = value;
+          onChanged();
+        } else {
+          toServerResponseBuilder_.setMessage(value);
+        }
+
+        return this;
+      }
+      /**
+       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       */
+      public Builder setToServerResponse(
+          com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.Builder builderForValue) {
+        if (toServerResponseBuilder_ == null) {
+          toServerResponse_ = builderForValue.build();
+          onChanged();
+        } else {
+          toServerResponseBuilder_.setMessage(builderForValue.build());
+        }
+
+        return this;
+      }
+      /**
+       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       */
+      public Builder mergeToServerResponse(com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg value) {
+        if (toServerResponseBuilder_ == null) {
+          if (toServerResponse_ != null) {
+            toServerResponse_ =
+              com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.newBuilder(toServerResponse_).mergeFrom(value).buildPartial();
+          } else {
+            toServerResponse_ = value;
+          }
+          onChanged();
+        } else {
+          toServerResponseBuilder_.mergeFrom(value);
+        }
+
+        return this;
+      }
+      /**
+       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       */
+      public Builder clearToServerResponse() {
+        if (toServerResponseBuilder_ == null) {
+          toServerResponse_ = null;
+          onChanged();
+        } else {
+          toServerResponse_ = null;
+          toServerResponseBuilder_ = null;
+        }
+
+        return this;
+      }
+      /**
+       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.Builder getToServerResponseBuilder() {
+        
+        onChanged();
+        return getToServerResponseFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsgOrBuilder getToServerResponseOrBuilder() {
+        if (toServerResponseBuilder_ != null) {
+          return toServerResponseBuilder_.getMessageOrBuilder();
+        } else {
+          return toServerResponse_ == null ?
+              com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.getDefaultInstance() : toServerResponse_;
+        }
+      }
+      /**
+       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg, com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsgOrBuilder> 
+          getToServerResponseFieldBuilder() {
+        if (toServerResponseBuilder_ == null) {
+          toServerResponseBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg, com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsgOrBuilder>(
+                  getToServerResponse(),
+                  getParentForChildren(),
+                  isClean());
+          toServerResponse_ = null;
+        }
+        return toServerResponseBuilder_;
+      }
+      private com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation_;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg, com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsgOrBuilder> deviceCredentialsInvalidationBuilder_;
+      /**
+       * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+       * @return Whether the deviceCredentialsInvalidation field is set.
+       */
+      public boolean hasDeviceCredentialsInvalidation() {
+        return deviceCredentialsInvalidationBuilder_ != null || deviceCredentialsInvalidation_ != null;
+      }
+      /**
+       * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+       * @return The deviceCredentialsInvalidation.
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg getDeviceCredentialsInvalidation() {
+        if (deviceCredentialsInvalidationBuilder_ == null) {
+          return deviceCredentialsInvalidation_ == null ? com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.getDefaultInstance() : deviceCredentialsInvalidation_;
+        } else {
+          return deviceCredentialsInvalidationBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+       */
+      public Builder setDeviceCredentialsInvalidation(com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg value) {
+        if (deviceCredentialsInvalidationBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          deviceCredentialsInvalidation_ = value;
+          onChanged();
+        } else {
+          deviceCredentialsInvalidationBuilder_.setMessage(value);
+        }
+
+        return this;
+      }
+      /**
+       * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+       */
+      public Builder setDeviceCredentialsInvalidation(
+          com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.Builder builderForValue) {
+        if (deviceCredentialsInvalidationBuilder_ == null) {
+          deviceCredentialsInvalidation_ = builderForValue.build();
+          onChanged();
+        } else {
+          deviceCredentialsInvalidationBuilder_.setMessage(builderForValue.build());
+        }
+
+        return this;
+      }
+      /**
+       * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+       */
+      public Builder mergeDeviceCredentialsInvalidation(com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg value) {
+        if (deviceCredentialsInvalidationBuilder_ == null) {
+          if (deviceCredentialsInvalidation_ != null) {
+            deviceCredentialsInvalidation_ =
+              com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.newBuilder(deviceCredentialsInvalidation_).mergeFrom(value).buildPartial();
+          } else {
+            deviceCredentialsInvalidation_ = value;
+          }
+          onChanged();
+        } else {
+          deviceCredentialsInvalidationBuilder_.mergeFrom(value);
+        }
+
+        return this;
+      }
+      /**
+       * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+       */
+      public Builder clearDeviceCredentialsInvalidation() {
+        if (deviceCredentialsInvalidationBuilder_ == null) {
+          deviceCredentialsInvalidation_ = null;
+          onChanged();
+        } else {
+          deviceCredentialsInvalidation_ = null;
+          deviceCredentialsInvalidationBuilder_ = null;
+        }
+
+        return this;
+      }
+      /**
+       * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.Builder getDeviceCredentialsInvalidationBuilder() {
+        
+        onChanged();
+        return getDeviceCredentialsInvalidationFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+       */
+      public com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsgOrBuilder getDeviceCredentialsInvalidationOrBuilder() {
+        if (deviceCredentialsInvalidationBuilder_ != null) {
+          return deviceCredentialsInvalidationBuilder_.getMessageOrBuilder();
+        } else {
+          return deviceCredentialsInvalidation_ == null ?
+              com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.getDefaultInstance() : deviceCredentialsInvalidation_;
+        }
+      }
+      /**
+       * <code>.transport.DeviceCredentialsInvalidationMsg deviceCredentialsInvalidation = 8;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg, com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsgOrBuilder> 
+          getDeviceCredentialsInvalidationFieldBuilder() {
+        if (deviceCredentialsInvalidationBuilder_ == null) {
+          deviceCredentialsInvalidationBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg, com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsgOrBuilder>(
+                  getDeviceCredentialsInvalidation(),
+                  getParentForChildren(),
+                  isClean());
+          deviceCredentialsInvalidation_ = null;
+        }
+        return deviceCredentialsInvalidationBuilder_;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:transport.ToTransportMsg)
+    }
+
+    // @@protoc_insertion_point(class_scope:transport.ToTransportMsg)
+    private static final com.sunflower.server.gen.transport.TransportProtos.ToTransportMsg DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.sunflower.server.gen.transport.TransportProtos.ToTransportMsg();
+    }
+
+    public static com.sunflower.server.gen.transport.TransportProtos.ToTransportMsg getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<ToTransportMsg>
+        PARSER = new com.google.protobuf.AbstractParser<ToTransportMsg>() {
+      @java.lang.Override
+      public ToTransportMsg parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new ToTransportMsg(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<ToTransportMsg> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<ToTransportMsg> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.sunflower.server.gen.transport.TransportProtos.ToTransportMsg getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface DeviceCredentialsInvalidationMsgOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:transport.DeviceCredentialsInvalidationMsg)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>int64 deviceIdMSB = 1;</code>
+     * @return The deviceIdMSB.
+     */
+    long getDeviceIdMSB();
+
+    /**
+     * <code>int64 deviceIdLSB = 2;</code>
+     * @return The deviceIdLSB.
+     */
+    long getDeviceIdLSB();
+
+    /**
+     * <code>int64 tenantIdMSB = 3;</code>
+     * @return The tenantIdMSB.
+     */
+    long getTenantIdMSB();
+
+    /**
+     * <code>int64 tenantIdLSB = 4;</code>
+     * @return The tenantIdLSB.
+     */
+    long getTenantIdLSB();
+  }
+  /**
+   * Protobuf type {@code transport.DeviceCredentialsInvalidationMsg}
+   */
+  public  static final class DeviceCredentialsInvalidationMsg extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:transport.DeviceCredentialsInvalidationMsg)
+      DeviceCredentialsInvalidationMsgOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use DeviceCredentialsInvalidationMsg.newBuilder() to construct.
+    private DeviceCredentialsInvalidationMsg(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private DeviceCredentialsInvalidationMsg() {
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new DeviceCredentialsInvalidationMsg();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private DeviceCredentialsInvalidationMsg(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 8: {
+
+              deviceIdMSB_ = input.readInt64();
+              break;
+            }
+            case 16: {
+
+              deviceIdLSB_ = input.readInt64();
+              break;
+            }
+            case 24: {
+
+              tenantIdMSB_ = input.readInt64();
+              break;
+            }
+            case 32: {
+
+              tenantIdLSB_ = input.readInt64();
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.sunflower.server.gen.transport.TransportProtos.internal_static_transport_DeviceCredentialsInvalidationMsg_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.sunflower.server.gen.transport.TransportProtos.internal_static_transport_DeviceCredentialsInvalidationMsg_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.class, com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.Builder.class);
+    }
+
+    public static final int DEVICEIDMSB_FIELD_NUMBER = 1;
+    private long deviceIdMSB_;
+    /**
+     * <code>int64 deviceIdMSB = 1;</code>
+     * @return The deviceIdMSB.
+     */
+    public long getDeviceIdMSB() {
+      return deviceIdMSB_;
+    }
+
+    public static final int DEVICEIDLSB_FIELD_NUMBER = 2;
+    private long deviceIdLSB_;
+    /**
+     * <code>int64 deviceIdLSB = 2;</code>
+     * @return The deviceIdLSB.
+     */
+    public long getDeviceIdLSB() {
+      return deviceIdLSB_;
+    }
+
+    public static final int TENANTIDMSB_FIELD_NUMBER = 3;
+    private long tenantIdMSB_;
+    /**
+     * <code>int64 tenantIdMSB = 3;</code>
+     * @return The tenantIdMSB.
+     */
+    public long getTenantIdMSB() {
+      return tenantIdMSB_;
+    }
+
+    public static final int TENANTIDLSB_FIELD_NUMBER = 4;
+    private long tenantIdLSB_;
+    /**
+     * <code>int64 tenantIdLSB = 4;</code>
+     * @return The tenantIdLSB.
+     */
+    public long getTenantIdLSB() {
+      return tenantIdLSB_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (deviceIdMSB_ != 0L) {
+        output.writeInt64(1, deviceIdMSB_);
+      }
+      if (deviceIdLSB_ != 0L) {
+        output.writeInt64(2, deviceIdLSB_);
+      }
+      if (tenantIdMSB_ != 0L) {
+        output.writeInt64(3, tenantIdMSB_);
+      }
+      if (tenantIdLSB_ != 0L) {
+        output.writeInt64(4, tenantIdLSB_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (deviceIdMSB_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(1, deviceIdMSB_);
+      }
+      if (deviceIdLSB_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(2, deviceIdLSB_);
+      }
+      if (tenantIdMSB_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(3, tenantIdMSB_);
+      }
+      if (tenantIdLSB_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(4, tenantIdLSB_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg)) {
+        return super.equals(obj);
+      }
+      com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg other = (com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg) obj;
+
+      if (getDeviceIdMSB()
+          != other.getDeviceIdMSB()) return false;
+      if (getDeviceIdLSB()
+          != other.getDeviceIdLSB()) return false;
+      if (getTenantIdMSB()
+          != other.getTenantIdMSB()) return false;
+      if (getTenantIdLSB()
+          != other.getTenantIdLSB()) return false;
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + DEVICEIDMSB_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getDeviceIdMSB());
+      hash = (37 * hash) + DEVICEIDLSB_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getDeviceIdLSB());
+      hash = (37 * hash) + TENANTIDMSB_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getTenantIdMSB());
+      hash = (37 * hash) + TENANTIDLSB_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getTenantIdLSB());
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code transport.DeviceCredentialsInvalidationMsg}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:transport.DeviceCredentialsInvalidationMsg)
+        com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsgOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.sunflower.server.gen.transport.TransportProtos.internal_static_transport_DeviceCredentialsInvalidationMsg_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.sunflower.server.gen.transport.TransportProtos.internal_static_transport_DeviceCredentialsInvalidationMsg_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.class, com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.Builder.class);
+      }
+
+      // Construct using com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        deviceIdMSB_ = 0L;
+
+        deviceIdLSB_ = 0L;
+
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.sunflower.server.gen.transport.TransportProtos.internal_static_transport_DeviceCredentialsInvalidationMsg_descriptor;
+      }
+
+      @java.lang.Override
+      public com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg getDefaultInstanceForType() {
+        return com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg build() {
+        com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg buildPartial() {
+        com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg result = new com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg(this);
+        result.deviceIdMSB_ = deviceIdMSB_;
+        result.deviceIdLSB_ = deviceIdLSB_;
+        result.tenantIdMSB_ = tenantIdMSB_;
+        result.tenantIdLSB_ = tenantIdLSB_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg) {
+          return mergeFrom((com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg other) {
+        if (other == com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg.getDefaultInstance()) return this;
+        if (other.getDeviceIdMSB() != 0L) {
+          setDeviceIdMSB(other.getDeviceIdMSB());
+        }
+        if (other.getDeviceIdLSB() != 0L) {
+          setDeviceIdLSB(other.getDeviceIdLSB());
+        }
+        if (other.getTenantIdMSB() != 0L) {
+          setTenantIdMSB(other.getTenantIdMSB());
+        }
+        if (other.getTenantIdLSB() != 0L) {
+          setTenantIdLSB(other.getTenantIdLSB());
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private long deviceIdMSB_ ;
+      /**
+       * <code>int64 deviceIdMSB = 1;</code>
+       * @return The deviceIdMSB.
+       */
+      public long getDeviceIdMSB() {
+        return deviceIdMSB_;
+      }
+      /**
+       * <code>int64 deviceIdMSB = 1;</code>
+       * @param value The deviceIdMSB to set.
+       * @return This builder for chaining.
+       */
+      public Builder setDeviceIdMSB(long value) {
+        
+        deviceIdMSB_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int64 deviceIdMSB = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearDeviceIdMSB() {
+        
+        deviceIdMSB_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long deviceIdLSB_ ;
+      /**
+       * <code>int64 deviceIdLSB = 2;</code>
+       * @return The deviceIdLSB.
+       */
+      public long getDeviceIdLSB() {
+        return deviceIdLSB_;
+      }
+      /**
+       * <code>int64 deviceIdLSB = 2;</code>
+       * @param value The deviceIdLSB to set.
+       * @return This builder for chaining.
+       */
+      public Builder setDeviceIdLSB(long value) {
+        
+        deviceIdLSB_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int64 deviceIdLSB = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearDeviceIdLSB() {
+        
+        deviceIdLSB_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long tenantIdMSB_ ;
+      /**
+       * <code>int64 tenantIdMSB = 3;</code>
+       * @return The tenantIdMSB.
+       */
+      public long getTenantIdMSB() {
+        return tenantIdMSB_;
+      }
+      /**
+       * <code>int64 tenantIdMSB = 3;</code>
+       * @param value The tenantIdMSB to set.
+       * @return This builder for chaining.
+       */
+      public Builder setTenantIdMSB(long value) {
+        
+        tenantIdMSB_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int64 tenantIdMSB = 3;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearTenantIdMSB() {
+        
+        tenantIdMSB_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long tenantIdLSB_ ;
+      /**
+       * <code>int64 tenantIdLSB = 4;</code>
+       * @return The tenantIdLSB.
+       */
+      public long getTenantIdLSB() {
+        return tenantIdLSB_;
+      }
+      /**
+       * <code>int64 tenantIdLSB = 4;</code>
+       * @param value The tenantIdLSB to set.
+       * @return This builder for chaining.
+       */
+      public Builder setTenantIdLSB(long value) {
+        
+        tenantIdLSB_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int64 tenantIdLSB = 4;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearTenantIdLSB() {
+        
+        tenantIdLSB_ = 0L;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
+      }
+
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:transport.DeviceCredentialsInvalidationMsg)
+    }
+
+    // @@protoc_insertion_point(class_scope:transport.DeviceCredentialsInvalidationMsg)
+    private static final com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg();
+    }
+
+    public static com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<DeviceCredentialsInvalidationMsg>
+        PARSER = new com.google.protobuf.AbstractParser<DeviceCredentialsInvalidationMsg>() {
+      @java.lang.Override
+      public DeviceCredentialsInvalidationMsg parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new DeviceCredentialsInvalidationMsg(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<DeviceCredentialsInvalidationMsg> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<DeviceCredentialsInvalidationMsg> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.sunflower.server.gen.transport.TransportProtos.DeviceCredentialsInvalidationMsg getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface TsPartitionsInvalidationMsgOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:transport.TsPartitionsInvalidationMsg)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>int64 entityIdMSB = 1;</code>
+     * @return The entityIdMSB.
+     */
+    long getEntityIdMSB();
+
+    /**
+     * <code>int64 entityIdLSB = 2;</code>
+     * @return The entityIdLSB.
+     */
+    long getEntityIdLSB();
+
+    /**
+     * <code>string entityType = 3;</code>
+     * @return The entityType.
+     */
+    java.lang.String getEntityType();
+    /**
+     * <code>string entityType = 3;</code>
+     * @return The bytes for entityType.
+     */
+    com.google.protobuf.ByteString
+        getEntityTypeBytes();
+
+    /**
+     * <code>string key = 4;</code>
+     * @return The key.
+     */
+    java.lang.String getKey();
+    /**
+     * <code>string key = 4;</code>
+     * @return The bytes for key.
+     */
+    com.google.protobuf.ByteString
+        getKeyBytes();
+  }
+  /**
+   * Protobuf type {@code transport.TsPartitionsInvalidationMsg}
+   */
+  public  static final class TsPartitionsInvalidationMsg extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:transport.TsPartitionsInvalidationMsg)
+      TsPartitionsInvalidationMsgOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use TsPartitionsInvalidationMsg.newBuilder() to construct.
+    private TsPartitionsInvalidationMsg(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private TsPartitionsInvalidationMsg() {
+      entityType_ = "";
+      key_ = "";
+    }
+
+    @java.lang.Override
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new TsPartitionsInvalidationMsg();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    private TsPartitionsInvalidationMsg(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      if (extensionRegistry == null) {
+        throw new java.lang.NullPointerException();
+      }
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            case 8: {
+
+              entityIdMSB_ = input.readInt64();
+              break;
+            }
+            case 16: {
+
+              entityIdLSB_ = input.readInt64();
+              break;
+            }
+            case 26: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              entityType_ = s;
+              break;
+            }
+            case 34: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              key_ = s;
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
+                  input, unknownFields, extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.sunflower.server.gen.transport.TransportProtos.internal_static_transport_TsPartitionsInvalidationMsg_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.sunflower.server.gen.transport.TransportProtos.internal_static_transport_TsPartitionsInvalidationMsg_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.class, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder.class);
+    }
+
+    public static final int ENTITYIDMSB_FIELD_NUMBER = 1;
+    private long entityIdMSB_;
+    /**
+     * <code>int64 entityIdMSB = 1;</code>
+     * @return The entityIdMSB.
+     */
+    public long getEntityIdMSB() {
+      return entityIdMSB_;
+    }
+
+    public static final int ENTITYIDLSB_FIELD_NUMBER = 2;
+    private long entityIdLSB_;
+    /**
+     * <code>int64 entityIdLSB = 2;</code>
+     * @return The entityIdLSB.
+     */
+    public long getEntityIdLSB() {
+      return entityIdLSB_;
+    }
+
+    public static final int ENTITYTYPE_FIELD_NUMBER = 3;
+    private volatile java.lang.Object entityType_;
+    /**
+     * <code>string entityType = 3;</code>
+     * @return The entityType.
+     */
+    public java.lang.String getEntityType() {
+      java.lang.Object ref = entityType_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        entityType_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string entityType = 3;</code>
+     * @return The bytes for entityType.
+     */
+    public com.google.protobuf.ByteString
+        getEntityTypeBytes() {
+      java.lang.Object ref = entityType_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        entityType_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int KEY_FIELD_NUMBER = 4;
+    private volatile java.lang.Object key_;
+    /**
+     * <code>string key = 4;</code>
+     * @return The key.
+     */
+    public java.lang.String getKey() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        key_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string key = 4;</code>
+     * @return The bytes for key.
+     */
+    public com.google.protobuf.ByteString
+        getKeyBytes() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        key_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (entityIdMSB_ != 0L) {
+        output.writeInt64(1, entityIdMSB_);
+      }
+      if (entityIdLSB_ != 0L) {
+        output.writeInt64(2, entityIdLSB_);
+      }
+      if (!getEntityTypeBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, entityType_);
+      }
+      if (!getKeyBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 4, key_);
+      }
+      unknownFields.writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (entityIdMSB_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(1, entityIdMSB_);
+      }
+      if (entityIdLSB_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(2, entityIdLSB_);
+      }
+      if (!getEntityTypeBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, entityType_);
+      }
+      if (!getKeyBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(4, key_);
+      }
+      size += unknownFields.getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg)) {
+        return super.equals(obj);
+      }
+      com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg other = (com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg) obj;
+
+      if (getEntityIdMSB()
+          != other.getEntityIdMSB()) return false;
+      if (getEntityIdLSB()
+          != other.getEntityIdLSB()) return false;
+      if (!getEntityType()
+          .equals(other.getEntityType())) return false;
+      if (!getKey()
+          .equals(other.getKey())) return false;
+      if (!unknownFields.equals(other.unknownFields)) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + ENTITYIDMSB_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getEntityIdMSB());
+      hash = (37 * hash) + ENTITYIDLSB_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getEntityIdLSB());
+      hash = (37 * hash) + ENTITYTYPE_FIELD_NUMBER;
+      hash = (53 * hash) + getEntityType().hashCode();
+      hash = (37 * hash) + KEY_FIELD_NUMBER;
+      hash = (53 * hash) + getKey().hashCode();
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code transport.TsPartitionsInvalidationMsg}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:transport.TsPartitionsInvalidationMsg)
+        com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsgOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.sunflower.server.gen.transport.TransportProtos.internal_static_transport_TsPartitionsInvalidationMsg_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.sunflower.server.gen.transport.TransportProtos.internal_static_transport_TsPartitionsInvalidationMsg_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.class, com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.Builder.class);
+      }
+
+      // Construct using com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        entityIdMSB_ = 0L;
+
+        entityIdLSB_ = 0L;
+
+        entityType_ = "";
+
+        key_ = "";
+
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.sunflower.server.gen.transport.TransportProtos.internal_static_transport_TsPartitionsInvalidationMsg_descriptor;
+      }
+
+      @java.lang.Override
+      public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg getDefaultInstanceForType() {
+        return com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg build() {
+        com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg buildPartial() {
+        com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg result = new com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg(this);
+        result.entityIdMSB_ = entityIdMSB_;
+        result.entityIdLSB_ = entityIdLSB_;
+        result.entityType_ = entityType_;
+        result.key_ = key_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg) {
+          return mergeFrom((com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg other) {
+        if (other == com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg.getDefaultInstance()) return this;
+        if (other.getEntityIdMSB() != 0L) {
+          setEntityIdMSB(other.getEntityIdMSB());
+        }
+        if (other.getEntityIdLSB() != 0L) {
+          setEntityIdLSB(other.getEntityIdLSB());
+        }
+        if (!other.getEntityType().isEmpty()) {
+          entityType_ = other.entityType_;
+          onChanged();
+        }
+        if (!other.getKey().isEmpty()) {
+          key_ = other.key_;
+          onChanged();
+        }
+        this.mergeUnknownFields(other.unknownFields);
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private long entityIdMSB_ ;
+      /**
+       * <code>int64 entityIdMSB = 1;</code>
+       * @return The entityIdMSB.
+       */
+      public long getEntityIdMSB() {
+        return entityIdMSB_;
+      }
+      /**
+       * <code>int64 entityIdMSB = 1;</code>
+       * @param value The entityIdMSB to set.
+       * @return This builder for chaining.
+       */
+      public Builder setEntityIdMSB(long value) {
+        
+        entityIdMSB_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>int64 entityIdMSB = 1;</code>
+       * @return This builder for chaining.
        */
-      public com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsg.Builder getToDeviceRequestBuilder() {
+      public Builder clearEntityIdMSB() {
         
+        entityIdMSB_ = 0L;
         onChanged();
-        return getToDeviceRequestFieldBuilder().getBuilder();
+        return this;
       }
+
+      private long entityIdLSB_ ;
       /**
-       * <code>.transport.ToDeviceRpcRequestMsg toDeviceRequest = 6;</code>
+       * <code>int64 entityIdLSB = 2;</code>
+       * @return The entityIdLSB.
        */
-      public com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsgOrBuilder getToDeviceRequestOrBuilder() {
-        if (toDeviceRequestBuilder_ != null) {
-          return toDeviceRequestBuilder_.getMessageOrBuilder();
-        } else {
-          return toDeviceRequest_ == null ?
-              com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsg.getDefaultInstance() : toDeviceRequest_;
-        }
+      public long getEntityIdLSB() {
+        return entityIdLSB_;
       }
       /**
-       * <code>.transport.ToDeviceRpcRequestMsg toDeviceRequest = 6;</code>
+       * <code>int64 entityIdLSB = 2;</code>
+       * @param value The entityIdLSB to set.
+       * @return This builder for chaining.
        */
-      private com.google.protobuf.SingleFieldBuilderV3<
-          com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsg, com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsgOrBuilder> 
-          getToDeviceRequestFieldBuilder() {
-        if (toDeviceRequestBuilder_ == null) {
-          toDeviceRequestBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
-              com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsg, com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.ToDeviceRpcRequestMsgOrBuilder>(
-                  getToDeviceRequest(),
-                  getParentForChildren(),
-                  isClean());
-          toDeviceRequest_ = null;
-        }
-        return toDeviceRequestBuilder_;
+      public Builder setEntityIdLSB(long value) {
+        
+        entityIdLSB_ = value;
+        onChanged();
+        return this;
       }
-
-      private com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg toServerResponse_;
-      private com.google.protobuf.SingleFieldBuilderV3<
-          com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg, com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsgOrBuilder> toServerResponseBuilder_;
       /**
-       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
-       * @return Whether the toServerResponse field is set.
+       * <code>int64 entityIdLSB = 2;</code>
+       * @return This builder for chaining.
        */
-      public boolean hasToServerResponse() {
-        return toServerResponseBuilder_ != null || toServerResponse_ != null;
+      public Builder clearEntityIdLSB() {
+        
+        entityIdLSB_ = 0L;
+        onChanged();
+        return this;
       }
+
+      private java.lang.Object entityType_ = "";
       /**
-       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
-       * @return The toServerResponse.
+       * <code>string entityType = 3;</code>
+       * @return The entityType.
        */
-      public com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg getToServerResponse() {
-        if (toServerResponseBuilder_ == null) {
-          return toServerResponse_ == null ? com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.getDefaultInstance() : toServerResponse_;
+      public java.lang.String getEntityType() {
+        java.lang.Object ref = entityType_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          entityType_ = s;
+          return s;
         } else {
-          return toServerResponseBuilder_.getMessage();
+          return (java.lang.String) ref;
         }
       }
       /**
-       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       * <code>string entityType = 3;</code>
+       * @return The bytes for entityType.
        */
-      public Builder setToServerResponse(com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg value) {
-        if (toServerResponseBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          toServerResponse_ = value;
-          onChanged();
+      public com.google.protobuf.ByteString
+          getEntityTypeBytes() {
+        java.lang.Object ref = entityType_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          entityType_ = b;
+          return b;
         } else {
-          toServerResponseBuilder_.setMessage(value);
+          return (com.google.protobuf.ByteString) ref;
         }
-
+      }
+      /**
+       * <code>string entityType = 3;</code>
+       * @param value The entityType to set.
+       * @return This builder for chaining.
+       */
+      public Builder setEntityType(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        entityType_ = value;
+        onChanged();
         return this;
       }
       /**
-       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       * <code>string entityType = 3;</code>
+       * @return This builder for chaining.
        */
-      public Builder setToServerResponse(
-          com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.Builder builderForValue) {
-        if (toServerResponseBuilder_ == null) {
-          toServerResponse_ = builderForValue.build();
-          onChanged();
-        } else {
-          toServerResponseBuilder_.setMessage(builderForValue.build());
-        }
-
+      public Builder clearEntityType() {
+        
+        entityType_ = getDefaultInstance().getEntityType();
+        onChanged();
         return this;
       }
       /**
-       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       * <code>string entityType = 3;</code>
+       * @param value The bytes for entityType to set.
+       * @return This builder for chaining.
        */
-      public Builder mergeToServerResponse(com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg value) {
-        if (toServerResponseBuilder_ == null) {
-          if (toServerResponse_ != null) {
-            toServerResponse_ =
-              com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.newBuilder(toServerResponse_).mergeFrom(value).buildPartial();
-          } else {
-            toServerResponse_ = value;
-          }
-          onChanged();
+      public Builder setEntityTypeBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        entityType_ = value;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object key_ = "";
+      /**
+       * <code>string key = 4;</code>
+       * @return The key.
+       */
+      public java.lang.String getKey() {
+        java.lang.Object ref = key_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          key_ = s;
+          return s;
         } else {
-          toServerResponseBuilder_.mergeFrom(value);
+          return (java.lang.String) ref;
         }
-
-        return this;
       }
       /**
-       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       * <code>string key = 4;</code>
+       * @return The bytes for key.
        */
-      public Builder clearToServerResponse() {
-        if (toServerResponseBuilder_ == null) {
-          toServerResponse_ = null;
-          onChanged();
+      public com.google.protobuf.ByteString
+          getKeyBytes() {
+        java.lang.Object ref = key_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          key_ = b;
+          return b;
         } else {
-          toServerResponse_ = null;
-          toServerResponseBuilder_ = null;
+          return (com.google.protobuf.ByteString) ref;
         }
-
-        return this;
       }
       /**
-       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       * <code>string key = 4;</code>
+       * @param value The key to set.
+       * @return This builder for chaining.
        */
-      public com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.Builder getToServerResponseBuilder() {
-        
+      public Builder setKey(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        key_ = value;
         onChanged();
-        return getToServerResponseFieldBuilder().getBuilder();
+        return this;
       }
       /**
-       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       * <code>string key = 4;</code>
+       * @return This builder for chaining.
        */
-      public com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsgOrBuilder getToServerResponseOrBuilder() {
-        if (toServerResponseBuilder_ != null) {
-          return toServerResponseBuilder_.getMessageOrBuilder();
-        } else {
-          return toServerResponse_ == null ?
-              com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.getDefaultInstance() : toServerResponse_;
-        }
+      public Builder clearKey() {
+        
+        key_ = getDefaultInstance().getKey();
+        onChanged();
+        return this;
       }
       /**
-       * <code>.transport.ToServerRpcResponseMsg toServerResponse = 7;</code>
+       * <code>string key = 4;</code>
+       * @param value The bytes for key to set.
+       * @return This builder for chaining.
        */
-      private com.google.protobuf.SingleFieldBuilderV3<
-          com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg, com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsgOrBuilder> 
-          getToServerResponseFieldBuilder() {
-        if (toServerResponseBuilder_ == null) {
-          toServerResponseBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
-              com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg, com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsg.Builder, com.sunflower.server.gen.transport.TransportProtos.ToServerRpcResponseMsgOrBuilder>(
-                  getToServerResponse(),
-                  getParentForChildren(),
-                  isClean());
-          toServerResponse_ = null;
-        }
-        return toServerResponseBuilder_;
+      public Builder setKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        key_ = value;
+        onChanged();
+        return this;
       }
       @java.lang.Override
       public final Builder setUnknownFields(
@@ -49716,41 +52930,41 @@ public final class TransportProtos {
       }
 
 
-      // @@protoc_insertion_point(builder_scope:transport.ToTransportMsg)
+      // @@protoc_insertion_point(builder_scope:transport.TsPartitionsInvalidationMsg)
     }
 
-    // @@protoc_insertion_point(class_scope:transport.ToTransportMsg)
-    private static final com.sunflower.server.gen.transport.TransportProtos.ToTransportMsg DEFAULT_INSTANCE;
+    // @@protoc_insertion_point(class_scope:transport.TsPartitionsInvalidationMsg)
+    private static final com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg DEFAULT_INSTANCE;
     static {
-      DEFAULT_INSTANCE = new com.sunflower.server.gen.transport.TransportProtos.ToTransportMsg();
+      DEFAULT_INSTANCE = new com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg();
     }
 
-    public static com.sunflower.server.gen.transport.TransportProtos.ToTransportMsg getDefaultInstance() {
+    public static com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg getDefaultInstance() {
       return DEFAULT_INSTANCE;
     }
 
-    private static final com.google.protobuf.Parser<ToTransportMsg>
-        PARSER = new com.google.protobuf.AbstractParser<ToTransportMsg>() {
+    private static final com.google.protobuf.Parser<TsPartitionsInvalidationMsg>
+        PARSER = new com.google.protobuf.AbstractParser<TsPartitionsInvalidationMsg>() {
       @java.lang.Override
-      public ToTransportMsg parsePartialFrom(
+      public TsPartitionsInvalidationMsg parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new ToTransportMsg(input, extensionRegistry);
+        return new TsPartitionsInvalidationMsg(input, extensionRegistry);
       }
     };
 
-    public static com.google.protobuf.Parser<ToTransportMsg> parser() {
+    public static com.google.protobuf.Parser<TsPartitionsInvalidationMsg> parser() {
       return PARSER;
     }
 
     @java.lang.Override
-    public com.google.protobuf.Parser<ToTransportMsg> getParserForType() {
+    public com.google.protobuf.Parser<TsPartitionsInvalidationMsg> getParserForType() {
       return PARSER;
     }
 
     @java.lang.Override
-    public com.sunflower.server.gen.transport.TransportProtos.ToTransportMsg getDefaultInstanceForType() {
+    public com.sunflower.server.gen.transport.TransportProtos.TsPartitionsInvalidationMsg getDefaultInstanceForType() {
       return DEFAULT_INSTANCE;
     }
 
@@ -50021,6 +53235,16 @@ public final class TransportProtos {
   private static final 
     com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
       internal_static_transport_ToTransportMsg_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_transport_DeviceCredentialsInvalidationMsg_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_transport_DeviceCredentialsInvalidationMsg_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_transport_TsPartitionsInvalidationMsg_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_transport_TsPartitionsInvalidationMsg_fieldAccessorTable;
 
   public static com.google.protobuf.Descriptors.FileDescriptor
       getDescriptor() {
@@ -50175,7 +53399,7 @@ public final class TransportProtos {
       "ubscriptionUpdateProto\"i\n\032FromDeviceRPCR" +
       "esponseProto\022\024\n\014requestIdMSB\030\001 \001(\003\022\024\n\014re" +
       "questIdLSB\030\002 \001(\003\022\020\n\010response\030\003 \001(\t\022\r\n\005er" +
-      "ror\030\004 \001(\005\"\337\002\n\026TransportApiRequestMsg\022I\n\027" +
+      "ror\030\004 \001(\005\"\270\003\n\026TransportApiRequestMsg\022I\n\027" +
       "validateTokenRequestMsg\030\001 \001(\0132(.transpor" +
       "t.ValidateDeviceTokenRequestMsg\022O\n\032valid" +
       "ateX509CertRequestMsg\030\002 \001(\0132+.transport." +
@@ -50184,32 +53408,40 @@ public final class TransportProtos {
       "t.GetOrCreateDeviceFromGatewayRequestMsg" +
       "\022Q\n\036getTenantRoutingInfoRequestMsg\030\004 \001(\013" +
       "2).transport.GetTenantRoutingInfoRequest" +
-      "Msg\"\233\002\n\027TransportApiResponseMsg\022Q\n\030valid" +
+      "Msg\022W\n\034getOrCreateDevicesRequestMsg\030\005" +
+      " \003(\01321.transport.GetOrCreateDeviceFrom" +
+      "GatewayRequestMsg" +
+      "\"\366\002\n\027TransportApiResponseMsg\022Q\n\030valid" +
       "ateTokenResponseMsg\030\001 \001(\0132/.transport.Va" +
       "lidateDeviceCredentialsResponseMsg\022X\n\034ge" +
       "tOrCreateDeviceResponseMsg\030\002 \001(\01322.trans" +
       "port.GetOrCreateDeviceFromGatewayRespons" +
       "eMsg\022S\n\037getTenantRoutingInfoResponseMsg\030" +
       "\004 \001(\0132*.transport.GetTenantRoutingInfoRe" +
-      "sponseMsg\"\371\001\n\tToCoreMsg\022>\n\020toDeviceActor" +
+      "sponseMsg\022Y\n\035getOrCreateDevicesRespons" +
+      "eMsg\030\005 \003(\01322.transport.GetOrCreateDevi" +
+      "ceFromGatewayResponseMsg" +
+      "\"\276\002\n\tToCoreMsg\022>\n\020toDeviceActor" +
       "Msg\030\001 \001(\0132$.transport.TransportToDeviceA" +
       "ctorMsg\022D\n\025deviceStateServiceMsg\030\002 \001(\0132%" +
       ".transport.DeviceStateServiceMsgProto\022@\n" +
       "\024toSubscriptionMgrMsg\030\003 \001(\0132\".transport." +
       "SubscriptionMgrMsgProto\022$\n\034toDeviceActor" +
-      "NotificationMsg\030\004 \001(\014\"\320\001\n\025ToCoreNotifica" +
+      "NotificationMsg\030\004 \001(\014\022C\n\025toDeviceActorMsgBatch\030\005 \003(\0132$.transport.TransportToDeviceActorMsg\"\232\002\n\025ToCoreNotifica" +
       "tionMsg\022R\n\035toLocalSubscriptionServiceMsg" +
       "\030\001 \001(\0132+.transport.LocalSubscriptionServ" +
       "iceMsgProto\022D\n\025fromDeviceRpcResponse\030\002 \001" +
       "(\0132%.transport.FromDeviceRPCResponseProt" +
-      "o\022\035\n\025componentLifecycleMsg\030\003 \001(\014\"y\n\017ToRu" +
+      "o\022\035\n\025componentLifecycleMsg\030\003 \001(\014\022H\n\030tsPartitionsInvalidation\030\004 \001(\0132&.transport.TsPartitionsInvalidationMsg" +
+      "\"y\n\017ToRu" +
       "leEngineMsg\022\023\n\013tenantIdMSB\030\001 \001(\003\022\023\n\013tena" +
       "ntIdLSB\030\002 \001(\003\022\r\n\005tbMsg\030\003 \001(\014\022\025\n\rrelation" +
-      "Types\030\004 \003(\t\022\026\n\016failureMessage\030\005 \001(\t\"\202\001\n\033" +
+      "Types\030\004 \003(\t\022\026\n\016failureMessage\030\005 \001(\t\"\314\001\n\033" +
       "ToRuleEngineNotificationMsg\022\035\n\025component" +
       "LifecycleMsg\030\001 \001(\014\022D\n\025fromDeviceRpcRespo" +
       "nse\030\002 \001(\0132%.transport.FromDeviceRPCRespo" +
-      "nseProto\"\223\003\n\016ToTransportMsg\022\024\n\014sessionId" +
+      "nseProto\022H\n\030tsPartitionsInvalidation\030\003 \001(\0132&.transport.TsPartitionsInvalidationMsg" +
+      "\"\347\003\n\016ToTransportMsg\022\024\n\014sessionId" +
       "MSB\030\001 \001(\003\022\024\n\014sessionIdLSB\030\002 \001(\003\022J\n\030sessi" +
       "onCloseNotification\030\003 \001(\0132(.transport.Se" +
       "ssionCloseNotificationProto\022A\n\025getAttrib" +
@@ -50219,7 +53451,10 @@ public final class TransportProtos {
       "otificationMsg\0229\n\017toDeviceRequest\030\006 \001(\0132" +
       " .transport.ToDeviceRpcRequestMsg\022;\n\020toS" +
       "erverResponse\030\007 \001(\0132!.transport.ToServer" +
-      "RpcResponseMsg*$\n\014SessionEvent\022\010\n\004OPEN\020\000" +
+      "RpcResponseMsg\022R\n\035deviceCredentialsInvalidation\030\010 \001(\0132+.transport.DeviceCredentialsInvalidationMsg" +
+      "\"v\n DeviceCredentialsInvalidationMsg\022\023\n\013deviceIdMSB\030\001 \001(\003\022\023\n\013deviceIdLSB\030\002 \001(\003\022\023\n\013tenantIdMSB\030\003 \001(\003\022\023\n\013tenantIdLSB\030\004 \001(\003" +
+      "\"h\n\033TsPartitionsInvalidationMsg\022\023\n\013entityIdMSB\030\001 \001(\003\022\023\n\013entityIdLSB\030\002 \001(\003\022\022\n\nentityType\030\003 \001(\t\022\013\n\003key\030\004 \001(\t" +
+      "*$\n\014SessionEvent\022\010\n\004OPEN\020\000" +
       "\022\n\n\006CLOSED\020\001*\"\n\013SessionType\022\010\n\004SYNC\020\000\022\t\n" +
       "\005ASYNC\020\001*Q\n\014KeyValueType\022\r\n\tBOOLEAN_V\020\000\022" +
       "\n\n\006LONG_V\020\001\022\014\n\010DOUBLE_V\020\002\022\014\n\010STRING_V\020\003\022" +
@@ -50511,25 +53746,25 @@ public final class TransportProtos {
     internal_static_transport_TransportApiRequestMsg_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_transport_TransportApiRequestMsg_descriptor,
-        new java.lang.String[] { "ValidateTokenRequestMsg", "ValidateX509CertRequestMsg", "GetOrCreateDeviceRequestMsg", "GetTenantRoutingInfoRequestMsg", });
+        new java.lang.String[] { "ValidateTokenRequestMsg", "ValidateX509CertRequestMsg", "GetOrCreateDeviceRequestMsg", "GetTenantRoutingInfoRequestMsg", "GetOrCreateDevicesRequestMsg", });
     internal_static_transport_TransportApiResponseMsg_descriptor =
       getDescriptor().getMessageTypes().get(47);
     internal_static_transport_TransportApiResponseMsg_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_transport_TransportApiResponseMsg_descriptor,
-        new java.lang.String[] { "ValidateTokenResponseMsg", "GetOrCreateDeviceResponseMsg", "GetTenantRoutingInfoResponseMsg", });
+        new java.lang.String[] { "ValidateTokenResponseMsg", "GetOrCreateDeviceResponseMsg", "GetTenantRoutingInfoResponseMsg", "GetOrCreateDevicesResponseMsg", });
     internal_static_transport_ToCoreMsg_descriptor =
       getDescriptor().getMessageTypes().get(48);
     internal_static_transport_ToCoreMsg_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_transport_ToCoreMsg_descriptor,
-        new java.lang.String[] { "ToDeviceActorMsg", "DeviceStateServiceMsg", "ToSubscriptionMgrMsg", "ToDeviceActorNotificationMsg", });
+        new java.lang.String[] { "ToDeviceActorMsg", "DeviceStateServiceMsg", "ToSubscriptionMgrMsg", "ToDeviceActorNotificationMsg", "ToDeviceActorMsgBatch", });
     internal_static_transport_ToCoreNotificationMsg_descriptor =
       getDescriptor().getMessageTypes().get(49);
     internal_static_transport_ToCoreNotificationMsg_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_transport_ToCoreNotificationMsg_descriptor,
-        new java.lang.String[] { "ToLocalSubscriptionServiceMsg", "FromDeviceRpcResponse", "ComponentLifecycleMsg", });
+        new java.lang.String[] { "ToLocalSubscriptionServiceMsg", "FromDeviceRpcResponse", "ComponentLifecycleMsg", "TsPartitionsInvalidation", });
     internal_static_transport_ToRuleEngineMsg_descriptor =
       getDescriptor().getMessageTypes().get(50);
     internal_static_transport_ToRuleEngineMsg_fieldAccessorTable = new
@@ -50541,14 +53776,25 @@ public final class TransportProtos {
     internal_static_transport_ToRuleEngineNotificationMsg_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_transport_ToRuleEngineNotificationMsg_descriptor,
-        new java.lang.String[] { "ComponentLifecycleMsg", "FromDeviceRpcResponse", });
+        new java.lang.String[] { "ComponentLifecycleMsg", "FromDeviceRpcResponse", "TsPartitionsInvalidation", });
     internal_static_transport_ToTransportMsg_descriptor =
       getDescriptor().getMessageTypes().get(52);
     internal_static_transport_ToTransportMsg_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_transport_ToTransportMsg_descriptor,
-        new java.lang.String[] { "SessionIdMSB", "SessionIdLSB", "SessionCloseNotification", "GetAttributesResponse", "AttributeUpdateNotification", "ToDeviceRequest", "ToServerResponse", });
-  }
+        new java.lang.String[] { "SessionIdMSB", "SessionIdLSB", "SessionCloseNotification", "GetAttributesResponse", "AttributeUpdateNotification", "ToDeviceRequest", "ToServerResponse", "DeviceCredentialsInvalidation", });
+    internal_static_transport_DeviceCredentialsInvalidationMsg_descriptor =
+      getDescriptor().getMessageTypes().get(53);
+    internal_static_transport_DeviceCredentialsInvalidationMsg_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_transport_DeviceCredentialsInvalidationMsg_descriptor,
+        new java.lang.String[] { "DeviceIdMSB", "DeviceIdLSB", "TenantIdMSB", "TenantIdLSB", });
+    internal_static_transport_TsPartitionsInvalidationMsg_descriptor =
+      getDescriptor().getMessageTypes().get(54);
+    internal_static_transport_TsPartitionsInvalidationMsg_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_transport_TsPartitionsInvalidationMsg_descriptor,
+        new java.lang.String[] { "EntityIdMSB", "EntityIdLSB", "EntityType", "Key", });
 
   // @@protoc_insertion_point(outer_class_scope)
 }
@@ -26,6 +26,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -33,7 +36,10 @@ import java.util.stream.Collectors;
 @Slf4j
 public abstract class AbstractTbQueueConsumerTemplate<R, T extends TbQueueMsg> implements TbQueueConsumer<T> {
 
-    private volatile boolean subscribed;
+    private final AtomicReference<Set<TopicPartitionInfo>> pendingPartitions = new AtomicReference<>();
+    private final Lock wakeupLock = new ReentrantLock();
+    private final Condition wakeupCondition = wakeupLock.newCondition();
+    private volatile boolean wakeupRequested;
     protected volatile boolean stopped = false;
     protected volatile Set<TopicPartitionInfo> partitions;
     protected final Lock consumerLock = new ReentrantLock();
@@ -47,72 +53,55 @@ public abstract class AbstractTbQueueConsumerTemplate<R, T extends TbQueueMsg> i
 
     @Override
     public void subscribe() {
-        consumerLock.lock();
-        try {
-            partitions = Collections.singleton(new TopicPartitionInfo(topic, null, null, true));
-            subscribed = false;
-        } finally {
-            consumerLock.unlock();
-        }
+        subscribe(Collections.singleton(new TopicPartitionInfo(topic, null, null, true)));
     }
 
+    /**
+     * Does not wait for the current poll to complete. The new partitions are applied by the polling thread before its next poll.
+     */
     @Override
     public void subscribe(Set<TopicPartitionInfo> partitions) {
-        consumerLock.lock();
-        try {
-            this.partitions = partitions;
-            subscribed = false;
-        } finally {
-            consumerLock.unlock();
-        }
+        pendingPartitions.set(partitions);
+        wakeup();
     }
 
     @Override
     public List<T> poll(long durationInMillis) {
-        if (!subscribed && partitions == null) {
-            try {
-                Thread.sleep(durationInMillis);
-            } catch (InterruptedException e) {
-                log.debug("Failed to await subscription", e);
-            }
+        if (partitions == null && pendingPartitions.get() == null) {
+            await(durationInMillis);
         } else {
             long pollStartTs = System.currentTimeMillis();
+            List<R> records;
             consumerLock.lock();
             try {
-                if (!subscribed) {
-                    List<String> topicNames = partitions.stream().map(TopicPartitionInfo::getFullTopicName).collect(Collectors.toList());
+                Set<TopicPartitionInfo> newPartitions = pendingPartitions.getAndSet(null);
+                if (newPartitions != null) {
+                    partitions = newPartitions;
+                    List<String> topicNames = newPartitions.stream().map(TopicPartitionInfo::getFullTopicName).collect(Collectors.toList());
                     doSubscribe(topicNames);
-                    subscribed = true;
                 }
-
-                List<R> records = doPoll(durationInMillis);
-                if (!records.isEmpty()) {
-                    List<T> result = new ArrayList<>(records.size());
-                    records.forEach(record -> {
-                        try {
-                            if (record != null) {
-                                result.add(decode(record));
-                            }
-                        } catch (IOException e) {
-                            log.error("Failed decode record: [{}]", record);
-                            throw new RuntimeException("Failed to decode record: ", e);
-                        }
-                    });
-                    return result;
-                } else {
-                    long pollDuration = System.currentTimeMillis() - pollStartTs;
-                    if (pollDuration < durationInMillis) {
-                        try {
-                            Thread.sleep(durationInMillis - pollDuration);
-                        } catch (InterruptedException e) {
-                            if (!stopped) {
-                                log.error("Failed to wait.", e);
-                            }
+                records = doPoll(durationInMillis);
+            } finally {
+                consumerLock.unlock();
+            }
+            if (!records.isEmpty()) {
+                List<T> result = new ArrayList<>(records.size());
+                records.forEach(record -> {
+                    try {
+                        if (record != null) {
+                            result.add(decode(record));
                         }
+                    } catch (IOException e) {
+                        log.error("Failed decode record: [{}]", record);
+                        throw new RuntimeException("Failed to decode record: ", e);
                     }
+                });
+                return result;
+            } else {
+                long pollDuration = System.currentTimeMillis() - pollStartTs;
+                if (pollDuration < durationInMillis) {
+                    await(durationInMillis - pollDuration);
                 }
-            } finally {
-                consumerLock.unlock();
             }
         }
         return Collections.emptyList();
@@ -131,6 +120,7 @@ public abstract class AbstractTbQueueConsumerTemplate<R, T extends TbQueueMsg> i
     @Override
     public void unsubscribe() {
         stopped = true;
+        wakeup();
         consumerLock.lock();
         try {
             doUnsubscribe();
@@ -139,6 +129,43 @@ public abstract class AbstractTbQueueConsumerTemplate<R, T extends TbQueueMsg> i
         }
     }
 
+    /**
+     * Interrupts the pause between empty polls and, if supported by the implementation, the poll itself.
+     */
+    protected void wakeup() {
+        wakeupLock.lock();
+        try {
+            wakeupRequested = true;
+            wakeupCondition.signalAll();
+        } finally {
+            wakeupLock.unlock();
+        }
+        doWakeup();
+    }
+
+    private void await(long durationInMillis) {
+        wakeupLock.lock();
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(durationInMillis);
+            while (!wakeupRequested && nanos > 0) {
+                nanos = wakeupCondition.awaitNanos(nanos);
+            }
+            wakeupRequested = false;
+        } catch (InterruptedException e) {
+            if (!stopped) {
+                log.error("Failed to wait.", e);
+            }
+        } finally {
+            wakeupLock.unlock();
+        }
+    }
+
+    /**
+     * Called from any thread to abort the blocking {@link #doPoll(long)} call. The aborted poll should return an empty list.
+     */
+    protected void doWakeup() {
+    }
+
     abstract protected List<R> doPoll(long durationInMillis);
 
     abstract protected T decode(R record) throws IOException;
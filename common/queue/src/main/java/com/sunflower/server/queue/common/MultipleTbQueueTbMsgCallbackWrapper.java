@@ -23,7 +23,10 @@ import com.sunflower.server.queue.TbQueueMsgMetadata;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
-public class MultipleTbQueueTbMsgCallbackWrapper implements TbQueueCallback {
+/**
+ * Completes the message callback once all the copies of the message are pushed to the queue or processed locally.
+ */
+public class MultipleTbQueueTbMsgCallbackWrapper implements TbQueueCallback, TbMsgCallback {
 
     private final AtomicInteger tbQueueCallbackCount;
     private final TbMsgCallback tbMsgCallback;
@@ -44,4 +47,16 @@ public class MultipleTbQueueTbMsgCallbackWrapper implements TbQueueCallback {
     public void onFailure(Throwable t) {
         tbMsgCallback.onFailure(new RuleEngineException(t.getMessage()));
     }
+
+    @Override
+    public void onSuccess() {
+        if (tbQueueCallbackCount.decrementAndGet() <= 0) {
+            tbMsgCallback.onSuccess();
+        }
+    }
+
+    @Override
+    public void onFailure(RuleEngineException e) {
+        tbMsgCallback.onFailure(e);
+    }
 }
@@ -0,0 +1,32 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.queue.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import com.sunflower.server.common.msg.TbMsg;
+
+@Configuration
+@Slf4j
+public class TbMsgConfig {
+
+    @Value("${queue.tbmsg.write_string_id:true}")
+    public void setWriteStringId(boolean writeStringId) {
+        TbMsg.setWriteStringId(writeStringId);
+        log.info("TbMsg string id written = {}", writeStringId);
+    }
+}
@@ -15,7 +15,6 @@
  */
 package com.sunflower.server.queue.discovery;
 
-import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hashing;
 import lombok.Getter;
@@ -34,9 +33,9 @@ import com.sunflower.server.gen.transport.TransportProtos.ServiceInfo;
 import com.sunflower.server.queue.settings.TbQueueRuleEngineSettings;
 
 import javax.annotation.PostConstruct;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -45,7 +44,6 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -69,12 +67,14 @@ public class HashPartitionService implements PartitionService {
 
     private ConcurrentMap<ServiceQueueKey, List<Integer>> myPartitions = new ConcurrentHashMap<>();
     private ConcurrentMap<TopicPartitionInfoKey, TopicPartitionInfo> tpiCache = new ConcurrentHashMap<>();
+    // Partitions of the queues shared by all tenants, rebuilt on every partition change
+    private volatile Map<ServiceType, Map<String, TopicPartitionInfo[]>> routingTable = Collections.emptyMap();
 
     private Map<String, TopicPartitionInfo> tbCoreNotificationTopics = new HashMap<>();
     private Map<String, TopicPartitionInfo> tbRuleEngineNotificationTopics = new HashMap<>();
     private List<ServiceInfo> currentOtherServices;
 
-    private HashFunction hashFunction;
+    private UuidHashFunction hashFunction;
 
     public HashPartitionService(TbServiceInfoProvider serviceInfoProvider,
                                 TenantRoutingInfoService tenantRoutingInfoService,
@@ -88,29 +88,36 @@ public class HashPartitionService implements PartitionService {
 
     @PostConstruct
     public void init() {
-        this.hashFunction = forName(hashFunctionName);
+        this.hashFunction = UuidHashFunction.forName(hashFunctionName);
         partitionSizes.put(new ServiceQueue(ServiceType.TB_CORE), corePartitions);
         partitionTopics.put(new ServiceQueue(ServiceType.TB_CORE), coreTopic);
         tbQueueRuleEngineSettings.getQueues().forEach(queueConfiguration -> {
             partitionTopics.put(new ServiceQueue(ServiceType.TB_RULE_ENGINE, queueConfiguration.getName()), queueConfiguration.getTopic());
             partitionSizes.put(new ServiceQueue(ServiceType.TB_RULE_ENGINE, queueConfiguration.getName()), queueConfiguration.getPartitions());
         });
+        updateRoutingTable();
     }
 
     @Override
     public TopicPartitionInfo resolve(ServiceType serviceType, TenantId tenantId, EntityId entityId) {
-        return resolve(new ServiceQueue(serviceType), tenantId, entityId);
+        return resolve(serviceType, ServiceQueue.MAIN, tenantId, entityId);
     }
 
     @Override
     public TopicPartitionInfo resolve(ServiceType serviceType, String queueName, TenantId tenantId, EntityId entityId) {
-        return resolve(new ServiceQueue(serviceType, queueName), tenantId, entityId);
+        UUID id = entityId.getId();
+        int hash = hashFunction.hash(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (!isIsolated(serviceType, tenantId)) {
+            Map<String, TopicPartitionInfo[]> queues = routingTable.get(serviceType);
+            TopicPartitionInfo[] partitions = queues != null ? queues.get(queueName) : null;
+            if (partitions != null) {
+                return partitions[Math.abs(hash % partitions.length)];
+            }
+        }
+        return resolve(new ServiceQueue(serviceType, queueName), tenantId, hash);
     }
 
-    private TopicPartitionInfo resolve(ServiceQueue serviceQueue, TenantId tenantId, EntityId entityId) {
-        int hash = hashFunction.newHasher()
-                .putLong(entityId.getId().getMostSignificantBits())
-                .putLong(entityId.getId().getLeastSignificantBits()).hash().asInt();
+    private TopicPartitionInfo resolve(ServiceQueue serviceQueue, TenantId tenantId, int hash) {
         Integer partitionSize = partitionSizes.get(serviceQueue);
         int partition;
         if (partitionSize != null) {
@@ -119,7 +126,7 @@ public class HashPartitionService implements PartitionService {
             //TODO: In 2.6/3.1 this should not happen because all Rule Engine Queues will be in the DB and we always know their partition sizes.
             partition = 0;
         }
-        boolean isolatedTenant = isIsolated(serviceQueue, tenantId);
+        boolean isolatedTenant = isIsolated(serviceQueue.getType(), tenantId);
         TopicPartitionInfoKey cacheKey = new TopicPartitionInfoKey(serviceQueue, isolatedTenant ? tenantId : null, partition);
         return tpiCache.computeIfAbsent(cacheKey, key -> buildTopicPartitionInfo(serviceQueue, tenantId, partition));
     }
@@ -158,6 +165,7 @@ public class HashPartitionService implements PartitionService {
             }
         });
         tpiCache.clear();
+        updateRoutingTable();
 
         if (currentOtherServices == null) {
             currentOtherServices = new ArrayList<>(otherServices);
@@ -240,7 +248,7 @@ public class HashPartitionService implements PartitionService {
         tpi.topic(partitionTopics.get(serviceQueue));
         tpi.partition(partition);
         ServiceQueueKey myPartitionsSearchKey;
-        if (isIsolated(serviceQueue, tenantId)) {
+        if (isIsolated(serviceQueue.getType(), tenantId)) {
             tpi.tenantId(tenantId);
             myPartitionsSearchKey = new ServiceQueueKey(serviceQueue, tenantId);
         } else {
@@ -255,7 +263,21 @@ public class HashPartitionService implements PartitionService {
         return tpi.build();
     }
 
-    private boolean isIsolated(ServiceQueue serviceQueue, TenantId tenantId) {
+    private void updateRoutingTable() {
+        Map<ServiceType, Map<String, TopicPartitionInfo[]>> newRoutingTable = new EnumMap<>(ServiceType.class);
+        partitionSizes.forEach((serviceQueue, size) -> {
+            if (size > 0) {
+                TopicPartitionInfo[] partitions = new TopicPartitionInfo[size];
+                for (int i = 0; i < size; i++) {
+                    partitions[i] = buildTopicPartitionInfo(serviceQueue, TenantId.SYS_TENANT_ID, i);
+                }
+                newRoutingTable.computeIfAbsent(serviceQueue.getType(), type -> new HashMap<>()).put(serviceQueue.getQueue(), partitions);
+            }
+        });
+        routingTable = newRoutingTable;
+    }
+
+    private boolean isIsolated(ServiceType serviceType, TenantId tenantId) {
         if (TenantId.SYS_TENANT_ID.equals(tenantId)) {
             return false;
         }
@@ -272,7 +294,7 @@ public class HashPartitionService implements PartitionService {
         if (routingInfo == null) {
             throw new RuntimeException("Tenant not found!");
         }
-        switch (serviceQueue.getType()) {
+        switch (serviceType) {
             case TB_CORE:
                 return routingInfo.isIsolatedTbCore();
             case TB_RULE_ENGINE:
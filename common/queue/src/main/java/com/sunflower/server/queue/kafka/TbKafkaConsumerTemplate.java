@@ -21,6 +21,7 @@ import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.WakeupException;
 import com.sunflower.server.queue.TbQueueAdmin;
 import com.sunflower.server.queue.TbQueueMsg;
 import com.sunflower.server.queue.common.AbstractTbQueueConsumerTemplate;
@@ -77,7 +78,13 @@ public class TbKafkaConsumerTemplate<T extends TbQueueMsg> extends AbstractTbQue
 
     @Override
     protected List<ConsumerRecord<String, byte[]>> doPoll(long durationInMillis) {
-        ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofMillis(durationInMillis));
+        ConsumerRecords<String, byte[]> records;
+        try {
+            records = consumer.poll(Duration.ofMillis(durationInMillis));
+        } catch (WakeupException e) {
+            log.trace("[{}] Poll was interrupted by wakeup", getTopic());
+            return Collections.emptyList();
+        }
         if (records.isEmpty()) {
             return Collections.emptyList();
         } else {
@@ -92,6 +99,11 @@ public class TbKafkaConsumerTemplate<T extends TbQueueMsg> extends AbstractTbQue
         return decoder.decode(new KafkaTbQueueMsg(record));
     }
 
+    @Override
+    protected void doWakeup() {
+        consumer.wakeup();
+    }
+
     @Override
     protected void doCommit() {
         consumer.commitAsync();
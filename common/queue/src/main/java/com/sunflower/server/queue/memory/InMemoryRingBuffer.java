@@ -0,0 +1,137 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.queue.memory;
+
+import com.sunflower.server.queue.TbQueueMsg;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of a single topic partition backed by a preallocated array.
+ * Messages are read by offset and released only on commit, so the uncommitted tail may be read again after {@link #rewind()}.
+ */
+final class InMemoryRingBuffer {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Runnable> listeners = new CopyOnWriteArraySet<>();
+    private final TbQueueMsg[] slots;
+    private final int mask;
+
+    private long writeOffset;
+    private long readOffset;
+    private long commitOffset;
+
+    InMemoryRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new TbQueueMsg[size];
+        this.mask = size - 1;
+    }
+
+    boolean offer(TbQueueMsg msg) {
+        boolean drained;
+        lock.lock();
+        try {
+            if (writeOffset - commitOffset >= slots.length) {
+                return false;
+            }
+            drained = writeOffset == readOffset;
+            slots[(int) (writeOffset & mask)] = msg;
+            writeOffset++;
+        } finally {
+            lock.unlock();
+        }
+        if (drained) {
+            listeners.forEach(Runnable::run);
+        }
+        return true;
+    }
+
+    /**
+     * The listener is called when a message is added to the partition that had no unread messages.
+     */
+    void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Moves up to maxRecords unread messages to the list and returns the offset to commit once they are processed.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends TbQueueMsg> long drainTo(List<T> messages, int maxRecords) {
+        lock.lock();
+        try {
+            int count = (int) Math.min(writeOffset - readOffset, maxRecords);
+            for (int i = 0; i < count; i++) {
+                messages.add((T) slots[(int) ((readOffset + i) & mask)]);
+            }
+            readOffset += count;
+            return readOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void commit(long offset) {
+        lock.lock();
+        try {
+            long target = Math.min(offset, readOffset);
+            for (long i = commitOffset; i < target; i++) {
+                slots[(int) (i & mask)] = null;
+            }
+            commitOffset = Math.max(commitOffset, target);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void rewind() {
+        lock.lock();
+        try {
+            readOffset = commitOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    long depth() {
+        lock.lock();
+        try {
+            return writeOffset - commitOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long lag() {
+        lock.lock();
+        try {
+            return writeOffset - readOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
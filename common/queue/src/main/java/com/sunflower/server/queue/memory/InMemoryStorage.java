@@ -18,18 +18,19 @@ package com.sunflower.server.queue.memory;
 import lombok.extern.slf4j.Slf4j;
 import com.sunflower.server.queue.TbQueueMsg;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public final class InMemoryStorage {
+    public static final int DEFAULT_PARTITION_CAPACITY = 65536;
+    public static final int DEFAULT_MAX_POLL_RECORDS = 1000;
+
     private static InMemoryStorage instance;
-    private final ConcurrentHashMap<String, BlockingQueue<TbQueueMsg>> storage;
+    private final ConcurrentHashMap<String, InMemoryRingBuffer> storage;
+    private volatile int partitionCapacity = DEFAULT_PARTITION_CAPACITY;
+    private volatile int maxPollRecords = DEFAULT_MAX_POLL_RECORDS;
 
     private InMemoryStorage() {
         storage = new ConcurrentHashMap<>();
@@ -46,28 +47,79 @@ public final class InMemoryStorage {
         return instance;
     }
 
+    /**
+     * Applies to the topic partitions that are not created yet.
+     */
+    public void configure(int partitionCapacity, int maxPollRecords) {
+        this.partitionCapacity = partitionCapacity;
+        this.maxPollRecords = maxPollRecords;
+    }
+
+    public int getMaxPollRecords() {
+        return maxPollRecords;
+    }
+
     public boolean put(String topic, TbQueueMsg msg) {
-        return storage.computeIfAbsent(topic, (t) -> new LinkedBlockingQueue<>()).add(msg);
+        return getBuffer(topic).offer(msg);
     }
 
-    public <T extends TbQueueMsg> List<T> get(String topic) throws InterruptedException {
-        if (storage.containsKey(topic)) {
-            List<T> entities;
-            T first = (T) storage.get(topic).poll();
-            if (first != null) {
-                entities = new ArrayList<>();
-                entities.add(first);
-                List<TbQueueMsg> otherList = new ArrayList<>();
-                storage.get(topic).drainTo(otherList, 999);
-                for (TbQueueMsg other : otherList) {
-                    entities.add((T) other);
-                }
-            } else {
-                entities = Collections.emptyList();
+    /**
+     * Moves up to maxRecords messages of the topic to the list and returns the offset to pass to {@link #commit(String, long)}.
+     */
+    public <T extends TbQueueMsg> long poll(String topic, List<T> messages, int maxRecords) {
+        InMemoryRingBuffer buffer = storage.get(topic);
+        return buffer != null ? buffer.drainTo(messages, maxRecords) : 0L;
+    }
+
+    public void commit(String topic, long offset) {
+        InMemoryRingBuffer buffer = storage.get(topic);
+        if (buffer != null) {
+            buffer.commit(offset);
+        }
+    }
+
+    /**
+     * Makes the polled but not committed messages of the topic available for the next poll.
+     */
+    public void rewind(String topic) {
+        InMemoryRingBuffer buffer = storage.get(topic);
+        if (buffer != null) {
+            buffer.rewind();
+        }
+    }
+
+    public void addListener(String topic, Runnable listener) {
+        getBuffer(topic).addListener(listener);
+    }
+
+    public void removeListener(String topic, Runnable listener) {
+        InMemoryRingBuffer buffer = storage.get(topic);
+        if (buffer != null) {
+            buffer.removeListener(listener);
+        }
+    }
+
+    public long getDepth(String topic) {
+        InMemoryRingBuffer buffer = storage.get(topic);
+        return buffer != null ? buffer.depth() : 0L;
+    }
+
+    public void printStats() {
+        for (Map.Entry<String, InMemoryRingBuffer> entry : storage.entrySet()) {
+            InMemoryRingBuffer buffer = entry.getValue();
+            long depth = buffer.depth();
+            if (depth > 0) {
+                log.info("[{}] Queue depth: [{}/{}], not polled: [{}]", entry.getKey(), depth, buffer.capacity(), buffer.lag());
             }
-            return entities;
         }
-        return Collections.emptyList();
+    }
+
+    private InMemoryRingBuffer getBuffer(String topic) {
+        InMemoryRingBuffer buffer = storage.get(topic);
+        if (buffer == null) {
+            buffer = storage.computeIfAbsent(topic, t -> new InMemoryRingBuffer(partitionCapacity));
+        }
+        return buffer;
     }
 
     /**
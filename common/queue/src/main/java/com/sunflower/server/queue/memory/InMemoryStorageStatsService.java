@@ -0,0 +1,36 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.queue.memory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnExpression("'${queue.type:null}'=='in-memory'")
+public class InMemoryStorageStatsService {
+
+    @Value("${queue.in_memory.stats.enabled:false}")
+    private boolean statsEnabled;
+
+    @Scheduled(fixedDelayString = "${queue.in_memory.stats.print_interval_ms:60000}")
+    public void printStats() {
+        if (statsEnabled) {
+            InMemoryStorage.getInstance().printStats();
+        }
+    }
+}
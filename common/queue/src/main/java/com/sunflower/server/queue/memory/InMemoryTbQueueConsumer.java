@@ -20,14 +20,25 @@ import com.sunflower.server.common.msg.queue.TopicPartitionInfo;
 import com.sunflower.server.queue.TbQueueConsumer;
 import com.sunflower.server.queue.TbQueueMsg;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Slf4j
 public class InMemoryTbQueueConsumer<T extends TbQueueMsg> implements TbQueueConsumer<T> {
     private final InMemoryStorage storage = InMemoryStorage.getInstance();
+    private final Map<String, Long> pendingOffsets = new HashMap<>();
+    private final Lock newDataLock = new ReentrantLock();
+    private final Condition newDataCondition = newDataLock.newCondition();
+    private final Runnable newDataListener = this::onNewData;
+    private volatile boolean newData;
     private volatile Set<TopicPartitionInfo> partitions;
     private volatile boolean stopped;
     private volatile boolean subscribed;
@@ -46,53 +57,95 @@ public class InMemoryTbQueueConsumer<T extends TbQueueMsg> implements TbQueueCon
 
     @Override
     public void subscribe() {
-        partitions = Collections.singleton(new TopicPartitionInfo(topic, null, null, true));
-        subscribed = true;
+        subscribe(Collections.singleton(new TopicPartitionInfo(topic, null, null, true)));
     }
 
     @Override
     public void subscribe(Set<TopicPartitionInfo> partitions) {
-        this.partitions = partitions;
-        subscribed = true;
+        // Polls and commits hold the same lock, so a revoked partition can't be polled or committed after its rewind
+        synchronized (pendingOffsets) {
+            Set<TopicPartitionInfo> oldPartitions = this.partitions;
+            partitions.forEach(tpi -> storage.addListener(tpi.getFullTopicName(), newDataListener));
+            this.partitions = partitions;
+            subscribed = true;
+            if (oldPartitions != null) {
+                oldPartitions.stream()
+                        .filter(tpi -> !partitions.contains(tpi))
+                        .forEach(tpi -> {
+                            storage.removeListener(tpi.getFullTopicName(), newDataListener);
+                            pendingOffsets.remove(tpi.getFullTopicName());
+                            storage.rewind(tpi.getFullTopicName());
+                        });
+            }
+        }
+        onNewData();
     }
 
     @Override
     public void unsubscribe() {
         stopped = true;
+        Set<TopicPartitionInfo> oldPartitions = partitions;
+        if (oldPartitions != null) {
+            oldPartitions.forEach(tpi -> storage.removeListener(tpi.getFullTopicName(), newDataListener));
+        }
+        onNewData();
     }
 
     @Override
     public List<T> poll(long durationInMillis) {
         if (subscribed) {
-            List<T> messages = partitions
-                    .stream()
-                    .map(tpi -> {
-                        try {
-                            return storage.get(tpi.getFullTopicName());
-                        } catch (InterruptedException e) {
-                            if (!stopped) {
-                                log.error("Queue was interrupted.", e);
-                            }
-                            return Collections.emptyList();
-                        }
-                    })
-                    .flatMap(List::stream)
-                    .map(msg -> (T) msg).collect(Collectors.toList());
+            int maxPollRecords = storage.getMaxPollRecords();
+            List<T> messages = new ArrayList<>();
+            synchronized (pendingOffsets) {
+                for (TopicPartitionInfo tpi : partitions) {
+                    String fullTopicName = tpi.getFullTopicName();
+                    int before = messages.size();
+                    long offset = storage.poll(fullTopicName, messages, maxPollRecords);
+                    if (messages.size() > before) {
+                        pendingOffsets.put(fullTopicName, offset);
+                    }
+                }
+            }
             if (messages.size() > 0) {
                 return messages;
             }
-            try {
-                Thread.sleep(durationInMillis);
-            } catch (InterruptedException e) {
-                if (!stopped) {
-                    log.error("Failed to sleep.", e);
-                }
-            }
+            awaitNewData(durationInMillis);
         }
         return Collections.emptyList();
     }
 
+    private void onNewData() {
+        newDataLock.lock();
+        try {
+            newData = true;
+            newDataCondition.signalAll();
+        } finally {
+            newDataLock.unlock();
+        }
+    }
+
+    private void awaitNewData(long durationInMillis) {
+        newDataLock.lock();
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(durationInMillis);
+            while (!newData && nanos > 0) {
+                nanos = newDataCondition.awaitNanos(nanos);
+            }
+            newData = false;
+        } catch (InterruptedException e) {
+            if (!stopped) {
+                log.error("Failed to wait.", e);
+            }
+        } finally {
+            newDataLock.unlock();
+        }
+    }
+
     @Override
     public void commit() {
+        synchronized (pendingOffsets) {
+            pendingOffsets.forEach(storage::commit);
+            pendingOffsets.clear();
+        }
     }
 }
@@ -28,9 +28,11 @@ import com.sunflower.server.queue.common.TbProtoJsQueueMsg;
 import com.sunflower.server.queue.common.TbProtoQueueMsg;
 import com.sunflower.server.queue.discovery.PartitionService;
 import com.sunflower.server.queue.discovery.TbServiceInfoProvider;
+import com.sunflower.server.queue.memory.InMemoryStorage;
 import com.sunflower.server.queue.memory.InMemoryTbQueueConsumer;
 import com.sunflower.server.queue.memory.InMemoryTbQueueProducer;
 import com.sunflower.server.queue.settings.TbQueueCoreSettings;
+import com.sunflower.server.queue.settings.TbQueueInMemorySettings;
 import com.sunflower.server.queue.settings.TbQueueRuleEngineSettings;
 import com.sunflower.server.queue.settings.TbQueueTransportApiSettings;
 import com.sunflower.server.queue.settings.TbQueueTransportNotificationSettings;
@@ -52,13 +54,15 @@ public class InMemoryMonolithQueueFactory implements TbCoreQueueFactory, TbRuleE
                                         TbQueueRuleEngineSettings ruleEngineSettings,
                                         TbServiceInfoProvider serviceInfoProvider,
                                         TbQueueTransportApiSettings transportApiSettings,
-                                        TbQueueTransportNotificationSettings transportNotificationSettings) {
+                                        TbQueueTransportNotificationSettings transportNotificationSettings,
+                                        TbQueueInMemorySettings inMemorySettings) {
         this.partitionService = partitionService;
         this.coreSettings = coreSettings;
         this.serviceInfoProvider = serviceInfoProvider;
         this.ruleEngineSettings = ruleEngineSettings;
         this.transportApiSettings = transportApiSettings;
         this.transportNotificationSettings = transportNotificationSettings;
+        InMemoryStorage.getInstance().configure(inMemorySettings.getPartitionCapacity(), inMemorySettings.getMaxPollRecords());
     }
 
     @Override
@@ -30,9 +30,11 @@ import com.sunflower.server.queue.TbQueueRequestTemplate;
 import com.sunflower.server.queue.common.DefaultTbQueueRequestTemplate;
 import com.sunflower.server.queue.common.TbProtoQueueMsg;
 import com.sunflower.server.queue.discovery.TbServiceInfoProvider;
+import com.sunflower.server.queue.memory.InMemoryStorage;
 import com.sunflower.server.queue.memory.InMemoryTbQueueConsumer;
 import com.sunflower.server.queue.memory.InMemoryTbQueueProducer;
 import com.sunflower.server.queue.settings.TbQueueCoreSettings;
+import com.sunflower.server.queue.settings.TbQueueInMemorySettings;
 import com.sunflower.server.queue.settings.TbQueueTransportApiSettings;
 import com.sunflower.server.queue.settings.TbQueueTransportNotificationSettings;
 
@@ -48,11 +50,13 @@ public class InMemoryTbTransportQueueFactory implements TbTransportQueueFactory
     public InMemoryTbTransportQueueFactory(TbQueueTransportApiSettings transportApiSettings,
                                            TbQueueTransportNotificationSettings transportNotificationSettings,
                                            TbServiceInfoProvider serviceInfoProvider,
-                                           TbQueueCoreSettings coreSettings) {
+                                           TbQueueCoreSettings coreSettings,
+                                           TbQueueInMemorySettings inMemorySettings) {
         this.transportApiSettings = transportApiSettings;
         this.transportNotificationSettings = transportNotificationSettings;
         this.serviceInfoProvider = serviceInfoProvider;
         this.coreSettings = coreSettings;
+        InMemoryStorage.getInstance().configure(inMemorySettings.getPartitionCapacity(), inMemorySettings.getMaxPollRecords());
     }
 
     @Override
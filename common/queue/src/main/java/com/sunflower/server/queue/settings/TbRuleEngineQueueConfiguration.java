@@ -25,6 +25,7 @@ public class TbRuleEngineQueueConfiguration {
     private int pollInterval;
     private int partitions;
     private long packProcessingTimeout;
+    private int submitThreads;
     private TbRuleEngineQueueSubmitStrategyConfiguration submitStrategy;
     private TbRuleEngineQueueAckStrategyConfiguration processingStrategy;
 
@@ -15,6 +15,8 @@
  */
 package com.sunflower.server.transport.mqtt;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.netty.handler.ssl.SslHandler;
 import lombok.Getter;
 import lombok.Setter;
@@ -26,6 +28,12 @@ import org.springframework.stereotype.Component;
 import com.sunflower.server.common.transport.TransportContext;
 import com.sunflower.server.transport.mqtt.adaptors.MqttTransportAdaptor;
 
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Created by ashvayka on 04.10.18.
  */
@@ -46,8 +54,61 @@ public class MqttTransportContext extends TransportContext {
     @Value("${transport.mqtt.netty.max_payload_size}")
     private Integer maxPayloadSize;
 
+    @Getter
+    @Value("${transport.mqtt.netty.flush_consolidation_limit:256}")
+    private int flushConsolidationLimit;
+
+    @Getter
+    @Value("${transport.mqtt.gateway.registration_batch_size:50}")
+    private int gatewayRegistrationBatchSize;
+
+    @Getter
+    @Value("${transport.mqtt.gateway.max_registration_requests:4}")
+    private int gatewayMaxRegistrationRequests;
+
+    @Value("${transport.mqtt.gateway.warm_start.enabled:false}")
+    private boolean gatewayWarmStartEnabled;
+
+    @Value("${transport.mqtt.gateway.warm_start.ttl:600000}")
+    private long gatewayWarmStartTtl;
+
+    @Value("${transport.mqtt.gateway.warm_start.max_gateways:10000}")
+    private long gatewayWarmStartMaxGateways;
+
     @Getter
     @Setter
     private SslHandler sslHandler;
 
+    private Cache<UUID, Map<String, String>> gatewayDevices;
+
+    @PostConstruct
+    public void initGatewayWarmStart() {
+        if (gatewayWarmStartEnabled) {
+            gatewayDevices = CacheBuilder.newBuilder()
+                    .maximumSize(gatewayWarmStartMaxGateways)
+                    .expireAfterWrite(gatewayWarmStartTtl, TimeUnit.MILLISECONDS)
+                    .build();
+        }
+    }
+
+    /**
+     * Remembers the names and types of the devices connected through the gateway when the gateway disconnects.
+     */
+    public void saveGatewayDevices(UUID gatewayId, Map<String, String> devices) {
+        if (gatewayDevices != null && !devices.isEmpty()) {
+            gatewayDevices.put(gatewayId, devices);
+        }
+    }
+
+    /**
+     * Returns the devices connected through the gateway before it reconnected, if warm start is enabled.
+     */
+    public Map<String, String> pollGatewayDevices(UUID gatewayId) {
+        if (gatewayDevices == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> devices = gatewayDevices.asMap().remove(gatewayId);
+        return devices != null ? devices : Collections.emptyMap();
+    }
+
 }
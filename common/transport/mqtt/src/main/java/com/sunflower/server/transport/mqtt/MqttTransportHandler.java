@@ -481,6 +481,7 @@ public class MqttTransportHandler extends ChannelInboundHandlerAdapter implement
                 JsonNode gatewayNode = infoNode.get("gateway");
                 if (gatewayNode != null && gatewayNode.asBoolean()) {
                     gatewaySessionHandler = new GatewaySessionHandler(context, deviceSessionCtx, sessionId);
+                    gatewaySessionHandler.warmStart();
                 }
             }
         } catch (IOException e) {
@@ -20,6 +20,7 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.mqtt.MqttDecoder;
 import io.netty.handler.codec.mqtt.MqttEncoder;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.ssl.SslHandler;
 
 /**
@@ -36,6 +37,10 @@ public class MqttTransportServerInitializer extends ChannelInitializer<SocketCha
     @Override
     public void initChannel(SocketChannel ch) {
         ChannelPipeline pipeline = ch.pipeline();
+        if (context.getFlushConsolidationLimit() > 0) {
+            // Consecutive flushes of a channel are coalesced, so a burst of publishes to one session costs a single write syscall
+            pipeline.addLast("flushConsolidation", new FlushConsolidationHandler(context.getFlushConsolidationLimit(), true));
+        }
         SslHandler sslHandler = null;
         if (context.getSslHandlerProvider() != null) {
             sslHandler = context.getSslHandlerProvider().getSslHandler();
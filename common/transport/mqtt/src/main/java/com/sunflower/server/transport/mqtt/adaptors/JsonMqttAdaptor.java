@@ -21,8 +21,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufAllocator;
-import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.handler.codec.mqtt.MqttFixedHeader;
 import io.netty.handler.codec.mqtt.MqttMessage;
 import io.netty.handler.codec.mqtt.MqttMessageType;
@@ -36,6 +35,7 @@ import com.sunflower.server.common.transport.adaptor.JsonConverter;
 import com.sunflower.server.gen.transport.TransportProtos;
 import com.sunflower.server.transport.mqtt.MqttTopics;
 import com.sunflower.server.transport.mqtt.session.MqttDeviceAwareSessionContext;
+import com.sunflower.server.transport.mqtt.util.ByteBufUtf8Reader;
 
 import java.nio.charset.Charset;
 import java.util.Arrays;
@@ -53,13 +53,14 @@ public class JsonMqttAdaptor implements MqttTransportAdaptor {
 
     private static final Gson GSON = new Gson();
     private static final Charset UTF8 = Charset.forName("UTF-8");
-    private static final ByteBufAllocator ALLOCATOR = new UnpooledByteBufAllocator(false);
+    private static final int MAX_CACHED_JSON_BUILDER_CAPACITY = 64 * 1024;
+    // Outbound JSON is rendered into a per-thread builder and encoded straight into the payload buffer
+    private static final ThreadLocal<StringBuilder> JSON_BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
 
     @Override
     public TransportProtos.PostTelemetryMsg convertToPostTelemetry(MqttDeviceAwareSessionContext ctx, MqttPublishMessage inbound) throws AdaptorException {
-        String payload = validatePayload(ctx.getSessionId(), inbound.payload(), false);
         try {
-            return JsonConverter.convertToTelemetryProto(new JsonParser().parse(payload));
+            return JsonConverter.convertToTelemetryProto(new ByteBufUtf8Reader(inbound.payload()));
         } catch (IllegalStateException | JsonSyntaxException ex) {
             throw new AdaptorException(ex);
         }
@@ -67,9 +68,8 @@ public class JsonMqttAdaptor implements MqttTransportAdaptor {
 
     @Override
     public TransportProtos.PostAttributeMsg convertToPostAttributes(MqttDeviceAwareSessionContext ctx, MqttPublishMessage inbound) throws AdaptorException {
-        String payload = validatePayload(ctx.getSessionId(), inbound.payload(), false);
         try {
-            return JsonConverter.convertToAttributesProto(new JsonParser().parse(payload));
+            return JsonConverter.convertToAttributesProto(new ByteBufUtf8Reader(inbound.payload()));
         } catch (IllegalStateException | JsonSyntaxException ex) {
             throw new AdaptorException(ex);
         }
@@ -184,12 +184,18 @@ public class JsonMqttAdaptor implements MqttTransportAdaptor {
         return Optional.of(createMqttPublishMsg(ctx, MqttTopics.DEVICE_RPC_RESPONSE_TOPIC + rpcResponse.getRequestId(), JsonConverter.toJson(rpcResponse)));
     }
 
-    private MqttPublishMessage createMqttPublishMsg(MqttDeviceAwareSessionContext ctx, String topic, JsonElement json) {
+    private MqttPublishMessage createMqttPublishMsg(MqttDeviceAwareSessionContext ctx, String topic, JsonElement jsonElement) {
         MqttFixedHeader mqttFixedHeader =
                 new MqttFixedHeader(MqttMessageType.PUBLISH, false, ctx.getQoSForTopic(topic), false, 0);
         MqttPublishVariableHeader header = new MqttPublishVariableHeader(topic, ctx.nextMsgId());
-        ByteBuf payload = ALLOCATOR.buffer();
-        payload.writeBytes(GSON.toJson(json).getBytes(UTF8));
+        StringBuilder json = JSON_BUILDER.get();
+        json.setLength(0);
+        GSON.toJson(jsonElement, json);
+        ByteBuf payload = ctx.getAllocator().ioBuffer(json.length());
+        ByteBufUtil.writeUtf8(payload, json);
+        if (json.capacity() > MAX_CACHED_JSON_BUILDER_CAPACITY) {
+            JSON_BUILDER.remove();
+        }
         return new MqttPublishMessage(mqttFixedHeader, header, payload);
     }
 
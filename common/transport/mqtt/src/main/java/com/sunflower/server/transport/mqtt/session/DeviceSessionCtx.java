@@ -15,6 +15,7 @@
  */
 package com.sunflower.server.transport.mqtt.session;
 
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -44,4 +45,9 @@ public class DeviceSessionCtx extends MqttDeviceAwareSessionContext {
     public int nextMsgId() {
         return msgIdSeq.incrementAndGet();
     }
+
+    @Override
+    public ByteBufAllocator getAllocator() {
+        return channel.alloc();
+    }
 }
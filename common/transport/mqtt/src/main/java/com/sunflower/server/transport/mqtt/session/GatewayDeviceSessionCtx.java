@@ -15,6 +15,7 @@
  */
 package com.sunflower.server.transport.mqtt.session;
 
+import io.netty.buffer.ByteBufAllocator;
 import lombok.extern.slf4j.Slf4j;
 import com.sunflower.server.common.transport.SessionMsgListener;
 import com.sunflower.server.gen.transport.TransportProtos;
@@ -62,6 +63,11 @@ public class GatewayDeviceSessionCtx extends MqttDeviceAwareSessionContext imple
         return parent.nextMsgId();
     }
 
+    @Override
+    public ByteBufAllocator getAllocator() {
+        return parent.getAllocator();
+    }
+
     SessionInfoProto getSessionInfo() {
         return sessionInfo;
     }
@@ -25,9 +25,11 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.mqtt.MqttMessage;
 import io.netty.handler.codec.mqtt.MqttPublishMessage;
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StringUtils;
 import com.sunflower.server.common.data.id.DeviceId;
@@ -47,15 +49,19 @@ import com.sunflower.server.transport.mqtt.adaptors.JsonMqttAdaptor;
 import com.sunflower.server.transport.mqtt.adaptors.MqttTransportAdaptor;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Created by ashvayka on 19.01.17.
@@ -71,9 +77,11 @@ public class GatewaySessionHandler {
     private final TransportService transportService;
     private final DeviceInfoProto gateway;
     private final UUID sessionId;
-    private final Lock deviceCreationLock = new ReentrantLock();
     private final ConcurrentMap<String, GatewayDeviceSessionCtx> devices;
     private final ConcurrentMap<String, SettableFuture<GatewayDeviceSessionCtx>> deviceFutures;
+    private final Queue<PendingDevice> pendingDevices = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger devicesRequestsInProgress = new AtomicInteger();
+    private volatile boolean batchedRequestsUnsupported;
     private final ConcurrentMap<MqttTopicMatcher, Integer> mqttQoSMap;
     private final ChannelHandlerContext channel;
     private final DeviceSessionCtx deviceSessionCtx;
@@ -110,72 +118,176 @@ public class GatewaySessionHandler {
         }, context.getExecutor());
     }
 
+    /**
+     * Connects the devices that were connected through the gateway before it reconnected to this transport.
+     */
+    public void warmStart() {
+        Map<String, String> knownDevices = context.pollGatewayDevices(getGatewayId());
+        if (!knownDevices.isEmpty()) {
+            log.debug("[{}] Connecting [{}] known devices of the gateway", sessionId, knownDevices.size());
+            knownDevices.forEach((deviceName, deviceType) -> Futures.addCallback(onDeviceConnect(deviceName, deviceType), new FutureCallback<GatewayDeviceSessionCtx>() {
+                @Override
+                public void onSuccess(@Nullable GatewayDeviceSessionCtx result) {
+                    log.trace("[{}] Known device connected: {}", sessionId, deviceName);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    log.debug("[{}] Failed to connect known device: {}", sessionId, deviceName, t);
+                }
+            }, context.getExecutor()));
+        }
+    }
+
     private ListenableFuture<GatewayDeviceSessionCtx> onDeviceConnect(String deviceName, String deviceType) {
         GatewayDeviceSessionCtx result = devices.get(deviceName);
-        if (result == null) {
-            deviceCreationLock.lock();
-            try {
-                result = devices.get(deviceName);
-                if (result == null) {
-                    return getDeviceCreationFuture(deviceName, deviceType);
-                } else {
-                    return toCompletedFuture(result);
+        if (result != null) {
+            return Futures.immediateFuture(result);
+        }
+        SettableFuture<GatewayDeviceSessionCtx> future = SettableFuture.create();
+        SettableFuture<GatewayDeviceSessionCtx> existingFuture = deviceFutures.putIfAbsent(deviceName, future);
+        if (existingFuture != null) {
+            return existingFuture;
+        }
+        result = devices.get(deviceName);
+        if (result != null) {
+            deviceFutures.remove(deviceName, future);
+            future.set(result);
+        } else {
+            pendingDevices.add(new PendingDevice(deviceName, deviceType, future));
+            sendPendingDevices();
+        }
+        return future;
+    }
+
+    /**
+     * Sends the devices waiting for registration to the core, with up to the configured number of requests in progress.
+     * Devices that are connected while all of them are in progress are sent together in the next one.
+     */
+    private void sendPendingDevices() {
+        while (!pendingDevices.isEmpty() && tryStartDevicesRequest()) {
+            List<PendingDevice> batch = new ArrayList<>();
+            PendingDevice device;
+            int batchSize = batchedRequestsUnsupported ? 1 : context.getGatewayRegistrationBatchSize();
+            while (batch.size() < batchSize && (device = pendingDevices.poll()) != null) {
+                batch.add(device);
+            }
+            if (batch.isEmpty()) {
+                devicesRequestsInProgress.decrementAndGet();
+            } else {
+                try {
+                    sendDevicesRequest(batch);
+                } catch (Throwable e) {
+                    onDevicesRequestDone();
+                    batch.forEach(pending -> onDeviceConnectFailure(pending, e));
                 }
-            } finally {
-                deviceCreationLock.unlock();
             }
+        }
+    }
+
+    private boolean tryStartDevicesRequest() {
+        int maxRequests = Math.max(1, context.getGatewayMaxRegistrationRequests());
+        int requests;
+        do {
+            requests = devicesRequestsInProgress.get();
+            if (requests >= maxRequests) {
+                return false;
+            }
+        } while (!devicesRequestsInProgress.compareAndSet(requests, requests + 1));
+        return true;
+    }
+
+    private void sendDevicesRequest(List<PendingDevice> batch) {
+        if (batch.size() == 1) {
+            sendDeviceRequest(batch.get(0));
         } else {
-            return toCompletedFuture(result);
+            List<GetOrCreateDeviceFromGatewayRequestMsg> requestMsgs = new ArrayList<>(batch.size());
+            batch.forEach(pending -> requestMsgs.add(toRequestMsg(pending)));
+            transportService.process(requestMsgs, new TransportServiceCallback<List<GetOrCreateDeviceFromGatewayResponseMsg>>() {
+                @Override
+                public void onSuccess(List<GetOrCreateDeviceFromGatewayResponseMsg> msgs) {
+                    if (msgs.isEmpty()) {
+                        // The core does not know the batched request yet, so it returned an empty response
+                        log.warn("[{}] Batched device requests are not supported by the core, falling back to per device requests", sessionId);
+                        batchedRequestsUnsupported = true;
+                        pendingDevices.addAll(batch);
+                        onDevicesRequestDone();
+                        return;
+                    }
+                    onDevicesRequestDone();
+                    for (int i = 0; i < batch.size(); i++) {
+                        if (i < msgs.size()) {
+                            onDeviceConnectResponse(batch.get(i), msgs.get(i));
+                        } else {
+                            onDeviceConnectFailure(batch.get(i), new RuntimeException("Missing device in the response!"));
+                        }
+                    }
+                }
+
+                @Override
+                public void onError(Throwable e) {
+                    onDevicesRequestDone();
+                    batch.forEach(pending -> onDeviceConnectFailure(pending, e));
+                }
+            });
         }
     }
 
-    private ListenableFuture<GatewayDeviceSessionCtx> getDeviceCreationFuture(String deviceName, String deviceType) {
-        SettableFuture<GatewayDeviceSessionCtx> future = deviceFutures.get(deviceName);
-        if (future == null) {
-            final SettableFuture<GatewayDeviceSessionCtx> futureToSet = SettableFuture.create();
-            deviceFutures.put(deviceName, futureToSet);
-            try {
-                transportService.process(GetOrCreateDeviceFromGatewayRequestMsg.newBuilder()
-                                .setDeviceName(deviceName)
-                                .setDeviceType(deviceType)
-                                .setGatewayIdMSB(gateway.getDeviceIdMSB())
-                                .setGatewayIdLSB(gateway.getDeviceIdLSB()).build(),
-                        new TransportServiceCallback<GetOrCreateDeviceFromGatewayResponseMsg>() {
-                            @Override
-                            public void onSuccess(GetOrCreateDeviceFromGatewayResponseMsg msg) {
-                                GatewayDeviceSessionCtx deviceSessionCtx = new GatewayDeviceSessionCtx(GatewaySessionHandler.this, msg.getDeviceInfo(), mqttQoSMap);
-                                if (devices.putIfAbsent(deviceName, deviceSessionCtx) == null) {
-                                    SessionInfoProto deviceSessionInfo = deviceSessionCtx.getSessionInfo();
-                                    transportService.registerAsyncSession(deviceSessionInfo, deviceSessionCtx);
-                                    transportService.process(deviceSessionInfo, DefaultTransportService.getSessionEventMsg(TransportProtos.SessionEvent.OPEN), null);
-                                    transportService.process(deviceSessionInfo, TransportProtos.SubscribeToRPCMsg.getDefaultInstance(), null);
-                                    transportService.process(deviceSessionInfo, TransportProtos.SubscribeToAttributeUpdatesMsg.getDefaultInstance(), null);
-                                }
-                                futureToSet.set(devices.get(deviceName));
-                                deviceFutures.remove(deviceName);
-                            }
+    private void sendDeviceRequest(PendingDevice pending) {
+        transportService.process(toRequestMsg(pending), new TransportServiceCallback<GetOrCreateDeviceFromGatewayResponseMsg>() {
+            @Override
+            public void onSuccess(GetOrCreateDeviceFromGatewayResponseMsg msg) {
+                onDevicesRequestDone();
+                onDeviceConnectResponse(pending, msg);
+            }
 
-                            @Override
-                            public void onError(Throwable e) {
-                                log.warn("[{}] Failed to process device connect command: {}", sessionId, deviceName, e);
-                                futureToSet.setException(e);
-                                deviceFutures.remove(deviceName);
-                            }
-                        });
-                return futureToSet;
-            } catch (Throwable e) {
-                deviceFutures.remove(deviceName);
-                throw e;
+            @Override
+            public void onError(Throwable e) {
+                onDevicesRequestDone();
+                onDeviceConnectFailure(pending, e);
             }
-        } else {
-            return future;
+        });
+    }
+
+    private void onDevicesRequestDone() {
+        devicesRequestsInProgress.decrementAndGet();
+        sendPendingDevices();
+    }
+
+    private GetOrCreateDeviceFromGatewayRequestMsg toRequestMsg(PendingDevice pending) {
+        return GetOrCreateDeviceFromGatewayRequestMsg.newBuilder()
+                .setDeviceName(pending.getDeviceName())
+                .setDeviceType(pending.getDeviceType())
+                .setGatewayIdMSB(gateway.getDeviceIdMSB())
+                .setGatewayIdLSB(gateway.getDeviceIdLSB()).build();
+    }
+
+    private void onDeviceConnectResponse(PendingDevice pending, GetOrCreateDeviceFromGatewayResponseMsg msg) {
+        if (!msg.hasDeviceInfo()) {
+            onDeviceConnectFailure(pending, new RuntimeException("Failed to get or create device!"));
+            return;
         }
+        String deviceName = pending.getDeviceName();
+        GatewayDeviceSessionCtx deviceSessionCtx = new GatewayDeviceSessionCtx(GatewaySessionHandler.this, msg.getDeviceInfo(), mqttQoSMap);
+        if (devices.putIfAbsent(deviceName, deviceSessionCtx) == null) {
+            SessionInfoProto deviceSessionInfo = deviceSessionCtx.getSessionInfo();
+            transportService.registerAsyncSession(deviceSessionInfo, deviceSessionCtx);
+            transportService.process(deviceSessionInfo, DefaultTransportService.getSessionEventMsg(TransportProtos.SessionEvent.OPEN), null);
+            transportService.process(deviceSessionInfo, TransportProtos.SubscribeToRPCMsg.getDefaultInstance(), null);
+            transportService.process(deviceSessionInfo, TransportProtos.SubscribeToAttributeUpdatesMsg.getDefaultInstance(), null);
+        }
+        pending.getFuture().set(devices.get(deviceName));
+        deviceFutures.remove(deviceName, pending.getFuture());
     }
 
-    private ListenableFuture<GatewayDeviceSessionCtx> toCompletedFuture(GatewayDeviceSessionCtx result) {
-        SettableFuture<GatewayDeviceSessionCtx> future = SettableFuture.create();
-        future.set(result);
-        return future;
+    private void onDeviceConnectFailure(PendingDevice pending, Throwable e) {
+        log.warn("[{}] Failed to process device connect command: {}", sessionId, pending.getDeviceName(), e);
+        pending.getFuture().setException(e);
+        deviceFutures.remove(pending.getDeviceName(), pending.getFuture());
+    }
+
+    private UUID getGatewayId() {
+        return new UUID(gateway.getDeviceIdMSB(), gateway.getDeviceIdLSB());
     }
 
     public void onDeviceDisconnect(MqttPublishMessage msg) throws AdaptorException {
@@ -194,6 +306,9 @@ public class GatewaySessionHandler {
     }
 
     public void onGatewayDisconnect() {
+        Map<String, String> knownDevices = new HashMap<>();
+        devices.forEach((deviceName, deviceSessionCtx) -> knownDevices.put(deviceName, deviceSessionCtx.getDeviceInfo().getDeviceType()));
+        context.saveGatewayDevices(getGatewayId(), knownDevices);
         devices.forEach(this::deregisterSession);
     }
 
@@ -448,7 +563,18 @@ public class GatewaySessionHandler {
         return deviceSessionCtx.nextMsgId();
     }
 
+    ByteBufAllocator getAllocator() {
+        return channel.alloc();
+    }
+
     public UUID getSessionId() {
         return sessionId;
     }
+
+    @Data
+    private static class PendingDevice {
+        private final String deviceName;
+        private final String deviceType;
+        private final SettableFuture<GatewayDeviceSessionCtx> future;
+    }
 }
@@ -15,6 +15,7 @@
  */
 package com.sunflower.server.transport.mqtt.session;
 
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.handler.codec.mqtt.MqttQoS;
 import com.sunflower.server.common.transport.session.DeviceAwareSessionContext;
 
@@ -53,4 +54,9 @@ public abstract class MqttDeviceAwareSessionContext extends DeviceAwareSessionCo
         }
     }
 
+    /**
+     * Allocator of the underlying channel, used for the outbound publish payloads.
+     */
+    public abstract ByteBufAllocator getAllocator();
+
 }
@@ -0,0 +1,119 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.transport.mqtt.util;
+
+import io.netty.buffer.ByteBuf;
+
+import java.io.Reader;
+
+/**
+ * Decodes UTF-8 text straight from the readable bytes of the buffer, without copying the payload to a String.
+ * Does not change the reader index of the buffer. Malformed sequences are replaced with U+FFFD.
+ */
+public class ByteBufUtf8Reader extends Reader {
+
+    private static final char REPLACEMENT_CHAR = '\uFFFD';
+
+    private final ByteBuf buf;
+    private final int endIdx;
+    private int idx;
+    private char pendingLowSurrogate;
+
+    public ByteBufUtf8Reader(ByteBuf buf) {
+        this.buf = buf;
+        this.idx = buf.readerIndex();
+        this.endIdx = buf.writerIndex();
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        int n = 0;
+        if (pendingLowSurrogate != 0) {
+            cbuf[off + n++] = pendingLowSurrogate;
+            pendingLowSurrogate = 0;
+        }
+        while (n < len && idx < endIdx) {
+            int b = buf.getByte(idx) & 0xFF;
+            if (b < 0x80) {
+                cbuf[off + n++] = (char) b;
+                idx++;
+                continue;
+            }
+            int codePoint = decode(b);
+            if (codePoint < 0) {
+                cbuf[off + n++] = REPLACEMENT_CHAR;
+                idx++;
+            } else if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                cbuf[off + n++] = (char) codePoint;
+            } else {
+                cbuf[off + n++] = Character.highSurrogate(codePoint);
+                if (n < len) {
+                    cbuf[off + n++] = Character.lowSurrogate(codePoint);
+                } else {
+                    pendingLowSurrogate = Character.lowSurrogate(codePoint);
+                }
+            }
+        }
+        return n == 0 ? -1 : n;
+    }
+
+    /**
+     * Decodes the multi-byte sequence at the current position and moves past it, or returns -1 if it is malformed.
+     */
+    private int decode(int b) {
+        int size;
+        int codePoint;
+        int minCodePoint;
+        if ((b & 0xE0) == 0xC0) {
+            size = 2;
+            codePoint = b & 0x1F;
+            minCodePoint = 0x80;
+        } else if ((b & 0xF0) == 0xE0) {
+            size = 3;
+            codePoint = b & 0x0F;
+            minCodePoint = 0x800;
+        } else if ((b & 0xF8) == 0xF0) {
+            size = 4;
+            codePoint = b & 0x07;
+            minCodePoint = Character.MIN_SUPPLEMENTARY_CODE_POINT;
+        } else {
+            return -1;
+        }
+        if (idx + size > endIdx) {
+            return -1;
+        }
+        for (int i = 1; i < size; i++) {
+            int next = buf.getByte(idx + i) & 0xFF;
+            if ((next & 0xC0) != 0x80) {
+                return -1;
+            }
+            codePoint = (codePoint << 6) | (next & 0x3F);
+        }
+        if (codePoint < minCodePoint || codePoint > Character.MAX_CODE_POINT
+                || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            return -1;
+        }
+        idx += size;
+        return codePoint;
+    }
+
+    @Override
+    public void close() {
+    }
+}
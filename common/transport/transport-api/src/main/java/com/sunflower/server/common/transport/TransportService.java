@@ -34,6 +34,8 @@ import com.sunflower.server.gen.transport.TransportProtos.ValidateDeviceCredenti
 import com.sunflower.server.gen.transport.TransportProtos.ValidateDeviceTokenRequestMsg;
 import com.sunflower.server.gen.transport.TransportProtos.ValidateDeviceX509CertRequestMsg;
 
+import java.util.List;
+
 /**
  * Created by ashvayka on 04.10.18.
  */
@@ -50,6 +52,9 @@ public interface TransportService {
     void process(GetOrCreateDeviceFromGatewayRequestMsg msg,
                  TransportServiceCallback<GetOrCreateDeviceFromGatewayResponseMsg> callback);
 
+    void process(List<GetOrCreateDeviceFromGatewayRequestMsg> msgs,
+                 TransportServiceCallback<List<GetOrCreateDeviceFromGatewayResponseMsg>> callback);
+
     boolean checkLimits(SessionInfoProto sessionInfo, Object msg, TransportServiceCallback<Void> callback);
 
     void process(SessionInfoProto sessionInfo, SessionEventMsg msg, TransportServiceCallback<Void> callback);
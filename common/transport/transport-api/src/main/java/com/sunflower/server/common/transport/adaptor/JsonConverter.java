@@ -22,6 +22,8 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.util.StringUtils;
 import com.sunflower.server.common.data.DataConstants;
@@ -47,9 +49,12 @@ import com.sunflower.server.gen.transport.TransportProtos.PostTelemetryMsg;
 import com.sunflower.server.gen.transport.TransportProtos.TsKvListProto;
 import com.sunflower.server.gen.transport.TransportProtos.TsKvProto;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -179,58 +184,65 @@ public class JsonConverter {
     private static List<KeyValueProto> parseProtoValues(JsonObject valuesObject) {
         List<KeyValueProto> result = new ArrayList<>();
         for (Entry<String, JsonElement> valueEntry : valuesObject.entrySet()) {
-            JsonElement element = valueEntry.getValue();
-            if (element.isJsonPrimitive()) {
-                JsonPrimitive value = element.getAsJsonPrimitive();
-                if (value.isString()) {
-                    if (maxStringValueLength > 0 && value.getAsString().length() > maxStringValueLength) {
-                        String message = String.format("String value length [%d] for key [%s] is greater than maximum allowed [%d]", value.getAsString().length(), valueEntry.getKey(), maxStringValueLength);
-                        throw new JsonSyntaxException(message);
-                    }
-                    if (isTypeCastEnabled && NumberUtils.isParsable(value.getAsString())) {
-                        try {
-                            result.add(buildNumericKeyValueProto(value, valueEntry.getKey()));
-                        } catch (RuntimeException th) {
-                            result.add(KeyValueProto.newBuilder().setKey(valueEntry.getKey()).setType(KeyValueType.STRING_V)
-                                    .setStringV(value.getAsString()).build());
-                        }
-                    } else {
-                        result.add(KeyValueProto.newBuilder().setKey(valueEntry.getKey()).setType(KeyValueType.STRING_V)
-                                .setStringV(value.getAsString()).build());
-                    }
-                } else if (value.isBoolean()) {
-                    result.add(KeyValueProto.newBuilder().setKey(valueEntry.getKey()).setType(KeyValueType.BOOLEAN_V)
-                            .setBoolV(value.getAsBoolean()).build());
-                } else if (value.isNumber()) {
-                    result.add(buildNumericKeyValueProto(value, valueEntry.getKey()));
-                } else if (!value.isJsonNull()) {
-                    throw new JsonSyntaxException(CAN_T_PARSE_VALUE + value);
-                }
-            } else if (element.isJsonObject() || element.isJsonArray()) {
-                result.add(KeyValueProto
-                        .newBuilder()
-                        .setKey(valueEntry
-                                .getKey())
-                        .setType(KeyValueType.JSON_V)
-                        .setJsonV(element.toString())
-                        .build());
-            } else if (!element.isJsonNull()) {
-                throw new JsonSyntaxException(CAN_T_PARSE_VALUE + element);
+            KeyValueProto kv = buildKeyValueProto(valueEntry.getKey(), valueEntry.getValue());
+            if (kv != null) {
+                result.add(kv);
             }
         }
         return result;
     }
 
-    private static KeyValueProto buildNumericKeyValueProto(JsonPrimitive value, String key) {
-        if (value.getAsString().contains(".")) {
+    private static KeyValueProto buildKeyValueProto(String key, JsonElement element) {
+        if (element.isJsonPrimitive()) {
+            JsonPrimitive value = element.getAsJsonPrimitive();
+            if (value.isString()) {
+                return buildStringKeyValueProto(key, value.getAsString());
+            } else if (value.isBoolean()) {
+                return KeyValueProto.newBuilder().setKey(key).setType(KeyValueType.BOOLEAN_V)
+                        .setBoolV(value.getAsBoolean()).build();
+            } else if (value.isNumber()) {
+                return buildNumericKeyValueProto(key, value.getAsString());
+            } else {
+                throw new JsonSyntaxException(CAN_T_PARSE_VALUE + value);
+            }
+        } else if (element.isJsonObject() || element.isJsonArray()) {
+            return KeyValueProto.newBuilder().setKey(key).setType(KeyValueType.JSON_V)
+                    .setJsonV(element.toString()).build();
+        } else if (element.isJsonNull()) {
+            return null;
+        } else {
+            throw new JsonSyntaxException(CAN_T_PARSE_VALUE + element);
+        }
+    }
+
+    private static KeyValueProto buildStringKeyValueProto(String key, String value) {
+        if (maxStringValueLength > 0 && value.length() > maxStringValueLength) {
+            String message = String.format("String value length [%d] for key [%s] is greater than maximum allowed [%d]", value.length(), key, maxStringValueLength);
+            throw new JsonSyntaxException(message);
+        }
+        if (isTypeCastEnabled && NumberUtils.isParsable(value)) {
+            try {
+                return buildNumericKeyValueProto(key, value);
+            } catch (RuntimeException th) {
+                return KeyValueProto.newBuilder().setKey(key).setType(KeyValueType.STRING_V)
+                        .setStringV(value).build();
+            }
+        } else {
+            return KeyValueProto.newBuilder().setKey(key).setType(KeyValueType.STRING_V)
+                    .setStringV(value).build();
+        }
+    }
+
+    private static KeyValueProto buildNumericKeyValueProto(String key, String value) {
+        if (value.contains(".")) {
             return KeyValueProto.newBuilder()
                     .setKey(key)
                     .setType(KeyValueType.DOUBLE_V)
-                    .setDoubleV(value.getAsDouble())
+                    .setDoubleV(Double.parseDouble(value))
                     .build();
         } else {
             try {
-                long longValue = Long.parseLong(value.getAsString());
+                long longValue = Long.parseLong(value);
                 return KeyValueProto.newBuilder().setKey(key).setType(KeyValueType.LONG_V)
                         .setLongV(longValue).build();
             } catch (NumberFormatException e) {
@@ -239,6 +251,157 @@ public class JsonConverter {
         }
     }
 
+    /**
+     * Streaming counterpart of {@link #convertToTelemetryProto(JsonElement)}.
+     * Reads the payload token by token instead of building a JSON tree first; the result and
+     * the reported errors are the same as for the tree based conversion.
+     */
+    public static PostTelemetryMsg convertToTelemetryProto(Reader json) throws JsonSyntaxException {
+        PostTelemetryMsg.Builder builder = PostTelemetryMsg.newBuilder();
+        long systemTs = System.currentTimeMillis();
+        try {
+            JsonReader reader = new JsonReader(json);
+            reader.setLenient(true);
+            JsonToken token = reader.peek();
+            if (token == JsonToken.BEGIN_OBJECT) {
+                parseObject(builder, systemTs, reader);
+            } else if (token == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        parseObject(builder, systemTs, reader);
+                    } else {
+                        throw new JsonSyntaxException(CAN_T_PARSE_VALUE + JSON_PARSER.parse(reader));
+                    }
+                }
+                reader.endArray();
+            } else {
+                throw new JsonSyntaxException(CAN_T_PARSE_VALUE + JSON_PARSER.parse(reader));
+            }
+            checkEndOfDocument(reader);
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Streaming counterpart of {@link #convertToAttributesProto(JsonElement)}.
+     */
+    public static PostAttributeMsg convertToAttributesProto(Reader json) throws JsonSyntaxException {
+        PostAttributeMsg.Builder result = PostAttributeMsg.newBuilder();
+        try {
+            JsonReader reader = new JsonReader(json);
+            reader.setLenient(true);
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new JsonSyntaxException(CAN_T_PARSE_VALUE + JSON_PARSER.parse(reader));
+            }
+            result.addAllKv(readProtoValues(reader));
+            checkEndOfDocument(reader);
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+        return result.build();
+    }
+
+    private static void checkEndOfDocument(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonSyntaxException("Did not consume the entire document.");
+        }
+    }
+
+    /*
+     * Same rules as parseObject(PostTelemetryMsg.Builder, long, JsonObject): "values" is only streamed when it follows "ts",
+     * otherwise it is kept as a tree because the object may still turn out to be a plain key-value map.
+     * Errors of the top level values are deferred, since they are ignored when the object has "ts" and "values".
+     */
+    private static void parseObject(PostTelemetryMsg.Builder request, long systemTs, JsonReader reader) throws IOException {
+        Map<String, KeyValueProto> kvs = new LinkedHashMap<>();
+        Map<String, RuntimeException> errors = new HashMap<>();
+        JsonElement ts = null;
+        JsonElement values = null;
+        List<KeyValueProto> streamedValues = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if ("values".equals(key) && ts != null && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                values = null;
+                streamedValues = readProtoValues(reader);
+                kvs.put(key, null);
+                errors.remove(key);
+                continue;
+            }
+            JsonElement element = JSON_PARSER.parse(reader);
+            if ("ts".equals(key)) {
+                ts = element;
+            } else if ("values".equals(key)) {
+                values = element;
+                streamedValues = null;
+            }
+            try {
+                kvs.put(key, buildKeyValueProto(key, element));
+                errors.remove(key);
+            } catch (JsonSyntaxException e) {
+                kvs.put(key, null);
+                errors.put(key, e);
+            }
+        }
+        reader.endObject();
+
+        TsKvListProto.Builder builder = TsKvListProto.newBuilder();
+        if (ts != null && (values != null || streamedValues != null)) {
+            builder.setTs(ts.getAsLong());
+            builder.addAllKv(streamedValues != null ? streamedValues : parseProtoValues(values.getAsJsonObject()));
+        } else {
+            builder.setTs(systemTs);
+            for (Entry<String, KeyValueProto> entry : kvs.entrySet()) {
+                RuntimeException error = errors.get(entry.getKey());
+                if (error != null) {
+                    throw error;
+                }
+                if (entry.getValue() != null) {
+                    builder.addKv(entry.getValue());
+                }
+            }
+        }
+        request.addTsKvList(builder.build());
+    }
+
+    private static List<KeyValueProto> readProtoValues(JsonReader reader) throws IOException {
+        Map<String, KeyValueProto> kvs = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            kvs.put(key, readProtoValue(reader, key));
+        }
+        reader.endObject();
+        List<KeyValueProto> result = new ArrayList<>(kvs.size());
+        for (KeyValueProto kv : kvs.values()) {
+            if (kv != null) {
+                result.add(kv);
+            }
+        }
+        return result;
+    }
+
+    private static KeyValueProto readProtoValue(JsonReader reader, String key) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+                return buildStringKeyValueProto(key, reader.nextString());
+            case NUMBER:
+                return buildNumericKeyValueProto(key, reader.nextString());
+            case BOOLEAN:
+                return KeyValueProto.newBuilder().setKey(key).setType(KeyValueType.BOOLEAN_V)
+                        .setBoolV(reader.nextBoolean()).build();
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                return KeyValueProto.newBuilder().setKey(key).setType(KeyValueType.JSON_V)
+                        .setJsonV(JSON_PARSER.parse(reader).toString()).build();
+        }
+    }
+
     public static TransportProtos.ToServerRpcRequestMsg convertToServerRpcRequest(JsonElement json, int requestId) throws JsonSyntaxException {
         JsonObject object = json.getAsJsonObject();
         return TransportProtos.ToServerRpcRequestMsg.newBuilder().setRequestId(requestId).setMethodName(object.get("method").getAsString()).setParams(GSON.toJson(object.get("params"))).build();
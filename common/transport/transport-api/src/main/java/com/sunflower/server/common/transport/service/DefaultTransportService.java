@@ -15,6 +15,10 @@
  */
 package com.sunflower.server.common.transport.service;
 
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import lombok.extern.slf4j.Slf4j;
@@ -31,7 +35,8 @@ import com.sunflower.server.common.msg.TbMsgMetaData;
 import com.sunflower.server.common.msg.queue.ServiceType;
 import com.sunflower.server.common.msg.queue.TopicPartitionInfo;
 import com.sunflower.server.common.msg.session.SessionMsgType;
-import com.sunflower.server.common.msg.tools.TbRateLimits;
+import com.sunflower.server.common.msg.tools.TbRateLimitsConfig;
+import com.sunflower.server.common.msg.tools.TbRateLimitsRegistry;
 import com.sunflower.server.common.msg.tools.TbRateLimitsException;
 import com.sunflower.server.common.transport.SessionMsgListener;
 import com.sunflower.server.common.transport.TransportService;
@@ -58,7 +63,9 @@ import com.sunflower.server.queue.provider.TbTransportQueueFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -72,6 +79,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Created by ashvayka on 17.10.18.
@@ -87,14 +95,36 @@ public class DefaultTransportService implements TransportService {
     private String perTenantLimitsConf;
     @Value("${transport.rate_limits.device}")
     private String perDevicesLimitsConf;
+    @Value("${transport.rate_limits.overrides_file:}")
+    private String limitsOverridesFile;
+    @Value("${transport.rate_limits.eviction_interval:60000}")
+    private long limitsEvictionInterval;
     @Value("${transport.sessions.inactivity_timeout}")
     private long sessionInactivityTimeout;
     @Value("${transport.sessions.report_timeout}")
     private long sessionReportTimeout;
+    @Value("${transport.sessions.activity_shards:16}")
+    private int sessionActivityShards;
+    @Value("${transport.sessions.report_batch_size:100}")
+    private int sessionReportBatchSize;
+    @Value("${transport.sessions.stats_print_interval_ms:60000}")
+    private long sessionStatsPrintInterval;
+    @Value("${transport.telemetry.batch_enabled:false}")
+    private boolean batchTelemetryEnabled;
     @Value("${transport.client_side_rpc.timeout:60000}")
     private long clientSideRpcTimeout;
     @Value("${queue.transport.poll_interval}")
     private int notificationsPollDuration;
+    @Value("${transport.credentials_cache.enabled:false}")
+    private boolean credentialsCacheEnabled;
+    @Value("${transport.credentials_cache.max_size:100000}")
+    private long credentialsCacheMaxSize;
+    @Value("${transport.credentials_cache.ttl:60000}")
+    private long credentialsCacheTtl;
+    @Value("${transport.credentials_cache.refresh_interval:30000}")
+    private long credentialsCacheRefreshInterval;
+    @Value("${transport.credentials_cache.stats_print_interval_ms:60000}")
+    private long credentialsCacheStatsPrintInterval;
 
     private final Gson gson = new Gson();
     private final TbTransportQueueFactory queueProvider;
@@ -112,9 +142,14 @@ public class DefaultTransportService implements TransportService {
 
     private final ConcurrentMap<UUID, SessionMetaData> sessions = new ConcurrentHashMap<>();
     private final Map<String, RpcRequestMetadata> toServerRpcPendingMap = new ConcurrentHashMap<>();
-    //TODO: Implement cleanup of this maps.
-    private final ConcurrentMap<TenantId, TbRateLimits> perTenantLimits = new ConcurrentHashMap<>();
-    private final ConcurrentMap<DeviceId, TbRateLimits> perDeviceLimits = new ConcurrentHashMap<>();
+    private SessionActivityTracker activityTracker;
+    private final TbRateLimitsRegistry<TenantId> perTenantLimits = new TbRateLimitsRegistry<>();
+    private final TbRateLimitsRegistry<DeviceId> perDeviceLimits = new TbRateLimitsRegistry<>();
+    private TbRateLimitsConfig perTenantLimitsConfig;
+    private TbRateLimitsConfig perDeviceLimitsConfig;
+    private TransportRateLimitsOverrides limitsOverrides;
+
+    private DeviceCredentialsCache credentialsCache;
 
     private ExecutorService mainConsumerExecutor = Executors.newSingleThreadExecutor(ThingsBoardThreadFactory.forName("transport-consumer"));
     private volatile boolean stopped = false;
@@ -128,14 +163,27 @@ public class DefaultTransportService implements TransportService {
 
     @PostConstruct
     public void init() {
+        this.schedulerExecutor = Executors.newSingleThreadScheduledExecutor(ThingsBoardThreadFactory.forName("transport-scheduler"));
         if (rateLimitEnabled) {
-            //Just checking the configuration parameters
-            new TbRateLimits(perTenantLimitsConf);
-            new TbRateLimits(perDevicesLimitsConf);
+            perTenantLimitsConfig = TbRateLimitsConfig.parse(perTenantLimitsConf);
+            perDeviceLimitsConfig = TbRateLimitsConfig.parse(perDevicesLimitsConf);
+            limitsOverrides = new TransportRateLimitsOverrides(limitsOverridesFile);
+            limitsOverrides.reload();
+            this.schedulerExecutor.scheduleAtFixedRate(this::maintainRateLimits, limitsEvictionInterval, limitsEvictionInterval, TimeUnit.MILLISECONDS);
         }
-        this.schedulerExecutor = Executors.newSingleThreadScheduledExecutor(ThingsBoardThreadFactory.forName("transport-scheduler"));
         this.transportCallbackExecutor = Executors.newWorkStealingPool(20);
-        this.schedulerExecutor.scheduleAtFixedRate(this::checkInactivityAndReportActivity, new Random().nextInt((int) sessionReportTimeout), sessionReportTimeout, TimeUnit.MILLISECONDS);
+        this.activityTracker = new SessionActivityTracker(sessionActivityShards, sessionReportTimeout);
+        int initialDelay = new Random().nextInt((int) sessionReportTimeout);
+        for (int i = 0; i < activityTracker.getShardsCount(); i++) {
+            int shard = i;
+            long shardDelay = initialDelay + i * sessionReportTimeout / activityTracker.getShardsCount();
+            this.schedulerExecutor.scheduleAtFixedRate(() -> checkInactivityAndReportActivity(shard), shardDelay, sessionReportTimeout, TimeUnit.MILLISECONDS);
+        }
+        this.schedulerExecutor.scheduleAtFixedRate(activityTracker::printStats, sessionStatsPrintInterval, sessionStatsPrintInterval, TimeUnit.MILLISECONDS);
+        if (credentialsCacheEnabled) {
+            credentialsCache = new DeviceCredentialsCache(credentialsCacheMaxSize, credentialsCacheTtl, credentialsCacheRefreshInterval);
+            this.schedulerExecutor.scheduleAtFixedRate(credentialsCache::printStats, credentialsCacheStatsPrintInterval, credentialsCacheStatsPrintInterval, TimeUnit.MILLISECONDS);
+        }
         transportApiRequestTemplate = queueProvider.createTransportApiRequestTemplate();
         ruleEngineMsgProducer = producerProvider.getRuleEngineMsgProducer();
         tbCoreMsgProducer = producerProvider.getTbCoreMsgProducer();
@@ -199,7 +247,14 @@ public class DefaultTransportService implements TransportService {
 
     @Override
     public void registerAsyncSession(TransportProtos.SessionInfoProto sessionInfo, SessionMsgListener listener) {
-        sessions.putIfAbsent(toSessionId(sessionInfo), new SessionMetaData(sessionInfo, TransportProtos.SessionType.ASYNC, listener));
+        registerSession(new SessionMetaData(sessionInfo, TransportProtos.SessionType.ASYNC, listener));
+    }
+
+    private void registerSession(SessionMetaData sessionMD) {
+        UUID sessionId = toSessionId(sessionMD.getSessionInfo());
+        if (sessions.putIfAbsent(sessionId, sessionMD) == null) {
+            activityTracker.add(sessionId, sessionMD, sessionMD.getLastActivityTime() + sessionInactivityTimeout);
+        }
     }
 
     @Override
@@ -217,17 +272,21 @@ public class DefaultTransportService implements TransportService {
     @Override
     public void process(TransportProtos.ValidateDeviceTokenRequestMsg msg, TransportServiceCallback<TransportProtos.ValidateDeviceCredentialsResponseMsg> callback) {
         log.trace("Processing msg: {}", msg);
-        TbProtoQueueMsg<TransportApiRequestMsg> protoMsg = new TbProtoQueueMsg<>(UUID.randomUUID(), TransportApiRequestMsg.newBuilder().setValidateTokenRequestMsg(msg).build());
-        AsyncCallbackTemplate.withCallback(transportApiRequestTemplate.send(protoMsg),
-                response -> callback.onSuccess(response.getValue().getValidateTokenResponseMsg()), callback::onError, transportCallbackExecutor);
+        validateCredentials("token:" + msg.getToken(), TransportApiRequestMsg.newBuilder().setValidateTokenRequestMsg(msg).build(), callback);
     }
 
     @Override
     public void process(TransportProtos.ValidateDeviceX509CertRequestMsg msg, TransportServiceCallback<TransportProtos.ValidateDeviceCredentialsResponseMsg> callback) {
         log.trace("Processing msg: {}", msg);
-        TbProtoQueueMsg<TransportApiRequestMsg> protoMsg = new TbProtoQueueMsg<>(UUID.randomUUID(), TransportApiRequestMsg.newBuilder().setValidateX509CertRequestMsg(msg).build());
-        AsyncCallbackTemplate.withCallback(transportApiRequestTemplate.send(protoMsg),
-                response -> callback.onSuccess(response.getValue().getValidateTokenResponseMsg()), callback::onError, transportCallbackExecutor);
+        validateCredentials("x509:" + msg.getHash(), TransportApiRequestMsg.newBuilder().setValidateX509CertRequestMsg(msg).build(), callback);
+    }
+
+    private void validateCredentials(String cacheKey, TransportApiRequestMsg requestMsg, TransportServiceCallback<TransportProtos.ValidateDeviceCredentialsResponseMsg> callback) {
+        Supplier<ListenableFuture<TransportProtos.ValidateDeviceCredentialsResponseMsg>> request = () ->
+                Futures.transform(transportApiRequestTemplate.send(new TbProtoQueueMsg<>(UUID.randomUUID(), requestMsg)),
+                        response -> response.getValue().getValidateTokenResponseMsg(), MoreExecutors.directExecutor());
+        ListenableFuture<TransportProtos.ValidateDeviceCredentialsResponseMsg> future = credentialsCache != null ? credentialsCache.get(cacheKey, request) : request.get();
+        AsyncCallbackTemplate.withCallback(future, callback::onSuccess, callback::onError, transportCallbackExecutor);
     }
 
     @Override
@@ -238,6 +297,14 @@ public class DefaultTransportService implements TransportService {
                 response -> callback.onSuccess(response.getValue().getGetOrCreateDeviceResponseMsg()), callback::onError, transportCallbackExecutor);
     }
 
+    @Override
+    public void process(List<TransportProtos.GetOrCreateDeviceFromGatewayRequestMsg> msgs, TransportServiceCallback<List<TransportProtos.GetOrCreateDeviceFromGatewayResponseMsg>> callback) {
+        log.trace("Processing [{}] get or create device msgs", msgs.size());
+        TbProtoQueueMsg<TransportApiRequestMsg> protoMsg = new TbProtoQueueMsg<>(UUID.randomUUID(), TransportApiRequestMsg.newBuilder().addAllGetOrCreateDevicesRequestMsg(msgs).build());
+        AsyncCallbackTemplate.withCallback(transportApiRequestTemplate.send(protoMsg),
+                response -> callback.onSuccess(response.getValue().getGetOrCreateDevicesResponseMsgList()), callback::onError, transportCallbackExecutor);
+    }
+
     @Override
     public void process(TransportProtos.SessionInfoProto sessionInfo, TransportProtos.SubscriptionInfoProto msg, TransportServiceCallback<Void> callback) {
         if (log.isTraceEnabled()) {
@@ -262,15 +329,23 @@ public class DefaultTransportService implements TransportService {
             reportActivityInternal(sessionInfo);
             TenantId tenantId = new TenantId(new UUID(sessionInfo.getTenantIdMSB(), sessionInfo.getTenantIdLSB()));
             DeviceId deviceId = new DeviceId(new UUID(sessionInfo.getDeviceIdMSB(), sessionInfo.getDeviceIdLSB()));
-            MsgPackCallback packCallback = new MsgPackCallback(msg.getTsKvListCount(), callback);
-            for (TransportProtos.TsKvListProto tsKv : msg.getTsKvListList()) {
+            if (batchTelemetryEnabled && msg.getTsKvListCount() > 1) {
                 TbMsgMetaData metaData = new TbMsgMetaData();
                 metaData.putValue("deviceName", sessionInfo.getDeviceName());
                 metaData.putValue("deviceType", sessionInfo.getDeviceType());
-                metaData.putValue("ts", tsKv.getTs() + "");
-                JsonObject json = JsonUtils.getJsonObject(tsKv.getKvList());
-                TbMsg tbMsg = TbMsg.newMsg(SessionMsgType.POST_TELEMETRY_REQUEST.name(), deviceId, metaData, gson.toJson(json));
-                sendToRuleEngine(tenantId, tbMsg, packCallback);
+                metaData.putValue("ts", msg.getTsKvList(msg.getTsKvListCount() - 1).getTs() + "");
+                TbMsg tbMsg = TbMsg.newMsg(SessionMsgType.POST_TELEMETRY_REQUEST.name(), deviceId, metaData, JsonUtils.toTsJsonString(msg.getTsKvListList()));
+                sendToRuleEngine(tenantId, tbMsg, new TransportTbQueueCallback(callback));
+            } else {
+                MsgPackCallback packCallback = new MsgPackCallback(msg.getTsKvListCount(), callback);
+                for (TransportProtos.TsKvListProto tsKv : msg.getTsKvListList()) {
+                    TbMsgMetaData metaData = new TbMsgMetaData();
+                    metaData.putValue("deviceName", sessionInfo.getDeviceName());
+                    metaData.putValue("deviceType", sessionInfo.getDeviceType());
+                    metaData.putValue("ts", tsKv.getTs() + "");
+                    TbMsg tbMsg = TbMsg.newMsg(SessionMsgType.POST_TELEMETRY_REQUEST.name(), deviceId, metaData, JsonUtils.toJsonString(tsKv.getKvList()));
+                    sendToRuleEngine(tenantId, tbMsg, packCallback);
+                }
             }
         }
     }
@@ -281,11 +356,10 @@ public class DefaultTransportService implements TransportService {
             reportActivityInternal(sessionInfo);
             TenantId tenantId = new TenantId(new UUID(sessionInfo.getTenantIdMSB(), sessionInfo.getTenantIdLSB()));
             DeviceId deviceId = new DeviceId(new UUID(sessionInfo.getDeviceIdMSB(), sessionInfo.getDeviceIdLSB()));
-            JsonObject json = JsonUtils.getJsonObject(msg.getKvList());
             TbMsgMetaData metaData = new TbMsgMetaData();
             metaData.putValue("deviceName", sessionInfo.getDeviceName());
             metaData.putValue("deviceType", sessionInfo.getDeviceType());
-            TbMsg tbMsg = TbMsg.newMsg(SessionMsgType.POST_ATTRIBUTES_REQUEST.name(), deviceId, metaData, gson.toJson(json));
+            TbMsg tbMsg = TbMsg.newMsg(SessionMsgType.POST_ATTRIBUTES_REQUEST.name(), deviceId, metaData, JsonUtils.toJsonString(msg.getKvList()));
             sendToRuleEngine(tenantId, tbMsg, new TransportTbQueueCallback(callback));
         }
     }
@@ -395,55 +469,120 @@ public class DefaultTransportService implements TransportService {
         SessionMetaData sessionMetaData = sessions.get(sessionId);
         if (sessionMetaData != null) {
             sessionMetaData.updateLastActivityTime();
+            activityTracker.onActivity(sessionId, sessionMetaData);
         }
         return sessionMetaData;
     }
 
-    private void checkInactivityAndReportActivity() {
-        long expTime = System.currentTimeMillis() - sessionInactivityTimeout;
-        sessions.forEach((uuid, sessionMD) -> {
-            long lastActivityTime = sessionMD.getLastActivityTime();
+    private void checkInactivityAndReportActivity(int shard) {
+        try {
+            checkInactivity(shard);
+            reportActivity(shard);
+        } catch (Exception e) {
+            log.warn("[{}] Failed to check the sessions activity", shard, e);
+        }
+    }
+
+    private void checkInactivity(int shard) {
+        long ts = System.currentTimeMillis();
+        long expTime = ts - sessionInactivityTimeout;
+        for (SessionMetaData sessionMD : activityTracker.pollExpired(shard, ts)) {
             TransportProtos.SessionInfoProto sessionInfo = sessionMD.getSessionInfo();
-            if (sessionInfo.getGwSessionIdMSB() > 0 &&
-                    sessionInfo.getGwSessionIdLSB() > 0) {
-                SessionMetaData gwMetaData = sessions.get(new UUID(sessionInfo.getGwSessionIdMSB(), sessionInfo.getGwSessionIdLSB()));
-                if (gwMetaData != null) {
-                    lastActivityTime = Math.max(gwMetaData.getLastActivityTime(), lastActivityTime);
-                }
+            UUID sessionId = toSessionId(sessionInfo);
+            if (sessions.get(sessionId) != sessionMD) {
+                continue;
             }
+            long lastActivityTime = getLastActivityTime(sessionMD);
             if (lastActivityTime < expTime) {
                 if (log.isDebugEnabled()) {
-                    log.debug("[{}] Session has expired due to last activity time: {}", toSessionId(sessionInfo), lastActivityTime);
+                    log.debug("[{}] Session has expired due to last activity time: {}", sessionId, lastActivityTime);
                 }
                 process(sessionInfo, getSessionEventMsg(TransportProtos.SessionEvent.CLOSED), null);
-                sessions.remove(uuid);
+                sessions.remove(sessionId, sessionMD);
+                activityTracker.remove(sessionId, sessionMD);
                 sessionMD.getListener().onRemoteSessionCloseCommand(TransportProtos.SessionCloseNotificationProto.getDefaultInstance());
             } else {
-                if (lastActivityTime > sessionMD.getLastReportedActivityTime()) {
-                    final long lastActivityTimeFinal = lastActivityTime;
-                    process(sessionInfo, TransportProtos.SubscriptionInfoProto.newBuilder()
+                activityTracker.schedule(sessionId, sessionMD, lastActivityTime + sessionInactivityTimeout);
+            }
+        }
+    }
+
+    private void reportActivity(int shard) {
+        Map<TopicPartitionInfo, List<SessionMetaData>> reports = new HashMap<>();
+        for (SessionMetaData sessionMD : activityTracker.pollActive(shard)) {
+            TransportProtos.SessionInfoProto sessionInfo = sessionMD.getSessionInfo();
+            if (sessions.get(toSessionId(sessionInfo)) != sessionMD) {
+                continue;
+            }
+            if (getLastActivityTime(sessionMD) > sessionMD.getLastReportedActivityTime()) {
+                TopicPartitionInfo tpi = partitionService.resolve(ServiceType.TB_CORE, getTenantId(sessionInfo), getDeviceId(sessionInfo));
+                reports.computeIfAbsent(tpi, k -> new ArrayList<>()).add(sessionMD);
+            }
+        }
+        reports.forEach((tpi, sessionMDs) -> Lists.partition(sessionMDs, Math.max(1, sessionReportBatchSize))
+                .forEach(batch -> sendActivityReports(tpi, batch)));
+    }
+
+    private void sendActivityReports(TopicPartitionInfo tpi, List<SessionMetaData> batch) {
+        List<TransportToDeviceActorMsg> reports = new ArrayList<>(batch.size());
+        long[] reportedTimes = new long[batch.size()];
+        long[] pendingSince = new long[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            SessionMetaData sessionMD = batch.get(i);
+            reportedTimes[i] = getLastActivityTime(sessionMD);
+            pendingSince[i] = sessionMD.getActivityPendingSince();
+            reports.add(TransportToDeviceActorMsg.newBuilder().setSessionInfo(sessionMD.getSessionInfo())
+                    .setSubscriptionInfo(TransportProtos.SubscriptionInfoProto.newBuilder()
                             .setAttributeSubscription(sessionMD.isSubscribedToAttributes())
                             .setRpcSubscription(sessionMD.isSubscribedToRPC())
-                            .setLastActivityTime(lastActivityTime).build(), new TransportServiceCallback<Void>() {
-                        @Override
-                        public void onSuccess(Void msg) {
-                            sessionMD.setLastReportedActivityTime(lastActivityTimeFinal);
+                            .setLastActivityTime(reportedTimes[i]).build()).build());
+        }
+        ToCoreMsg.Builder toCoreMsg = ToCoreMsg.newBuilder();
+        if (reports.size() == 1) {
+            toCoreMsg.setToDeviceActorMsg(reports.get(0));
+        } else {
+            toCoreMsg.addAllToDeviceActorMsgBatch(reports);
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("Pushing to topic {} activity of [{}] sessions", tpi.getFullTopicName(), batch.size());
+        }
+        tbCoreMsgProducer.send(tpi, new TbProtoQueueMsg<>(getRoutingKey(batch.get(0).getSessionInfo()), toCoreMsg.build()),
+                new TransportTbQueueCallback(new TransportServiceCallback<Void>() {
+                    @Override
+                    public void onSuccess(Void msg) {
+                        long ts = System.currentTimeMillis();
+                        long lagSum = 0;
+                        long lagMax = 0;
+                        for (int i = 0; i < batch.size(); i++) {
+                            batch.get(i).setLastReportedActivityTime(reportedTimes[i]);
+                            long lag = ts - pendingSince[i];
+                            lagSum += lag;
+                            lagMax = Math.max(lagMax, lag);
                         }
+                        activityTracker.onReported(batch.size(), lagSum, lagMax);
+                    }
 
-                        @Override
-                        public void onError(Throwable e) {
-                            log.warn("[{}] Failed to report last activity time", uuid, e);
-                        }
-                    });
-                }
-            }
-        });
+                    @Override
+                    public void onError(Throwable e) {
+                        log.warn("[{}] Failed to report last activity time of [{}] sessions", tpi.getFullTopicName(), batch.size(), e);
+                        batch.forEach(sessionMD -> activityTracker.onActivity(toSessionId(sessionMD.getSessionInfo()), sessionMD));
+                    }
+                }));
+    }
+
+    private long getLastActivityTime(SessionMetaData sessionMD) {
+        long lastActivityTime = sessionMD.getLastActivityTime();
+        SessionMetaData gwMetaData = activityTracker.getGateway(sessionMD, sessions);
+        if (gwMetaData != null) {
+            lastActivityTime = Math.max(gwMetaData.getLastActivityTime(), lastActivityTime);
+        }
+        return lastActivityTime;
     }
 
     @Override
     public void registerSyncSession(TransportProtos.SessionInfoProto sessionInfo, SessionMsgListener listener, long timeout) {
         SessionMetaData currentSession = new SessionMetaData(sessionInfo, TransportProtos.SessionType.SYNC, listener);
-        sessions.putIfAbsent(toSessionId(sessionInfo), currentSession);
+        registerSession(currentSession);
 
         ScheduledFuture executorFuture = schedulerExecutor.schedule(() -> {
             listener.onRemoteSessionCloseCommand(TransportProtos.SessionCloseNotificationProto.getDefaultInstance());
@@ -460,7 +599,9 @@ public class DefaultTransportService implements TransportService {
             log.debug("Stopping scheduler to avoid resending response if request has been ack.");
             currentSession.getScheduledFuture().cancel(false);
         }
-        sessions.remove(toSessionId(sessionInfo));
+        if (currentSession != null && sessions.remove(toSessionId(sessionInfo), currentSession)) {
+            activityTracker.remove(toSessionId(sessionInfo), currentSession);
+        }
     }
 
     @Override
@@ -472,8 +613,7 @@ public class DefaultTransportService implements TransportService {
             return true;
         }
         TenantId tenantId = new TenantId(new UUID(sessionInfo.getTenantIdMSB(), sessionInfo.getTenantIdLSB()));
-        TbRateLimits rateLimits = perTenantLimits.computeIfAbsent(tenantId, id -> new TbRateLimits(perTenantLimitsConf));
-        if (!rateLimits.tryConsume()) {
+        if (!perTenantLimits.tryConsume(tenantId, limitsOverrides.getTenantLimits(tenantId, perTenantLimitsConfig))) {
             if (callback != null) {
                 callback.onError(new TbRateLimitsException(EntityType.TENANT));
             }
@@ -483,8 +623,7 @@ public class DefaultTransportService implements TransportService {
             return false;
         }
         DeviceId deviceId = new DeviceId(new UUID(sessionInfo.getDeviceIdMSB(), sessionInfo.getDeviceIdLSB()));
-        rateLimits = perDeviceLimits.computeIfAbsent(deviceId, id -> new TbRateLimits(perDevicesLimitsConf));
-        if (!rateLimits.tryConsume()) {
+        if (!perDeviceLimits.tryConsume(deviceId, limitsOverrides.getDeviceLimits(tenantId, perDeviceLimitsConfig))) {
             if (callback != null) {
                 callback.onError(new TbRateLimitsException(EntityType.DEVICE));
             }
@@ -497,10 +636,38 @@ public class DefaultTransportService implements TransportService {
         return true;
     }
 
+    private void maintainRateLimits() {
+        try {
+            limitsOverrides.reload();
+            int tenants = perTenantLimits.evictIdle();
+            int devices = perDeviceLimits.evictIdle();
+            log.debug("Evicted idle rate limits of [{}] tenants and [{}] devices, [{}] devices remain", tenants, devices, perDeviceLimits.size());
+        } catch (Exception e) {
+            log.warn("Failed to maintain rate limits", e);
+        }
+    }
+
     protected void processToTransportMsg(TransportProtos.ToTransportMsg toSessionMsg) {
+        if (toSessionMsg.hasDeviceCredentialsInvalidation()) {
+            // Broadcast by the core to all transports when the credentials of a device are updated or the device is deleted,
+            // and without a device when the tenant is deleted
+            if (credentialsCache != null) {
+                TransportProtos.DeviceCredentialsInvalidationMsg invalidation = toSessionMsg.getDeviceCredentialsInvalidation();
+                if (invalidation.getDeviceIdMSB() == 0L && invalidation.getDeviceIdLSB() == 0L) {
+                    credentialsCache.invalidate(new TenantId(new UUID(invalidation.getTenantIdMSB(), invalidation.getTenantIdLSB())));
+                } else {
+                    credentialsCache.invalidate(new DeviceId(new UUID(invalidation.getDeviceIdMSB(), invalidation.getDeviceIdLSB())));
+                }
+            }
+            return;
+        }
         UUID sessionId = new UUID(toSessionMsg.getSessionIdMSB(), toSessionMsg.getSessionIdLSB());
         SessionMetaData md = sessions.get(sessionId);
         if (md != null) {
+            if (toSessionMsg.hasSessionCloseNotification() && credentialsCache != null) {
+                // The core closes the device sessions when the device credentials are updated
+                credentialsCache.invalidate(new DeviceId(getRoutingKey(md.getSessionInfo())));
+            }
             SessionMsgListener listener = md.getListener();
             transportCallbackExecutor.submit(() -> {
                 if (toSessionMsg.hasGetAttributesResponse()) {
@@ -0,0 +1,253 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.common.transport.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import lombok.extern.slf4j.Slf4j;
+import com.sunflower.server.common.data.id.DeviceId;
+import com.sunflower.server.common.data.id.EntityId;
+import com.sunflower.server.common.data.id.TenantId;
+import com.sunflower.server.gen.transport.TransportProtos.DeviceInfoProto;
+import com.sunflower.server.gen.transport.TransportProtos.ValidateDeviceCredentialsResponseMsg;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Transport side cache of the device credentials validation results, keyed by the access token or the certificate hash.
+ * Concurrent validations of the same credentials share one request to the core.
+ * Only successful validations are kept; once older than the refresh interval they are re-validated in the background
+ * while the cached result is still served.
+ * Cached keys are indexed by device, so that the results of a device are dropped without scanning the cache.
+ * A validation that was requested before the invalidation of its device or tenant is returned to the waiting callers
+ * but is not cached, since the core may have answered it with the credentials that were just changed.
+ */
+@Slf4j
+class DeviceCredentialsCache {
+
+    private final Cache<String, Entry> cache;
+    private final ConcurrentMap<DeviceId, Set<String>> keysByDevice = new ConcurrentHashMap<>();
+    private final Cache<EntityId, Long> lastInvalidations;
+    private final AtomicLong invalidationSeq = new AtomicLong();
+    private final long refreshIntervalMs;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicInteger refreshes = new AtomicInteger();
+    private final AtomicInteger invalidations = new AtomicInteger();
+
+    DeviceCredentialsCache(long maxSize, long ttlMs, long refreshIntervalMs) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .removalListener(this::onRemoval)
+                .build();
+        // Loads are bounded by the request timeout, so older invalidations can't affect them
+        this.lastInvalidations = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .build();
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    ListenableFuture<ValidateDeviceCredentialsResponseMsg> get(String key, Supplier<ListenableFuture<ValidateDeviceCredentialsResponseMsg>> loader) {
+        ConcurrentMap<String, Entry> entries = cache.asMap();
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            Entry newEntry = new Entry(invalidationSeq.get());
+            entry = entries.putIfAbsent(key, newEntry);
+            if (entry == null) {
+                misses.incrementAndGet();
+                load(key, newEntry, loader);
+                return newEntry.future;
+            }
+        }
+        hits.incrementAndGet();
+        if (entry.isRefreshRequired(refreshIntervalMs) && entry.refreshing.compareAndSet(false, true)) {
+            refreshes.incrementAndGet();
+            refresh(key, entry, loader);
+        }
+        return entry.future;
+    }
+
+    void invalidate(DeviceId deviceId) {
+        lastInvalidations.put(deviceId, invalidationSeq.incrementAndGet());
+        Set<String> keys = keysByDevice.remove(deviceId);
+        if (keys != null) {
+            keys.forEach(cache::invalidate);
+            invalidations.incrementAndGet();
+        }
+    }
+
+    void invalidate(TenantId tenantId) {
+        lastInvalidations.put(tenantId, invalidationSeq.incrementAndGet());
+        if (cache.asMap().values().removeIf(entry -> tenantId.equals(entry.tenantId))) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    void printStats() {
+        int hitCount = hits.getAndSet(0);
+        int missCount = misses.getAndSet(0);
+        int refreshCount = refreshes.getAndSet(0);
+        int invalidationCount = invalidations.getAndSet(0);
+        if (hitCount > 0 || missCount > 0) {
+            log.info("Device credentials cache: size [{}] hits [{}] misses [{}] hit rate [{}%] refreshes [{}] invalidations [{}]",
+                    cache.size(), hitCount, missCount, hitCount * 100 / (hitCount + missCount), refreshCount, invalidationCount);
+        }
+    }
+
+    private void load(String key, Entry entry, Supplier<ListenableFuture<ValidateDeviceCredentialsResponseMsg>> loader) {
+        addCallback(loader, new FutureCallback<ValidateDeviceCredentialsResponseMsg>() {
+            @Override
+            public void onSuccess(ValidateDeviceCredentialsResponseMsg msg) {
+                if (msg.hasDeviceInfo()) {
+                    entry.setDeviceInfo(msg.getDeviceInfo());
+                    index(key, entry);
+                    removeIfInvalidated(key, entry);
+                } else {
+                    cache.asMap().remove(key, entry);
+                }
+                entry.future.set(msg);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                cache.asMap().remove(key, entry);
+                entry.future.setException(t);
+            }
+        });
+    }
+
+    private void refresh(String key, Entry entry, Supplier<ListenableFuture<ValidateDeviceCredentialsResponseMsg>> loader) {
+        long seq = invalidationSeq.get();
+        addCallback(loader, new FutureCallback<ValidateDeviceCredentialsResponseMsg>() {
+            @Override
+            public void onSuccess(ValidateDeviceCredentialsResponseMsg msg) {
+                if (msg.hasDeviceInfo()) {
+                    Entry refreshed = new Entry(seq);
+                    refreshed.setDeviceInfo(msg.getDeviceInfo());
+                    refreshed.future.set(msg);
+                    if (cache.asMap().replace(key, entry, refreshed)) {
+                        if (!refreshed.deviceId.equals(entry.deviceId)) {
+                            unindex(entry.deviceId, key);
+                        }
+                        index(key, refreshed);
+                        removeIfInvalidated(key, refreshed);
+                    }
+                } else {
+                    cache.asMap().remove(key, entry);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                log.debug("[{}] Failed to refresh device credentials", key, t);
+                entry.refreshing.set(false);
+            }
+        });
+    }
+
+    private void index(String key, Entry entry) {
+        keysByDevice.compute(entry.deviceId, (id, keys) -> {
+            if (keys == null) {
+                keys = ConcurrentHashMap.newKeySet();
+            }
+            keys.add(key);
+            return keys;
+        });
+        // The entry may have been removed while it was indexed
+        if (cache.asMap().get(key) != entry) {
+            unindex(entry.deviceId, key);
+        }
+    }
+
+    // Runs after the entry is indexed, so an invalidation either is seen here or finds the indexed key
+    private void removeIfInvalidated(String key, Entry entry) {
+        if (isInvalidatedAfter(entry.deviceId, entry.seq) || isInvalidatedAfter(entry.tenantId, entry.seq)) {
+            log.debug("[{}] Device credentials were invalidated while being validated", key);
+            cache.asMap().remove(key, entry);
+        }
+    }
+
+    private boolean isInvalidatedAfter(EntityId entityId, long seq) {
+        Long lastSeq = lastInvalidations.getIfPresent(entityId);
+        return lastSeq != null && lastSeq > seq;
+    }
+
+    private void unindex(DeviceId deviceId, String key) {
+        keysByDevice.computeIfPresent(deviceId, (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private void onRemoval(RemovalNotification<String, Entry> notification) {
+        Entry entry = notification.getValue();
+        // Replaced entries are re-indexed by the refresh
+        if (entry != null && entry.deviceId != null && notification.getCause() != RemovalCause.REPLACED) {
+            unindex(entry.deviceId, notification.getKey());
+        }
+    }
+
+    private static void addCallback(Supplier<ListenableFuture<ValidateDeviceCredentialsResponseMsg>> loader,
+                                    FutureCallback<ValidateDeviceCredentialsResponseMsg> callback) {
+        ListenableFuture<ValidateDeviceCredentialsResponseMsg> future;
+        try {
+            future = loader.get();
+        } catch (Throwable t) {
+            future = Futures.immediateFailedFuture(t);
+        }
+        Futures.addCallback(future, callback, MoreExecutors.directExecutor());
+    }
+
+    private static class Entry {
+        private final SettableFuture<ValidateDeviceCredentialsResponseMsg> future = SettableFuture.create();
+        private final long createdTime = System.currentTimeMillis();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        // Last invalidation before the validation was requested
+        private final long seq;
+        private volatile DeviceId deviceId;
+        private volatile TenantId tenantId;
+
+        Entry(long seq) {
+            this.seq = seq;
+        }
+
+        void setDeviceInfo(DeviceInfoProto deviceInfo) {
+            tenantId = new TenantId(new UUID(deviceInfo.getTenantIdMSB(), deviceInfo.getTenantIdLSB()));
+            deviceId = new DeviceId(new UUID(deviceInfo.getDeviceIdMSB(), deviceInfo.getDeviceIdLSB()));
+        }
+
+        boolean isRefreshRequired(long refreshIntervalMs) {
+            return deviceId != null && System.currentTimeMillis() - createdTime > refreshIntervalMs;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.common.transport.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sessions split into shards by the session id. Each shard keeps the sessions with unreported activity
+ * and buckets of sessions by the time they may become inactive, so the periodic check of a shard only touches
+ * the sessions that were active since the previous check and the sessions from the expired buckets.
+ * Sessions are added from any thread, but each shard must be polled from a single thread.
+ */
+@Slf4j
+class SessionActivityTracker {
+
+    private final Shard[] shards;
+    private final long bucketInterval;
+    private final ConcurrentMap<UUID, ConcurrentMap<UUID, SessionMetaData>> gatewayDevices = new ConcurrentHashMap<>();
+
+    private final AtomicInteger reported = new AtomicInteger();
+    private final AtomicInteger batches = new AtomicInteger();
+    private final AtomicLong totalLag = new AtomicLong();
+    private final AtomicLong maxLag = new AtomicLong();
+
+    SessionActivityTracker(int shardsCount, long bucketInterval) {
+        this.shards = new Shard[Math.max(1, shardsCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+        this.bucketInterval = Math.max(1, bucketInterval);
+    }
+
+    int getShardsCount() {
+        return shards.length;
+    }
+
+    void add(UUID sessionId, SessionMetaData md, long expirationTime) {
+        UUID gwSessionId = getGatewaySessionId(md);
+        if (gwSessionId != null) {
+            gatewayDevices.computeIfAbsent(gwSessionId, id -> new ConcurrentHashMap<>()).put(sessionId, md);
+        }
+        schedule(sessionId, md, expirationTime);
+        onActivity(sessionId, md);
+    }
+
+    void remove(UUID sessionId, SessionMetaData md) {
+        gatewayDevices.remove(sessionId);
+        UUID gwSessionId = getGatewaySessionId(md);
+        if (gwSessionId != null) {
+            gatewayDevices.computeIfPresent(gwSessionId, (id, devices) -> {
+                devices.remove(sessionId, md);
+                return devices.isEmpty() ? null : devices;
+            });
+        }
+    }
+
+    void onActivity(UUID sessionId, SessionMetaData md) {
+        if (md.markActivityPending()) {
+            getShard(sessionId).pending.add(md);
+        }
+    }
+
+    void schedule(UUID sessionId, SessionMetaData md, long expirationTime) {
+        getShard(sessionId).buckets.computeIfAbsent(expirationTime / bucketInterval, b -> new ConcurrentLinkedQueue<>()).add(md);
+    }
+
+    /**
+     * Returns the sessions of the shard with activity since the previous call.
+     * The activity of a gateway session is also reported for the devices connected through it.
+     */
+    List<SessionMetaData> pollActive(int shard) {
+        Queue<SessionMetaData> pending = shards[shard].pending;
+        List<SessionMetaData> active = new ArrayList<>();
+        SessionMetaData md;
+        while ((md = pending.poll()) != null) {
+            md.clearActivityPending();
+            active.add(md);
+            Map<UUID, SessionMetaData> devices = gatewayDevices.get(toSessionId(md));
+            if (devices != null) {
+                devices.forEach(this::onActivity);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Returns the sessions of the shard that were scheduled to expire before the given time.
+     * The caller checks the actual activity time and either closes the session or schedules it again.
+     */
+    List<SessionMetaData> pollExpired(int shard, long ts) {
+        Map<Long, Queue<SessionMetaData>> expiredBuckets = shards[shard].buckets.headMap(ts / bucketInterval);
+        List<SessionMetaData> expired = new ArrayList<>();
+        for (Long bucket : new ArrayList<>(expiredBuckets.keySet())) {
+            Queue<SessionMetaData> sessions = expiredBuckets.remove(bucket);
+            if (sessions != null) {
+                expired.addAll(sessions);
+            }
+        }
+        return expired;
+    }
+
+    SessionMetaData getGateway(SessionMetaData md, Map<UUID, SessionMetaData> sessions) {
+        UUID gwSessionId = getGatewaySessionId(md);
+        return gwSessionId != null ? sessions.get(gwSessionId) : null;
+    }
+
+    void onReported(int count, long lagSum, long lagMax) {
+        reported.addAndGet(count);
+        batches.incrementAndGet();
+        totalLag.addAndGet(lagSum);
+        maxLag.accumulateAndGet(lagMax, Math::max);
+    }
+
+    void printStats() {
+        int reportedCount = reported.getAndSet(0);
+        int batchesCount = batches.getAndSet(0);
+        long lagSum = totalLag.getAndSet(0);
+        long lagMax = maxLag.getAndSet(0);
+        if (reportedCount > 0) {
+            log.info("Session activity reports: [{}] sessions in [{}] batches, lag avg [{}] max [{}] ms",
+                    reportedCount, batchesCount, lagSum / reportedCount, lagMax);
+        }
+    }
+
+    private Shard getShard(UUID sessionId) {
+        return shards[(sessionId.hashCode() & 0x7fffffff) % shards.length];
+    }
+
+    private static UUID getGatewaySessionId(SessionMetaData md) {
+        if (md.getSessionInfo().getGwSessionIdMSB() > 0 && md.getSessionInfo().getGwSessionIdLSB() > 0) {
+            return new UUID(md.getSessionInfo().getGwSessionIdMSB(), md.getSessionInfo().getGwSessionIdLSB());
+        } else {
+            return null;
+        }
+    }
+
+    private static UUID toSessionId(SessionMetaData md) {
+        return new UUID(md.getSessionInfo().getSessionIdMSB(), md.getSessionInfo().getSessionIdLSB());
+    }
+
+    private static class Shard {
+        private final Queue<SessionMetaData> pending = new ConcurrentLinkedQueue<>();
+        private final ConcurrentSkipListMap<Long, Queue<SessionMetaData>> buckets = new ConcurrentSkipListMap<>();
+    }
+}
@@ -20,6 +20,7 @@ import com.sunflower.server.common.transport.SessionMsgListener;
 import com.sunflower.server.gen.transport.TransportProtos;
 
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Created by ashvayka on 15.10.18.
@@ -37,6 +38,8 @@ class SessionMetaData {
     private volatile long lastReportedActivityTime;
     private volatile boolean subscribedToAttributes;
     private volatile boolean subscribedToRPC;
+    private final AtomicBoolean activityPending = new AtomicBoolean();
+    private volatile long activityPendingSince;
 
     SessionMetaData(
             TransportProtos.SessionInfoProto sessionInfo,
@@ -54,6 +57,18 @@ class SessionMetaData {
         this.lastActivityTime = System.currentTimeMillis();
     }
 
+    boolean markActivityPending() {
+        if (!activityPending.get() && activityPending.compareAndSet(false, true)) {
+            this.activityPendingSince = System.currentTimeMillis();
+            return true;
+        }
+        return false;
+    }
+
+    void clearActivityPending() {
+        activityPending.set(false);
+    }
+
     void setScheduledFuture(ScheduledFuture scheduledFuture) { this.scheduledFuture = scheduledFuture; }
 
     public ScheduledFuture getScheduledFuture() {
@@ -0,0 +1,101 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.common.transport.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+import com.sunflower.server.common.data.id.TenantId;
+import com.sunflower.server.common.msg.tools.TbRateLimitsConfig;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Per tenant rate limits loaded from a properties file, re-read when the file changes.
+ * "&lt;tenantId&gt;" overrides the tenant limits and "&lt;tenantId&gt;.device" the limits of each device of that tenant.
+ */
+@Slf4j
+class TransportRateLimitsOverrides {
+
+    private static final String DEVICE_SUFFIX = ".device";
+
+    private final File file;
+    private long lastModified;
+
+    private volatile Map<TenantId, TbRateLimitsConfig> tenantLimits = Collections.emptyMap();
+    private volatile Map<TenantId, TbRateLimitsConfig> deviceLimits = Collections.emptyMap();
+
+    TransportRateLimitsOverrides(String path) {
+        this.file = StringUtils.isEmpty(path) ? null : new File(path);
+    }
+
+    TbRateLimitsConfig getTenantLimits(TenantId tenantId, TbRateLimitsConfig defaultConfig) {
+        return tenantLimits.getOrDefault(tenantId, defaultConfig);
+    }
+
+    TbRateLimitsConfig getDeviceLimits(TenantId tenantId, TbRateLimitsConfig defaultConfig) {
+        return deviceLimits.getOrDefault(tenantId, defaultConfig);
+    }
+
+    void reload() {
+        if (file == null) {
+            return;
+        }
+        long modified = file.lastModified();
+        if (modified == lastModified) {
+            return;
+        }
+        Properties properties = new Properties();
+        if (modified != 0) {
+            try (InputStream in = new FileInputStream(file)) {
+                properties.load(in);
+            } catch (IOException e) {
+                log.warn("Failed to read rate limits overrides from [{}]", file, e);
+                return;
+            }
+        }
+        Map<TenantId, TbRateLimitsConfig> newTenantLimits = new HashMap<>();
+        Map<TenantId, TbRateLimitsConfig> newDeviceLimits = new HashMap<>();
+        try {
+            for (String key : properties.stringPropertyNames()) {
+                TbRateLimitsConfig config = TbRateLimitsConfig.parse(properties.getProperty(key).trim());
+                if (key.endsWith(DEVICE_SUFFIX)) {
+                    newDeviceLimits.put(toTenantId(key.substring(0, key.length() - DEVICE_SUFFIX.length())), config);
+                } else {
+                    newTenantLimits.put(toTenantId(key), config);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to parse rate limits overrides from [{}], keeping the previous ones", file, e);
+            return;
+        }
+        lastModified = modified;
+        tenantLimits = newTenantLimits;
+        deviceLimits = newDeviceLimits;
+        log.info("Loaded rate limits overrides for [{}] tenants and devices of [{}] tenants", newTenantLimits.size(), newDeviceLimits.size());
+    }
+
+    private static TenantId toTenantId(String value) {
+        return new TenantId(UUID.fromString(value.trim()));
+    }
+}
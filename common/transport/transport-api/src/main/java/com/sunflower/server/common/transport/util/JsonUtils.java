@@ -15,14 +15,22 @@
  */
 package com.sunflower.server.common.transport.util;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
 import com.sunflower.server.gen.transport.TransportProtos.KeyValueProto;
+import com.sunflower.server.gen.transport.TransportProtos.TsKvListProto;
+
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.List;
 
 public class JsonUtils {
 
+    private static final Gson GSON = new Gson();
     private static final JsonParser jsonParser = new JsonParser();
 
     public static JsonObject getJsonObject(List<KeyValueProto> tsKv) {
@@ -49,6 +57,78 @@ public class JsonUtils {
         return json;
     }
 
+    /**
+     * Same output as serializing {@link #getJsonObject(List)} with a default {@link Gson},
+     * but writes the values directly without building the intermediate JSON tree.
+     */
+    public static String toJsonString(List<KeyValueProto> tsKv) {
+        StringWriter out = new StringWriter();
+        try {
+            JsonWriter writer = newWriter(out);
+            writeKvs(writer, tsKv);
+            writer.flush();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes the timestamped values as [{"ts": ..., "values": {...}}, ...], the format accepted for telemetry with timestamps.
+     */
+    public static String toTsJsonString(List<TsKvListProto> tsKvList) {
+        StringWriter out = new StringWriter();
+        try {
+            JsonWriter writer = newWriter(out);
+            writer.beginArray();
+            for (TsKvListProto tsKv : tsKvList) {
+                writer.beginObject();
+                writer.name("ts").value(tsKv.getTs());
+                writer.name("values");
+                writeKvs(writer, tsKv.getKvList());
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.flush();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+        return out.toString();
+    }
+
+    private static JsonWriter newWriter(StringWriter out) {
+        JsonWriter writer = new JsonWriter(out);
+        writer.setLenient(true);
+        writer.setHtmlSafe(true);
+        writer.setSerializeNulls(false);
+        return writer;
+    }
+
+    private static void writeKvs(JsonWriter writer, List<KeyValueProto> tsKv) throws IOException {
+        writer.beginObject();
+        for (KeyValueProto kv : tsKv) {
+            switch (kv.getType()) {
+                case BOOLEAN_V:
+                    writer.name(kv.getKey()).value(kv.getBoolV());
+                    break;
+                case LONG_V:
+                    writer.name(kv.getKey()).value(kv.getLongV());
+                    break;
+                case DOUBLE_V:
+                    writer.name(kv.getKey()).value((Number) kv.getDoubleV());
+                    break;
+                case STRING_V:
+                    writer.name(kv.getKey()).value(kv.getStringV());
+                    break;
+                case JSON_V:
+                    writer.name(kv.getKey());
+                    GSON.toJson(jsonParser.parse(kv.getJsonV()), writer);
+                    break;
+            }
+        }
+        writer.endObject();
+    }
+
     public static JsonElement parse(String params) {
         return jsonParser.parse(params);
     }
@@ -22,6 +22,7 @@ import com.sunflower.server.common.data.kv.AttributeKvEntry;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -33,6 +34,8 @@ public interface AttributesDao {
 
     ListenableFuture<List<AttributeKvEntry>> find(TenantId tenantId, EntityId entityId, String attributeType, Collection<String> attributeKey);
 
+    ListenableFuture<Map<EntityId, List<AttributeKvEntry>>> find(TenantId tenantId, Collection<EntityId> entityIds, String attributeType, Collection<String> attributeKeys);
+
     ListenableFuture<List<AttributeKvEntry>> findAll(TenantId tenantId, EntityId entityId, String attributeType);
 
     ListenableFuture<Void> save(TenantId tenantId, EntityId entityId, String attributeType, AttributeKvEntry attribute);
@@ -28,6 +28,7 @@ import com.sunflower.server.dao.service.Validator;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -53,6 +54,13 @@ public class BaseAttributesService implements AttributesService {
         return attributesDao.find(tenantId, entityId, scope, attributeKeys);
     }
 
+    @Override
+    public ListenableFuture<Map<EntityId, List<AttributeKvEntry>>> find(TenantId tenantId, Collection<EntityId> entityIds, String scope, Collection<String> attributeKeys) {
+        entityIds.forEach(entityId -> validate(entityId, scope));
+        attributeKeys.forEach(attributeKey -> Validator.validateString(attributeKey, "Incorrect attribute key " + attributeKey));
+        return attributesDao.find(tenantId, entityIds, scope, attributeKeys);
+    }
+
     @Override
     public ListenableFuture<List<AttributeKvEntry>> findAll(TenantId tenantId, EntityId entityId, String scope) {
         validate(entityId, scope);
@@ -40,7 +40,9 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -97,6 +99,19 @@ public class CassandraBaseAttributesDao extends CassandraAbstractAsyncDao implem
         }, readResultsProcessingExecutor);
     }
 
+    @Override
+    public ListenableFuture<Map<EntityId, List<AttributeKvEntry>>> find(TenantId tenantId, Collection<EntityId> entityIds, String attributeType, Collection<String> attributeKeys) {
+        List<EntityId> ids = new ArrayList<>(entityIds);
+        List<ListenableFuture<List<AttributeKvEntry>>> entries = new ArrayList<>(ids.size());
+        ids.forEach(entityId -> entries.add(find(tenantId, entityId, attributeType, attributeKeys)));
+        return Futures.transform(Futures.allAsList(entries), (Function<List<List<AttributeKvEntry>>, ? extends Map<EntityId, List<AttributeKvEntry>>>) input -> {
+            Map<EntityId, List<AttributeKvEntry>> result = new HashMap<>();
+            for (int i = 0; i < ids.size(); i++) {
+                result.put(ids.get(i), input.get(i));
+            }
+            return result;
+        }, readResultsProcessingExecutor);
+    }
 
     @Override
     public ListenableFuture<List<AttributeKvEntry>> findAll(TenantId tenantId, EntityId entityId, String attributeType) {
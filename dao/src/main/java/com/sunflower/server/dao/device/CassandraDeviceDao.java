@@ -40,14 +40,18 @@ import com.sunflower.server.dao.util.NoSqlDao;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.fcall;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.gt;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.in;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.select;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.token;
 import static com.sunflower.server.dao.model.ModelConstants.DEVICE_BY_CUSTOMER_AND_SEARCH_TEXT_COLUMN_FAMILY_NAME;
 import static com.sunflower.server.dao.model.ModelConstants.DEVICE_BY_CUSTOMER_BY_TYPE_AND_SEARCH_TEXT_COLUMN_FAMILY_NAME;
 import static com.sunflower.server.dao.model.ModelConstants.DEVICE_BY_TENANT_AND_NAME_VIEW_NAME;
@@ -98,6 +102,19 @@ public class CassandraDeviceDao extends CassandraAbstractSearchTextDao<DeviceEnt
         return DaoUtil.convertDataList(deviceEntities);
     }
 
+    @Override
+    public List<Device> findDevices(TextPageLink pageLink) {
+        log.debug("Try to find devices by pageLink [{}]", pageLink);
+        Select select = select().from(getColumnFamilyName());
+        if (pageLink.getIdOffset() != null) {
+            select.where(gt(token(ID_PROPERTY), fcall("token", pageLink.getIdOffset())));
+        }
+        select.limit(pageLink.getLimit());
+        List<DeviceEntity> deviceEntities = findListByStatement(TenantId.SYS_TENANT_ID, select);
+        log.trace("Found devices [{}] by pageLink [{}]", deviceEntities, pageLink);
+        return DaoUtil.convertDataList(deviceEntities);
+    }
+
     @Override
     public List<Device> findDevicesByTenantIdAndType(UUID tenantId, String type, TextPageLink pageLink) {
         log.debug("Try to find devices by tenantId [{}], type [{}] and pageLink [{}]", tenantId, type, pageLink);
@@ -163,6 +180,15 @@ public class CassandraDeviceDao extends CassandraAbstractSearchTextDao<DeviceEnt
         return Optional.ofNullable(DaoUtil.getData(findOneByStatement(new TenantId(tenantId), query)));
     }
 
+    @Override
+    public List<Device> findDevicesByTenantIdAndNames(UUID tenantId, Collection<String> names) {
+        Select select = select().from(DEVICE_BY_TENANT_AND_NAME_VIEW_NAME);
+        Select.Where query = select.where();
+        query.and(eq(DEVICE_TENANT_ID_PROPERTY, tenantId));
+        query.and(in(DEVICE_NAME_PROPERTY, new ArrayList<>(names)));
+        return DaoUtil.convertDataList(findListByStatement(new TenantId(tenantId), query));
+    }
+
     @Override
     public ListenableFuture<List<EntitySubtype>> findTenantDeviceTypesAsync(UUID tenantId) {
         Select select = select().from(ENTITY_SUBTYPE_COLUMN_FAMILY_NAME);
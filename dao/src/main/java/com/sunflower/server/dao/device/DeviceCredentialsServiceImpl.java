@@ -21,6 +21,7 @@ import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import com.sunflower.server.common.data.Device;
@@ -48,6 +49,9 @@ public class DeviceCredentialsServiceImpl extends AbstractEntityService implemen
     @Autowired
     private DeviceService deviceService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public DeviceCredentials findDeviceCredentialsByDeviceId(TenantId tenantId, DeviceId deviceId) {
         log.trace("Executing findDeviceCredentialsByDeviceId [{}]", deviceId);
@@ -66,7 +70,9 @@ public class DeviceCredentialsServiceImpl extends AbstractEntityService implemen
     @Override
     @CacheEvict(cacheNames = DEVICE_CREDENTIALS_CACHE, keyGenerator = "previousDeviceCredentialsId", beforeInvocation = true)
     public DeviceCredentials updateDeviceCredentials(TenantId tenantId, DeviceCredentials deviceCredentials) {
-        return saveOrUpdate(tenantId, deviceCredentials);
+        DeviceCredentials result = saveOrUpdate(tenantId, deviceCredentials);
+        eventPublisher.publishEvent(new DeviceCredentialsChangeEvent(this, tenantId, result.getDeviceId()));
+        return result;
     }
 
     @Override
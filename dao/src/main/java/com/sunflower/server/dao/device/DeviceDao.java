@@ -22,6 +22,7 @@ import com.sunflower.server.common.data.id.TenantId;
 import com.sunflower.server.common.data.page.TextPageLink;
 import com.sunflower.server.dao.Dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -49,6 +50,14 @@ public interface DeviceDao extends Dao<Device> {
      */
     List<Device> findDevicesByTenantId(UUID tenantId, TextPageLink pageLink);
 
+    /**
+     * Find devices of all tenants by page link.
+     *
+     * @param pageLink the page link
+     * @return the list of device objects
+     */
+    List<Device> findDevices(TextPageLink pageLink);
+
     /**
      * Find devices by tenantId, type and page link.
      *
@@ -109,6 +118,15 @@ public interface DeviceDao extends Dao<Device> {
      */
     Optional<Device> findDeviceByTenantIdAndName(UUID tenantId, String name);
 
+    /**
+     * Find devices by tenantId and device names.
+     *
+     * @param tenantId the tenantId
+     * @param names the device names
+     * @return the list of found device objects
+     */
+    List<Device> findDevicesByTenantIdAndNames(UUID tenantId, Collection<String> names);
+
     /**
      * Find tenants device types.
      *
@@ -56,6 +56,7 @@ import com.sunflower.server.dao.tenant.TenantDao;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -120,6 +121,16 @@ public class DeviceServiceImpl extends AbstractEntityService implements DeviceSe
         return deviceOpt.orElse(null);
     }
 
+    @Override
+    public List<Device> findDevicesByTenantIdAndNames(TenantId tenantId, Collection<String> names) {
+        log.trace("Executing findDevicesByTenantIdAndNames [{}][{}]", tenantId, names);
+        validateId(tenantId, INCORRECT_TENANT_ID + tenantId);
+        if (names.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return deviceDao.findDevicesByTenantIdAndNames(tenantId.getId(), names);
+    }
+
     @CacheEvict(cacheNames = DEVICE_CACHE, key = "{#device.tenantId, #device.name}")
     @Override
     public Device saveDeviceWithAccessToken(Device device, String accessToken) {
@@ -214,6 +225,14 @@ public class DeviceServiceImpl extends AbstractEntityService implements DeviceSe
         return new TextPageData<>(devices, pageLink);
     }
 
+    @Override
+    public TextPageData<Device> findDevices(TextPageLink pageLink) {
+        log.trace("Executing findDevices, pageLink [{}]", pageLink);
+        validatePageLink(pageLink, INCORRECT_PAGE_LINK + pageLink);
+        List<Device> devices = deviceDao.findDevices(pageLink);
+        return new TextPageData<>(devices, pageLink);
+    }
+
     @Override
     public TextPageData<Device> findDevicesByTenantIdAndType(TenantId tenantId, String type, TextPageLink pageLink) {
         log.trace("Executing findDevicesByTenantIdAndType, tenantId [{}], type [{}], pageLink [{}]", tenantId, type, pageLink);
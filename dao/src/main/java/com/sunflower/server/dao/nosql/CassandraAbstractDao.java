@@ -88,36 +88,36 @@ public abstract class CassandraAbstractDao {
     }
 
     protected ResultSet executeRead(TenantId tenantId, Statement statement) {
-        return execute(tenantId, statement, defaultReadLevel);
+        return execute(tenantId, statement, defaultReadLevel, true);
     }
 
     protected ResultSet executeWrite(TenantId tenantId, Statement statement) {
-        return execute(tenantId, statement, defaultWriteLevel);
+        return execute(tenantId, statement, defaultWriteLevel, false);
     }
 
     protected ResultSetFuture executeAsyncRead(TenantId tenantId, Statement statement) {
-        return executeAsync(tenantId, statement, defaultReadLevel);
+        return executeAsync(tenantId, statement, defaultReadLevel, true);
     }
 
     protected ResultSetFuture executeAsyncWrite(TenantId tenantId, Statement statement) {
-        return executeAsync(tenantId, statement, defaultWriteLevel);
+        return executeAsync(tenantId, statement, defaultWriteLevel, false);
     }
 
-    private ResultSet execute(TenantId tenantId, Statement statement, ConsistencyLevel level) {
+    private ResultSet execute(TenantId tenantId, Statement statement, ConsistencyLevel level, boolean read) {
         if (log.isDebugEnabled()) {
             log.debug("Execute cassandra statement {}", statementToString(statement));
         }
-        return executeAsync(tenantId, statement, level).getUninterruptibly();
+        return executeAsync(tenantId, statement, level, read).getUninterruptibly();
     }
 
-    private ResultSetFuture executeAsync(TenantId tenantId, Statement statement, ConsistencyLevel level) {
+    private ResultSetFuture executeAsync(TenantId tenantId, Statement statement, ConsistencyLevel level, boolean read) {
         if (log.isDebugEnabled()) {
             log.debug("Execute cassandra async statement {}", statementToString(statement));
         }
         if (statement.getConsistencyLevel() == null) {
             statement.setConsistencyLevel(level);
         }
-        return rateLimiter.submit(new CassandraStatementTask(tenantId, getSession(), statement));
+        return rateLimiter.submit(new CassandraStatementTask(tenantId, getSession(), statement, read));
     }
 
     private static String statementToString(Statement statement) {
@@ -30,8 +30,13 @@ import com.sunflower.server.dao.util.AsyncTaskContext;
 import com.sunflower.server.dao.util.NoSqlAnyDao;
 
 import javax.annotation.PreDestroy;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Created by ashvayka on 24.10.18.
@@ -47,19 +52,24 @@ public class CassandraBufferedRateExecutor extends AbstractBufferedRateExecutor<
 
     private boolean printTenantNames;
 
+    private int printTopTenants;
+
     public CassandraBufferedRateExecutor(
             @Value("${cassandra.query.buffer_size}") int queueLimit,
             @Value("${cassandra.query.concurrent_limit}") int concurrencyLimit,
             @Value("${cassandra.query.permit_max_wait_time}") long maxWaitTime,
             @Value("${cassandra.query.dispatcher_threads:2}") int dispatcherThreads,
             @Value("${cassandra.query.callback_threads:4}") int callbackThreads,
-            @Value("${cassandra.query.poll_ms:50}") long pollMs,
+            @Value("${cassandra.query.read_weight:1}") int readWeight,
+            @Value("${cassandra.query.write_weight:1}") int writeWeight,
             @Value("${cassandra.query.tenant_rate_limits.enabled}") boolean tenantRateLimitsEnabled,
             @Value("${cassandra.query.tenant_rate_limits.configuration}") String tenantRateLimitsConfiguration,
             @Value("${cassandra.query.tenant_rate_limits.print_tenant_names}") boolean printTenantNames,
-            @Value("${cassandra.query.print_queries_freq:0}") int printQueriesFreq) {
-        super(queueLimit, concurrencyLimit, maxWaitTime, dispatcherThreads, callbackThreads, pollMs, tenantRateLimitsEnabled, tenantRateLimitsConfiguration, printQueriesFreq);
+            @Value("${cassandra.query.print_queries_freq:0}") int printQueriesFreq,
+            @Value("${cassandra.query.print_top_tenants:10}") int printTopTenants) {
+        super(queueLimit, concurrencyLimit, maxWaitTime, dispatcherThreads, callbackThreads, readWeight, writeWeight, tenantRateLimitsEnabled, tenantRateLimitsConfiguration, printQueriesFreq);
         this.printTenantNames = printTenantNames;
+        this.printTopTenants = printTopTenants;
     }
 
     @Scheduled(fixedDelayString = "${cassandra.query.rate_limit_print_interval_ms}")
@@ -83,22 +93,65 @@ public class CassandraBufferedRateExecutor extends AbstractBufferedRateExecutor<
                     totalFailedValue, totalExpiredValue, totalRejectedValue, totalRateLimitedValue, rateLimitedTenantsValue, concurrencyLevelValue);
         }
 
-        rateLimitedTenants.forEach(((tenantId, counter) -> {
-            if (printTenantNames) {
-                String name = tenantNamesCache.computeIfAbsent(tenantId, tId -> {
-                    try {
-                        return entityService.fetchEntityNameAsync(TenantId.SYS_TENANT_ID, tenantId).get();
-                    } catch (Exception e) {
-                        log.error("[{}] Failed to get tenant name", tenantId, e);
-                        return "N/A";
-                    }
-                });
-                log.info("[{}][{}] Rate limited requests: {}", tenantId, name, counter);
-            } else {
-                log.info("[{}] Rate limited requests: {}", tenantId, counter);
+        rateLimitedTenants.keySet().forEach(tenantId -> {
+            AtomicInteger counter = rateLimitedTenants.remove(tenantId);
+            if (counter != null) {
+                if (printTenantNames) {
+                    log.info("[{}][{}] Rate limited requests: {}", tenantId, getTenantName(tenantId), counter);
+                } else {
+                    log.info("[{}] Rate limited requests: {}", tenantId, counter);
+                }
+            }
+        });
+
+        printQueueWaitStats();
+    }
+
+    private void printQueueWaitStats() {
+        // Entries are removed one by one, so the waits recorded while printing are reported with the next stats
+        List<Map.Entry<TenantId, QueueWaitStats>> tenantStats = new ArrayList<>();
+        queueWaitStats.keySet().forEach(tenantId -> {
+            QueueWaitStats stats = queueWaitStats.remove(tenantId);
+            if (stats != null) {
+                tenantStats.add(new AbstractMap.SimpleEntry<>(tenantId, stats));
+            }
+        });
+        if (tenantStats.isEmpty()) {
+            return;
+        }
+        tenantStats.sort(Comparator.comparingLong((Map.Entry<TenantId, QueueWaitStats> entry) -> entry.getValue().getMax()).reversed());
+        long totalTasks = 0;
+        long totalWait = 0;
+        for (Map.Entry<TenantId, QueueWaitStats> entry : tenantStats) {
+            totalTasks += entry.getValue().getCount();
+            totalWait += entry.getValue().getTotal();
+        }
+        log.info("Queue wait: tenants [{}] tasks [{}] avg [{}] ms max [{}] ms", tenantStats.size(), totalTasks,
+                totalTasks > 0 ? totalWait / totalTasks : 0, tenantStats.get(0).getValue().getMax());
+        for (int i = 0; i < tenantStats.size(); i++) {
+            boolean top = i < printTopTenants;
+            if (top || log.isDebugEnabled()) {
+                TenantId tenantId = tenantStats.get(i).getKey();
+                QueueWaitStats stats = tenantStats.get(i).getValue();
+                String tenant = printTenantNames ? tenantId + "][" + getTenantName(tenantId) : tenantId.toString();
+                if (top) {
+                    log.info("[{}] Queue wait: tasks [{}] avg [{}] ms max [{}] ms", tenant, stats.getCount(), stats.getAvg(), stats.getMax());
+                } else {
+                    log.debug("[{}] Queue wait: tasks [{}] avg [{}] ms max [{}] ms", tenant, stats.getCount(), stats.getAvg(), stats.getMax());
+                }
+            }
+        }
+    }
+
+    private String getTenantName(TenantId tenantId) {
+        return tenantNamesCache.computeIfAbsent(tenantId, tId -> {
+            try {
+                return entityService.fetchEntityNameAsync(TenantId.SYS_TENANT_ID, tenantId).get();
+            } catch (Exception e) {
+                log.error("[{}] Failed to get tenant name", tenantId, e);
+                return "N/A";
             }
-        }));
-        rateLimitedTenants.clear();
+        });
     }
 
     @PreDestroy
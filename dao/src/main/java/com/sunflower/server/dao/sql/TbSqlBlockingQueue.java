@@ -34,7 +34,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TbSqlBlockingQueue<E> implements TbSqlQueue<E> {
 
-    private final BlockingQueue<TbSqlQueueElement<E>> queue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<TbSqlQueueElement<E>> queue;
     private final AtomicInteger addedCount = new AtomicInteger();
     private final AtomicInteger savedCount = new AtomicInteger();
     private final AtomicInteger failedCount = new AtomicInteger();
@@ -45,6 +45,7 @@ public class TbSqlBlockingQueue<E> implements TbSqlQueue<E> {
 
     public TbSqlBlockingQueue(TbSqlBlockingQueueParams params) {
         this.params = params;
+        this.queue = params.getMaxQueueSize() > 0 ? new LinkedBlockingQueue<>(params.getMaxQueueSize()) : new LinkedBlockingQueue<>();
     }
 
     @Override
@@ -58,25 +59,18 @@ public class TbSqlBlockingQueue<E> implements TbSqlQueue<E> {
             List<TbSqlQueueElement<E>> entities = new ArrayList<>(batchSize);
             while (!Thread.interrupted()) {
                 try {
-                    long currentTs = System.currentTimeMillis();
                     TbSqlQueueElement<E> attr = queue.poll(maxDelay, TimeUnit.MILLISECONDS);
                     if (attr == null) {
                         continue;
                     } else {
                         entities.add(attr);
                     }
-                    queue.drainTo(entities, batchSize - 1);
-                    boolean fullPack = entities.size() == batchSize;
+                    // Only an empty queue is waited for, whatever is already queued is saved right away
+                    queue.drainTo(entities, batchSize - entities.size());
                     log.debug("[{}] Going to save {} entities", logName, entities.size());
                     saveFunction.accept(entities.stream().map(TbSqlQueueElement::getEntity).collect(Collectors.toList()));
                     entities.forEach(v -> v.getFuture().set(null));
                     savedCount.addAndGet(entities.size());
-                    if (!fullPack) {
-                        long remainingDelay = maxDelay - (System.currentTimeMillis() - currentTs);
-                        if (remainingDelay > 0) {
-                            Thread.sleep(remainingDelay);
-                        }
-                    }
                 } catch (Exception e) {
                     failedCount.addAndGet(entities.size());
                     entities.forEach(entityFutureWrapper -> entityFutureWrapper.getFuture().setException(e));
@@ -110,8 +104,13 @@ public class TbSqlBlockingQueue<E> implements TbSqlQueue<E> {
     @Override
     public ListenableFuture<Void> add(E element) {
         SettableFuture<Void> future = SettableFuture.create();
-        queue.add(new TbSqlQueueElement<>(future, element));
-        addedCount.incrementAndGet();
+        try {
+            queue.put(new TbSqlQueueElement<>(future, element));
+            addedCount.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.setException(e);
+        }
         return future;
     }
 }
@@ -21,11 +21,13 @@ import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class TbSqlBlockingQueueParams {
 
     private final String logName;
     private final int batchSize;
     private final long maxDelay;
     private final long statsPrintIntervalMs;
+    private final int batchThreads;
+    private final int maxQueueSize;
 }
@@ -0,0 +1,64 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.sql;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Spreads elements over {@link TbSqlBlockingQueueParams#getBatchThreads()} blocking queues, each drained by its own thread.
+ * Elements with the same hash always land in the same queue, so the order of writes per entity is preserved.
+ */
+@Slf4j
+public class TbSqlStripedBlockingQueue<E> implements TbSqlQueue<E> {
+
+    private final TbSqlBlockingQueueParams params;
+    private final Function<E, Integer> hashFunction;
+    private final List<TbSqlBlockingQueue<E>> queues = new ArrayList<>();
+
+    public TbSqlStripedBlockingQueue(TbSqlBlockingQueueParams params, Function<E, Integer> hashFunction) {
+        this.params = params;
+        this.hashFunction = hashFunction;
+    }
+
+    @Override
+    public void init(ScheduledLogExecutorComponent logExecutor, Consumer<List<E>> saveFunction) {
+        int stripes = Math.max(1, params.getBatchThreads());
+        for (int i = 0; i < stripes; i++) {
+            TbSqlBlockingQueueParams stripeParams = stripes == 1 ? params :
+                    params.toBuilder().logName(params.getLogName() + " #" + i).build();
+            TbSqlBlockingQueue<E> queue = new TbSqlBlockingQueue<>(stripeParams);
+            queue.init(logExecutor, saveFunction);
+            queues.add(queue);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        queues.forEach(TbSqlBlockingQueue::destroy);
+    }
+
+    @Override
+    public ListenableFuture<Void> add(E element) {
+        int idx = queues.size() > 1 ? (hashFunction.apply(element) & 0x7FFFFFFF) % queues.size() : 0;
+        return queues.get(idx).add(element);
+    }
+}
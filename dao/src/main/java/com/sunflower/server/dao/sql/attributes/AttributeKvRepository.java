@@ -25,6 +25,7 @@ import com.sunflower.server.dao.model.sql.AttributeKvCompositeKey;
 import com.sunflower.server.dao.model.sql.AttributeKvEntity;
 import com.sunflower.server.dao.util.SqlDao;
 
+import java.util.Collection;
 import java.util.List;
 
 @SqlDao
@@ -37,6 +38,15 @@ public interface AttributeKvRepository extends CrudRepository<AttributeKvEntity,
                                                                            @Param("entityId") String entityId,
                                                                            @Param("attributeType") String attributeType);
 
+    @Query("SELECT a FROM AttributeKvEntity a WHERE a.id.entityType = :entityType " +
+            "AND a.id.entityId IN :entityIds " +
+            "AND a.id.attributeType = :attributeType " +
+            "AND a.id.attributeKey IN :attributeKeys")
+    List<AttributeKvEntity> findAllByEntityTypeAndEntityIdsAndAttributeTypeAndAttributeKeys(@Param("entityType") EntityType entityType,
+                                                                                           @Param("entityIds") Collection<String> entityIds,
+                                                                                           @Param("attributeType") String attributeType,
+                                                                                           @Param("attributeKeys") Collection<String> attributeKeys);
+
     @Transactional
     @Modifying
     @Query("DELETE FROM AttributeKvEntity a WHERE a.id.entityType = :entityType " +
@@ -22,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import com.sunflower.server.common.data.EntityType;
 import com.sunflower.server.common.data.UUIDConverter;
 import com.sunflower.server.common.data.id.EntityId;
 import com.sunflower.server.common.data.id.TenantId;
@@ -32,14 +33,18 @@ import com.sunflower.server.dao.model.sql.AttributeKvCompositeKey;
 import com.sunflower.server.dao.model.sql.AttributeKvEntity;
 import com.sunflower.server.dao.sql.JpaAbstractDaoListeningExecutorService;
 import com.sunflower.server.dao.sql.ScheduledLogExecutorComponent;
-import com.sunflower.server.dao.sql.TbSqlBlockingQueue;
 import com.sunflower.server.dao.sql.TbSqlBlockingQueueParams;
+import com.sunflower.server.dao.sql.TbSqlQueue;
+import com.sunflower.server.dao.sql.TbSqlStripedBlockingQueue;
 import com.sunflower.server.dao.util.SqlDao;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -68,7 +73,13 @@ public class JpaAttributeDao extends JpaAbstractDaoListeningExecutorService impl
     @Value("${sql.attributes.stats_print_interval_ms:1000}")
     private long statsPrintIntervalMs;
 
-    private TbSqlBlockingQueue<AttributeKvEntity> queue;
+    @Value("${sql.attributes.batch_threads:1}")
+    private int batchThreads;
+
+    @Value("${sql.attributes.max_queue_size:0}")
+    private int maxQueueSize;
+
+    private TbSqlQueue<AttributeKvEntity> queue;
 
     @PostConstruct
     private void init() {
@@ -77,8 +88,10 @@ public class JpaAttributeDao extends JpaAbstractDaoListeningExecutorService impl
                 .batchSize(batchSize)
                 .maxDelay(maxDelay)
                 .statsPrintIntervalMs(statsPrintIntervalMs)
+                .batchThreads(batchThreads)
+                .maxQueueSize(maxQueueSize)
                 .build();
-        queue = new TbSqlBlockingQueue<>(params);
+        queue = new TbSqlStripedBlockingQueue<>(params, entity -> entity.getId().getEntityId().hashCode());
         queue.init(logExecutor, v -> attributeKvInsertRepository.saveOrUpdate(v));
     }
 
@@ -109,6 +122,18 @@ public class JpaAttributeDao extends JpaAbstractDaoListeningExecutorService impl
                 DaoUtil.convertDataList(Lists.newArrayList(attributeKvRepository.findAllById(compositeKeys))));
     }
 
+    @Override
+    public ListenableFuture<Map<EntityId, List<AttributeKvEntry>>> find(TenantId tenantId, Collection<EntityId> entityIds, String attributeType, Collection<String> attributeKeys) {
+        Map<EntityType, Map<String, EntityId>> entityIdsByType = new HashMap<>();
+        entityIds.forEach(entityId ->
+                entityIdsByType.computeIfAbsent(entityId.getEntityType(), type -> new HashMap<>()).put(fromTimeUUID(entityId.getId()), entityId));
+        Map<EntityId, List<AttributeKvEntry>> result = new HashMap<>();
+        entityIdsByType.forEach((entityType, ids) ->
+                attributeKvRepository.findAllByEntityTypeAndEntityIdsAndAttributeTypeAndAttributeKeys(entityType, ids.keySet(), attributeType, attributeKeys)
+                        .forEach(entity -> result.computeIfAbsent(ids.get(entity.getId().getEntityId()), id -> new ArrayList<>()).add(entity.toData())));
+        return Futures.immediateFuture(result);
+    }
+
     @Override
     public ListenableFuture<List<AttributeKvEntry>> findAll(TenantId tenantId, EntityId entityId, String attributeType) {
         return Futures.immediateFuture(
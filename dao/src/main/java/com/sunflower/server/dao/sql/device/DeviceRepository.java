@@ -22,6 +22,7 @@ import org.springframework.data.repository.query.Param;
 import com.sunflower.server.dao.model.sql.DeviceEntity;
 import com.sunflower.server.dao.util.SqlDao;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -47,6 +48,10 @@ public interface DeviceRepository extends CrudRepository<DeviceEntity, String> {
                                       @Param("idOffset") String idOffset,
                                       Pageable pageable);
 
+    @Query("SELECT d FROM DeviceEntity d WHERE d.id > :idOffset ORDER BY d.id")
+    List<DeviceEntity> findAllDevices(@Param("idOffset") String idOffset,
+                                      Pageable pageable);
+
     @Query("SELECT d FROM DeviceEntity d WHERE d.tenantId = :tenantId " +
             "AND LOWER(d.searchText) LIKE LOWER(CONCAT(:textSearch, '%')) " +
             "AND d.id > :idOffset ORDER BY d.id")
@@ -82,6 +87,8 @@ public interface DeviceRepository extends CrudRepository<DeviceEntity, String> {
 
     DeviceEntity findByTenantIdAndName(String tenantId, String name);
 
+    List<DeviceEntity> findByTenantIdAndNameIn(String tenantId, Collection<String> names);
+
     List<DeviceEntity> findDevicesByTenantIdAndCustomerIdAndIdIn(String tenantId, String customerId, List<String> deviceIds);
 
     List<DeviceEntity> findDevicesByTenantIdAndIdIn(String tenantId, List<String> deviceIds);
@@ -34,6 +34,7 @@ import com.sunflower.server.dao.sql.JpaAbstractSearchTextDao;
 import com.sunflower.server.dao.util.SqlDao;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -82,6 +83,14 @@ public class JpaDeviceDao extends JpaAbstractSearchTextDao<DeviceEntity, Device>
         }
     }
 
+    @Override
+    public List<Device> findDevices(TextPageLink pageLink) {
+        return DaoUtil.convertDataList(
+                deviceRepository.findAllDevices(
+                        pageLink.getIdOffset() == null ? NULL_UUID_STR : fromTimeUUID(pageLink.getIdOffset()),
+                        PageRequest.of(0, pageLink.getLimit())));
+    }
+
     @Override
     public ListenableFuture<List<Device>> findDevicesByTenantIdAndIdsAsync(UUID tenantId, List<UUID> deviceIds) {
         return service.submit(() -> DaoUtil.convertDataList(deviceRepository.findDevicesByTenantIdAndIdIn(UUIDConverter.fromTimeUUID(tenantId), fromTimeUUIDs(deviceIds))));
@@ -110,6 +119,11 @@ public class JpaDeviceDao extends JpaAbstractSearchTextDao<DeviceEntity, Device>
         return Optional.ofNullable(device);
     }
 
+    @Override
+    public List<Device> findDevicesByTenantIdAndNames(UUID tenantId, Collection<String> names) {
+        return DaoUtil.convertDataList(deviceRepository.findByTenantIdAndNameIn(fromTimeUUID(tenantId), names));
+    }
+
     @Override
     public List<Device> findDevicesByTenantIdAndType(UUID tenantId, String type, TextPageLink pageLink) {
         return DaoUtil.convertDataList(
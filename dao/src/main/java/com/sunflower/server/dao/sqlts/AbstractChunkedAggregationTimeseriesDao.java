@@ -31,8 +31,9 @@ import com.sunflower.server.common.data.kv.ReadTsKvQuery;
 import com.sunflower.server.common.data.kv.TsKvEntry;
 import com.sunflower.server.dao.DaoUtil;
 import com.sunflower.server.dao.model.sqlts.ts.TsKvEntity;
-import com.sunflower.server.dao.sql.TbSqlBlockingQueue;
 import com.sunflower.server.dao.sql.TbSqlBlockingQueueParams;
+import com.sunflower.server.dao.sql.TbSqlQueue;
+import com.sunflower.server.dao.sql.TbSqlStripedBlockingQueue;
 import com.sunflower.server.dao.sqlts.insert.InsertTsRepository;
 import com.sunflower.server.dao.sqlts.ts.TsKvRepository;
 import com.sunflower.server.dao.timeseries.TimeseriesDao;
@@ -40,7 +41,9 @@ import com.sunflower.server.dao.timeseries.TimeseriesDao;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -54,7 +57,7 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
     @Autowired
     protected InsertTsRepository<TsKvEntity> insertRepository;
 
-    protected TbSqlBlockingQueue<TsKvEntity> tsQueue;
+    protected TbSqlQueue<TsKvEntity> tsQueue;
 
     @PostConstruct
     protected void init() {
@@ -64,9 +67,14 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
                 .batchSize(tsBatchSize)
                 .maxDelay(tsMaxDelay)
                 .statsPrintIntervalMs(tsStatsPrintIntervalMs)
+                .batchThreads(tsBatchThreads)
+                .maxQueueSize(tsMaxQueueSize)
                 .build();
-        tsQueue = new TbSqlBlockingQueue<>(tsParams);
-        tsQueue.init(logExecutor, v -> insertRepository.saveOrUpdate(v));
+        tsQueue = new TbSqlStripedBlockingQueue<>(tsParams, entity -> entity.getEntityId().hashCode());
+        tsQueue.init(logExecutor, v -> {
+            resolveKeyIds(v);
+            insertRepository.saveOrUpdate(v);
+        });
     }
 
     @PreDestroy
@@ -104,6 +112,16 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
         return getFindLatestFuture(entityId, key);
     }
 
+    @Override
+    public ListenableFuture<List<TsKvEntry>> findLatest(TenantId tenantId, EntityId entityId, Collection<String> keys) {
+        return getFindLatestFuture(entityId, keys);
+    }
+
+    @Override
+    public ListenableFuture<Map<EntityId, List<TsKvEntry>>> findLatest(TenantId tenantId, Collection<EntityId> entityIds, Collection<String> keys) {
+        return getFindLatestFuture(entityIds, keys);
+    }
+
     @Override
     public ListenableFuture<List<TsKvEntry>> findAllLatest(TenantId tenantId, EntityId entityId) {
         return getFindAllLatestFuture(entityId);
@@ -119,6 +137,10 @@ public abstract class AbstractChunkedAggregationTimeseriesDao extends AbstractSq
         return Futures.immediateFuture(null);
     }
 
+    @Override
+    public void invalidatePartitions(EntityId entityId, String key) {
+    }
+
     @Override
     public ListenableFuture<List<TsKvEntry>> findAllAsync(TenantId tenantId, EntityId entityId, List<ReadTsKvQuery> queries) {
         return processFindAllAsync(tenantId, entityId, queries);
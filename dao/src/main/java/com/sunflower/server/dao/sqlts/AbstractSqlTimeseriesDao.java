@@ -22,7 +22,6 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import lombok.extern.slf4j.Slf4j;
-import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import com.sunflower.server.common.data.id.EntityId;
@@ -35,15 +34,16 @@ import com.sunflower.server.common.data.kv.ReadTsKvQuery;
 import com.sunflower.server.common.data.kv.StringDataEntry;
 import com.sunflower.server.common.data.kv.TsKvEntry;
 import com.sunflower.server.dao.DaoUtil;
-import com.sunflower.server.dao.model.sqlts.dictionary.TsKvDictionary;
-import com.sunflower.server.dao.model.sqlts.dictionary.TsKvDictionaryCompositeKey;
+import com.sunflower.server.dao.model.sql.AbstractTsKvEntity;
 import com.sunflower.server.dao.model.sqlts.latest.TsKvLatestCompositeKey;
 import com.sunflower.server.dao.model.sqlts.latest.TsKvLatestEntity;
 import com.sunflower.server.dao.sql.JpaAbstractDaoListeningExecutorService;
 import com.sunflower.server.dao.sql.ScheduledLogExecutorComponent;
-import com.sunflower.server.dao.sql.TbSqlBlockingQueue;
 import com.sunflower.server.dao.sql.TbSqlBlockingQueueParams;
+import com.sunflower.server.dao.sql.TbSqlQueue;
+import com.sunflower.server.dao.sql.TbSqlStripedBlockingQueue;
 import com.sunflower.server.dao.sqlts.dictionary.TsKvDictionaryRepository;
+import com.sunflower.server.dao.sqlts.insert.dictionary.InsertTsKvDictionaryRepository;
 import com.sunflower.server.dao.sqlts.insert.latest.InsertLatestTsRepository;
 import com.sunflower.server.dao.sqlts.latest.SearchTsKvLatestRepository;
 import com.sunflower.server.dao.sqlts.latest.TsKvLatestRepository;
@@ -52,13 +52,23 @@ import com.sunflower.server.dao.timeseries.SimpleListenableFuture;
 import javax.annotation.Nullable;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -67,8 +77,8 @@ public abstract class AbstractSqlTimeseriesDao extends JpaAbstractDaoListeningEx
     private static final String DESC_ORDER = "DESC";
 
     private final ConcurrentMap<String, Integer> tsKvDictionaryMap = new ConcurrentHashMap<>();
-
-    private static final ReentrantLock tsCreationLock = new ReentrantLock();
+    private final AtomicInteger dictionaryHits = new AtomicInteger();
+    private final AtomicInteger dictionaryMisses = new AtomicInteger();
 
     @Autowired
     private TsKvLatestRepository tsKvLatestRepository;
@@ -82,7 +92,10 @@ public abstract class AbstractSqlTimeseriesDao extends JpaAbstractDaoListeningEx
     @Autowired
     private TsKvDictionaryRepository dictionaryRepository;
 
-    private TbSqlBlockingQueue<TsKvLatestEntity> tsLatestQueue;
+    @Autowired
+    private InsertTsKvDictionaryRepository insertDictionaryRepository;
+
+    private TbSqlQueue<TsKvLatestEntity> tsLatestQueue;
 
     @Value("${sql.ts_latest.batch_size:1000}")
     private int tsLatestBatchSize;
@@ -93,6 +106,12 @@ public abstract class AbstractSqlTimeseriesDao extends JpaAbstractDaoListeningEx
     @Value("${sql.ts_latest.stats_print_interval_ms:1000}")
     private long tsLatestStatsPrintIntervalMs;
 
+    @Value("${sql.ts_latest.batch_threads:1}")
+    private int tsLatestBatchThreads;
+
+    @Value("${sql.ts_latest.max_queue_size:0}")
+    private int tsLatestMaxQueueSize;
+
     @Autowired
     protected ScheduledLogExecutorComponent logExecutor;
 
@@ -105,6 +124,23 @@ public abstract class AbstractSqlTimeseriesDao extends JpaAbstractDaoListeningEx
     @Value("${sql.ts.stats_print_interval_ms:1000}")
     protected long tsStatsPrintIntervalMs;
 
+    @Value("${sql.ts.batch_threads:1}")
+    protected int tsBatchThreads;
+
+    @Value("${sql.ts.max_queue_size:0}")
+    protected int tsMaxQueueSize;
+
+    public abstract ListenableFuture<Void> save(TenantId tenantId, EntityId entityId, TsKvEntry tsKvEntry, long ttl);
+
+    public ListenableFuture<Void> save(TenantId tenantId, EntityId entityId, List<TsKvEntry> tsKvEntries, long ttl) {
+        // Entries are already grouped into batch inserts by the ts queue
+        List<ListenableFuture<Void>> futures = new ArrayList<>(tsKvEntries.size());
+        for (TsKvEntry tsKvEntry : tsKvEntries) {
+            futures.add(save(tenantId, entityId, tsKvEntry, ttl));
+        }
+        return Futures.transform(Futures.allAsList(futures), result -> null, MoreExecutors.directExecutor());
+    }
+
     @PostConstruct
     protected void init() {
         TbSqlBlockingQueueParams tsLatestParams = TbSqlBlockingQueueParams.builder()
@@ -112,9 +148,36 @@ public abstract class AbstractSqlTimeseriesDao extends JpaAbstractDaoListeningEx
                 .batchSize(tsLatestBatchSize)
                 .maxDelay(tsLatestMaxDelay)
                 .statsPrintIntervalMs(tsLatestStatsPrintIntervalMs)
+                .batchThreads(tsLatestBatchThreads)
+                .maxQueueSize(tsLatestMaxQueueSize)
                 .build();
-        tsLatestQueue = new TbSqlBlockingQueue<>(tsLatestParams);
-        tsLatestQueue.init(logExecutor, v -> insertLatestTsRepository.saveOrUpdate(v));
+        tsLatestQueue = new TbSqlStripedBlockingQueue<>(tsLatestParams, entity -> entity.getEntityId().hashCode());
+        tsLatestQueue.init(logExecutor, v -> {
+            resolveKeyIds(v);
+            insertLatestTsRepository.saveOrUpdate(filterLatest(v));
+        });
+
+        dictionaryRepository.findAll().forEach(dictionary -> tsKvDictionaryMap.put(dictionary.getKey(), dictionary.getKeyId()));
+        log.info("Loaded [{}] ts kv dictionary entries", tsKvDictionaryMap.size());
+        logExecutor.scheduleAtFixedRate(() -> {
+            if (dictionaryHits.get() > 0 || dictionaryMisses.get() > 0) {
+                log.info("[TS Dictionary] size [{}] hits [{}] misses [{}]",
+                        tsKvDictionaryMap.size(), dictionaryHits.getAndSet(0), dictionaryMisses.getAndSet(0));
+            }
+        }, tsStatsPrintIntervalMs, tsStatsPrintIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Keeps only the most recent entry for each (entity, key) pair of the batch.
+     * Futures of the dropped entries are still completed by the queue once the batch is saved.
+     */
+    private static List<TsKvLatestEntity> filterLatest(List<TsKvLatestEntity> entities) {
+        Map<TsKvLatestCompositeKey, TsKvLatestEntity> latest = new LinkedHashMap<>(entities.size());
+        for (TsKvLatestEntity entity : entities) {
+            latest.merge(new TsKvLatestCompositeKey(entity.getEntityId(), entity.getKey()), entity,
+                    (oldEntity, newEntity) -> oldEntity.getTs() <= newEntity.getTs() ? newEntity : oldEntity);
+        }
+        return latest.size() == entities.size() ? entities : new ArrayList<>(latest.values());
     }
 
     @PreDestroy
@@ -189,6 +252,46 @@ public abstract class AbstractSqlTimeseriesDao extends JpaAbstractDaoListeningEx
         return Futures.immediateFuture(result);
     }
 
+    protected ListenableFuture<List<TsKvEntry>> getFindLatestFuture(EntityId entityId, Collection<String> keys) {
+        Map<Integer, String> keysById = getKeysById(keys);
+        List<TsKvLatestEntity> entities = tsKvLatestRepository.findAllByEntityIdAndKeyIn(entityId.getId(), keysById.keySet());
+        return Futures.immediateFuture(toLatestEntries(keys, keysById, entities));
+    }
+
+    protected ListenableFuture<Map<EntityId, List<TsKvEntry>>> getFindLatestFuture(Collection<EntityId> entityIds, Collection<String> keys) {
+        Map<Integer, String> keysById = getKeysById(keys);
+        Set<UUID> ids = entityIds.stream().map(EntityId::getId).collect(Collectors.toSet());
+        Map<UUID, List<TsKvLatestEntity>> entitiesById = tsKvLatestRepository.findAllByEntityIdInAndKeyIn(ids, keysById.keySet())
+                .stream().collect(Collectors.groupingBy(TsKvLatestEntity::getEntityId));
+        Map<EntityId, List<TsKvEntry>> result = new LinkedHashMap<>();
+        for (EntityId entityId : entityIds) {
+            result.put(entityId, toLatestEntries(keys, keysById, entitiesById.getOrDefault(entityId.getId(), Collections.emptyList())));
+        }
+        return Futures.immediateFuture(result);
+    }
+
+    private Map<Integer, String> getKeysById(Collection<String> keys) {
+        Map<Integer, String> keysById = new HashMap<>();
+        for (String key : keys) {
+            keysById.put(getOrSaveKeyId(key), key);
+        }
+        return keysById;
+    }
+
+    private List<TsKvEntry> toLatestEntries(Collection<String> keys, Map<Integer, String> keysById, List<TsKvLatestEntity> entities) {
+        Map<String, TsKvEntry> entriesByKey = new HashMap<>();
+        for (TsKvLatestEntity entity : entities) {
+            entity.setStrKey(keysById.get(entity.getKey()));
+            entriesByKey.put(entity.getStrKey(), DaoUtil.getData(entity));
+        }
+        List<TsKvEntry> result = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            TsKvEntry entry = entriesByKey.get(key);
+            result.add(entry != null ? entry : new BasicTsKvEntry(System.currentTimeMillis(), new StringDataEntry(key, null)));
+        }
+        return result;
+    }
+
     protected ListenableFuture<Void> getRemoveLatestFuture(EntityId entityId, DeleteTsKvQuery query) {
         ListenableFuture<TsKvEntry> latestFuture = getFindLatestFuture(entityId, query.getKey());
 
@@ -250,7 +353,7 @@ public abstract class AbstractSqlTimeseriesDao extends JpaAbstractDaoListeningEx
         TsKvLatestEntity latestEntity = new TsKvLatestEntity();
         latestEntity.setEntityId(entityId.getId());
         latestEntity.setTs(tsKvEntry.getTs());
-        latestEntity.setKey(getOrSaveKeyId(tsKvEntry.getKey()));
+        latestEntity.setStrKey(tsKvEntry.getKey());
         latestEntity.setStrValue(tsKvEntry.getStrValue().orElse(null));
         latestEntity.setDoubleValue(tsKvEntry.getDoubleValue().orElse(null));
         latestEntity.setLongValue(tsKvEntry.getLongValue().orElse(null));
@@ -262,38 +365,42 @@ public abstract class AbstractSqlTimeseriesDao extends JpaAbstractDaoListeningEx
 
     protected Integer getOrSaveKeyId(String strKey) {
         Integer keyId = tsKvDictionaryMap.get(strKey);
-        if (keyId == null) {
-            Optional<TsKvDictionary> tsKvDictionaryOptional;
-            tsKvDictionaryOptional = dictionaryRepository.findById(new TsKvDictionaryCompositeKey(strKey));
-            if (!tsKvDictionaryOptional.isPresent()) {
-                tsCreationLock.lock();
-                try {
-                    tsKvDictionaryOptional = dictionaryRepository.findById(new TsKvDictionaryCompositeKey(strKey));
-                    if (!tsKvDictionaryOptional.isPresent()) {
-                        TsKvDictionary tsKvDictionary = new TsKvDictionary();
-                        tsKvDictionary.setKey(strKey);
-                        try {
-                            TsKvDictionary saved = dictionaryRepository.save(tsKvDictionary);
-                            tsKvDictionaryMap.put(saved.getKey(), saved.getKeyId());
-                            keyId = saved.getKeyId();
-                        } catch (ConstraintViolationException e) {
-                            tsKvDictionaryOptional = dictionaryRepository.findById(new TsKvDictionaryCompositeKey(strKey));
-                            TsKvDictionary dictionary = tsKvDictionaryOptional.orElseThrow(() -> new RuntimeException("Failed to get TsKvDictionary entity from DB!"));
-                            tsKvDictionaryMap.put(dictionary.getKey(), dictionary.getKeyId());
-                            keyId = dictionary.getKeyId();
-                        }
-                    } else {
-                        keyId = tsKvDictionaryOptional.get().getKeyId();
-                    }
-                } finally {
-                    tsCreationLock.unlock();
-                }
+        if (keyId != null) {
+            dictionaryHits.incrementAndGet();
+            return keyId;
+        }
+        return getOrSaveKeyIds(Collections.singleton(strKey)).get(strKey);
+    }
+
+    protected Map<String, Integer> getOrSaveKeyIds(Collection<String> strKeys) {
+        Map<String, Integer> keyIds = new HashMap<>(strKeys.size());
+        List<String> missingKeys = new ArrayList<>();
+        for (String strKey : strKeys) {
+            Integer keyId = tsKvDictionaryMap.get(strKey);
+            if (keyId != null) {
+                keyIds.put(strKey, keyId);
             } else {
-                keyId = tsKvDictionaryOptional.get().getKeyId();
-                tsKvDictionaryMap.put(strKey, keyId);
+                missingKeys.add(strKey);
             }
         }
-        return keyId;
+        dictionaryHits.addAndGet(keyIds.size());
+        if (!missingKeys.isEmpty()) {
+            dictionaryMisses.addAndGet(missingKeys.size());
+            Map<String, Integer> savedKeyIds = insertDictionaryRepository.saveOrGet(missingKeys);
+            tsKvDictionaryMap.putAll(savedKeyIds);
+            keyIds.putAll(savedKeyIds);
+        }
+        return keyIds;
+    }
+
+    /**
+     * Sets key ids of the queued entities from their string keys, creating the missing dictionary entries at once.
+     */
+    protected void resolveKeyIds(List<? extends AbstractTsKvEntity> entities) {
+        Set<String> strKeys = new HashSet<>();
+        entities.forEach(entity -> strKeys.add(entity.getStrKey()));
+        Map<String, Integer> keyIds = getOrSaveKeyIds(strKeys);
+        entities.forEach(entity -> entity.setKey(keyIds.get(entity.getStrKey())));
     }
 
     private ListenableFuture<Void> getNewLatestEntryFuture(EntityId entityId, DeleteTsKvQuery query) {
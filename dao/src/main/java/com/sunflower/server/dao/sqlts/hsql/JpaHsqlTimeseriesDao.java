@@ -36,12 +36,10 @@ public class JpaHsqlTimeseriesDao extends AbstractChunkedAggregationTimeseriesDa
 
     @Override
     public ListenableFuture<Void> save(TenantId tenantId, EntityId entityId, TsKvEntry tsKvEntry, long ttl) {
-        String strKey = tsKvEntry.getKey();
-        Integer keyId = getOrSaveKeyId(strKey);
         TsKvEntity entity = new TsKvEntity();
         entity.setEntityId(entityId.getId());
         entity.setTs(tsKvEntry.getTs());
-        entity.setKey(keyId);
+        entity.setStrKey(tsKvEntry.getKey());
         entity.setStrValue(tsKvEntry.getStrValue().orElse(null));
         entity.setDoubleValue(tsKvEntry.getDoubleValue().orElse(null));
         entity.setLongValue(tsKvEntry.getLongValue().orElse(null));
@@ -0,0 +1,62 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.sqlts.insert.dictionary.hsql;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.sunflower.server.dao.sqlts.insert.AbstractInsertRepository;
+import com.sunflower.server.dao.sqlts.insert.dictionary.InsertTsKvDictionaryRepository;
+import com.sunflower.server.dao.util.HsqlDao;
+import com.sunflower.server.dao.util.SqlTsDao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+@SqlTsDao
+@HsqlDao
+@Repository
+@Transactional
+public class HsqlInsertTsKvDictionaryRepository extends AbstractInsertRepository implements InsertTsKvDictionaryRepository {
+
+    private static final String INSERT_IF_ABSENT =
+            "MERGE INTO ts_kv_dictionary USING(VALUES CAST(? AS VARCHAR(255))) T (key) " +
+                    "ON (ts_kv_dictionary.key=T.key) " +
+                    "WHEN NOT MATCHED THEN INSERT (key) VALUES (T.key);";
+
+    private static final String SELECT_BY_KEYS = "SELECT key, key_id FROM ts_kv_dictionary WHERE key IN (%s);";
+
+    @Override
+    public Map<String, Integer> saveOrGet(Collection<String> keys) {
+        Object[] args = new TreeSet<>(keys).toArray();
+        List<Object[]> batchArgs = new ArrayList<>(args.length);
+        StringBuilder params = new StringBuilder();
+        for (int i = 0; i < args.length; i++) {
+            batchArgs.add(new Object[]{args[i]});
+            params.append(i == 0 ? "?" : ", ?");
+        }
+        jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, batchArgs);
+        Map<String, Integer> result = new HashMap<>(args.length);
+        jdbcTemplate.query(String.format(SELECT_BY_KEYS, params), args,
+                rs -> {
+                    result.put(rs.getString(1), rs.getInt(2));
+                });
+        return result;
+    }
+}
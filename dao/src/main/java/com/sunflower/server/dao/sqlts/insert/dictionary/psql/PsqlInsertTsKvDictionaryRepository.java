@@ -0,0 +1,52 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.sqlts.insert.dictionary.psql;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.sunflower.server.dao.sqlts.insert.AbstractInsertRepository;
+import com.sunflower.server.dao.sqlts.insert.dictionary.InsertTsKvDictionaryRepository;
+import com.sunflower.server.dao.util.PsqlTsAnyDao;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+@PsqlTsAnyDao
+@Repository
+@Transactional
+public class PsqlInsertTsKvDictionaryRepository extends AbstractInsertRepository implements InsertTsKvDictionaryRepository {
+
+    private static final String INSERT_OR_GET = "INSERT INTO ts_kv_dictionary (key) VALUES %s " +
+            "ON CONFLICT (key) DO UPDATE SET key = EXCLUDED.key RETURNING key, key_id;";
+
+    @Override
+    public Map<String, Integer> saveOrGet(Collection<String> keys) {
+        // Sorted and distinct keys: a row can't be upserted twice in one statement and concurrent batches lock rows in the same order.
+        Object[] args = new TreeSet<>(keys).toArray();
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < args.length; i++) {
+            values.append(i == 0 ? "(?)" : ", (?)");
+        }
+        Map<String, Integer> result = new HashMap<>(args.length);
+        jdbcTemplate.query(String.format(INSERT_OR_GET, values), args,
+                rs -> {
+                    result.put(rs.getString(1), rs.getInt(2));
+                });
+        return result;
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.sqlts.insert.rollup;
+
+import com.sunflower.server.dao.timeseries.TsKvRollup;
+
+import java.util.UUID;
+
+public interface InsertTsKvRollupRepository {
+
+    /**
+     * Inserts the rollup or replaces the stored one in one statement, unless the stored one was computed after computedTs.
+     */
+    void save(UUID entityId, String key, String granularity, TsKvRollup rollup, long computedTs);
+
+    /**
+     * Saves the coverage start unless another node has already saved one.
+     */
+    void saveCoverageStart(UUID entityId, String key, String granularity, long ts);
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.sqlts.insert.rollup.hsql;
+
+import org.springframework.stereotype.Repository;
+import com.sunflower.server.dao.sqlts.insert.AbstractInsertRepository;
+import com.sunflower.server.dao.sqlts.insert.rollup.InsertTsKvRollupRepository;
+import com.sunflower.server.dao.timeseries.TsKvRollup;
+import com.sunflower.server.dao.util.HsqlDao;
+import com.sunflower.server.dao.util.SqlTsDao;
+
+import java.sql.Types;
+import java.util.UUID;
+
+@SqlTsDao
+@HsqlDao
+@Repository
+public class HsqlInsertTsKvRollupRepository extends AbstractInsertRepository implements InsertTsKvRollupRepository {
+
+    private static final String INSERT_OR_UPDATE =
+            "MERGE INTO ts_kv_rollup USING(VALUES ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                    "T (entity_id, key, granularity, ts, long_count, long_sum, long_min, long_max, dbl_count, dbl_sum, dbl_min, dbl_max, other_count, computed_ts) " +
+                    "ON (ts_kv_rollup.entity_id=T.entity_id AND ts_kv_rollup.key=T.key " +
+                    "AND ts_kv_rollup.granularity=T.granularity AND ts_kv_rollup.ts=T.ts) " +
+                    "WHEN MATCHED AND ts_kv_rollup.computed_ts <= T.computed_ts THEN UPDATE SET " +
+                    "ts_kv_rollup.long_count = T.long_count, ts_kv_rollup.long_sum = T.long_sum, ts_kv_rollup.long_min = T.long_min, ts_kv_rollup.long_max = T.long_max, " +
+                    "ts_kv_rollup.dbl_count = T.dbl_count, ts_kv_rollup.dbl_sum = T.dbl_sum, ts_kv_rollup.dbl_min = T.dbl_min, ts_kv_rollup.dbl_max = T.dbl_max, " +
+                    "ts_kv_rollup.other_count = T.other_count, ts_kv_rollup.computed_ts = T.computed_ts " +
+                    "WHEN NOT MATCHED THEN INSERT (entity_id, key, granularity, ts, long_count, long_sum, long_min, long_max, dbl_count, dbl_sum, dbl_min, dbl_max, other_count, computed_ts) " +
+                    "VALUES (T.entity_id, T.key, T.granularity, T.ts, T.long_count, T.long_sum, T.long_min, T.long_max, T.dbl_count, T.dbl_sum, T.dbl_min, T.dbl_max, T.other_count, T.computed_ts);";
+
+    private static final String INSERT_COVERAGE_IF_ABSENT =
+            "MERGE INTO ts_kv_rollup_coverage USING(VALUES ?, ?, ?, ?) T (entity_id, key, granularity, ts) " +
+                    "ON (ts_kv_rollup_coverage.entity_id=T.entity_id AND ts_kv_rollup_coverage.key=T.key " +
+                    "AND ts_kv_rollup_coverage.granularity=T.granularity) " +
+                    "WHEN NOT MATCHED THEN INSERT (entity_id, key, granularity, ts) VALUES (T.entity_id, T.key, T.granularity, T.ts);";
+
+    @Override
+    public void save(UUID entityId, String key, String granularity, TsKvRollup rollup, long computedTs) {
+        jdbcTemplate.update(INSERT_OR_UPDATE, ps -> {
+            ps.setObject(1, entityId);
+            ps.setString(2, key);
+            ps.setString(3, granularity);
+            ps.setLong(4, rollup.getTs());
+            ps.setLong(5, rollup.getLongCount());
+            ps.setLong(6, rollup.getLongSum());
+            ps.setObject(7, rollup.getLongMin(), Types.BIGINT);
+            ps.setObject(8, rollup.getLongMax(), Types.BIGINT);
+            ps.setLong(9, rollup.getDoubleCount());
+            ps.setDouble(10, rollup.getDoubleSum());
+            ps.setObject(11, rollup.getDoubleMin(), Types.DOUBLE);
+            ps.setObject(12, rollup.getDoubleMax(), Types.DOUBLE);
+            ps.setLong(13, rollup.getOtherCount());
+            ps.setLong(14, computedTs);
+        });
+    }
+
+    @Override
+    public void saveCoverageStart(UUID entityId, String key, String granularity, long ts) {
+        jdbcTemplate.update(INSERT_COVERAGE_IF_ABSENT, entityId, key, granularity, ts);
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.sqlts.insert.rollup.psql;
+
+import org.springframework.stereotype.Repository;
+import com.sunflower.server.dao.sqlts.insert.AbstractInsertRepository;
+import com.sunflower.server.dao.sqlts.insert.rollup.InsertTsKvRollupRepository;
+import com.sunflower.server.dao.timeseries.TsKvRollup;
+import com.sunflower.server.dao.util.PsqlTsAnyDao;
+
+import java.sql.Types;
+import java.util.UUID;
+
+@PsqlTsAnyDao
+@Repository
+public class PsqlInsertTsKvRollupRepository extends AbstractInsertRepository implements InsertTsKvRollupRepository {
+
+    private static final String INSERT_OR_UPDATE =
+            "INSERT INTO ts_kv_rollup (entity_id, key, granularity, ts, long_count, long_sum, long_min, long_max, dbl_count, dbl_sum, dbl_min, dbl_max, other_count, computed_ts) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (entity_id, key, granularity, ts) DO UPDATE SET " +
+                    "long_count = EXCLUDED.long_count, long_sum = EXCLUDED.long_sum, long_min = EXCLUDED.long_min, long_max = EXCLUDED.long_max, " +
+                    "dbl_count = EXCLUDED.dbl_count, dbl_sum = EXCLUDED.dbl_sum, dbl_min = EXCLUDED.dbl_min, dbl_max = EXCLUDED.dbl_max, " +
+                    "other_count = EXCLUDED.other_count, computed_ts = EXCLUDED.computed_ts " +
+                    "WHERE ts_kv_rollup.computed_ts <= EXCLUDED.computed_ts;";
+
+    private static final String INSERT_COVERAGE_IF_ABSENT =
+            "INSERT INTO ts_kv_rollup_coverage (entity_id, key, granularity, ts) VALUES (?, ?, ?, ?) " +
+                    "ON CONFLICT (entity_id, key, granularity) DO NOTHING;";
+
+    @Override
+    public void save(UUID entityId, String key, String granularity, TsKvRollup rollup, long computedTs) {
+        jdbcTemplate.update(INSERT_OR_UPDATE, ps -> {
+            ps.setObject(1, entityId);
+            ps.setString(2, key);
+            ps.setString(3, granularity);
+            ps.setLong(4, rollup.getTs());
+            ps.setLong(5, rollup.getLongCount());
+            ps.setLong(6, rollup.getLongSum());
+            ps.setObject(7, rollup.getLongMin(), Types.BIGINT);
+            ps.setObject(8, rollup.getLongMax(), Types.BIGINT);
+            ps.setLong(9, rollup.getDoubleCount());
+            ps.setDouble(10, rollup.getDoubleSum());
+            ps.setObject(11, rollup.getDoubleMin(), Types.DOUBLE);
+            ps.setObject(12, rollup.getDoubleMax(), Types.DOUBLE);
+            ps.setLong(13, rollup.getOtherCount());
+            ps.setLong(14, computedTs);
+        });
+    }
+
+    @Override
+    public void saveCoverageStart(UUID entityId, String key, String granularity, long ts) {
+        jdbcTemplate.update(INSERT_COVERAGE_IF_ABSENT, entityId, key, granularity, ts);
+    }
+}
@@ -20,7 +20,15 @@ import com.sunflower.server.dao.model.sqlts.latest.TsKvLatestCompositeKey;
 import com.sunflower.server.dao.model.sqlts.latest.TsKvLatestEntity;
 import com.sunflower.server.dao.util.SqlDao;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
 @SqlDao
 public interface TsKvLatestRepository extends CrudRepository<TsKvLatestEntity, TsKvLatestCompositeKey> {
 
+    List<TsKvLatestEntity> findAllByEntityIdAndKeyIn(UUID entityId, Collection<Integer> keys);
+
+    List<TsKvLatestEntity> findAllByEntityIdInAndKeyIn(Collection<UUID> entityIds, Collection<Integer> keys);
+
 }
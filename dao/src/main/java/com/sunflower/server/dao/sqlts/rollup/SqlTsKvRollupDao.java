@@ -0,0 +1,115 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.sqlts.rollup;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import com.sunflower.server.common.data.id.EntityId;
+import com.sunflower.server.common.data.id.TenantId;
+import com.sunflower.server.dao.sql.JpaAbstractDaoListeningExecutorService;
+import com.sunflower.server.dao.sqlts.insert.rollup.InsertTsKvRollupRepository;
+import com.sunflower.server.dao.timeseries.RollupGranularity;
+import com.sunflower.server.dao.timeseries.TsKvRollup;
+import com.sunflower.server.dao.timeseries.TsKvRollupDao;
+import com.sunflower.server.dao.util.SqlTsAnyDao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+@Component
+@SqlTsAnyDao
+public class SqlTsKvRollupDao extends JpaAbstractDaoListeningExecutorService implements TsKvRollupDao {
+
+    private static final String ROLLUP_COLUMNS = "ts, long_count, long_sum, long_min, long_max, dbl_count, dbl_sum, dbl_min, dbl_max, other_count";
+    private static final String ROLLUP_KEY_CONDITION = "entity_id = ? AND key = ? AND granularity = ?";
+
+    private static final String FIND_QUERY = "SELECT " + ROLLUP_COLUMNS + " FROM ts_kv_rollup WHERE " + ROLLUP_KEY_CONDITION + " AND ts >= ? AND ts < ? ORDER BY ts";
+    private static final String DELETE_QUERY = "DELETE FROM ts_kv_rollup WHERE " + ROLLUP_KEY_CONDITION + " AND ts >= ? AND ts < ?";
+    private static final String FIND_COVERAGE_QUERY = "SELECT ts FROM ts_kv_rollup_coverage WHERE " + ROLLUP_KEY_CONDITION;
+    private static final String DELETE_COVERAGE_QUERY = "DELETE FROM ts_kv_rollup_coverage WHERE " + ROLLUP_KEY_CONDITION;
+
+    private static final RowMapper<TsKvRollup> ROLLUP_ROW_MAPPER = SqlTsKvRollupDao::toRollup;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InsertTsKvRollupRepository insertRollupRepository;
+
+    @Override
+    public ListenableFuture<List<TsKvRollup>> findAllAsync(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity, long startTs, long endTs) {
+        return service.submit(() -> jdbcTemplate.query(FIND_QUERY, ROLLUP_ROW_MAPPER, entityId.getId(), key, granularity.name(), startTs, endTs));
+    }
+
+    @Override
+    public void save(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity, TsKvRollup rollup, long computedTs) {
+        insertRollupRepository.save(entityId.getId(), key, granularity.name(), rollup, computedTs);
+    }
+
+    @Override
+    public void remove(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity, long startTs, long endTs) {
+        jdbcTemplate.update(DELETE_QUERY, entityId.getId(), key, granularity.name(), startTs, endTs);
+    }
+
+    @Override
+    public Long findCoverageStart(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity) {
+        List<Long> coverage = jdbcTemplate.queryForList(FIND_COVERAGE_QUERY, Long.class, entityId.getId(), key, granularity.name());
+        return coverage.isEmpty() ? null : coverage.get(0);
+    }
+
+    @Override
+    public ListenableFuture<Long> findCoverageStartAsync(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity) {
+        return service.submit(() -> findCoverageStart(tenantId, entityId, key, granularity));
+    }
+
+    @Override
+    public void saveCoverageStart(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity, long ts) {
+        insertRollupRepository.saveCoverageStart(entityId.getId(), key, granularity.name(), ts);
+    }
+
+    @Override
+    public void removeCoverageStart(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity) {
+        jdbcTemplate.update(DELETE_COVERAGE_QUERY, entityId.getId(), key, granularity.name());
+    }
+
+    private static TsKvRollup toRollup(ResultSet rs, int rowNum) throws SQLException {
+        TsKvRollup rollup = new TsKvRollup(rs.getLong("ts"));
+        rollup.setLongCount(rs.getLong("long_count"));
+        rollup.setLongSum(rs.getLong("long_sum"));
+        rollup.setLongMin(getLong(rs, "long_min"));
+        rollup.setLongMax(getLong(rs, "long_max"));
+        rollup.setDoubleCount(rs.getLong("dbl_count"));
+        rollup.setDoubleSum(rs.getDouble("dbl_sum"));
+        rollup.setDoubleMin(getDouble(rs, "dbl_min"));
+        rollup.setDoubleMax(getDouble(rs, "dbl_max"));
+        rollup.setOtherCount(rs.getLong("other_count"));
+        return rollup;
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Double getDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+}
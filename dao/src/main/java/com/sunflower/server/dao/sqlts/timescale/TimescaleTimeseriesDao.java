@@ -33,8 +33,9 @@ import com.sunflower.server.common.data.kv.ReadTsKvQuery;
 import com.sunflower.server.common.data.kv.TsKvEntry;
 import com.sunflower.server.dao.DaoUtil;
 import com.sunflower.server.dao.model.sqlts.timescale.ts.TimescaleTsKvEntity;
-import com.sunflower.server.dao.sql.TbSqlBlockingQueue;
 import com.sunflower.server.dao.sql.TbSqlBlockingQueueParams;
+import com.sunflower.server.dao.sql.TbSqlQueue;
+import com.sunflower.server.dao.sql.TbSqlStripedBlockingQueue;
 import com.sunflower.server.dao.sqlts.AbstractSqlTimeseriesDao;
 import com.sunflower.server.dao.sqlts.insert.InsertTsRepository;
 import com.sunflower.server.dao.timeseries.TimeseriesDao;
@@ -43,8 +44,10 @@ import com.sunflower.server.dao.util.TimescaleDBTsDao;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -63,7 +66,7 @@ public class TimescaleTimeseriesDao extends AbstractSqlTimeseriesDao implements
     @Autowired
     protected InsertTsRepository<TimescaleTsKvEntity> insertRepository;
 
-    protected TbSqlBlockingQueue<TimescaleTsKvEntity> tsQueue;
+    protected TbSqlQueue<TimescaleTsKvEntity> tsQueue;
 
     @PostConstruct
     protected void init() {
@@ -73,9 +76,14 @@ public class TimescaleTimeseriesDao extends AbstractSqlTimeseriesDao implements
                 .batchSize(tsBatchSize)
                 .maxDelay(tsMaxDelay)
                 .statsPrintIntervalMs(tsStatsPrintIntervalMs)
+                .batchThreads(tsBatchThreads)
+                .maxQueueSize(tsMaxQueueSize)
                 .build();
-        tsQueue = new TbSqlBlockingQueue<>(tsParams);
-        tsQueue.init(logExecutor, v -> insertRepository.saveOrUpdate(v));
+        tsQueue = new TbSqlStripedBlockingQueue<>(tsParams, entity -> entity.getEntityId().hashCode());
+        tsQueue.init(logExecutor, v -> {
+            resolveKeyIds(v);
+            insertRepository.saveOrUpdate(v);
+        });
     }
 
     @PreDestroy
@@ -154,6 +162,16 @@ public class TimescaleTimeseriesDao extends AbstractSqlTimeseriesDao implements
         return getFindLatestFuture(entityId, key);
     }
 
+    @Override
+    public ListenableFuture<List<TsKvEntry>> findLatest(TenantId tenantId, EntityId entityId, Collection<String> keys) {
+        return getFindLatestFuture(entityId, keys);
+    }
+
+    @Override
+    public ListenableFuture<Map<EntityId, List<TsKvEntry>>> findLatest(TenantId tenantId, Collection<EntityId> entityIds, Collection<String> keys) {
+        return getFindLatestFuture(entityIds, keys);
+    }
+
     @Override
     public ListenableFuture<List<TsKvEntry>> findAllLatest(TenantId tenantId, EntityId entityId) {
         return getFindAllLatestFuture(entityId);
@@ -161,12 +179,10 @@ public class TimescaleTimeseriesDao extends AbstractSqlTimeseriesDao implements
 
     @Override
     public ListenableFuture<Void> save(TenantId tenantId, EntityId entityId, TsKvEntry tsKvEntry, long ttl) {
-        String strKey = tsKvEntry.getKey();
-        Integer keyId = getOrSaveKeyId(strKey);
         TimescaleTsKvEntity entity = new TimescaleTsKvEntity();
         entity.setEntityId(entityId.getId());
         entity.setTs(tsKvEntry.getTs());
-        entity.setKey(keyId);
+        entity.setStrKey(tsKvEntry.getKey());
         entity.setStrValue(tsKvEntry.getStrValue().orElse(null));
         entity.setDoubleValue(tsKvEntry.getDoubleValue().orElse(null));
         entity.setLongValue(tsKvEntry.getLongValue().orElse(null));
@@ -211,6 +227,10 @@ public class TimescaleTimeseriesDao extends AbstractSqlTimeseriesDao implements
         return service.submit(() -> null);
     }
 
+    @Override
+    public void invalidatePartitions(EntityId entityId, String key) {
+    }
+
     private CompletableFuture<List<TimescaleTsKvEntity>> switchAggregation(String key, long startTs, long endTs, long timeBucket, Aggregation aggregation, UUID entityId) {
         switch (aggregation) {
             case AVG:
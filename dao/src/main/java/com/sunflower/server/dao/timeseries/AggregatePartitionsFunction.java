@@ -70,7 +70,7 @@ public class AggregatePartitionsFunction implements com.google.common.base.Funct
             AggregationResult aggResult = new AggregationResult();
 
             for (ResultSet rs : rsList) {
-                for (Row row : rs.all()) {
+                for (Row row : rs) {
                     processResultSetRow(row, aggResult);
                 }
             }
@@ -18,6 +18,7 @@ package com.sunflower.server.dao.timeseries;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -38,7 +39,11 @@ import com.sunflower.server.dao.service.Validator;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -62,6 +67,9 @@ public class BaseTimeseriesService implements TimeseriesService {
     @Autowired
     private EntityViewService entityViewService;
 
+    @Autowired
+    private TsKvRollupService rollupService;
+
     @Override
     public ListenableFuture<List<TsKvEntry>> findAll(TenantId tenantId, EntityId entityId, List<ReadTsKvQuery> queries) {
         validate(entityId);
@@ -72,15 +80,35 @@ public class BaseTimeseriesService implements TimeseriesService {
                     queries.stream()
                             .filter(query -> entityView.getKeys().getTimeseries().isEmpty() || entityView.getKeys().getTimeseries().contains(query.getKey()))
                             .collect(Collectors.toList());
-            return timeseriesDao.findAllAsync(tenantId, entityView.getEntityId(), updateQueriesForEntityView(entityView, filteredQueries));
+            return findAllAsync(tenantId, entityView.getEntityId(), updateQueriesForEntityView(entityView, filteredQueries));
         }
-        return timeseriesDao.findAllAsync(tenantId, entityId, queries);
+        return findAllAsync(tenantId, entityId, queries);
+    }
+
+    private ListenableFuture<List<TsKvEntry>> findAllAsync(TenantId tenantId, EntityId entityId, List<ReadTsKvQuery> queries) {
+        if (!rollupService.isEnabled() || queries.stream().allMatch(query -> rollupService.getGranularity(query) == null)) {
+            return timeseriesDao.findAllAsync(tenantId, entityId, queries);
+        }
+        List<ListenableFuture<List<TsKvEntry>>> futures = Lists.newArrayListWithExpectedSize(queries.size());
+        for (ReadTsKvQuery query : queries) {
+            RollupGranularity granularity = rollupService.getGranularity(query);
+            if (granularity != null) {
+                futures.add(rollupService.findAllAsync(tenantId, entityId, query, granularity,
+                        rawQuery -> timeseriesDao.findAllAsync(tenantId, entityId, Collections.singletonList(rawQuery))));
+            } else {
+                futures.add(timeseriesDao.findAllAsync(tenantId, entityId, Collections.singletonList(query)));
+            }
+        }
+        return Futures.transform(Futures.allAsList(futures), results -> {
+            List<TsKvEntry> result = new ArrayList<>();
+            results.forEach(result::addAll);
+            return result;
+        }, MoreExecutors.directExecutor());
     }
 
     @Override
     public ListenableFuture<List<TsKvEntry>> findLatest(TenantId tenantId, EntityId entityId, Collection<String> keys) {
         validate(entityId);
-        List<ListenableFuture<TsKvEntry>> futures = Lists.newArrayListWithExpectedSize(keys.size());
         keys.forEach(key -> Validator.validateString(key, "Incorrect key " + key));
         if (entityId.getEntityType().equals(EntityType.ENTITY_VIEW)) {
             EntityView entityView = entityViewService.findEntityViewById(tenantId, (EntityViewId) entityId);
@@ -103,8 +131,46 @@ public class BaseTimeseriesService implements TimeseriesService {
                 return Futures.immediateFuture(new ArrayList<>());
             }
         }
-        keys.forEach(key -> futures.add(timeseriesDao.findLatest(tenantId, entityId, key)));
-        return Futures.allAsList(futures);
+        if (keys.isEmpty()) {
+            return Futures.immediateFuture(new ArrayList<>());
+        }
+        return timeseriesDao.findLatest(tenantId, entityId, keys);
+    }
+
+    @Override
+    public ListenableFuture<Map<EntityId, List<TsKvEntry>>> findLatest(TenantId tenantId, Collection<EntityId> entityIds, Collection<String> keys) {
+        entityIds.forEach(this::validate);
+        keys.forEach(key -> Validator.validateString(key, "Incorrect key " + key));
+        if (entityIds.isEmpty() || keys.isEmpty()) {
+            Map<EntityId, List<TsKvEntry>> result = new LinkedHashMap<>();
+            entityIds.forEach(entityId -> result.put(entityId, new ArrayList<>()));
+            return Futures.immediateFuture(result);
+        }
+        // Entity views are resolved against their own key and time filters, the rest is fetched in bulk
+        List<EntityId> viewIds = new ArrayList<>();
+        List<EntityId> otherIds = new ArrayList<>();
+        for (EntityId entityId : entityIds) {
+            if (entityId.getEntityType().equals(EntityType.ENTITY_VIEW)) {
+                viewIds.add(entityId);
+            } else {
+                otherIds.add(entityId);
+            }
+        }
+        List<ListenableFuture<List<TsKvEntry>>> viewFutures = Lists.newArrayListWithExpectedSize(viewIds.size());
+        viewIds.forEach(viewId -> viewFutures.add(findLatest(tenantId, viewId, keys)));
+        ListenableFuture<Map<EntityId, List<TsKvEntry>>> otherFuture = otherIds.isEmpty() ?
+                Futures.immediateFuture(Collections.emptyMap()) : timeseriesDao.findLatest(tenantId, otherIds, keys);
+        ListenableFuture<List<List<TsKvEntry>>> viewsFuture = Futures.allAsList(viewFutures);
+        return Futures.whenAllSucceed(otherFuture, viewsFuture).call(() -> {
+            Map<EntityId, List<TsKvEntry>> found = new HashMap<>(Futures.getDone(otherFuture));
+            List<List<TsKvEntry>> viewEntries = Futures.getDone(viewsFuture);
+            for (int i = 0; i < viewIds.size(); i++) {
+                found.put(viewIds.get(i), viewEntries.get(i));
+            }
+            Map<EntityId, List<TsKvEntry>> result = new LinkedHashMap<>();
+            entityIds.forEach(entityId -> result.put(entityId, found.get(entityId)));
+            return result;
+        }, MoreExecutors.directExecutor());
     }
 
     @Override
@@ -136,13 +202,26 @@ public class BaseTimeseriesService implements TimeseriesService {
 
     @Override
     public ListenableFuture<List<Void>> save(TenantId tenantId, EntityId entityId, List<TsKvEntry> tsKvEntries, long ttl) {
+        if (entityId.getEntityType().equals(EntityType.ENTITY_VIEW)) {
+            throw new IncorrectParameterException("Telemetry data can't be stored for entity view. Read only");
+        }
         List<ListenableFuture<Void>> futures = Lists.newArrayListWithExpectedSize(tsKvEntries.size() * INSERTS_PER_ENTRY);
+        // A batch may hold several values of the same key; only the newest one is saved as the latest value,
+        // the concurrent latest writes would otherwise race and could leave an older value behind
+        Map<String, TsKvEntry> latest = new HashMap<>();
         for (TsKvEntry tsKvEntry : tsKvEntries) {
             if (tsKvEntry == null) {
                 throw new IncorrectParameterException("Key value entry can't be null");
             }
-            saveAndRegisterFutures(tenantId, futures, entityId, tsKvEntry, ttl);
+            futures.add(timeseriesDao.savePartition(tenantId, entityId, tsKvEntry.getTs(), tsKvEntry.getKey(), ttl));
+            latest.merge(tsKvEntry.getKey(), tsKvEntry, (current, entry) -> entry.getTs() >= current.getTs() ? entry : current);
+        }
+        for (TsKvEntry tsKvEntry : latest.values()) {
+            futures.add(timeseriesDao.saveLatest(tenantId, entityId, tsKvEntry));
         }
+        ListenableFuture<Void> saveFuture = timeseriesDao.save(tenantId, entityId, tsKvEntries, ttl);
+        futures.add(saveFuture);
+        rollupService.onSave(tenantId, entityId, tsKvEntries, ttl, saveFuture);
         return Futures.allAsList(futures);
     }
 
@@ -152,7 +231,9 @@ public class BaseTimeseriesService implements TimeseriesService {
         }
         futures.add(timeseriesDao.savePartition(tenantId, entityId, tsKvEntry.getTs(), tsKvEntry.getKey(), ttl));
         futures.add(timeseriesDao.saveLatest(tenantId, entityId, tsKvEntry));
-        futures.add(timeseriesDao.save(tenantId, entityId, tsKvEntry, ttl));
+        ListenableFuture<Void> saveFuture = timeseriesDao.save(tenantId, entityId, tsKvEntry, ttl);
+        futures.add(saveFuture);
+        rollupService.onSave(tenantId, entityId, Collections.singletonList(tsKvEntry), ttl, saveFuture);
     }
 
     private List<ReadTsKvQuery> updateQueriesForEntityView(EntityView entityView, List<ReadTsKvQuery> queries) {
@@ -185,10 +266,16 @@ public class BaseTimeseriesService implements TimeseriesService {
         return Futures.allAsList(futures);
     }
 
+    @Override
+    public void invalidatePartitions(EntityId entityId, String key) {
+        timeseriesDao.invalidatePartitions(entityId, key);
+    }
+
     private void deleteAndRegisterFutures(TenantId tenantId, List<ListenableFuture<Void>> futures, EntityId entityId, DeleteTsKvQuery query) {
         futures.add(timeseriesDao.remove(tenantId, entityId, query));
         futures.add(timeseriesDao.removeLatest(tenantId, entityId, query));
         futures.add(timeseriesDao.removePartition(tenantId, entityId, query));
+        futures.add(rollupService.onRemove(tenantId, entityId, query));
     }
 
     private static void validate(EntityId entityId) {
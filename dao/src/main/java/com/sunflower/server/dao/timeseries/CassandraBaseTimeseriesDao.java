@@ -15,6 +15,7 @@
  */
 package com.sunflower.server.dao.timeseries;
 
+import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
@@ -24,11 +25,14 @@ import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
 import com.google.common.base.Function;
-import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -63,10 +67,17 @@ import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
@@ -97,11 +108,22 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
     @Value("${cassandra.query.ts_key_value_ttl}")
     private long systemTtl;
 
+    @Value("${cassandra.query.ts_key_value_partitions_max_cache_size:100000}")
+    private long partitionsCacheSize;
+
+    @Value("${cassandra.query.ts_key_value_partitions_cache_ttl:3600}")
+    private long partitionsCacheTtl;
+
+    @Value("${cassandra.query.ts_key_value_batch_max_size:50}")
+    private int batchMaxSize;
+
     @Value("${cassandra.query.set_null_values_enabled}")
     private boolean setNullValuesEnabled;
 
     private NoSqlTsPartitionDate tsFormat;
 
+    private Cache<PartitionCacheKey, Boolean> partitionsCache;
+
     private PreparedStatement partitionInsertStmt;
     private PreparedStatement partitionInsertTtlStmt;
     private PreparedStatement latestInsertStmt;
@@ -110,6 +132,7 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
     private PreparedStatement[] fetchStmtsAsc;
     private PreparedStatement[] fetchStmtsDesc;
     private PreparedStatement findLatestStmt;
+    private PreparedStatement findLatestByKeysStmt;
     private PreparedStatement findAllLatestStmt;
     private PreparedStatement deleteStmt;
     private PreparedStatement deletePartitionStmt;
@@ -130,6 +153,12 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
                 log.warn("Incorrect configuration of partitioning {}", partitioning);
                 throw new RuntimeException("Failed to parse partitioning property: " + partitioning + "!");
             }
+            if (partitionsCacheSize > 0 && !isFixedPartitioning()) {
+                partitionsCache = CacheBuilder.newBuilder()
+                        .maximumSize(partitionsCacheSize)
+                        .expireAfterWrite(partitionsCacheTtl, TimeUnit.SECONDS)
+                        .build();
+            }
         }
     }
 
@@ -160,24 +189,7 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
         if (query.getAggregation() == Aggregation.NONE) {
             return findAllAsyncWithLimit(tenantId, entityId, query);
         } else {
-            long step = Math.max(query.getInterval(), MIN_AGGREGATION_STEP_MS);
-            long stepTs = query.getStartTs();
-            List<ListenableFuture<Optional<TsKvEntry>>> futures = new ArrayList<>();
-            while (stepTs < query.getEndTs()) {
-                long startTs = stepTs;
-                long endTs = stepTs + step;
-                ReadTsKvQuery subQuery = new BaseReadTsKvQuery(query.getKey(), startTs, endTs, step, 1, query.getAggregation(), query.getOrderBy());
-                futures.add(findAndAggregateAsync(tenantId, entityId, subQuery, toPartitionTs(startTs), toPartitionTs(endTs)));
-                stepTs = endTs;
-            }
-            ListenableFuture<List<Optional<TsKvEntry>>> future = Futures.allAsList(futures);
-            return Futures.transform(future, new Function<List<Optional<TsKvEntry>>, List<TsKvEntry>>() {
-                @Nullable
-                @Override
-                public List<TsKvEntry> apply(@Nullable List<Optional<TsKvEntry>> input) {
-                    return input == null ? Collections.emptyList() : input.stream().filter(v -> v.isPresent()).map(v -> v.get()).collect(Collectors.toList());
-                }
-            }, readResultsProcessingExecutor);
+            return findAndAggregateAsync(tenantId, entityId, query);
         }
     }
 
@@ -249,17 +261,75 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
         }
     }
 
-    private ListenableFuture<Optional<TsKvEntry>> findAndAggregateAsync(TenantId tenantId, EntityId entityId, ReadTsKvQuery query, long minPartition, long maxPartition) {
-        final Aggregation aggregation = query.getAggregation();
-        final String key = query.getKey();
-        final long startTs = query.getStartTs();
-        final long endTs = query.getEndTs();
-        final long ts = startTs + (endTs - startTs) / 2;
-        ListenableFuture<List<Long>> partitionsListFuture = getPartitionsFuture(tenantId, query, entityId, minPartition, maxPartition);
-        ListenableFuture<List<ResultSet>> aggregationChunks = Futures.transformAsync(partitionsListFuture,
-                getFetchChunksAsyncFunction(tenantId, entityId, key, aggregation, startTs, endTs), readResultsProcessingExecutor);
+    private ListenableFuture<List<TsKvEntry>> findAndAggregateAsync(TenantId tenantId, EntityId entityId, ReadTsKvQuery query) {
+        long step = Math.max(query.getInterval(), MIN_AGGREGATION_STEP_MS);
+        List<Long> intervals = new ArrayList<>();
+        long stepTs = query.getStartTs();
+        while (stepTs < query.getEndTs()) {
+            intervals.add(stepTs);
+            stepTs += step;
+        }
+        if (intervals.isEmpty()) {
+            return Futures.immediateFuture(Collections.emptyList());
+        }
+        // The partitions are fetched once for the whole query and shared by all intervals
+        ListenableFuture<List<Long>> partitionsListFuture = getPartitionsFuture(tenantId, query, entityId, toPartitionTs(query.getStartTs()), toPartitionTs(stepTs));
+        return Futures.transformAsync(partitionsListFuture,
+                partitions -> aggregateIntervalsAsync(tenantId, entityId, query, step, intervals, partitions), readResultsProcessingExecutor);
+    }
+
+    private ListenableFuture<List<TsKvEntry>> aggregateIntervalsAsync(TenantId tenantId, EntityId entityId, ReadTsKvQuery query, long step,
+                                                                      List<Long> intervals, List<Long> partitions) {
+        List<Long> sortedPartitions = new ArrayList<>(partitions);
+        Collections.sort(sortedPartitions);
+        PreparedStatement proto = getFetchStmt(query.getAggregation(), DESC_ORDER);
+        List<ResultSetFuture> futures = new ArrayList<>();
+        int[] chunkEnds = new int[intervals.size()];
+        int firstPartitionIdx = 0;
+        for (int i = 0; i < intervals.size(); i++) {
+            long startTs = intervals.get(i);
+            long endTs = startTs + step;
+            if (isFixedPartitioning()) {
+                futures.add(fetchAggregationChunk(tenantId, entityId, proto, query.getKey(), FIXED_PARTITION.get(0), startTs, endTs));
+            } else {
+                long minPartition = toPartitionTs(startTs);
+                long maxPartition = toPartitionTs(endTs);
+                while (firstPartitionIdx < sortedPartitions.size() && sortedPartitions.get(firstPartitionIdx) < minPartition) {
+                    firstPartitionIdx++;
+                }
+                for (int j = firstPartitionIdx; j < sortedPartitions.size() && sortedPartitions.get(j) <= maxPartition; j++) {
+                    futures.add(fetchAggregationChunk(tenantId, entityId, proto, query.getKey(), sortedPartitions.get(j), startTs, endTs));
+                }
+            }
+            chunkEnds[i] = futures.size();
+        }
+        return Futures.transform(Futures.allAsList(futures), rsList -> {
+            List<TsKvEntry> result = new ArrayList<>();
+            int chunkStart = 0;
+            for (int i = 0; i < intervals.size(); i++) {
+                if (chunkEnds[i] > chunkStart) {
+                    long ts = intervals.get(i) + step / 2;
+                    new AggregatePartitionsFunction(query.getAggregation(), query.getKey(), ts)
+                            .apply(rsList.subList(chunkStart, chunkEnds[i]))
+                            .ifPresent(result::add);
+                }
+                chunkStart = chunkEnds[i];
+            }
+            return result;
+        }, readResultsProcessingExecutor);
+    }
 
-        return Futures.transform(aggregationChunks, new AggregatePartitionsFunction(aggregation, key, ts), readResultsProcessingExecutor);
+    private ResultSetFuture fetchAggregationChunk(TenantId tenantId, EntityId entityId, PreparedStatement proto, String key, long partition, long startTs, long endTs) {
+        log.trace("Fetching data for partition [{}] for entityType {} and entityId {}", partition, entityId.getEntityType(), entityId.getId());
+        BoundStatement stmt = proto.bind();
+        stmt.setString(0, entityId.getEntityType().name());
+        stmt.setUUID(1, entityId.getId());
+        stmt.setString(2, key);
+        stmt.setLong(3, partition);
+        stmt.setLong(4, startTs);
+        stmt.setLong(5, endTs);
+        log.debug(GENERATED_QUERY_FOR_ENTITY_TYPE_AND_ENTITY_ID, stmt, entityId.getEntityType(), entityId.getId());
+        return executeAsyncRead(tenantId, stmt);
     }
 
     private Function<ResultSet, List<Long>> getPartitionsArrayFunction() {
@@ -267,31 +337,6 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
                 .map(row -> row.getLong(ModelConstants.PARTITION_COLUMN)).collect(Collectors.toList());
     }
 
-    private AsyncFunction<List<Long>, List<ResultSet>> getFetchChunksAsyncFunction(TenantId tenantId, EntityId entityId, String key, Aggregation aggregation, long startTs, long endTs) {
-        return partitions -> {
-            try {
-                PreparedStatement proto = getFetchStmt(aggregation, DESC_ORDER);
-                List<ResultSetFuture> futures = new ArrayList<>(partitions.size());
-                for (Long partition : partitions) {
-                    log.trace("Fetching data for partition [{}] for entityType {} and entityId {}", partition, entityId.getEntityType(), entityId.getId());
-                    BoundStatement stmt = proto.bind();
-                    stmt.setString(0, entityId.getEntityType().name());
-                    stmt.setUUID(1, entityId.getId());
-                    stmt.setString(2, key);
-                    stmt.setLong(3, partition);
-                    stmt.setLong(4, startTs);
-                    stmt.setLong(5, endTs);
-                    log.debug(GENERATED_QUERY_FOR_ENTITY_TYPE_AND_ENTITY_ID, stmt, entityId.getEntityType(), entityId.getId());
-                    futures.add(executeAsyncRead(tenantId, stmt));
-                }
-                return Futures.allAsList(futures);
-            } catch (Throwable e) {
-                log.error("Failed to fetch data", e);
-                throw e;
-            }
-        };
-    }
-
     @Override
     public ListenableFuture<TsKvEntry> findLatest(TenantId tenantId, EntityId entityId, String key) {
         BoundStatement stmt = getFindLatestStmt().bind();
@@ -302,6 +347,33 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
         return getFuture(executeAsyncRead(tenantId, stmt), rs -> convertResultToTsKvEntry(key, rs.one()));
     }
 
+    @Override
+    public ListenableFuture<List<TsKvEntry>> findLatest(TenantId tenantId, EntityId entityId, Collection<String> keys) {
+        BoundStatement stmt = getFindLatestByKeysStmt().bind();
+        stmt.setString(0, entityId.getEntityType().name());
+        stmt.setUUID(1, entityId.getId());
+        stmt.setList(2, new ArrayList<>(new LinkedHashSet<>(keys)));
+        log.debug(GENERATED_QUERY_FOR_ENTITY_TYPE_AND_ENTITY_ID, stmt, entityId.getEntityType(), entityId.getId());
+        return getFuture(executeAsyncRead(tenantId, stmt), rs -> convertResultToLatestTsKvEntryList(keys, rs.all()));
+    }
+
+    @Override
+    public ListenableFuture<Map<EntityId, List<TsKvEntry>>> findLatest(TenantId tenantId, Collection<EntityId> entityIds, Collection<String> keys) {
+        // Entities live in different partitions, a multi-partition IN query would only move the fan-out to the coordinator
+        List<EntityId> ids = new ArrayList<>(new LinkedHashSet<>(entityIds));
+        List<ListenableFuture<List<TsKvEntry>>> futures = new ArrayList<>(ids.size());
+        for (EntityId entityId : ids) {
+            futures.add(findLatest(tenantId, entityId, keys));
+        }
+        return Futures.transform(Futures.allAsList(futures), entries -> {
+            Map<EntityId, List<TsKvEntry>> result = new LinkedHashMap<>();
+            for (int i = 0; i < ids.size(); i++) {
+                result.put(ids.get(i), entries.get(i));
+            }
+            return result;
+        }, MoreExecutors.directExecutor());
+    }
+
     @Override
     public ListenableFuture<List<TsKvEntry>> findAllLatest(TenantId tenantId, EntityId entityId) {
         BoundStatement stmt = getFindAllLatestStmt().bind();
@@ -313,12 +385,55 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
 
     @Override
     public ListenableFuture<Void> save(TenantId tenantId, EntityId entityId, TsKvEntry tsKvEntry, long ttl) {
-        List<ListenableFuture<Void>> futures = new ArrayList<>();
         ttl = computeTtl(ttl);
-        long partition = toPartitionTs(tsKvEntry.getTs());
+        List<BoundStatement> stmts = new ArrayList<>();
+        addSaveStmts(entityId, tsKvEntry, ttl, toPartitionTs(tsKvEntry.getTs()), stmts);
+        List<ListenableFuture<Void>> futures = new ArrayList<>(stmts.size());
+        for (BoundStatement stmt : stmts) {
+            futures.add(getFuture(executeAsyncWrite(tenantId, stmt), rs -> null));
+        }
+        return Futures.transform(Futures.allAsList(futures), result -> null, MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public ListenableFuture<Void> save(TenantId tenantId, EntityId entityId, List<TsKvEntry> tsKvEntries, long ttl) {
+        if (batchMaxSize <= 1) {
+            List<ListenableFuture<Void>> futures = new ArrayList<>(tsKvEntries.size());
+            for (TsKvEntry tsKvEntry : tsKvEntries) {
+                futures.add(save(tenantId, entityId, tsKvEntry, ttl));
+            }
+            return Futures.transform(Futures.allAsList(futures), result -> null, MoreExecutors.directExecutor());
+        }
+        ttl = computeTtl(ttl);
+        // Rows of the same key and partition share a Cassandra partition, so each group is written with one unlogged batch
+        Map<String, Map<Long, List<BoundStatement>>> groups = new HashMap<>();
+        for (TsKvEntry tsKvEntry : tsKvEntries) {
+            long partition = toPartitionTs(tsKvEntry.getTs());
+            List<BoundStatement> stmts = groups.computeIfAbsent(tsKvEntry.getKey(), k -> new HashMap<>())
+                    .computeIfAbsent(partition, p -> new ArrayList<>());
+            addSaveStmts(entityId, tsKvEntry, ttl, partition, stmts);
+        }
+        List<ListenableFuture<Void>> futures = new ArrayList<>();
+        for (Map<Long, List<BoundStatement>> partitions : groups.values()) {
+            for (List<BoundStatement> stmts : partitions.values()) {
+                for (List<BoundStatement> chunk : Lists.partition(stmts, batchMaxSize)) {
+                    Statement stmt;
+                    if (chunk.size() == 1) {
+                        stmt = chunk.get(0);
+                    } else {
+                        stmt = new BatchStatement(BatchStatement.Type.UNLOGGED).addAll(chunk);
+                    }
+                    futures.add(getFuture(executeAsyncWrite(tenantId, stmt), rs -> null));
+                }
+            }
+        }
+        return Futures.transform(Futures.allAsList(futures), result -> null, MoreExecutors.directExecutor());
+    }
+
+    private void addSaveStmts(EntityId entityId, TsKvEntry tsKvEntry, long ttl, long partition, List<BoundStatement> stmts) {
         DataType type = tsKvEntry.getDataType();
         if (setNullValuesEnabled) {
-            processSetNullValues(tenantId, entityId, tsKvEntry, ttl, futures, partition, type);
+            addSetNullValuesStmts(entityId, tsKvEntry, ttl, partition, type, stmts);
         }
         BoundStatement stmt = (ttl == 0 ? getSaveStmt(type) : getSaveTtlStmt(type)).bind();
         stmt.setString(0, entityId.getEntityType().name())
@@ -330,46 +445,18 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
         if (ttl > 0) {
             stmt.setInt(6, (int) ttl);
         }
-        futures.add(getFuture(executeAsyncWrite(tenantId, stmt), rs -> null));
-        return Futures.transform(Futures.allAsList(futures), result -> null, MoreExecutors.directExecutor());
+        stmts.add(stmt);
     }
 
-    private void processSetNullValues(TenantId tenantId, EntityId entityId, TsKvEntry tsKvEntry, long ttl, List<ListenableFuture<Void>> futures, long partition, DataType type) {
-        switch (type) {
-            case LONG:
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.BOOLEAN));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.DOUBLE));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.STRING));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.JSON));
-                break;
-            case BOOLEAN:
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.DOUBLE));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.LONG));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.STRING));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.JSON));
-                break;
-            case DOUBLE:
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.BOOLEAN));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.LONG));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.STRING));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.JSON));
-                break;
-            case STRING:
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.BOOLEAN));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.DOUBLE));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.LONG));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.JSON));
-                break;
-            case JSON:
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.BOOLEAN));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.DOUBLE));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.LONG));
-                futures.add(saveNull(tenantId, entityId, tsKvEntry, ttl, partition, DataType.STRING));
-                break;
+    private void addSetNullValuesStmts(EntityId entityId, TsKvEntry tsKvEntry, long ttl, long partition, DataType type, List<BoundStatement> stmts) {
+        for (DataType nullType : DataType.values()) {
+            if (nullType != type) {
+                stmts.add(getSaveNullStmt(entityId, tsKvEntry, ttl, partition, nullType));
+            }
         }
     }
 
-    private ListenableFuture<Void> saveNull(TenantId tenantId, EntityId entityId, TsKvEntry tsKvEntry, long ttl, long partition, DataType type) {
+    private BoundStatement getSaveNullStmt(EntityId entityId, TsKvEntry tsKvEntry, long ttl, long partition, DataType type) {
         BoundStatement stmt = (ttl == 0 ? getSaveStmt(type) : getSaveTtlStmt(type)).bind();
         stmt.setString(0, entityId.getEntityType().name())
                 .setUUID(1, entityId.getId())
@@ -380,7 +467,7 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
         if (ttl > 0) {
             stmt.setInt(6, (int) ttl);
         }
-        return getFuture(executeAsyncWrite(tenantId, stmt), rs -> null);
+        return stmt;
     }
 
     @Override
@@ -390,6 +477,17 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
         }
         ttl = computeTtl(ttl);
         long partition = toPartitionTs(tsKvEntryTs);
+        PartitionCacheKey cacheKey = null;
+        if (partitionsCache != null) {
+            cacheKey = new PartitionCacheKey(entityId.getEntityType().name(), entityId.getId(), key, partition);
+            if (partitionsCache.getIfPresent(cacheKey) != null) {
+                return Futures.immediateFuture(null);
+            }
+            if (ttl > 0) {
+                // The partition is not saved again while it is cached, so it should outlive the data saved meanwhile
+                ttl += partitionsCacheTtl;
+            }
+        }
         log.debug("Saving partition {} for the entity [{}-{}] and key {}", partition, entityId.getEntityType(), entityId.getId(), key);
         BoundStatement stmt = (ttl == 0 ? getPartitionInsertStmt() : getPartitionInsertTtlStmt()).bind();
         stmt = stmt.setString(0, entityId.getEntityType().name())
@@ -399,7 +497,22 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
         if (ttl > 0) {
             stmt.setInt(4, (int) ttl);
         }
-        return getFuture(executeAsyncWrite(tenantId, stmt), rs -> null);
+        ListenableFuture<Void> future = getFuture(executeAsyncWrite(tenantId, stmt), rs -> null);
+        if (cacheKey != null) {
+            PartitionCacheKey savedKey = cacheKey;
+            Futures.addCallback(future, new FutureCallback<Void>() {
+                @Override
+                public void onSuccess(@Nullable Void result) {
+                    // Cached only once the marker is written, so a failed write is retried by the next save
+                    partitionsCache.put(savedKey, Boolean.TRUE);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                }
+            }, MoreExecutors.directExecutor());
+        }
+        return future;
     }
 
     private long computeTtl(long ttl) {
@@ -612,6 +725,15 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
         }
     }
 
+    @Override
+    public void invalidatePartitions(EntityId entityId, String key) {
+        if (partitionsCache != null) {
+            String entityType = entityId.getEntityType().name();
+            partitionsCache.asMap().keySet().removeIf(cacheKey -> cacheKey.getEntityId().equals(entityId.getId())
+                    && cacheKey.getEntityType().equals(entityType) && cacheKey.getKey().equals(key));
+        }
+    }
+
     private void deletePartitionAsync(TenantId tenantId, final QueryCursor cursor, final SimpleListenableFuture<Void> resultFuture) {
         if (!cursor.hasNextPartition()) {
             resultFuture.set(null);
@@ -620,12 +742,18 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
             BoundStatement stmt = proto.bind();
             stmt.setString(0, cursor.getEntityType());
             stmt.setUUID(1, cursor.getEntityId());
-            stmt.setLong(2, cursor.getNextPartition());
+            long partition = cursor.getNextPartition();
+            stmt.setLong(2, partition);
             stmt.setString(3, cursor.getKey());
 
             Futures.addCallback(executeAsyncWrite(tenantId, stmt), new FutureCallback<ResultSet>() {
                 @Override
                 public void onSuccess(@Nullable ResultSet result) {
+                    // Invalidated once the marker is gone, so a concurrent save can't re-cache it before the delete.
+                    // Other nodes are invalidated by the cluster notification sent after the whole delete
+                    if (partitionsCache != null) {
+                        partitionsCache.invalidate(new PartitionCacheKey(cursor.getEntityType(), cursor.getEntityId(), cursor.getKey(), partition));
+                    }
                     deletePartitionAsync(tenantId, cursor, resultFuture);
                 }
 
@@ -656,6 +784,14 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
         return entries;
     }
 
+    private List<TsKvEntry> convertResultToLatestTsKvEntryList(Collection<String> keys, List<Row> rows) {
+        Map<String, Row> rowsByKey = new HashMap<>();
+        rows.forEach(row -> rowsByKey.put(row.getString(ModelConstants.KEY_COLUMN), row));
+        List<TsKvEntry> entries = new ArrayList<>(keys.size());
+        keys.forEach(key -> entries.add(convertResultToTsKvEntry(key, rowsByKey.get(key))));
+        return entries;
+    }
+
     private TsKvEntry convertResultToTsKvEntry(String key, Row row) {
         if (row != null) {
             long ts = row.getLong(ModelConstants.TS_COLUMN);
@@ -848,6 +984,24 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
         return findLatestStmt;
     }
 
+    private PreparedStatement getFindLatestByKeysStmt() {
+        if (findLatestByKeysStmt == null) {
+            findLatestByKeysStmt = prepare(SELECT_PREFIX +
+                    ModelConstants.KEY_COLUMN + "," +
+                    ModelConstants.TS_COLUMN + "," +
+                    ModelConstants.STRING_VALUE_COLUMN + "," +
+                    ModelConstants.BOOLEAN_VALUE_COLUMN + "," +
+                    ModelConstants.LONG_VALUE_COLUMN + "," +
+                    ModelConstants.DOUBLE_VALUE_COLUMN + "," +
+                    ModelConstants.JSON_VALUE_COLUMN + " " +
+                    "FROM " + ModelConstants.TS_KV_LATEST_CF + " " +
+                    "WHERE " + ModelConstants.ENTITY_TYPE_COLUMN + EQUALS_PARAM +
+                    "AND " + ModelConstants.ENTITY_ID_COLUMN + EQUALS_PARAM +
+                    "AND " + ModelConstants.KEY_COLUMN + " IN ? ");
+        }
+        return findLatestByKeysStmt;
+    }
+
     private PreparedStatement getFindAllLatestStmt() {
         if (findAllLatestStmt == null) {
             findAllLatestStmt = prepare(SELECT_PREFIX +
@@ -907,4 +1061,12 @@ public class CassandraBaseTimeseriesDao extends CassandraAbstractAsyncDao implem
         }
     }
 
+    @Data
+    private static class PartitionCacheKey {
+        private final String entityType;
+        private final UUID entityId;
+        private final String key;
+        private final long partition;
+    }
+
 }
@@ -0,0 +1,267 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.timeseries;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.sunflower.server.common.data.id.EntityId;
+import com.sunflower.server.common.data.id.TenantId;
+import com.sunflower.server.dao.model.ModelConstants;
+import com.sunflower.server.dao.nosql.CassandraAbstractAsyncDao;
+import com.sunflower.server.dao.util.NoSqlTsDao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+@NoSqlTsDao
+public class CassandraTsKvRollupDao extends CassandraAbstractAsyncDao implements TsKvRollupDao {
+
+    private static final String TS_KV_ROLLUP_CF = "ts_kv_rollup_cf";
+    private static final String TS_KV_ROLLUP_COVERAGE_CF = "ts_kv_rollup_coverage_cf";
+    private static final String GRANULARITY_COLUMN = "granularity";
+    private static final String ROLLUP_COLUMNS = "ts, long_count, long_sum, long_min, long_max, dbl_count, dbl_sum, dbl_min, dbl_max, other_count";
+    private static final String PARTITION_KEY_CONDITION = ModelConstants.ENTITY_TYPE_COLUMN + " = ? AND " + ModelConstants.ENTITY_ID_COLUMN + " = ? AND " +
+            ModelConstants.KEY_COLUMN + " = ? AND " + GRANULARITY_COLUMN + " = ? AND " + ModelConstants.PARTITION_COLUMN + " = ? ";
+    private static final String COVERAGE_KEY_CONDITION = ModelConstants.ENTITY_TYPE_COLUMN + " = ? AND " + ModelConstants.ENTITY_ID_COLUMN + " = ? AND " +
+            ModelConstants.KEY_COLUMN + " = ? AND " + GRANULARITY_COLUMN + " = ? ";
+
+    @Value("${cassandra.query.ts_key_value_ttl}")
+    private long systemTtl;
+
+    private PreparedStatement findStmt;
+    private PreparedStatement saveStmt;
+    private PreparedStatement deleteStmt;
+    private PreparedStatement findCoverageStmt;
+    private PreparedStatement saveCoverageStmt;
+    private PreparedStatement deleteCoverageStmt;
+
+    @Override
+    public ListenableFuture<List<TsKvRollup>> findAllAsync(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity, long startTs, long endTs) {
+        List<ResultSetFuture> futures = new ArrayList<>();
+        long partition = granularity.toPartitionTs(startTs);
+        long maxPartition = granularity.toPartitionTs(endTs);
+        while (true) {
+            BoundStatement stmt = getFindStmt().bind();
+            bindPartitionKey(stmt, entityId, key, granularity, partition);
+            stmt.setLong(5, startTs);
+            stmt.setLong(6, endTs);
+            futures.add(executeAsyncRead(tenantId, stmt));
+            if (partition >= maxPartition || granularity.getPartitionDuration() == 0) {
+                break;
+            }
+            partition += granularity.getPartitionDuration();
+        }
+        return Futures.transform(Futures.allAsList(futures), resultSets -> {
+            List<TsKvRollup> rollups = new ArrayList<>();
+            resultSets.forEach(rs -> rs.forEach(row -> rollups.add(toRollup(row))));
+            return rollups;
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Saves with the computation time as the write timestamp, so the last computed rollup wins without a lightweight transaction.
+     */
+    @Override
+    public void save(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity, TsKvRollup rollup, long computedTs) {
+        BoundStatement stmt = getSaveStmt().bind();
+        bindPartitionKey(stmt, entityId, key, granularity, granularity.toPartitionTs(rollup.getTs()));
+        stmt.setLong(5, rollup.getTs());
+        bindValues(stmt, 6, rollup);
+        stmt.setInt(15, computeTtl(rollup.getTtl()));
+        stmt.setLong(16, TimeUnit.MILLISECONDS.toMicros(computedTs));
+        executeWrite(tenantId, stmt);
+    }
+
+    @Override
+    public void remove(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity, long startTs, long endTs) {
+        long partition = granularity.toPartitionTs(startTs);
+        long maxPartition = granularity.toPartitionTs(endTs);
+        while (true) {
+            BoundStatement stmt = getDeleteStmt().bind();
+            bindPartitionKey(stmt, entityId, key, granularity, partition);
+            stmt.setLong(5, startTs);
+            stmt.setLong(6, endTs);
+            executeWrite(tenantId, stmt);
+            if (partition >= maxPartition || granularity.getPartitionDuration() == 0) {
+                break;
+            }
+            partition += granularity.getPartitionDuration();
+        }
+    }
+
+    @Override
+    public Long findCoverageStart(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity) {
+        BoundStatement stmt = getFindCoverageStmt().bind();
+        bindCoverageKey(stmt, entityId, key, granularity);
+        Row row = executeRead(tenantId, stmt).one();
+        return row != null ? row.getLong(ModelConstants.TS_COLUMN) : null;
+    }
+
+    @Override
+    public ListenableFuture<Long> findCoverageStartAsync(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity) {
+        BoundStatement stmt = getFindCoverageStmt().bind();
+        bindCoverageKey(stmt, entityId, key, granularity);
+        return getFuture(executeAsyncRead(tenantId, stmt), rs -> {
+            Row row = rs.one();
+            return row != null ? row.getLong(ModelConstants.TS_COLUMN) : null;
+        });
+    }
+
+    @Override
+    public void saveCoverageStart(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity, long ts) {
+        BoundStatement stmt = getSaveCoverageStmt().bind();
+        bindCoverageKey(stmt, entityId, key, granularity);
+        stmt.setLong(4, ts);
+        executeWrite(tenantId, stmt);
+    }
+
+    @Override
+    public void removeCoverageStart(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity) {
+        BoundStatement stmt = getDeleteCoverageStmt().bind();
+        bindCoverageKey(stmt, entityId, key, granularity);
+        executeWrite(tenantId, stmt);
+    }
+
+    private void bindPartitionKey(BoundStatement stmt, EntityId entityId, String key, RollupGranularity granularity, long partition) {
+        bindPartitionKey(stmt, 0, entityId, key, granularity, partition);
+    }
+
+    private void bindPartitionKey(BoundStatement stmt, int idx, EntityId entityId, String key, RollupGranularity granularity, long partition) {
+        stmt.setString(idx, entityId.getEntityType().name());
+        stmt.setUUID(idx + 1, entityId.getId());
+        stmt.setString(idx + 2, key);
+        stmt.setString(idx + 3, granularity.name());
+        stmt.setLong(idx + 4, partition);
+    }
+
+    /**
+     * Same TTL as the raw values get: the save TTL capped by the system TTL, the system TTL if the save has none.
+     * A rollup is rewritten with every recompute, so it outlives the last value saved into its bucket by the TTL.
+     */
+    private int computeTtl(long ttl) {
+        if (systemTtl > 0) {
+            ttl = ttl == 0 ? systemTtl : Math.min(systemTtl, ttl);
+        }
+        return (int) ttl;
+    }
+
+    private void bindValues(BoundStatement stmt, int idx, TsKvRollup rollup) {
+        stmt.setLong(idx, rollup.getLongCount());
+        stmt.setLong(idx + 1, rollup.getLongSum());
+        setLong(stmt, idx + 2, rollup.getLongMin());
+        setLong(stmt, idx + 3, rollup.getLongMax());
+        stmt.setLong(idx + 4, rollup.getDoubleCount());
+        stmt.setDouble(idx + 5, rollup.getDoubleSum());
+        setDouble(stmt, idx + 6, rollup.getDoubleMin());
+        setDouble(stmt, idx + 7, rollup.getDoubleMax());
+        stmt.setLong(idx + 8, rollup.getOtherCount());
+    }
+
+    private void bindCoverageKey(BoundStatement stmt, EntityId entityId, String key, RollupGranularity granularity) {
+        stmt.setString(0, entityId.getEntityType().name());
+        stmt.setUUID(1, entityId.getId());
+        stmt.setString(2, key);
+        stmt.setString(3, granularity.name());
+    }
+
+    private static void setLong(BoundStatement stmt, int idx, Long value) {
+        if (value != null) {
+            stmt.setLong(idx, value);
+        } else {
+            stmt.setToNull(idx);
+        }
+    }
+
+    private static void setDouble(BoundStatement stmt, int idx, Double value) {
+        if (value != null) {
+            stmt.setDouble(idx, value);
+        } else {
+            stmt.setToNull(idx);
+        }
+    }
+
+    private static TsKvRollup toRollup(Row row) {
+        TsKvRollup rollup = new TsKvRollup(row.getLong(0));
+        rollup.setLongCount(row.getLong(1));
+        rollup.setLongSum(row.getLong(2));
+        rollup.setLongMin(row.isNull(3) ? null : row.getLong(3));
+        rollup.setLongMax(row.isNull(4) ? null : row.getLong(4));
+        rollup.setDoubleCount(row.getLong(5));
+        rollup.setDoubleSum(row.getDouble(6));
+        rollup.setDoubleMin(row.isNull(7) ? null : row.getDouble(7));
+        rollup.setDoubleMax(row.isNull(8) ? null : row.getDouble(8));
+        rollup.setOtherCount(row.getLong(9));
+        return rollup;
+    }
+
+    private PreparedStatement getFindStmt() {
+        if (findStmt == null) {
+            findStmt = prepare("SELECT " + ROLLUP_COLUMNS + " FROM " + TS_KV_ROLLUP_CF + " WHERE " + PARTITION_KEY_CONDITION +
+                    "AND " + ModelConstants.TS_COLUMN + " >= ? AND " + ModelConstants.TS_COLUMN + " < ?");
+        }
+        return findStmt;
+    }
+
+    private PreparedStatement getSaveStmt() {
+        if (saveStmt == null) {
+            saveStmt = prepare("INSERT INTO " + TS_KV_ROLLUP_CF + " (" + ModelConstants.ENTITY_TYPE_COLUMN + ", " + ModelConstants.ENTITY_ID_COLUMN + ", " +
+                    ModelConstants.KEY_COLUMN + ", " + GRANULARITY_COLUMN + ", " + ModelConstants.PARTITION_COLUMN + ", " + ROLLUP_COLUMNS + ")" +
+                    " VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) USING TTL ? AND TIMESTAMP ?");
+        }
+        return saveStmt;
+    }
+
+    private PreparedStatement getDeleteStmt() {
+        if (deleteStmt == null) {
+            deleteStmt = prepare("DELETE FROM " + TS_KV_ROLLUP_CF + " WHERE " + PARTITION_KEY_CONDITION +
+                    "AND " + ModelConstants.TS_COLUMN + " >= ? AND " + ModelConstants.TS_COLUMN + " < ?");
+        }
+        return deleteStmt;
+    }
+
+    private PreparedStatement getFindCoverageStmt() {
+        if (findCoverageStmt == null) {
+            findCoverageStmt = prepare("SELECT " + ModelConstants.TS_COLUMN + " FROM " + TS_KV_ROLLUP_COVERAGE_CF + " WHERE " + COVERAGE_KEY_CONDITION);
+        }
+        return findCoverageStmt;
+    }
+
+    private PreparedStatement getSaveCoverageStmt() {
+        if (saveCoverageStmt == null) {
+            saveCoverageStmt = prepare("INSERT INTO " + TS_KV_ROLLUP_COVERAGE_CF + " (" + ModelConstants.ENTITY_TYPE_COLUMN + ", " + ModelConstants.ENTITY_ID_COLUMN + ", " +
+                    ModelConstants.KEY_COLUMN + ", " + GRANULARITY_COLUMN + ", " + ModelConstants.TS_COLUMN + ") VALUES(?, ?, ?, ?, ?) IF NOT EXISTS");
+        }
+        return saveCoverageStmt;
+    }
+
+    private PreparedStatement getDeleteCoverageStmt() {
+        if (deleteCoverageStmt == null) {
+            deleteCoverageStmt = prepare("DELETE FROM " + TS_KV_ROLLUP_COVERAGE_CF + " WHERE " + COVERAGE_KEY_CONDITION);
+        }
+        return deleteCoverageStmt;
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.timeseries;
+
+import lombok.Getter;
+
+/**
+ * Bucket sizes of the telemetry rollups. A bucket covers the (ts, ts + duration] interval, like the aggregation queries do.
+ */
+public enum RollupGranularity {
+
+    MINUTE(60000L, 86400000L),
+    HOUR(3600000L, 2592000000L),
+    DAY(86400000L, 0L);
+
+    @Getter
+    private final long duration;
+    @Getter
+    private final long partitionDuration;
+
+    RollupGranularity(long duration, long partitionDuration) {
+        this.duration = duration;
+        this.partitionDuration = partitionDuration;
+    }
+
+    public long toBucketTs(long ts) {
+        return Math.floorDiv(ts - 1, duration) * duration;
+    }
+
+    public long toPartitionTs(long bucketTs) {
+        return partitionDuration > 0 ? Math.floorDiv(bucketTs, partitionDuration) * partitionDuration : 0L;
+    }
+}
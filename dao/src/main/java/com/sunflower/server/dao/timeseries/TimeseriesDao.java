@@ -22,7 +22,9 @@ import com.sunflower.server.common.data.kv.DeleteTsKvQuery;
 import com.sunflower.server.common.data.kv.ReadTsKvQuery;
 import com.sunflower.server.common.data.kv.TsKvEntry;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Andrew Shvayka
@@ -33,10 +35,16 @@ public interface TimeseriesDao {
 
     ListenableFuture<TsKvEntry> findLatest(TenantId tenantId, EntityId entityId, String key);
 
+    ListenableFuture<List<TsKvEntry>> findLatest(TenantId tenantId, EntityId entityId, Collection<String> keys);
+
+    ListenableFuture<Map<EntityId, List<TsKvEntry>>> findLatest(TenantId tenantId, Collection<EntityId> entityIds, Collection<String> keys);
+
     ListenableFuture<List<TsKvEntry>> findAllLatest(TenantId tenantId, EntityId entityId);
 
     ListenableFuture<Void> save(TenantId tenantId, EntityId entityId, TsKvEntry tsKvEntry, long ttl);
 
+    ListenableFuture<Void> save(TenantId tenantId, EntityId entityId, List<TsKvEntry> tsKvEntries, long ttl);
+
     ListenableFuture<Void> savePartition(TenantId tenantId, EntityId entityId, long tsKvEntryTs, String key, long ttl);
 
     ListenableFuture<Void> saveLatest(TenantId tenantId, EntityId entityId, TsKvEntry tsKvEntry);
@@ -46,4 +54,6 @@ public interface TimeseriesDao {
     ListenableFuture<Void> removeLatest(TenantId tenantId, EntityId entityId, DeleteTsKvQuery query);
 
     ListenableFuture<Void> removePartition(TenantId tenantId, EntityId entityId, DeleteTsKvQuery query);
+
+    void invalidatePartitions(EntityId entityId, String key);
 }
@@ -0,0 +1,145 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.timeseries;
+
+import lombok.Data;
+import com.sunflower.server.common.data.kv.Aggregation;
+import com.sunflower.server.common.data.kv.BasicTsKvEntry;
+import com.sunflower.server.common.data.kv.DataType;
+import com.sunflower.server.common.data.kv.DoubleDataEntry;
+import com.sunflower.server.common.data.kv.LongDataEntry;
+import com.sunflower.server.common.data.kv.TsKvEntry;
+
+import java.util.Optional;
+
+/**
+ * Aggregate of one key in one rollup bucket, computed from the raw values of the bucket or merged from the finer rollups.
+ * Only numeric values are aggregated; the rest is counted so that such buckets are served from the raw values.
+ */
+@Data
+public class TsKvRollup {
+
+    private long ts;
+    private long longCount;
+    private long longSum;
+    private Long longMin;
+    private Long longMax;
+    private long doubleCount;
+    private double doubleSum;
+    private Double doubleMin;
+    private Double doubleMax;
+    private long otherCount;
+    /**
+     * TTL of the raw values in seconds, as passed to the save, 0 for the default TTL. Not stored with the rollup.
+     */
+    private long ttl;
+
+    public TsKvRollup() {
+    }
+
+    public TsKvRollup(long ts) {
+        this.ts = ts;
+    }
+
+    public void add(TsKvEntry entry) {
+        if (entry.getDataType() == DataType.LONG) {
+            long value = entry.getLongValue().orElse(0L);
+            longCount++;
+            longSum += value;
+            longMin = longMin == null ? value : Math.min(longMin, value);
+            longMax = longMax == null ? value : Math.max(longMax, value);
+        } else if (entry.getDataType() == DataType.DOUBLE) {
+            double value = entry.getDoubleValue().orElse(0.0d);
+            doubleCount++;
+            doubleSum += value;
+            doubleMin = doubleMin == null ? value : Math.min(doubleMin, value);
+            doubleMax = doubleMax == null ? value : Math.max(doubleMax, value);
+        } else {
+            otherCount++;
+        }
+    }
+
+    public void merge(TsKvRollup other) {
+        longCount += other.longCount;
+        longSum += other.longSum;
+        longMin = min(longMin, other.longMin);
+        longMax = max(longMax, other.longMax);
+        doubleCount += other.doubleCount;
+        doubleSum += other.doubleSum;
+        doubleMin = min(doubleMin, other.doubleMin);
+        doubleMax = max(doubleMax, other.doubleMax);
+        otherCount += other.otherCount;
+    }
+
+    public boolean isNumeric() {
+        return otherCount == 0;
+    }
+
+    /**
+     * Converts the aggregate to the entry the raw aggregation query would return for the same interval.
+     */
+    public Optional<TsKvEntry> toTsKvEntry(String key, Aggregation aggregation, long ts) {
+        if (longCount + doubleCount == 0) {
+            return Optional.empty();
+        }
+        boolean hasDouble = doubleCount > 0;
+        switch (aggregation) {
+            case COUNT:
+                return Optional.of(new BasicTsKvEntry(ts, new LongDataEntry(key, longCount + doubleCount)));
+            case SUM:
+            case AVG:
+                if (aggregation == Aggregation.AVG || hasDouble) {
+                    double sum = doubleSum + longSum;
+                    double value = aggregation == Aggregation.SUM ? sum : sum / (longCount + doubleCount);
+                    return Optional.of(new BasicTsKvEntry(ts, new DoubleDataEntry(key, value)));
+                } else {
+                    return Optional.of(new BasicTsKvEntry(ts, new LongDataEntry(key, longSum)));
+                }
+            case MIN:
+                if (hasDouble) {
+                    double value = longMin != null ? Math.min(doubleMin, longMin) : doubleMin;
+                    return Optional.of(new BasicTsKvEntry(ts, new DoubleDataEntry(key, value)));
+                } else {
+                    return Optional.of(new BasicTsKvEntry(ts, new LongDataEntry(key, longMin)));
+                }
+            case MAX:
+                if (hasDouble) {
+                    double value = longMax != null ? Math.max(doubleMax, longMax) : doubleMax;
+                    return Optional.of(new BasicTsKvEntry(ts, new DoubleDataEntry(key, value)));
+                } else {
+                    return Optional.of(new BasicTsKvEntry(ts, new LongDataEntry(key, longMax)));
+                }
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static Long min(Long a, Long b) {
+        return a == null ? b : (b == null ? a : Math.min(a, b));
+    }
+
+    private static Long max(Long a, Long b) {
+        return a == null ? b : (b == null ? a : Math.max(a, b));
+    }
+
+    private static Double min(Double a, Double b) {
+        return a == null ? b : (b == null ? a : Math.min(a, b));
+    }
+
+    private static Double max(Double a, Double b) {
+        return a == null ? b : (b == null ? a : Math.max(a, b));
+    }
+}
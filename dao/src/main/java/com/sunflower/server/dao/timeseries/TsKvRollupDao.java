@@ -0,0 +1,52 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.timeseries;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.sunflower.server.common.data.id.EntityId;
+import com.sunflower.server.common.data.id.TenantId;
+
+import java.util.List;
+
+public interface TsKvRollupDao {
+
+    /**
+     * Finds the rollups of the buckets that start within the [startTs, endTs) interval.
+     */
+    ListenableFuture<List<TsKvRollup>> findAllAsync(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity, long startTs, long endTs);
+
+    /**
+     * Replaces the stored rollup of the same bucket unless it was computed after computedTs,
+     * so of the concurrent recomputes of a bucket on several nodes the one that read the values last is kept.
+     */
+    void save(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity, TsKvRollup rollup, long computedTs);
+
+    void remove(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity, long startTs, long endTs);
+
+    /**
+     * Returns the timestamp from which the rollups of the key are complete, or null if they were never collected.
+     */
+    Long findCoverageStart(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity);
+
+    ListenableFuture<Long> findCoverageStartAsync(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity);
+
+    /**
+     * Saves the coverage start unless the key already has one, so the first node that flushes the key decides it.
+     */
+    void saveCoverageStart(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity, long ts);
+
+    void removeCoverageStart(TenantId tenantId, EntityId entityId, String key, RollupGranularity granularity);
+}
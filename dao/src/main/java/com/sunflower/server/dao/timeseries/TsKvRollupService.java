@@ -0,0 +1,548 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.timeseries;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.sunflower.common.util.ThingsBoardThreadFactory;
+import com.sunflower.server.common.data.EntityType;
+import com.sunflower.server.common.data.id.EntityId;
+import com.sunflower.server.common.data.id.TenantId;
+import com.sunflower.server.common.data.kv.Aggregation;
+import com.sunflower.server.common.data.kv.BaseReadTsKvQuery;
+import com.sunflower.server.common.data.kv.DeleteTsKvQuery;
+import com.sunflower.server.common.data.kv.ReadTsKvQuery;
+import com.sunflower.server.common.data.kv.TsKvEntry;
+
+import javax.annotation.Nullable;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains per-minute, per-hour and per-day aggregates of the saved telemetry and serves MIN, MAX, AVG, SUM and COUNT aggregation queries
+ * with a matching interval from them.
+ * <p>
+ * Successfully saved values mark their buckets dirty in memory. Every flush interval the dirty buckets are recomputed:
+ * the finest granularity from the raw values, the coarser ones from the rollups of the next finer granularity.
+ * A recomputed rollup replaces the stored one unless that one was computed later by another node, so a value that is saved
+ * twice or overwritten with the same timestamp is aggregated like the raw query does it.
+ * A bucket that failed to be recomputed stays dirty for up to the max flush attempts; after that the key loses its coverage.
+ * A bucket that does not fit into the max pending buckets is not tracked at all, and its key loses its coverage with the next flush.
+ * Queries read the values saved within the last max flush attempts + 1 flush intervals from the raw values, so they never get
+ * a bucket that is still dirty on some node.
+ * <p>
+ * Rollups of a key are served only from the coverage start: the first bucket that began after the key was first flushed,
+ * so data saved before the rollups were enabled is never served from incomplete rollups.
+ * Removing telemetry resets the coverage of the key. The coverage is read with every query, only the flush caches
+ * it; a stale entry after a removal on another node merely delays the new coverage start,
+ * so the key is served from the raw values meanwhile.
+ * Rollups expire together with the raw values: with the save TTL on Cassandra and with the TTL clean up on PostgreSQL.
+ */
+@Service
+@Slf4j
+public class TsKvRollupService {
+
+    private static final int RAW_VALUES_BATCH_SIZE = 10000;
+
+    @Value("${database.ts.rollup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${database.ts.rollup.granularities:MINUTE,HOUR,DAY}")
+    private String granularitiesConfiguration;
+
+    @Value("${database.ts.rollup.flush_interval_ms:10000}")
+    private long flushIntervalMs;
+
+    @Value("${database.ts.rollup.flush_threads:4}")
+    private int flushThreads;
+
+    @Value("${database.ts.rollup.max_flush_attempts:3}")
+    private int maxFlushAttempts;
+
+    @Value("${database.ts.rollup.max_pending_buckets:1000000}")
+    private int maxPendingBuckets;
+
+    @Value("${database.ts.rollup.coverage_cache_size:1000000}")
+    private long coverageCacheSize;
+
+    @Value("${database.ts.rollup.coverage_cache_ttl_ms:60000}")
+    private long coverageCacheTtlMs;
+
+    @Autowired
+    private TsKvRollupDao rollupDao;
+
+    @Autowired
+    private TimeseriesDao timeseriesDao;
+
+    private List<RollupGranularity> granularities;
+    private final ConcurrentMap<RollupKey, DirtyBucket> pending = new ConcurrentHashMap<>();
+    // Keys whose coverage must be reset, as their rollups could not be recomputed or their buckets did not fit into the pending map
+    private final Set<EntityKey> uncoveredKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicLong droppedBuckets = new AtomicLong();
+    private Cache<CoverageKey, Long> coverageCache;
+    private ScheduledExecutorService scheduler;
+    private ListeningExecutorService flushExecutor;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            granularities = parseGranularities(granularitiesConfiguration);
+            coverageCache = CacheBuilder.newBuilder()
+                    .maximumSize(coverageCacheSize)
+                    .expireAfterWrite(coverageCacheTtlMs, TimeUnit.MILLISECONDS)
+                    .build();
+            flushExecutor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(flushThreads, ThingsBoardThreadFactory.forName("ts-rollup-flush")));
+            scheduler = Executors.newSingleThreadScheduledExecutor(ThingsBoardThreadFactory.forName("ts-rollup-scheduler"));
+            scheduler.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+            log.info("Telemetry rollups enabled for {}", granularities);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            flush();
+        }
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Marks the buckets of the entries dirty once the raw values are saved, so that a failed save never shows up in the rollups.
+     */
+    public void onSave(TenantId tenantId, EntityId entityId, Collection<TsKvEntry> entries, long ttl, ListenableFuture<Void> saveFuture) {
+        if (!enabled || entityId.getEntityType() == EntityType.ENTITY_VIEW) {
+            return;
+        }
+        Futures.addCallback(saveFuture, new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(@Nullable Void result) {
+                addToPending(tenantId, entityId, entries, ttl);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void addToPending(TenantId tenantId, EntityId entityId, Collection<TsKvEntry> entries, long ttl) {
+        for (TsKvEntry entry : entries) {
+            for (RollupGranularity granularity : granularities) {
+                RollupKey rollupKey = new RollupKey(tenantId, entityId, entry.getKey(), granularity, granularity.toBucketTs(entry.getTs()));
+                DirtyBucket dirtyBucket = pending.compute(rollupKey, (k, bucket) -> {
+                    if (bucket == null) {
+                        if (pending.size() >= maxPendingBuckets) {
+                            return null;
+                        }
+                        bucket = new DirtyBucket();
+                        bucket.setTtl(ttl);
+                    } else {
+                        bucket.mergeTtl(ttl);
+                    }
+                    return bucket;
+                });
+                if (dirtyBucket == null) {
+                    droppedBuckets.incrementAndGet();
+                    uncoveredKeys.add(new EntityKey(rollupKey));
+                }
+            }
+        }
+    }
+
+    public ListenableFuture<Void> onRemove(TenantId tenantId, EntityId entityId, DeleteTsKvQuery query) {
+        if (!enabled) {
+            return Futures.immediateFuture(null);
+        }
+        return flushExecutor.submit(() -> {
+            resetCoverage(new EntityKey(tenantId, entityId, query.getKey()));
+            for (RollupGranularity granularity : granularities) {
+                rollupDao.remove(tenantId, entityId, query.getKey(), granularity,
+                        granularity.toBucketTs(query.getStartTs()), granularity.toBucketTs(query.getEndTs()) + granularity.getDuration());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns the coarsest granularity the query can be served with, or null if the query is served from the raw values.
+     */
+    public RollupGranularity getGranularity(ReadTsKvQuery query) {
+        if (!enabled || query.getAggregation() == Aggregation.NONE || query.getInterval() <= 0) {
+            return null;
+        }
+        RollupGranularity result = null;
+        for (RollupGranularity granularity : granularities) {
+            long duration = granularity.getDuration();
+            if (query.getInterval() % duration == 0 && query.getStartTs() % duration == 0
+                    && (result == null || duration > result.getDuration())) {
+                result = granularity;
+            }
+        }
+        return result;
+    }
+
+    public ListenableFuture<List<TsKvEntry>> findAllAsync(TenantId tenantId, EntityId entityId, ReadTsKvQuery query, RollupGranularity granularity,
+                                                          Function<ReadTsKvQuery, ListenableFuture<List<TsKvEntry>>> rawQueryFunction) {
+        long step = query.getInterval();
+        long startTs = query.getStartTs();
+        // Recent buckets may still be dirty on this or other nodes, including the ones being retried
+        long flushedTs = System.currentTimeMillis() - (maxFlushAttempts + 1) * flushIntervalMs;
+        // Only whole intervals are served from the rollups. The interval is a multiple of the bucket duration, so the split is aligned
+        // to both, and the partial interval at the end of the query is aggregated from the raw values like the raw query does
+        long intervals = Math.max(0, (Math.min(flushedTs, query.getEndTs()) - startTs) / step);
+        long splitTs = startTs + intervals * step;
+        if (splitTs <= startTs) {
+            return rawQueryFunction.apply(query);
+        }
+        ListenableFuture<Long> coverageFuture = rollupDao.findCoverageStartAsync(tenantId, entityId, query.getKey(), granularity);
+        return Futures.transformAsync(coverageFuture, coverageStart -> {
+            if (coverageStart == null || startTs < coverageStart) {
+                return rawQueryFunction.apply(query);
+            }
+            return findRollupsAsync(tenantId, entityId, query, granularity, splitTs, rawQueryFunction);
+        }, MoreExecutors.directExecutor());
+    }
+
+    private ListenableFuture<List<TsKvEntry>> findRollupsAsync(TenantId tenantId, EntityId entityId, ReadTsKvQuery query, RollupGranularity granularity, long splitTs,
+                                                               Function<ReadTsKvQuery, ListenableFuture<List<TsKvEntry>>> rawQueryFunction) {
+        long step = query.getInterval();
+        ListenableFuture<List<TsKvRollup>> rollupsFuture = rollupDao.findAllAsync(tenantId, entityId, query.getKey(), granularity, query.getStartTs(), splitTs);
+        return Futures.transformAsync(rollupsFuture, rollups -> {
+            if (rollups.stream().anyMatch(rollup -> !rollup.isNumeric())) {
+                return rawQueryFunction.apply(query);
+            }
+            List<TsKvEntry> result = toTsKvEntries(query, rollups);
+            if (splitTs < query.getEndTs()) {
+                ReadTsKvQuery tailQuery = new BaseReadTsKvQuery(query.getKey(), splitTs, query.getEndTs(), step, query.getLimit(), query.getAggregation(), query.getOrderBy());
+                return Futures.transform(rawQueryFunction.apply(tailQuery), tail -> {
+                    result.addAll(tail);
+                    return result;
+                }, MoreExecutors.directExecutor());
+            }
+            return Futures.immediateFuture(result);
+        }, MoreExecutors.directExecutor());
+    }
+
+    private List<TsKvEntry> toTsKvEntries(ReadTsKvQuery query, List<TsKvRollup> rollups) {
+        long step = query.getInterval();
+        List<TsKvEntry> result = new ArrayList<>();
+        TsKvRollup interval = null;
+        long intervalTs = 0;
+        List<TsKvRollup> sorted = new ArrayList<>(rollups);
+        sorted.sort(Comparator.comparingLong(TsKvRollup::getTs));
+        for (TsKvRollup rollup : sorted) {
+            long ts = query.getStartTs() + (rollup.getTs() - query.getStartTs()) / step * step;
+            if (interval == null || ts != intervalTs) {
+                if (interval != null) {
+                    interval.toTsKvEntry(query.getKey(), query.getAggregation(), intervalTs + step / 2).ifPresent(result::add);
+                }
+                interval = new TsKvRollup(ts);
+                intervalTs = ts;
+            }
+            interval.merge(rollup);
+        }
+        if (interval != null) {
+            interval.toTsKvEntry(query.getKey(), query.getAggregation(), intervalTs + step / 2).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    private void flush() {
+        long dropped = droppedBuckets.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("Dropped [{}] dirty telemetry rollup buckets over the max pending buckets, resetting the coverage of their keys", dropped);
+        }
+        resetUncoveredKeys();
+        if (pending.isEmpty()) {
+            return;
+        }
+        long startTs = System.currentTimeMillis();
+        Map<RollupKey, DirtyBucket> buckets = new HashMap<>();
+        for (RollupKey rollupKey : pending.keySet()) {
+            DirtyBucket bucket = pending.remove(rollupKey);
+            if (bucket != null) {
+                buckets.put(rollupKey, bucket);
+            }
+        }
+        // Coarser buckets are recomputed from the finer ones, so they wait for the failed finer buckets
+        Set<RollupKey> blockedKeys = ConcurrentHashMap.newKeySet();
+        Set<EntityKey> failedKeys = ConcurrentHashMap.newKeySet();
+        for (RollupGranularity granularity : granularities) {
+            List<Future<?>> futures = new ArrayList<>();
+            buckets.forEach((rollupKey, bucket) -> {
+                if (rollupKey.getGranularity() != granularity) {
+                    return;
+                }
+                if (blockedKeys.contains(rollupKey)) {
+                    onRecomputeFailure(rollupKey, bucket, blockedKeys, failedKeys);
+                    return;
+                }
+                futures.add(flushExecutor.submit(() -> {
+                    try {
+                        recompute(rollupKey, bucket);
+                    } catch (Exception e) {
+                        onRecomputeFailure(rollupKey, bucket, blockedKeys, failedKeys);
+                        throw e;
+                    }
+                    return null;
+                }));
+            });
+            if (!await(futures, "Failed to recompute telemetry rollup")) {
+                return;
+            }
+        }
+        List<Future<?>> futures = new ArrayList<>();
+        buckets.keySet().stream().map(EntityKey::new).distinct()
+                .filter(entityKey -> !failedKeys.contains(entityKey) && !uncoveredKeys.contains(entityKey))
+                .forEach(entityKey -> futures.add(flushExecutor.submit(() -> updateCoverage(entityKey))));
+        await(futures, "Failed to update telemetry rollup coverage");
+        long duration = System.currentTimeMillis() - startTs;
+        if (duration > flushIntervalMs) {
+            log.warn("Recomputing [{}] telemetry rollups took [{}] ms, longer than the flush interval", buckets.size(), duration);
+        } else {
+            log.debug("Recomputed [{}] telemetry rollups in [{}] ms", buckets.size(), duration);
+        }
+    }
+
+    private boolean await(List<Future<?>> futures, String errorMessage) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                log.warn(errorMessage, e.getCause());
+            }
+        }
+        return true;
+    }
+
+    private void recompute(RollupKey rollupKey, DirtyBucket bucket) throws Exception {
+        // Taken before reading, so a recompute that read later wins even if it is saved first
+        long computedTs = System.currentTimeMillis();
+        int idx = granularities.indexOf(rollupKey.getGranularity());
+        TsKvRollup rollup = idx == 0 ? recomputeFromRaw(rollupKey) : recomputeFromRollups(rollupKey, granularities.get(idx - 1));
+        rollup.setTtl(bucket.getTtl());
+        rollupDao.save(rollupKey.getTenantId(), rollupKey.getEntityId(), rollupKey.getKey(), rollupKey.getGranularity(), rollup, computedTs);
+    }
+
+    private TsKvRollup recomputeFromRaw(RollupKey rollupKey) throws Exception {
+        TsKvRollup rollup = new TsKvRollup(rollupKey.getBucketTs());
+        long startTs = rollupKey.getBucketTs();
+        long endTs = startTs + rollupKey.getGranularity().getDuration();
+        while (true) {
+            ReadTsKvQuery query = new BaseReadTsKvQuery(rollupKey.getKey(), startTs, endTs, RAW_VALUES_BATCH_SIZE, "ASC");
+            List<TsKvEntry> entries = timeseriesDao.findAllAsync(rollupKey.getTenantId(), rollupKey.getEntityId(), Collections.singletonList(query)).get();
+            entries.forEach(rollup::add);
+            if (entries.size() < RAW_VALUES_BATCH_SIZE) {
+                return rollup;
+            }
+            startTs = entries.get(entries.size() - 1).getTs();
+        }
+    }
+
+    private TsKvRollup recomputeFromRollups(RollupKey rollupKey, RollupGranularity finer) throws Exception {
+        TsKvRollup rollup = new TsKvRollup(rollupKey.getBucketTs());
+        long startTs = rollupKey.getBucketTs();
+        long endTs = startTs + rollupKey.getGranularity().getDuration();
+        rollupDao.findAllAsync(rollupKey.getTenantId(), rollupKey.getEntityId(), rollupKey.getKey(), finer, startTs, endTs).get().forEach(rollup::merge);
+        return rollup;
+    }
+
+    private void onRecomputeFailure(RollupKey rollupKey, DirtyBucket bucket, Set<RollupKey> blockedKeys, Set<EntityKey> failedKeys) {
+        RollupGranularity granularity = rollupKey.getGranularity();
+        long bucketEndTs = rollupKey.getBucketTs() + granularity.getDuration();
+        for (RollupGranularity coarser : granularities) {
+            if (coarser.getDuration() > granularity.getDuration()) {
+                blockedKeys.add(new RollupKey(rollupKey.getTenantId(), rollupKey.getEntityId(), rollupKey.getKey(), coarser, coarser.toBucketTs(bucketEndTs)));
+            }
+        }
+        EntityKey entityKey = new EntityKey(rollupKey);
+        failedKeys.add(entityKey);
+        bucket.setAttempts(bucket.getAttempts() + 1);
+        if (bucket.getAttempts() < maxFlushAttempts) {
+            pending.merge(rollupKey, bucket, DirtyBucket::merge);
+        } else {
+            // Queries read the raw values only for the retry window, so the key must not be served from the rollups any longer
+            log.warn("[{}][{}] Failed to recompute telemetry rollup of bucket [{}] in {} attempts, resetting the coverage",
+                    rollupKey.getEntityId(), rollupKey.getKey(), rollupKey.getBucketTs(), maxFlushAttempts);
+            uncoveredKeys.add(entityKey);
+            resetUncoveredKey(entityKey);
+        }
+    }
+
+    private void resetUncoveredKeys() {
+        uncoveredKeys.forEach(this::resetUncoveredKey);
+    }
+
+    private void resetUncoveredKey(EntityKey entityKey) {
+        try {
+            resetCoverage(entityKey);
+            uncoveredKeys.remove(entityKey);
+        } catch (RuntimeException e) {
+            log.warn("[{}][{}] Failed to reset telemetry rollup coverage, retrying with the next flush", entityKey.getEntityId(), entityKey.getKey(), e);
+        }
+    }
+
+    /**
+     * Removes the coverage starting from the coarsest granularity, so a coarser coverage never outlives the finer one it is computed from.
+     */
+    private void resetCoverage(EntityKey entityKey) {
+        for (int i = granularities.size() - 1; i >= 0; i--) {
+            RollupGranularity granularity = granularities.get(i);
+            coverageCache.invalidate(new CoverageKey(entityKey.getEntityId(), entityKey.getKey(), granularity));
+            rollupDao.removeCoverageStart(entityKey.getTenantId(), entityKey.getEntityId(), entityKey.getKey(), granularity);
+        }
+    }
+
+    /**
+     * Starts the coverage after the buckets of the key are recomputed, so a failed first flush doesn't make the key servable.
+     * A coarser coverage starts no earlier than the finer one, as the coarser buckets are recomputed from the finer rollups.
+     */
+    private void updateCoverage(EntityKey entityKey) {
+        TenantId tenantId = entityKey.getTenantId();
+        EntityId entityId = entityKey.getEntityId();
+        String key = entityKey.getKey();
+        long now = System.currentTimeMillis();
+        Long finerStart = null;
+        for (RollupGranularity granularity : granularities) {
+            CoverageKey coverageKey = new CoverageKey(entityId, key, granularity);
+            Long coverageStart = coverageCache.getIfPresent(coverageKey);
+            if (coverageStart == null) {
+                coverageStart = rollupDao.findCoverageStart(tenantId, entityId, key, granularity);
+                if (coverageStart == null) {
+                    long ts = granularity.toBucketTs(now) + granularity.getDuration();
+                    if (finerStart != null) {
+                        ts = Math.max(ts, -Math.floorDiv(-finerStart, granularity.getDuration()) * granularity.getDuration());
+                    }
+                    rollupDao.saveCoverageStart(tenantId, entityId, key, granularity, ts);
+                    // Another node may have saved its coverage start first
+                    coverageStart = rollupDao.findCoverageStart(tenantId, entityId, key, granularity);
+                    if (coverageStart == null) {
+                        return;
+                    }
+                }
+                coverageCache.put(coverageKey, coverageStart);
+            }
+            finerStart = coverageStart;
+        }
+    }
+
+    private static List<RollupGranularity> parseGranularities(String configuration) {
+        if (configuration == null || configuration.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(configuration.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(s -> RollupGranularity.valueOf(s.toUpperCase()))
+                .distinct()
+                .sorted(Comparator.comparingLong(RollupGranularity::getDuration))
+                .collect(Collectors.toList());
+    }
+
+    @Data
+    private static class RollupKey {
+        private final TenantId tenantId;
+        private final EntityId entityId;
+        private final String key;
+        private final RollupGranularity granularity;
+        private final long bucketTs;
+    }
+
+    @Data
+    private static class EntityKey {
+        private final TenantId tenantId;
+        private final EntityId entityId;
+        private final String key;
+
+        EntityKey(TenantId tenantId, EntityId entityId, String key) {
+            this.tenantId = tenantId;
+            this.entityId = entityId;
+            this.key = key;
+        }
+
+        EntityKey(RollupKey rollupKey) {
+            this(rollupKey.getTenantId(), rollupKey.getEntityId(), rollupKey.getKey());
+        }
+    }
+
+    @Data
+    private static class CoverageKey {
+        private final EntityId entityId;
+        private final String key;
+        private final RollupGranularity granularity;
+    }
+
+    @Data
+    private static class DirtyBucket {
+        /**
+         * TTL of the raw values in seconds, as passed to the save, 0 for the default TTL.
+         */
+        private long ttl;
+        private int attempts;
+
+        /**
+         * Keeps the rollup as long as the longest living value: the default TTL (0) is never shorter than an explicit one.
+         */
+        void mergeTtl(long ttl) {
+            this.ttl = this.ttl == 0 || ttl == 0 ? 0 : Math.max(this.ttl, ttl);
+        }
+
+        DirtyBucket merge(DirtyBucket other) {
+            mergeTtl(other.ttl);
+            attempts = Math.max(attempts, other.attempts);
+            return this;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import javax.annotation.Nullable;
 import java.util.UUID;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 
 /**
@@ -39,17 +40,17 @@ import java.util.regex.Matcher;
 public abstract class AbstractBufferedRateExecutor<T extends AsyncTask, F extends ListenableFuture<V>, V> implements BufferedRateExecutor<T, F> {
 
     private final long maxWaitTime;
-    private final long pollMs;
-    private final BlockingQueue<AsyncTaskContext<T, V>> queue;
+    private final TenantFairQueue<AsyncTaskContext<T, V>> queue;
+    private final Semaphore permits;
     private final ExecutorService dispatcherExecutor;
     private final ExecutorService callbackExecutor;
     private final ScheduledExecutorService timeoutExecutor;
-    private final int concurrencyLimit;
     private final int printQueriesFreq;
     private final boolean perTenantLimitsEnabled;
     private final String perTenantLimitsConfiguration;
     private final ConcurrentMap<TenantId, TbRateLimits> perTenantLimits = new ConcurrentHashMap<>();
     protected final ConcurrentMap<TenantId, AtomicInteger> rateLimitedTenants = new ConcurrentHashMap<>();
+    protected final ConcurrentMap<TenantId, QueueWaitStats> queueWaitStats = new ConcurrentHashMap<>();
 
     protected final AtomicInteger concurrencyLevel = new AtomicInteger();
     protected final AtomicInteger totalAdded = new AtomicInteger();
@@ -61,13 +62,13 @@ public abstract class AbstractBufferedRateExecutor<T extends AsyncTask, F extend
     protected final AtomicInteger totalRateLimited = new AtomicInteger();
     protected final AtomicInteger printQueriesIdx = new AtomicInteger();
 
-    public AbstractBufferedRateExecutor(int queueLimit, int concurrencyLimit, long maxWaitTime, int dispatcherThreads, int callbackThreads, long pollMs,
+    public AbstractBufferedRateExecutor(int queueLimit, int concurrencyLimit, long maxWaitTime, int dispatcherThreads, int callbackThreads,
+                                        int readWeight, int writeWeight,
                                         boolean perTenantLimitsEnabled, String perTenantLimitsConfiguration, int printQueriesFreq) {
         this.maxWaitTime = maxWaitTime;
-        this.pollMs = pollMs;
-        this.concurrencyLimit = concurrencyLimit;
         this.printQueriesFreq = printQueriesFreq;
-        this.queue = new LinkedBlockingDeque<>(queueLimit);
+        this.queue = new TenantFairQueue<>(queueLimit, readWeight, writeWeight);
+        this.permits = new Semaphore(concurrencyLimit);
         this.dispatcherExecutor = Executors.newFixedThreadPool(dispatcherThreads, ThingsBoardThreadFactory.forName("nosql-dispatcher"));
         this.callbackExecutor = Executors.newWorkStealingPool(callbackThreads);
         this.timeoutExecutor = Executors.newSingleThreadScheduledExecutor(ThingsBoardThreadFactory.forName("nosql-timeout"));
@@ -99,7 +100,8 @@ public abstract class AbstractBufferedRateExecutor<T extends AsyncTask, F extend
         if (!perTenantLimitReached) {
             try {
                 totalAdded.incrementAndGet();
-                queue.add(new AsyncTaskContext<>(UUID.randomUUID(), task, settableFuture, System.currentTimeMillis()));
+                TenantId tenantId = task.getTenantId() != null ? task.getTenantId() : TenantId.SYS_TENANT_ID;
+                queue.add(tenantId, task.isRead(), new AsyncTaskContext<>(UUID.randomUUID(), task, settableFuture, System.currentTimeMillis()));
             } catch (IllegalStateException e) {
                 totalRejected.incrementAndGet();
                 settableFuture.setException(e);
@@ -129,56 +131,60 @@ public abstract class AbstractBufferedRateExecutor<T extends AsyncTask, F extend
     private void dispatch() {
         log.info("Buffered rate executor thread started");
         while (!Thread.interrupted()) {
-            int curLvl = concurrencyLevel.get();
             AsyncTaskContext<T, V> taskCtx = null;
             try {
-                if (curLvl <= concurrencyLimit) {
+                // Permits are returned by completed tasks, so an idle dispatcher is woken up instead of polling
+                permits.acquire();
+                try {
                     taskCtx = queue.take();
-                    final AsyncTaskContext<T, V> finalTaskCtx = taskCtx;
-                    if (printQueriesFreq > 0) {
-                        if (printQueriesIdx.incrementAndGet() >= printQueriesFreq) {
-                            printQueriesIdx.set(0);
-                            String query = queryToString(finalTaskCtx);
-                            log.info("[{}] Cassandra query: {}", taskCtx.getId(), query);
-                        }
+                } catch (InterruptedException e) {
+                    permits.release();
+                    throw e;
+                }
+                final AsyncTaskContext<T, V> finalTaskCtx = taskCtx;
+                if (printQueriesFreq > 0) {
+                    if (printQueriesIdx.incrementAndGet() >= printQueriesFreq) {
+                        printQueriesIdx.set(0);
+                        String query = queryToString(finalTaskCtx);
+                        log.info("[{}] Cassandra query: {}", taskCtx.getId(), query);
                     }
-                    logTask("Processing", finalTaskCtx);
-                    concurrencyLevel.incrementAndGet();
-                    long timeout = finalTaskCtx.getCreateTime() + maxWaitTime - System.currentTimeMillis();
-                    if (timeout > 0) {
-                        totalLaunched.incrementAndGet();
-                        ListenableFuture<V> result = execute(finalTaskCtx);
-                        result = Futures.withTimeout(result, timeout, TimeUnit.MILLISECONDS, timeoutExecutor);
-                        Futures.addCallback(result, new FutureCallback<V>() {
-                            @Override
-                            public void onSuccess(@Nullable V result) {
-                                logTask("Releasing", finalTaskCtx);
-                                totalReleased.incrementAndGet();
-                                concurrencyLevel.decrementAndGet();
-                                finalTaskCtx.getFuture().set(result);
-                            }
+                }
+                logTask("Processing", finalTaskCtx);
+                concurrencyLevel.incrementAndGet();
+                long now = System.currentTimeMillis();
+                recordQueueWait(finalTaskCtx, now);
+                long timeout = finalTaskCtx.getCreateTime() + maxWaitTime - now;
+                if (timeout > 0) {
+                    totalLaunched.incrementAndGet();
+                    ListenableFuture<V> result = execute(finalTaskCtx);
+                    result = Futures.withTimeout(result, timeout, TimeUnit.MILLISECONDS, timeoutExecutor);
+                    Futures.addCallback(result, new FutureCallback<V>() {
+                        @Override
+                        public void onSuccess(@Nullable V result) {
+                            logTask("Releasing", finalTaskCtx);
+                            totalReleased.incrementAndGet();
+                            release();
+                            finalTaskCtx.getFuture().set(result);
+                        }
 
-                            @Override
-                            public void onFailure(Throwable t) {
-                                if (t instanceof TimeoutException) {
-                                    logTask("Expired During Execution", finalTaskCtx);
-                                } else {
-                                    logTask("Failed", finalTaskCtx);
-                                }
-                                totalFailed.incrementAndGet();
-                                concurrencyLevel.decrementAndGet();
-                                finalTaskCtx.getFuture().setException(t);
-                                log.debug("[{}] Failed to execute task: {}", finalTaskCtx.getId(), finalTaskCtx.getTask(), t);
+                        @Override
+                        public void onFailure(Throwable t) {
+                            if (t instanceof TimeoutException) {
+                                logTask("Expired During Execution", finalTaskCtx);
+                            } else {
+                                logTask("Failed", finalTaskCtx);
                             }
-                        }, callbackExecutor);
-                    } else {
-                        logTask("Expired Before Execution", finalTaskCtx);
-                        totalExpired.incrementAndGet();
-                        concurrencyLevel.decrementAndGet();
-                        taskCtx.getFuture().setException(new TimeoutException());
-                    }
+                            totalFailed.incrementAndGet();
+                            release();
+                            finalTaskCtx.getFuture().setException(t);
+                            log.debug("[{}] Failed to execute task: {}", finalTaskCtx.getId(), finalTaskCtx.getTask(), t);
+                        }
+                    }, callbackExecutor);
                 } else {
-                    Thread.sleep(pollMs);
+                    logTask("Expired Before Execution", finalTaskCtx);
+                    totalExpired.incrementAndGet();
+                    release();
+                    taskCtx.getFuture().setException(new TimeoutException());
                 }
             } catch (InterruptedException e) {
                 break;
@@ -186,7 +192,7 @@ public abstract class AbstractBufferedRateExecutor<T extends AsyncTask, F extend
                 if (taskCtx != null) {
                     log.debug("[{}] Failed to execute task: {}", taskCtx.getId(), taskCtx, e);
                     totalFailed.incrementAndGet();
-                    concurrencyLevel.decrementAndGet();
+                    release();
                 } else {
                     log.debug("Failed to queue task:", e);
                 }
@@ -195,6 +201,16 @@ public abstract class AbstractBufferedRateExecutor<T extends AsyncTask, F extend
         log.info("Buffered rate executor thread stopped");
     }
 
+    private void release() {
+        concurrencyLevel.decrementAndGet();
+        permits.release();
+    }
+
+    private void recordQueueWait(AsyncTaskContext<T, V> taskCtx, long now) {
+        TenantId tenantId = taskCtx.getTask().getTenantId() != null ? taskCtx.getTask().getTenantId() : TenantId.SYS_TENANT_ID;
+        queueWaitStats.computeIfAbsent(tenantId, id -> new QueueWaitStats()).record(now - taskCtx.getCreateTime());
+    }
+
     private void logTask(String action, AsyncTaskContext<T, V> taskCtx) {
         if (log.isTraceEnabled()) {
             if (taskCtx.getTask() instanceof CassandraStatementTask) {
@@ -246,4 +262,34 @@ public abstract class AbstractBufferedRateExecutor<T extends AsyncTask, F extend
     protected int getQueueSize() {
         return queue.size();
     }
+
+    protected static class QueueWaitStats {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long waitTime) {
+            count.incrementAndGet();
+            total.addAndGet(waitTime);
+            max.accumulateAndGet(waitTime, Math::max);
+        }
+
+        public int getCount() {
+            return count.get();
+        }
+
+        public long getTotal() {
+            return total.get();
+        }
+
+        public long getAvg() {
+            int countValue = count.get();
+            return countValue > 0 ? total.get() / countValue : 0;
+        }
+
+        public long getMax() {
+            return max.get();
+        }
+    }
 }
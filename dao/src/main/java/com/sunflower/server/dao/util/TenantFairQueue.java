@@ -0,0 +1,137 @@
+/**
+ * Copyright © 2016-2020 The Thingsboard Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sunflower.server.dao.util;
+
+import com.sunflower.server.common.data.id.TenantId;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded task queue that hands out tasks round-robin across tenants, so a tenant with a large backlog
+ * delays the others by at most one task per round. Reads and writes are queued apart and served by weight.
+ */
+class TenantFairQueue<E> {
+
+    private final int capacity;
+    private final int readWeight;
+    private final int writeWeight;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final TenantRing<E> reads = new TenantRing<>();
+    private final TenantRing<E> writes = new TenantRing<>();
+    private int readCredits;
+    private int writeCredits;
+    private int size;
+
+    TenantFairQueue(int capacity, int readWeight, int writeWeight) {
+        this.capacity = capacity;
+        this.readWeight = Math.max(1, readWeight);
+        this.writeWeight = Math.max(1, writeWeight);
+    }
+
+    void add(TenantId tenantId, boolean read, E task) {
+        lock.lock();
+        try {
+            if (size >= capacity) {
+                throw new IllegalStateException("Queue full");
+            }
+            (read ? reads : writes).add(tenantId, task);
+            size++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    E take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            size--;
+            return nextRing().poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private TenantRing<E> nextRing() {
+        if (reads.isEmpty()) {
+            return writes;
+        } else if (writes.isEmpty()) {
+            return reads;
+        }
+        if (readCredits == 0 && writeCredits == 0) {
+            readCredits = readWeight;
+            writeCredits = writeWeight;
+        }
+        if (readCredits > 0) {
+            readCredits--;
+            return reads;
+        } else {
+            writeCredits--;
+            return writes;
+        }
+    }
+
+    private static class TenantRing<E> {
+
+        private final Map<TenantId, Deque<E>> queues = new HashMap<>();
+        private final Deque<TenantId> tenants = new ArrayDeque<>();
+
+        void add(TenantId tenantId, E task) {
+            Deque<E> queue = queues.get(tenantId);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(tenantId, queue);
+                tenants.addLast(tenantId);
+            }
+            queue.addLast(task);
+        }
+
+        E poll() {
+            TenantId tenantId = tenants.pollFirst();
+            Deque<E> queue = queues.get(tenantId);
+            E task = queue.pollFirst();
+            if (queue.isEmpty()) {
+                queues.remove(tenantId);
+            } else {
+                tenants.addLast(tenantId);
+            }
+            return task;
+        }
+
+        boolean isEmpty() {
+            return tenants.isEmpty();
+        }
+    }
+}
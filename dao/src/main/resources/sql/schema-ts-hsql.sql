@@ -45,3 +45,29 @@ CREATE TABLE IF NOT EXISTS ts_kv_dictionary (
     key_id int GENERATED BY DEFAULT AS IDENTITY(start with 0 increment by 1) UNIQUE,
     CONSTRAINT ts_key_id_pkey PRIMARY KEY (key)
 );
+
+CREATE TABLE IF NOT EXISTS ts_kv_rollup (
+    entity_id uuid NOT NULL,
+    key varchar(255) NOT NULL,
+    granularity varchar(16) NOT NULL,
+    ts bigint NOT NULL,
+    long_count bigint NOT NULL,
+    long_sum bigint NOT NULL,
+    long_min bigint,
+    long_max bigint,
+    dbl_count bigint NOT NULL,
+    dbl_sum double precision NOT NULL,
+    dbl_min double precision,
+    dbl_max double precision,
+    other_count bigint NOT NULL,
+    computed_ts bigint NOT NULL,
+    CONSTRAINT ts_kv_rollup_pkey PRIMARY KEY (entity_id, key, granularity, ts)
+);
+
+CREATE TABLE IF NOT EXISTS ts_kv_rollup_coverage (
+    entity_id uuid NOT NULL,
+    key varchar(255) NOT NULL,
+    granularity varchar(16) NOT NULL,
+    ts bigint NOT NULL,
+    CONSTRAINT ts_kv_rollup_coverage_pkey PRIMARY KEY (entity_id, key, granularity)
+);
@@ -47,6 +47,34 @@ CREATE TABLE IF NOT EXISTS ts_kv_dictionary
     CONSTRAINT ts_key_id_pkey PRIMARY KEY (key)
 );
 
+CREATE TABLE IF NOT EXISTS ts_kv_rollup
+(
+    entity_id   uuid         NOT NULL,
+    key         varchar(255) NOT NULL,
+    granularity varchar(16)  NOT NULL,
+    ts          bigint       NOT NULL,
+    long_count  bigint       NOT NULL,
+    long_sum    bigint       NOT NULL,
+    long_min    bigint,
+    long_max    bigint,
+    dbl_count   bigint       NOT NULL,
+    dbl_sum     double precision NOT NULL,
+    dbl_min     double precision,
+    dbl_max     double precision,
+    other_count bigint       NOT NULL,
+    computed_ts bigint       NOT NULL,
+    CONSTRAINT ts_kv_rollup_pkey PRIMARY KEY (entity_id, key, granularity, ts)
+);
+
+CREATE TABLE IF NOT EXISTS ts_kv_rollup_coverage
+(
+    entity_id   uuid         NOT NULL,
+    key         varchar(255) NOT NULL,
+    granularity varchar(16)  NOT NULL,
+    ts          bigint       NOT NULL,
+    CONSTRAINT ts_kv_rollup_coverage_pkey PRIMARY KEY (entity_id, key, granularity)
+);
+
 CREATE TABLE IF NOT EXISTS tb_schema_settings
 (
     schema_version bigint NOT NULL,
@@ -178,6 +206,10 @@ BEGIN
     EXECUTE format(
             'WITH deleted AS (DELETE FROM ts_kv WHERE entity_id IN (SELECT to_uuid(device.id) as entity_id FROM device WHERE tenant_id = %L and customer_id = %L) AND ts < %L::bigint RETURNING *) SELECT count(*) FROM deleted',
             tenant_id, customer_id, ttl) into deleted;
+    -- Rollups of a bucket are removed only once the whole bucket is older than the TTL, as it may still hold values that are kept
+    EXECUTE format(
+            'DELETE FROM ts_kv_rollup WHERE entity_id IN (SELECT to_uuid(device.id) as entity_id FROM device WHERE tenant_id = %L and customer_id = %L) AND ts + CASE granularity WHEN ''MINUTE'' THEN 60000 WHEN ''HOUR'' THEN 3600000 ELSE 86400000 END < %L::bigint',
+            tenant_id, customer_id, ttl);
 END;
 $$ LANGUAGE plpgsql;
 
@@ -188,6 +220,9 @@ BEGIN
     EXECUTE format(
             'WITH deleted AS (DELETE FROM ts_kv WHERE entity_id IN (SELECT to_uuid(asset.id) as entity_id FROM asset WHERE tenant_id = %L and customer_id = %L) AND ts < %L::bigint RETURNING *) SELECT count(*) FROM deleted',
             tenant_id, customer_id, ttl) into deleted;
+    EXECUTE format(
+            'DELETE FROM ts_kv_rollup WHERE entity_id IN (SELECT to_uuid(asset.id) as entity_id FROM asset WHERE tenant_id = %L and customer_id = %L) AND ts + CASE granularity WHEN ''MINUTE'' THEN 60000 WHEN ''HOUR'' THEN 3600000 ELSE 86400000 END < %L::bigint',
+            tenant_id, customer_id, ttl);
 END;
 $$ LANGUAGE plpgsql;
 
@@ -198,6 +233,9 @@ BEGIN
     EXECUTE format(
             'WITH deleted AS (DELETE FROM ts_kv WHERE entity_id IN (SELECT to_uuid(customer.id) as entity_id FROM customer WHERE tenant_id = %L and id = %L) AND ts < %L::bigint RETURNING *) SELECT count(*) FROM deleted',
             tenant_id, customer_id, ttl) into deleted;
+    EXECUTE format(
+            'DELETE FROM ts_kv_rollup WHERE entity_id IN (SELECT to_uuid(customer.id) as entity_id FROM customer WHERE tenant_id = %L and id = %L) AND ts + CASE granularity WHEN ''MINUTE'' THEN 60000 WHEN ''HOUR'' THEN 3600000 ELSE 86400000 END < %L::bigint',
+            tenant_id, customer_id, ttl);
 END;
 $$ LANGUAGE plpgsql;
 